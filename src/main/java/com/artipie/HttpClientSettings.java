@@ -4,16 +4,40 @@
  */
 package com.artipie;
 
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.http.client.jetty.JettyClientSlices;
 import com.google.common.base.Strings;
+import com.jcabi.log.Logger;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
- * HTTP client settings from system environment.
- *
+ * HTTP client settings from `meta.http_client` yaml section of Artipie main
+ * config and system environment. Values which are absent in yaml section are
+ * defaults. Proxy is taken from `http.proxyHost` and `http.proxyPort` system
+ * properties if it's not configured in yaml.
+ * <p>Yaml section format, timeouts are in milliseconds:</p>
+ * <pre>
+ * http_client:
+ *   connect_timeout: 15000
+ *   idle_timeout: 30000
+ *   follow_redirects: true
+ *   trust_all: false
+ *   proxy:
+ *     host: proxy.com
+ *     port: 3128
+ *     secure: false
+ * </pre>
+ * <p>Connection pool and queue limits per destination, HTTP/2, request
+ * timeout and buffer sizes are not supported: http-client library creates
+ * and configures Jetty client itself and doesn't expose these settings.
+ * Such keys are ignored, the client reports them with a warning on
+ * creation.</p>
  * @since 0.9
  */
-final class HttpClientSettings implements com.artipie.http.client.Settings {
+public final class HttpClientSettings implements com.artipie.http.client.Settings {
 
     /**
      * Proxy host system property key.
@@ -25,12 +49,57 @@ final class HttpClientSettings implements com.artipie.http.client.Settings {
      */
     static final String PROXY_PORT = "http.proxyPort";
 
+    /**
+     * Yaml keys of settings which are not supported by http-client library.
+     */
+    private static final List<String> UNSUPPORTED = List.of(
+        "max_connections_per_destination", "max_requests_queued_per_destination", "http2",
+        "request_timeout", "request_buffer_size", "response_buffer_size"
+    );
+
+    /**
+     * Http client yaml section.
+     */
+    private final Optional<YamlMapping> yaml;
+
+    /**
+     * Default settings.
+     */
+    public HttpClientSettings() {
+        this(Optional.empty());
+    }
+
+    /**
+     * Settings from yaml.
+     * @param yaml Http client yaml section, nullable
+     */
+    public HttpClientSettings(final YamlMapping yaml) {
+        this(Optional.ofNullable(yaml));
+    }
+
+    /**
+     * Ctor.
+     * @param yaml Http client yaml section
+     */
+    private HttpClientSettings(final Optional<YamlMapping> yaml) {
+        this.yaml = yaml;
+    }
+
     @Override
     public Optional<Proxy> proxy() {
         final Optional<Proxy> result;
+        final Optional<YamlMapping> proxy = this.mapping("proxy");
         final String host = System.getProperty(HttpClientSettings.PROXY_HOST);
         final String port = System.getProperty(HttpClientSettings.PROXY_PORT);
-        if (Strings.isNullOrEmpty(host) || Strings.isNullOrEmpty(port)) {
+        if (proxy.isPresent()) {
+            result = Optional.of(
+                new Proxy.Simple(
+                    Boolean.parseBoolean(proxy.get().string("secure")),
+                    proxy.get().string("host"),
+                    Integer.parseInt(proxy.get().string("port"))
+                )
+            );
+        } else if (Strings.isNullOrEmpty(host) || Strings.isNullOrEmpty(port)) {
             result = Optional.empty();
         } else {
             result = Optional.of(new Proxy.Simple(false, host, Integer.parseInt(port)));
@@ -40,23 +109,69 @@ final class HttpClientSettings implements com.artipie.http.client.Settings {
 
     @Override
     public boolean trustAll() {
-        return "true".equals(System.getenv("SSL_TRUSTALL"));
+        return this.value("trust_all").map(Boolean::parseBoolean)
+            .orElseGet(() -> "true".equals(System.getenv("SSL_TRUSTALL")));
     }
 
     @Override
     public boolean followRedirects() {
-        return true;
+        return this.value("follow_redirects").map(Boolean::parseBoolean).orElse(true);
     }
 
     @Override
     public long connectTimeout() {
         final int seconds = 15;
-        return TimeUnit.SECONDS.toMillis(seconds);
+        return this.value("connect_timeout").map(Long::parseLong)
+            .orElse(TimeUnit.SECONDS.toMillis(seconds));
     }
 
     @Override
     public long idleTimeout() {
         final int seconds = 30;
-        return TimeUnit.SECONDS.toMillis(seconds);
+        return this.value("idle_timeout").map(Long::parseLong)
+            .orElse(TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    /**
+     * New HTTP client with these settings, client should be started before use.
+     * @return HTTP client
+     */
+    public JettyClientSlices client() {
+        final List<String> ignored = this.unsupported();
+        if (!ignored.isEmpty()) {
+            Logger.warn(
+                HttpClientSettings.class,
+                "HTTP client settings are not supported and ignored: %s", ignored
+            );
+        }
+        return new JettyClientSlices(this);
+    }
+
+    /**
+     * Configured settings which are not supported by http-client library.
+     * @return Yaml keys of ignored settings
+     */
+    List<String> unsupported() {
+        return HttpClientSettings.UNSUPPORTED.stream()
+            .filter(key -> this.yaml.map(node -> node.value(key) != null).orElse(false))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Scalar value from yaml section.
+     * @param key Value key
+     * @return Value if present
+     */
+    private Optional<String> value(final String key) {
+        return this.yaml.map(node -> node.string(key));
+    }
+
+    /**
+     * Mapping from yaml section.
+     * @param key Mapping key
+     * @return Mapping if present
+     */
+    private Optional<YamlMapping> mapping(final String key) {
+        return this.yaml.map(node -> node.yamlMapping(key));
     }
 }
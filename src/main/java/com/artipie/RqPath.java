@@ -5,13 +5,13 @@
 package com.artipie;
 
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 
 /**
- * Predicate to test whether request path matches some regex and corresponds to some conditions.
+ * Predicate to test whether request path matches some pattern and corresponds to some conditions.
+ * Predicates are evaluated on every request, so they check path by index scan
+ * without regular expressions and splitting.
  * @since 0.23
  */
-@SuppressWarnings("PMD.SingularField")
 public enum RqPath implements Predicate<String> {
 
     /**
@@ -19,29 +19,29 @@ public enum RqPath implements Predicate<String> {
      * <code>/t/ol-4ee312d8-9fe2-44d2-bea9-053325e1ffd5/my-conda/noarch/repodata.json</code>
      * Where second part is user token, third is repository name,
      * then follows conda repository architecture (for example: noarch, linux-64, win-64 etc).
-     * This {@link Predicate} implementation tests whether path is such conda path.
+     * This {@link Predicate} implementation tests whether path is such conda path:
+     * it starts with `/t/`, ends with `repodata.json`, `.conda` or `.tar.bz2`
+     * and consists of six or seven parts.
      */
-    CONDA(Pattern.compile("/t/.*(repodata\\.json|\\.conda|\\.tar\\.bz2)")) {
+    CONDA {
 
         @Override
         public boolean test(final String path) {
-            final int length = path.split("/").length;
-            // @checkstyle MagicNumberCheck (1 line)
-            return CONDA.ptrn.matcher(path).matches() && (length == 6 || length == 7);
+            final boolean res;
+            if (path.startsWith("/t/") && (path.endsWith("repodata.json")
+                || path.endsWith(".conda") || path.endsWith(".tar.bz2"))) {
+                int slashes = 0;
+                for (int idx = 0; idx < path.length(); idx += 1) {
+                    if (path.charAt(idx) == '/') {
+                        slashes += 1;
+                    }
+                }
+                // @checkstyle MagicNumberCheck (1 line)
+                res = slashes == 5 || slashes == 6;
+            } else {
+                res = false;
+            }
+            return res;
         }
-    };
-
-    /**
-     * Path pattern.
-     */
-    private final Pattern ptrn;
-
-    /**
-     * Ctor.
-     * @param ptrn Path pattern
-     */
-    RqPath(final Pattern ptrn) {
-        this.ptrn = ptrn;
     }
-
 }
@@ -10,6 +10,7 @@ import com.artipie.adapters.file.FileProxy;
 import com.artipie.adapters.maven.MavenProxy;
 import com.artipie.adapters.php.ComposerProxy;
 import com.artipie.adapters.pypi.PypiProxy;
+import com.artipie.asto.Storage;
 import com.artipie.asto.SubStorage;
 import com.artipie.auth.LoggingAuth;
 import com.artipie.composer.AstoRepository;
@@ -26,19 +27,25 @@ import com.artipie.files.FilesSlice;
 import com.artipie.gem.http.GemSlice;
 import com.artipie.helm.http.HelmSlice;
 import com.artipie.hex.http.HexSlice;
+import com.artipie.http.ConditionalSlice;
 import com.artipie.http.ContentLengthRestriction;
 import com.artipie.http.ContinueSlice;
 import com.artipie.http.DockerRoutingSlice;
+import com.artipie.http.FileBodySlice;
 import com.artipie.http.GoSlice;
+import com.artipie.http.NegativeCache;
+import com.artipie.http.NegativeCacheSlice;
+import com.artipie.http.PrecompressedSlice;
+import com.artipie.http.RacingGroupSlice;
+import com.artipie.http.ReservedStorage;
 import com.artipie.http.Slice;
-import com.artipie.http.async.AsyncSlice;
+import com.artipie.http.TrimRepoSlice;
+import com.artipie.http.UpstreamMisses;
 import com.artipie.http.auth.Authentication;
 import com.artipie.http.auth.BasicAuthScheme;
 import com.artipie.http.auth.Tokens;
 import com.artipie.http.client.ClientSlices;
 import com.artipie.http.filter.FilterSlice;
-import com.artipie.http.group.GroupSlice;
-import com.artipie.http.slice.TrimPathSlice;
 import com.artipie.maven.http.MavenSlice;
 import com.artipie.npm.http.NpmSlice;
 import com.artipie.npm.proxy.NpmProxy;
@@ -49,10 +56,10 @@ import com.artipie.rpm.http.RpmSlice;
 import com.artipie.security.policy.Policy;
 import com.artipie.settings.Settings;
 import com.artipie.settings.repo.RepoConfig;
-import com.artipie.settings.repo.RepositoriesFromStorage;
 import java.net.URI;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -67,9 +74,21 @@ import java.util.stream.Collectors;
 public final class SliceFromConfig extends Slice.Wrap {
 
     /**
-     * Pattern to trim path before passing it to adapters' slice.
+     * Hosted repository types, which serve stored items by request path
+     * as is, their responses are validated by {@link ConditionalSlice} and
+     * large index files are sent compressed by {@link PrecompressedSlice}.
+     * Items of `file` repositories are sent by sendfile from file system
+     * storage (see {@link FileBodySlice}): only this adapter maps request
+     * path to storage key one to one for every item.
      */
-    private static final Pattern PTRN = Pattern.compile("/(?:[^/.]+)(/.*)?");
+    private static final Set<String> CONDITIONAL = Set.of(
+        "file", "maven", "helm", "conda", "deb", "rpm", "gem", "php", "pypi", "go", "hexpm"
+    );
+
+    /**
+     * Slice of the repository as a group member.
+     */
+    private final Slice member;
 
     /**
      * Ctor.
@@ -78,17 +97,32 @@ public final class SliceFromConfig extends Slice.Wrap {
      * @param config Repo config
      * @param standalone Standalone flag
      * @param tokens Tokens: authentication and generation
+     * @param repos Group members slices by repository name
+     * @param negatives Negative lookups cache
+     * @checkstyle ParameterNumberCheck (10 lines)
      */
     public SliceFromConfig(
         final ClientSlices http,
         final Settings settings, final RepoConfig config,
-        final boolean standalone, final Tokens tokens) {
+        final boolean standalone, final Tokens tokens,
+        final Function<String, Slice> repos, final NegativeCache negatives) {
         super(
             SliceFromConfig.build(
                 http, settings, new LoggingAuth(settings.authz().authentication()), tokens,
-                settings.authz().policy(), config, standalone
+                settings.authz().policy(), config, standalone, repos, negatives
             )
         );
+        this.member = SliceFromConfig.member(config, this, negatives);
+    }
+
+    /**
+     * Slice of the repository as a group member: misses of hosted members
+     * are remembered by group, proxy members remember misses answered by
+     * remotes themselves.
+     * @return Slice
+     */
+    public Slice member() {
+        return this.member;
     }
 
     /**
@@ -101,6 +135,8 @@ public final class SliceFromConfig extends Slice.Wrap {
      * @param policy Security policy
      * @param cfg Repository config
      * @param standalone Standalone flag
+     * @param repos Group members slices by repository name
+     * @param negatives Negative lookups cache
      * @return Slice completionStage
      * @checkstyle LineLengthCheck (150 lines)
      * @checkstyle ExecutableStatementCountCheck (100 lines)
@@ -120,96 +156,90 @@ public final class SliceFromConfig extends Slice.Wrap {
         final Tokens tokens,
         final Policy<?> policy,
         final RepoConfig cfg,
-        final boolean standalone
+        final boolean standalone,
+        final Function<String, Slice> repos,
+        final NegativeCache negatives
     ) {
+        final UpstreamMisses upstream = new UpstreamMisses();
+        final ClientSlices client = upstream.client(http);
         final Slice slice;
         switch (cfg.type()) {
             case "file":
-                slice = new TrimPathSlice(
-                    new FilesSlice(cfg.storage(), policy, auth, cfg.name()), SliceFromConfig.PTRN
+                slice = new TrimRepoSlice(
+                    new FilesSlice(SliceFromConfig.items(cfg), policy, auth, cfg.name())
                 );
                 break;
             case "file-proxy":
-                slice = new TrimPathSlice(new FileProxy(http, cfg), SliceFromConfig.PTRN);
+                slice = new TrimRepoSlice(new FileProxy(client, cfg));
                 break;
             case "npm":
-                slice = new TrimPathSlice(
-                    new NpmSlice(cfg.url(), cfg.storage(), policy, tokens.auth(), cfg.name()),
-                    SliceFromConfig.PTRN
+                slice = new TrimRepoSlice(
+                    new NpmSlice(cfg.url(), cfg.storage(), policy, tokens.auth(), cfg.name())
                 );
                 break;
             case "gem":
-                slice = new TrimPathSlice(new GemSlice(cfg.storage()), SliceFromConfig.PTRN);
+                slice = new TrimRepoSlice(new GemSlice(SliceFromConfig.items(cfg)));
                 break;
             case "helm":
-                slice = new TrimPathSlice(
-                    new HelmSlice(cfg.storage(), cfg.url().toString(), policy, auth, cfg.name()),
-                    SliceFromConfig.PTRN
+                slice = new TrimRepoSlice(
+                    new HelmSlice(
+                        SliceFromConfig.items(cfg), cfg.url().toString(), policy, auth,
+                        cfg.name()
+                    )
                 );
                 break;
             case "rpm":
-                slice = new TrimPathSlice(
+                slice = new TrimRepoSlice(
                     new RpmSlice(
-                        cfg.storage(), policy, auth,
+                        SliceFromConfig.items(cfg), policy, auth,
                         new com.artipie.rpm.RepoConfig.FromYaml(cfg.settings(), cfg.name())
-                    ),
-                    SliceFromConfig.PTRN
+                    )
                 );
                 break;
             case "php":
-                slice = new TrimPathSlice(
+                slice = new TrimRepoSlice(
                     new PhpComposer(
-                        new AstoRepository(cfg.storage(), Optional.of(cfg.url().toString()))
-                    ),
-                    SliceFromConfig.PTRN
+                        new AstoRepository(
+                            SliceFromConfig.items(cfg), Optional.of(cfg.url().toString())
+                        )
+                    )
                 );
                 break;
             case "php-proxy":
-                slice = new TrimPathSlice(new ComposerProxy(http, cfg), SliceFromConfig.PTRN);
+                slice = new TrimRepoSlice(new ComposerProxy(client, cfg));
                 break;
             case "nuget":
-                slice = new TrimPathSlice(
+                slice = new TrimRepoSlice(
                     new NuGet(
                         cfg.url(),
                         new com.artipie.nuget.AstoRepository(cfg.storage()),
                         policy,
                         auth,
                         cfg.name()
-                    ),
-                    SliceFromConfig.PTRN
+                    )
                 );
                 break;
             case "maven":
-                slice = new TrimPathSlice(
-                    new MavenSlice(cfg.storage(), policy, auth, cfg.name()), SliceFromConfig.PTRN
+                slice = new TrimRepoSlice(
+                    new MavenSlice(SliceFromConfig.items(cfg), policy, auth, cfg.name())
                 );
                 break;
             case "maven-proxy":
-                slice = new TrimPathSlice(new MavenProxy(http, cfg), SliceFromConfig.PTRN);
+                slice = new TrimRepoSlice(new MavenProxy(client, cfg, negatives));
                 break;
             case "maven-group":
-                slice = new TrimPathSlice(
-                    new GroupSlice(
+                slice = new TrimRepoSlice(
+                    RacingGroupSlice.fromSettings(
+                        cfg.settings(),
                         cfg.settings().orElseThrow().yamlSequence("repositories").values()
                             .stream().map(node -> node.asScalar().value())
-                            .map(
-                                name -> new AsyncSlice(
-                                    new RepositoriesFromStorage(settings)
-                                        .config(name)
-                                        .thenApply(
-                                            sub -> new SliceFromConfig(
-                                                http, settings, sub, standalone, tokens
-                                            )
-                                        )
-                                )
-                            ).collect(Collectors.toList())
-                    ),
-                    SliceFromConfig.PTRN
+                            .map(repos).collect(Collectors.toList())
+                    )
                 );
                 break;
             case "go":
-                slice = new TrimPathSlice(
-                    new GoSlice(cfg.storage(), policy, auth, cfg.name()), SliceFromConfig.PTRN
+                slice = new TrimRepoSlice(
+                    new GoSlice(SliceFromConfig.items(cfg), policy, auth, cfg.name())
                 );
                 break;
             case "npm-proxy":
@@ -220,17 +250,17 @@ public final class SliceFromConfig extends Slice.Wrap {
                             cfg.settings().orElseThrow().yamlMapping("remote").string("url")
                         ),
                         cfg.storage(),
-                        http
+                        client
                     )
                 );
                 break;
             case "pypi":
-                slice = new TrimPathSlice(
-                    new PySlice(cfg.storage(), policy, auth, cfg.name()), SliceFromConfig.PTRN
+                slice = new TrimRepoSlice(
+                    new PySlice(SliceFromConfig.items(cfg), policy, auth, cfg.name())
                 );
                 break;
             case "pypi-proxy":
-                slice = new TrimPathSlice(new PypiProxy(http, cfg), SliceFromConfig.PTRN);
+                slice = new TrimRepoSlice(new PypiProxy(client, cfg));
                 break;
             case "docker":
                 final Docker docker = new AstoDocker(
@@ -255,25 +285,25 @@ public final class SliceFromConfig extends Slice.Wrap {
                 }
                 break;
             case "docker-proxy":
-                slice = new DockerProxy(http, standalone, cfg, policy, auth);
+                slice = new DockerProxy(client, standalone, cfg, policy, auth);
                 break;
             case "deb":
-                slice = new TrimPathSlice(
+                slice = new TrimRepoSlice(
                     new DebianSlice(
-                        cfg.storage(), policy, auth,
+                        SliceFromConfig.items(cfg), policy, auth,
                         new Config.FromYaml(cfg.name(), cfg.settings(), settings.configStorage())
-                    ),
-                    SliceFromConfig.PTRN
+                    )
                 );
                 break;
             case "conda":
                 slice = new CondaSlice(
-                    cfg.storage(), policy, auth, tokens, cfg.url().toString(), cfg.name()
+                    SliceFromConfig.items(cfg), policy, auth, tokens, cfg.url().toString(),
+                    cfg.name()
                 );
                 break;
             case "hexpm":
-                slice = new TrimPathSlice(
-                    new HexSlice(cfg.storage(), policy, auth, cfg.name()), SliceFromConfig.PTRN
+                slice = new TrimRepoSlice(
+                    new HexSlice(SliceFromConfig.items(cfg), policy, auth, cfg.name())
                 );
                 break;
             default:
@@ -281,11 +311,31 @@ public final class SliceFromConfig extends Slice.Wrap {
                     String.format("Unsupported repository type '%s", cfg.type())
                 );
         }
+        final Slice validated;
+        if (SliceFromConfig.CONDITIONAL.contains(cfg.type())) {
+            final Slice files;
+            if ("file".equals(cfg.type())) {
+                files = new FileBodySlice(slice, cfg.storage());
+            } else {
+                files = slice;
+            }
+            validated = new PrecompressedSlice(
+                new ConditionalSlice(files, cfg.storage()), cfg.storage()
+            );
+        } else {
+            validated = slice;
+        }
+        final Slice lookups;
+        if (cfg.type().endsWith("-proxy")) {
+            lookups = new NegativeCacheSlice(cfg.name(), validated, negatives, upstream);
+        } else {
+            lookups = new NegativeCacheSlice.Invalidating(cfg.name(), validated, negatives);
+        }
         return settings.caches()
             .filtersCache()
             .filters(cfg.name(), cfg.repoYaml())
-            .<Slice>map(filters -> new FilterSlice(slice, filters))
-            .or(() -> Optional.of(slice))
+            .<Slice>map(filters -> new FilterSlice(lookups, filters))
+            .or(() -> Optional.of(lookups))
             .map(
                 res ->
                     new ContinueSlice(
@@ -296,4 +346,33 @@ public final class SliceFromConfig extends Slice.Wrap {
             )
             .get();
     }
+
+    /**
+     * Storage of hosted repository items for adapter, Artipie keeps its own
+     * data under reserved keys of the same storage.
+     * @param cfg Repository config
+     * @return Storage
+     */
+    private static Storage items(final RepoConfig cfg) {
+        return new ReservedStorage(cfg.storage());
+    }
+
+    /**
+     * Group member slice of repository.
+     * @param cfg Member config
+     * @param slice Member slice
+     * @param negatives Negative lookups cache
+     * @return Slice
+     */
+    private static Slice member(
+        final RepoConfig cfg, final Slice slice, final NegativeCache negatives
+    ) {
+        final Slice res;
+        if (cfg.type().endsWith("-proxy")) {
+            res = slice;
+        } else {
+            res = new NegativeCacheSlice(cfg.name(), slice, negatives);
+        }
+        return res;
+    }
 }
@@ -7,21 +7,35 @@ package com.artipie;
 
 import com.artipie.api.RestApi;
 import com.artipie.asto.Key;
+import com.artipie.asto.misc.Cleanable;
 import com.artipie.auth.JwtTokens;
-import com.artipie.http.ArtipieRepositories;
+import com.artipie.http.AccessLog;
 import com.artipie.http.BaseSlice;
 import com.artipie.http.MainSlice;
+import com.artipie.http.NegativeCache;
+import com.artipie.http.RepositorySliceRegistry;
+import com.artipie.http.RepositoryTags;
 import com.artipie.http.Slice;
+import com.artipie.http.SliceServer;
 import com.artipie.http.client.ClientSlices;
 import com.artipie.http.client.jetty.JettyClientSlices;
+import com.artipie.micrometer.MicrometerClientSlices;
 import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
 import com.artipie.settings.ConfigFile;
 import com.artipie.settings.MetricsContext;
 import com.artipie.settings.Settings;
 import com.artipie.settings.SettingsFromPath;
-import com.artipie.settings.repo.RepoConfig;
+import com.artipie.settings.cache.ClusterCaches;
+import com.artipie.settings.cache.bus.InvalidationBus;
+import com.artipie.settings.cache.bus.InvalidationBusFactory;
+import com.artipie.settings.cache.bus.LocalInvalidationBus;
+import com.artipie.settings.repo.RepositoriesBootstrap;
 import com.artipie.settings.repo.RepositoriesFromStorage;
-import com.artipie.vertx.VertxSliceServer;
+import com.artipie.settings.repo.proxy.CacheEviction;
+import com.artipie.settings.watch.ConfigInvalidation;
+import com.artipie.settings.watch.ConfigWatcher;
+import com.artipie.settings.watch.ConfigWatcherFactory;
 import com.jcabi.log.Logger;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
@@ -29,6 +43,7 @@ import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
 import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.ext.auth.PubSecKeyOptions;
@@ -38,14 +53,10 @@ import io.vertx.micrometer.MicrometerMetricsOptions;
 import io.vertx.micrometer.VertxPrometheusOptions;
 import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.reactivex.core.Vertx;
-import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -73,9 +84,9 @@ public final class VertxMain {
     private final ClientSlices http;
 
     /**
-     * Config file path.
+     * Artipie settings.
      */
-    private final Path config;
+    private final Settings settings;
 
     /**
      * Server port.
@@ -83,22 +94,41 @@ public final class VertxMain {
     private final int port;
 
     /**
-     * Servers.
+     * Servers, repository servers are added concurrently by
+     * {@link RepositoriesBootstrap} threads.
      */
-    private final List<VertxSliceServer> servers;
+    private final List<SliceServer> servers;
+
+    /**
+     * Access log of all servers.
+     */
+    private final AccessLog access;
+
+    /**
+     * Configuration storage watcher.
+     */
+    private ConfigWatcher watcher;
+
+    /**
+     * Caches invalidation bus.
+     */
+    private InvalidationBus bus;
 
     /**
      * Ctor.
      *
      * @param http HTTP client
-     * @param config Config file path.
+     * @param settings Artipie settings
      * @param port HTTP port
      */
-    public VertxMain(final ClientSlices http, final Path config, final int port) {
+    public VertxMain(final ClientSlices http, final Settings settings, final int port) {
         this.http = http;
-        this.config = config;
+        this.settings = settings;
         this.port = port;
-        this.servers = new ArrayList<>(0);
+        this.servers = new CopyOnWriteArrayList<>();
+        this.access = new AccessLog();
+        this.watcher = ConfigWatcher.NONE;
+        this.bus = new LocalInvalidationBus();
     }
 
     /**
@@ -106,25 +136,51 @@ public final class VertxMain {
      *
      * @param apiport Port to run Rest API service on
      * @return Port the servers listening on.
-     * @throws IOException In case of error reading settings.
      */
-    public int start(final int apiport) throws IOException {
-        final Settings settings = new SettingsFromPath(this.config).find();
-        final Vertx vertx = VertxMain.vertx(settings.metrics());
+    public int start(final int apiport) {
+        final Vertx vertx = VertxMain.vertx(this.settings.metrics());
         final JWTAuth jwt = JWTAuth.create(
             vertx.getDelegate(), new JWTAuthOptions().addPubSecKey(
                 new PubSecKeyOptions().setAlgorithm("HS256").setBuffer("some secret")
             )
         );
+        ClientSlices client = this.http;
+        if (this.settings.metrics().upstream()) {
+            client = new MicrometerClientSlices(this.http);
+        }
+        this.bus = InvalidationBusFactory.newInstance(this.settings.meta());
+        this.access.start();
+        final List<Cleanable<String>> rcaches = new CopyOnWriteArrayList<>();
+        final ClusterCaches caches = new ClusterCaches(this.settings.caches(), this.bus, rcaches);
+        final RepositorySliceRegistry repos = new RepositorySliceRegistry(
+            client, this.settings, new JwtTokens(jwt), caches.negativeCache()
+        );
+        rcaches.addAll(
+            List.of(
+                new RepositoriesFromStorage(this.settings), repos, new NegativeCache(),
+                new CacheEviction()
+            )
+        );
         final int main = this.listenOn(
-            new MainSlice(this.http, settings, new JwtTokens(jwt)),
+            new MainSlice(this.settings, repos),
             this.port,
             vertx,
-            settings.metrics()
+            this.settings.metrics(),
+            new RepositoryTags(repos)
         );
         Logger.info(VertxMain.class, "Artipie was started on port %d", main);
-        this.startRepos(vertx, settings, this.port, jwt);
-        vertx.deployVerticle(new RestApi(settings, apiport, jwt));
+        this.watchConfigs(this.settings, repos);
+        this.startRepos(vertx, this.settings, this.port, repos);
+        vertx.deployVerticle(
+            new RestApi(
+                caches, this.settings.configStorage(), apiport, this.settings.authz(),
+                this.settings.keyStore(), jwt
+            ),
+            new DeploymentOptions().setWorkerPoolName(RestApi.WORKERS).setWorkerPoolSize(
+                //@checkstyle MagicNumberCheck (1 line)
+                (int) new Property(ArtipieProperties.REST_WORKERS).asLongOrDefault(8L)
+            )
+        );
         return main;
     }
 
@@ -132,9 +188,12 @@ public final class VertxMain {
      * Stops server releasing all resources.
      */
     public void stop() {
-        for (final VertxSliceServer server : this.servers) {
+        for (final SliceServer server : this.servers) {
             server.stop();
         }
+        this.access.stop();
+        this.watcher.close();
+        this.bus.close();
     }
 
     /**
@@ -171,54 +230,90 @@ public final class VertxMain {
             "Used version of Artipie: %s",
             new ArtipieProperties().version()
         );
-        final JettyClientSlices http = new JettyClientSlices(new HttpClientSettings());
+        final Settings settings = new SettingsFromPath(config).find();
+        final JettyClientSlices http = new HttpClientSettings(
+            settings.meta().yamlMapping("http_client")
+        ).client();
         http.start();
-        new VertxMain(http, config, port)
+        new VertxMain(http, settings, port)
             .start(Integer.parseInt(cmd.getOptionValue(apiport, VertxMain.DEF_API_PORT)));
     }
 
     /**
-     * Start repository servers.
+     * Start repository servers. Repository configs are loaded asynchronously,
+     * so main port serves requests while port-bound repositories are starting.
      *
      * @param vertx Vertx instance
      * @param settings Settings.
      * @param mport Artipie service main port
-     * @param jwt Jwt authentication
+     * @param repos Repository slices registry
      * @checkstyle ParameterNumberCheck (5 lines)
      */
     private void startRepos(
         final Vertx vertx,
         final Settings settings,
         final int mport,
-        final JWTAuth jwt
+        final RepositorySliceRegistry repos
     ) {
-        final Collection<RepoConfig> configs = settings.repoConfigsStorage().list(Key.ROOT)
-            .thenApply(
-                keys -> keys.stream().map(ConfigFile::new)
-                    .filter(Predicate.not(ConfigFile::isSystem).and(ConfigFile::isYamlOrYml))
-                    .map(ConfigFile::name)
-                    .map(name -> new RepositoriesFromStorage(settings).config(name))
-                    .map(stage -> stage.toCompletableFuture().join())
-                    .collect(Collectors.toList())
-            ).toCompletableFuture().join();
-        for (final RepoConfig repo : configs) {
-            try {
-                repo.port().ifPresentOrElse(
-                    prt -> {
-                        final String name = new ConfigFile(repo.name()).name();
-                        this.listenOn(
-                            new ArtipieRepositories(
-                                this.http, settings, new JwtTokens(jwt)
-                            ).slice(new Key.From(name), prt),
-                            prt, vertx, settings.metrics()
-                        );
-                        VertxMain.logRepo(prt, name);
-                    },
-                    () -> VertxMain.logRepo(mport, repo.name())
+        new RepositoriesBootstrap(
+            settings.repoConfigsStorage(),
+            new RepositoriesFromStorage(settings),
+            (int) new Property(ArtipieProperties.BOOTSTRAP_PARALLELISM)
+                //@checkstyle MagicNumberCheck (1 line)
+                .asLongOrDefault(16L)
+        ).load(
+            repo -> repo.port().ifPresentOrElse(
+                prt -> {
+                    final Key name = new Key.From(new ConfigFile(repo.name()).name());
+                    this.listenOn(
+                        (line, headers, body) -> repos.slice(name, prt)
+                            .response(line, headers, body),
+                        prt, vertx, settings.metrics(), new RepositoryTags(repos, name.string())
+                    );
+                    VertxMain.logRepo(prt, name.string());
+                },
+                () -> VertxMain.logRepo(mport, repo.name())
+            )
+        ).exceptionally(
+            err -> {
+                Logger.error(
+                    VertxMain.class,
+                    "Failed to load repositories configs: %[exception]s", err
                 );
-            } catch (final IllegalStateException err) {
-                Logger.error(this, "Invalid repo config file %s: %[exception]s", repo.name(), err);
+                return 0;
             }
+        );
+    }
+
+    /**
+     * Start watching repositories configuration storage to invalidate
+     * repositories caches as soon as configs are changed. If storage does not
+     * support watching or watching failed to start, caches are expired by timeouts.
+     *
+     * @param settings Settings
+     * @param repos Repository slices registry
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void watchConfigs(final Settings settings, final RepositorySliceRegistry repos) {
+        try {
+            this.watcher = ConfigWatcherFactory.newInstance(settings.meta());
+            this.watcher.start(
+                new ConfigInvalidation(
+                    new RepositoriesFromStorage(settings),
+                    settings.caches().filtersCache(),
+                    repos,
+                    new NegativeCache(),
+                    new CacheEviction()
+                )
+            );
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final RuntimeException err) {
+            Logger.warn(
+                VertxMain.class,
+                "Failed to watch config storage, caches are expired by timeouts: %[exception]s",
+                err
+            );
+            this.watcher = ConfigWatcher.NONE;
         }
     }
 
@@ -229,14 +324,16 @@ public final class VertxMain {
      * @param sport Slice server port.
      * @param vertx Vertx instance
      * @param mctx Metrics context
+     * @param tags Metrics tags and repository name by request line
      * @return Port server started to listen on.
      * @checkstyle ParameterNumberCheck (5 lines)
      */
     private int listenOn(
-        final Slice slice, final int sport, final Vertx vertx, final MetricsContext mctx
+        final Slice slice, final int sport, final Vertx vertx, final MetricsContext mctx,
+        final RepositoryTags tags
     ) {
-        final VertxSliceServer server = new VertxSliceServer(
-            vertx, new BaseSlice(mctx, slice), sport
+        final SliceServer server = new SliceServer(
+            vertx, new BaseSlice(mctx, slice, this.access, tags, tags::repo), sport
         );
         this.servers.add(server);
         return server.start();
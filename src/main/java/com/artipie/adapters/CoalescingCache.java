@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.adapters;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.cache.Cache;
+import com.artipie.asto.cache.CacheControl;
+import com.artipie.asto.cache.Remote;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Proxy cache with request coalescing (single-flight): concurrent loads
+ * of the same item share one upstream fetch. The first load of the item is
+ * performed by origin cache, other loads wait for it and then read the item
+ * saved by the first load from cache storage without calling remote. If the
+ * first load failed, waiters fail with the same error instead of calling
+ * remote all at once; if the item was already removed from the cache,
+ * waiters load it again with coalescing; if upstream has no such item,
+ * waiters get empty result too. In-flight loads are shared by all instances with
+ * the same name, so it's safe to create this cache per request.
+ * @since 0.30
+ */
+public final class CoalescingCache implements Cache {
+
+    /**
+     * In-flight loads by cache name and key, completed with `true` if
+     * item was found and saved to the cache.
+     */
+    private static final ConcurrentMap<String, CompletableFuture<Boolean>> INFLIGHT =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Cache name, e.g. repository name and remote url.
+     */
+    private final String name;
+
+    /**
+     * Origin cache.
+     */
+    private final Cache origin;
+
+    /**
+     * Ctor.
+     * @param name Cache name, e.g. repository name and remote url
+     * @param origin Origin cache
+     */
+    public CoalescingCache(final String name, final Cache origin) {
+        this.name = name;
+        this.origin = origin;
+    }
+
+    @Override
+    public CompletionStage<Optional<? extends Content>> load(
+        final Key key, final Remote remote, final CacheControl control
+    ) {
+        final String id = String.join("/", this.name, key.string());
+        final CompletableFuture<Boolean> mine = new CompletableFuture<>();
+        final CompletableFuture<Boolean> current = CoalescingCache.INFLIGHT.putIfAbsent(id, mine);
+        final CompletionStage<Optional<? extends Content>> res;
+        if (current == null) {
+            res = this.origin.load(key, remote, control).whenComplete(
+                (content, err) -> {
+                    CoalescingCache.INFLIGHT.remove(id, mine);
+                    if (err == null) {
+                        mine.complete(content.isPresent());
+                    } else {
+                        mine.completeExceptionally(err);
+                    }
+                }
+            );
+        } else {
+            res = current.handle(
+                (found, err) -> {
+                    final CompletionStage<Optional<? extends Content>> loaded;
+                    if (err != null) {
+                        loaded = CompletableFuture.failedFuture(err);
+                    } else if (found) {
+                        loaded = this.origin.load(
+                            key, Remote.EMPTY, CacheControl.Standard.ALWAYS
+                        ).thenCompose(
+                            cached -> {
+                                final CompletionStage<Optional<? extends Content>> item;
+                                if (cached.isPresent()) {
+                                    item = CompletableFuture.completedFuture(cached);
+                                } else {
+                                    item = this.load(key, remote, control);
+                                }
+                                return item;
+                            }
+                        );
+                    } else {
+                        loaded = CompletableFuture.completedFuture(Optional.empty());
+                    }
+                    return loaded;
+                }
+            ).thenCompose(Function.identity());
+        }
+        return res;
+    }
+
+    /**
+     * Number of in-flight loads.
+     * @return Number of loads
+     */
+    static int inflight() {
+        return CoalescingCache.INFLIGHT.size();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.adapters;
+
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.reactivestreams.Publisher;
+
+/**
+ * Proxy slice with request coalescing (single-flight) for adapters which
+ * do not accept {@link com.artipie.asto.cache.Cache} implementation:
+ * concurrent GET requests of the same path wait for the first request and
+ * then are served by origin slice. Waiters follow the first request only if
+ * its response is 200: they wait until this response is completed, so the
+ * item is in the cache and waiters are served from it. Any other response
+ * (e.g. 404 or 503) or failure of the first request releases waiters as soon
+ * as it arrives and they are passed to origin slice without waiting for the
+ * first response body to be sent. Other requests are passed to origin slice
+ * as is.
+ * In-flight requests are shared by all instances with the same name, so
+ * it's safe to create this slice per request.
+ * @since 0.30
+ */
+public final class CoalescingSlice implements Slice {
+
+    /**
+     * In-flight requests by slice name and request path.
+     */
+    private static final ConcurrentMap<String, CompletableFuture<Void>> INFLIGHT =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Slice name, e.g. repository name and remote url.
+     */
+    private final String name;
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Ctor.
+     * @param name Slice name, e.g. repository name and remote url
+     * @param origin Origin slice
+     */
+    public CoalescingSlice(final String name, final Slice origin) {
+        this.name = name;
+        this.origin = origin;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RequestLineFrom rqline = new RequestLineFrom(line);
+        final Response res;
+        if (rqline.method() == RqMethod.GET) {
+            final String id = String.join("", this.name, rqline.uri().toString());
+            final CompletableFuture<Void> mine = new CompletableFuture<>();
+            final CompletableFuture<Void> current =
+                CoalescingSlice.INFLIGHT.putIfAbsent(id, mine);
+            if (current == null) {
+                res = this.leader(id, mine, line, headers, body);
+            } else {
+                res = new AsyncResponse(
+                    current.thenApply(nothing -> this.origin.response(line, headers, body))
+                );
+            }
+        } else {
+            res = this.origin.response(line, headers, body);
+        }
+        return res;
+    }
+
+    /**
+     * Response of the first request, in-flight request is released when 200
+     * response is completed, other responses release it as soon as response
+     * headers arrive or response fails, so waiters don't wait while body of
+     * such response is sent to the first client.
+     * @param id Request id
+     * @param mine In-flight request
+     * @param line Request line
+     * @param headers Request headers
+     * @param body Request body
+     * @return Response
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private Response leader(
+        final String id,
+        final CompletableFuture<Void> mine,
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final Response rsp;
+        try {
+            rsp = this.origin.response(line, headers, body);
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final RuntimeException err) {
+            CoalescingSlice.release(id, mine);
+            throw err;
+        }
+        return connection -> rsp.send(
+            (status, rsheaders, rsbody) -> {
+                if (status != RsStatus.OK) {
+                    CoalescingSlice.release(id, mine);
+                }
+                return connection.accept(status, rsheaders, rsbody);
+            }
+        ).whenComplete((nothing, err) -> CoalescingSlice.release(id, mine));
+    }
+
+    /**
+     * Release in-flight request and let waiting requests proceed.
+     * @param id Request id
+     * @param mine In-flight request
+     */
+    private static void release(final String id, final CompletableFuture<Void> mine) {
+        CoalescingSlice.INFLIGHT.remove(id, mine);
+        mine.complete(null);
+    }
+}
@@ -25,8 +25,10 @@ import com.artipie.security.policy.Policy;
 import com.artipie.settings.repo.RepoConfig;
 import com.artipie.settings.repo.proxy.ProxyConfig;
 import com.artipie.settings.repo.proxy.YamlProxyConfig;
+import com.google.common.base.Suppliers;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.reactivestreams.Publisher;
 
@@ -63,6 +65,11 @@ public final class DockerProxy implements Slice {
      */
     private final Authentication auth;
 
+    /**
+     * Docker proxy slice, built once for repository configuration.
+     */
+    private final Supplier<Slice> slice;
+
     /**
      * Ctor.
      *
@@ -84,6 +91,7 @@ public final class DockerProxy implements Slice {
         this.standalone = standalone;
         this.policy = policy;
         this.auth = auth;
+        this.slice = Suppliers.memoize(this::delegate);
     }
 
     @Override
@@ -92,7 +100,7 @@ public final class DockerProxy implements Slice {
         final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> body
     ) {
-        return this.delegate().response(line, headers, body);
+        return this.slice.get().response(line, headers, body);
     }
 
     /**
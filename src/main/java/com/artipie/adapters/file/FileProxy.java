@@ -4,6 +4,7 @@
  */
 package com.artipie.adapters.file;
 
+import com.artipie.adapters.CoalescingCache;
 import com.artipie.asto.cache.Cache;
 import com.artipie.asto.cache.FromStorageCache;
 import com.artipie.files.FileProxySlice;
@@ -13,10 +14,12 @@ import com.artipie.http.client.ClientSlices;
 import com.artipie.settings.repo.RepoConfig;
 import com.artipie.settings.repo.proxy.ProxyConfig;
 import com.artipie.settings.repo.proxy.YamlProxyConfig;
+import com.google.common.base.Suppliers;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 
 /**
@@ -36,6 +39,11 @@ public final class FileProxy implements Slice {
      */
     private final RepoConfig cfg;
 
+    /**
+     * Proxy slice, built once for repository configuration.
+     */
+    private final Supplier<Slice> slice;
+
     /**
      * Ctor.
      *
@@ -45,6 +53,7 @@ public final class FileProxy implements Slice {
     public FileProxy(final ClientSlices client, final RepoConfig cfg) {
         this.client = client;
         this.cfg = cfg;
+        this.slice = Suppliers.memoize(this::build);
     }
 
     @Override
@@ -53,6 +62,14 @@ public final class FileProxy implements Slice {
         final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> body
     ) {
+        return this.slice.get().response(line, headers, body);
+    }
+
+    /**
+     * Build upstream slice from repository configuration.
+     * @return Proxy slice
+     */
+    private Slice build() {
         final Collection<? extends ProxyConfig.Remote> remotes =
             new YamlProxyConfig(this.client, this.cfg).remotes();
         if (remotes.isEmpty()) {
@@ -66,8 +83,12 @@ public final class FileProxy implements Slice {
             this.client,
             URI.create(remote.url()),
             remote.auth(),
-            remote.cache().<Cache>map(cache -> new FromStorageCache(cache.storage()))
-                .orElse(Cache.NOP)
-        ).response(line, headers, body);
+            remote.cache().<Cache>map(
+                cache -> new CoalescingCache(
+                    String.join("|", this.cfg.name(), remote.url()),
+                    new FromStorageCache(cache.storage())
+                )
+            ).orElse(Cache.NOP)
+        );
     }
 }
@@ -4,18 +4,24 @@
  */
 package com.artipie.adapters.maven;
 
+import com.artipie.adapters.CoalescingCache;
 import com.artipie.asto.cache.Cache;
 import com.artipie.asto.cache.FromStorageCache;
+import com.artipie.http.NegativeCache;
+import com.artipie.http.NegativeCacheSlice;
+import com.artipie.http.RacingGroupSlice;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
+import com.artipie.http.UpstreamMisses;
 import com.artipie.http.client.ClientSlices;
-import com.artipie.http.group.GroupSlice;
 import com.artipie.maven.http.MavenProxySlice;
 import com.artipie.settings.repo.RepoConfig;
 import com.artipie.settings.repo.proxy.YamlProxyConfig;
+import com.google.common.base.Suppliers;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.reactivestreams.Publisher;
 
@@ -36,15 +42,30 @@ public final class MavenProxy implements Slice {
      */
     private final RepoConfig cfg;
 
+    /**
+     * Negative lookups cache.
+     */
+    private final NegativeCache negatives;
+
+    /**
+     * Proxy slice, built once for repository configuration.
+     */
+    private final Supplier<Slice> slice;
+
     /**
      * Ctor.
      *
      * @param client HTTP client.
      * @param cfg Repository configuration.
+     * @param negatives Negative lookups cache
      */
-    public MavenProxy(final ClientSlices client, final RepoConfig cfg) {
+    public MavenProxy(
+        final ClientSlices client, final RepoConfig cfg, final NegativeCache negatives
+    ) {
         this.client = client;
         this.cfg = cfg;
+        this.negatives = negatives;
+        this.slice = Suppliers.memoize(this::build);
     }
 
     @Override
@@ -53,17 +74,37 @@ public final class MavenProxy implements Slice {
         final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> body
     ) {
-        return new GroupSlice(
+        return this.slice.get().response(line, headers, body);
+    }
+
+    /**
+     * Build upstream slice from repository configuration.
+     * @return Proxy slice
+     */
+    private Slice build() {
+        return RacingGroupSlice.fromSettings(
+            this.cfg.settings(),
             new YamlProxyConfig(this.client, this.cfg).remotes().stream().map(
-                remote -> new MavenProxySlice(
-                    this.client,
-                    URI.create(remote.url()),
-                    remote.auth(),
-                    remote.cache().<Cache>map(
-                        cache -> new FromStorageCache(cache.storage())
-                    ).orElse(Cache.NOP)
-                )
+                remote -> {
+                    final UpstreamMisses upstream = new UpstreamMisses();
+                    return new NegativeCacheSlice(
+                        String.join(NegativeCache.SEP, this.cfg.name(), remote.url()),
+                        new MavenProxySlice(
+                            upstream.client(this.client),
+                            URI.create(remote.url()),
+                            remote.auth(),
+                            remote.cache().<Cache>map(
+                                cache -> new CoalescingCache(
+                                    String.join("|", this.cfg.name(), remote.url()),
+                                    new FromStorageCache(cache.storage())
+                                )
+                            ).orElse(Cache.NOP)
+                        ),
+                        this.negatives,
+                        upstream
+                    );
+                }
             ).collect(Collectors.toList())
-        ).response(line, headers, body);
+        );
     }
 }
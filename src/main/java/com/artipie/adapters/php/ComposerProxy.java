@@ -4,6 +4,7 @@
  */
 package com.artipie.adapters.php;
 
+import com.artipie.adapters.CoalescingCache;
 import com.artipie.composer.AstoRepository;
 import com.artipie.composer.http.proxy.ComposerProxySlice;
 import com.artipie.composer.http.proxy.ComposerStorageCache;
@@ -13,10 +14,12 @@ import com.artipie.http.client.ClientSlices;
 import com.artipie.settings.repo.RepoConfig;
 import com.artipie.settings.repo.proxy.ProxyConfig;
 import com.artipie.settings.repo.proxy.YamlProxyConfig;
+import com.google.common.base.Suppliers;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 
 /**
@@ -34,6 +37,11 @@ public final class ComposerProxy implements Slice {
      */
     private final RepoConfig cfg;
 
+    /**
+     * Proxy slice, built once for repository configuration.
+     */
+    private final Supplier<Slice> slice;
+
     /**
      * Ctor.
      * @param client HTTP client
@@ -42,6 +50,7 @@ public final class ComposerProxy implements Slice {
     public ComposerProxy(final ClientSlices client, final RepoConfig cfg) {
         this.client = client;
         this.cfg = cfg;
+        this.slice = Suppliers.memoize(this::build);
     }
 
     @Override
@@ -50,6 +59,14 @@ public final class ComposerProxy implements Slice {
         final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> body
     ) {
+        return this.slice.get().response(line, headers, body);
+    }
+
+    /**
+     * Build upstream slice from repository configuration.
+     * @return Proxy slice
+     */
+    private Slice build() {
         final Collection<? extends ProxyConfig.Remote> remotes =
             new YamlProxyConfig(this.client, this.cfg).remotes();
         if (remotes.isEmpty()) {
@@ -65,7 +82,10 @@ public final class ComposerProxy implements Slice {
                 URI.create(remote.url()),
                 new AstoRepository(this.cfg.storage()),
                 remote.auth(),
-                new ComposerStorageCache(new AstoRepository(cache.storage()))
+                new CoalescingCache(
+                    String.join("|", this.cfg.name(), remote.url()),
+                    new ComposerStorageCache(new AstoRepository(cache.storage()))
+                )
             )
         ).orElseGet(
             () -> new ComposerProxySlice(
@@ -74,6 +94,6 @@ public final class ComposerProxy implements Slice {
                 new AstoRepository(this.cfg.storage()),
                 remote.auth()
             )
-        ).response(line, headers, body);
+        );
     }
 }
@@ -4,6 +4,7 @@
  */
 package com.artipie.adapters.pypi;
 
+import com.artipie.adapters.CoalescingSlice;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
 import com.artipie.http.client.ClientSlices;
@@ -11,10 +12,12 @@ import com.artipie.pypi.http.PyProxySlice;
 import com.artipie.settings.repo.RepoConfig;
 import com.artipie.settings.repo.proxy.ProxyConfig;
 import com.artipie.settings.repo.proxy.YamlProxyConfig;
+import com.google.common.base.Suppliers;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 
 /**
@@ -33,6 +36,11 @@ public final class PypiProxy implements Slice {
      */
     private final RepoConfig cfg;
 
+    /**
+     * Proxy slice, built once for repository configuration.
+     */
+    private final Supplier<Slice> slice;
+
     /**
      * Ctor.
      *
@@ -42,11 +50,20 @@ public final class PypiProxy implements Slice {
     public PypiProxy(final ClientSlices client, final RepoConfig cfg) {
         this.client = client;
         this.cfg = cfg;
+        this.slice = Suppliers.memoize(this::build);
     }
 
     @Override
     public Response response(final String line, final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> body) {
+        return this.slice.get().response(line, headers, body);
+    }
+
+    /**
+     * Build upstream slice from repository configuration.
+     * @return Proxy slice
+     */
+    private Slice build() {
         final Collection<? extends ProxyConfig.Remote> remotes =
             new YamlProxyConfig(this.client, this.cfg).remotes();
         if (remotes.isEmpty()) {
@@ -56,13 +73,16 @@ public final class PypiProxy implements Slice {
             throw new IllegalArgumentException("Only one remote is allowed");
         }
         final ProxyConfig.Remote remote = remotes.iterator().next();
-        return new PyProxySlice(
-            this.client,
-            URI.create(remote.url()),
-            remote.auth(),
-            remote.cache().orElseThrow(
-                () -> new IllegalStateException("Python proxy requires proxy storage to be set")
-            ).storage()
-        ).response(line, headers, body);
+        return new CoalescingSlice(
+            String.join("|", this.cfg.name(), remote.url()),
+            new PyProxySlice(
+                this.client,
+                URI.create(remote.url()),
+                remote.auth(),
+                remote.cache().orElseThrow(
+                    () -> new IllegalStateException("Python proxy requires proxy storage to be set")
+                ).storage()
+            )
+        );
     }
 }
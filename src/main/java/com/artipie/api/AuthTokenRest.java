@@ -53,7 +53,7 @@ public final class AuthTokenRest extends BaseRest {
     @Override
     public void init(final RouterBuilder rbr) {
         rbr.operation("getJwtToken")
-            .handler(this::getJwtToken)
+            .handler(new BlockingHandler(this::getJwtToken))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
     }
 
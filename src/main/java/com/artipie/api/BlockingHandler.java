@@ -0,0 +1,42 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.api;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Handler which runs origin handler on worker pool of the current
+ * verticle instead of event loop: operations with blocking storage and
+ * authentication must not freeze other API requests. Handler failures are
+ * passed to route failure handler.
+ * @since 0.30
+ */
+final class BlockingHandler implements Handler<RoutingContext> {
+
+    /**
+     * Origin handler.
+     */
+    private final Handler<RoutingContext> origin;
+
+    /**
+     * Ctor.
+     * @param origin Origin handler
+     */
+    BlockingHandler(final Handler<RoutingContext> origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public void handle(final RoutingContext context) {
+        context.vertx().<Void>executeBlocking(
+            promise -> {
+                this.origin.handle(context);
+                promise.complete();
+            },
+            false
+        ).onFailure(context::fail);
+    }
+}
@@ -87,7 +87,7 @@ public final class RepositoryRest extends BaseRest {
                     new ApiRepositoryPermission(ApiRepositoryPermission.RepositoryAction.READ)
                 )
             )
-            .handler(this::listAll)
+            .handler(new BlockingHandler(this::listAll))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("getRepo")
             .handler(
@@ -96,7 +96,7 @@ public final class RepositoryRest extends BaseRest {
                     new ApiRepositoryPermission(ApiRepositoryPermission.RepositoryAction.READ)
                 )
             )
-            .handler(this::getRepo)
+            .handler(new BlockingHandler(this::getRepo))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("existRepo")
             .handler(
@@ -105,10 +105,10 @@ public final class RepositoryRest extends BaseRest {
                     new ApiRepositoryPermission(ApiRepositoryPermission.RepositoryAction.READ)
                 )
             )
-            .handler(this::existRepo)
+            .handler(new BlockingHandler(this::existRepo))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("createOrUpdateRepo")
-            .handler(this::createOrUpdateRepo)
+            .handler(new BlockingHandler(this::createOrUpdateRepo))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("removeRepo")
             .handler(
@@ -117,7 +117,7 @@ public final class RepositoryRest extends BaseRest {
                     new ApiRepositoryPermission(ApiRepositoryPermission.RepositoryAction.DELETE)
                 )
             )
-            .handler(this::removeRepo)
+            .handler(new BlockingHandler(this::removeRepo))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("moveRepo")
             .handler(
@@ -126,7 +126,7 @@ public final class RepositoryRest extends BaseRest {
                     new ApiRepositoryPermission(ApiRepositoryPermission.RepositoryAction.MOVE)
                 )
             )
-            .handler(this::moveRepo)
+            .handler(new BlockingHandler(this::moveRepo))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
     }
 
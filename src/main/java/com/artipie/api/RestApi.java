@@ -33,6 +33,12 @@ import java.util.Optional;
  */
 public final class RestApi extends AbstractVerticle {
 
+    /**
+     * Name of worker pool for API operations, Vert.x pool metrics (queue
+     * size and delay, usage) are reported with this `pool_name` tag.
+     */
+    public static final String WORKERS = "artipie-rest-api";
+
     /**
      * The name of the security scheme (from the Open API description yaml).
      */
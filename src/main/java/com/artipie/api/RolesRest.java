@@ -77,7 +77,7 @@ public final class RolesRest extends BaseRest {
                     this.policy, new ApiRolePermission(ApiRolePermission.RoleAction.READ)
                 )
             )
-            .handler(this::listAllRoles)
+            .handler(new BlockingHandler(this::listAllRoles))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("getRole")
             .handler(
@@ -85,10 +85,10 @@ public final class RolesRest extends BaseRest {
                     this.policy, new ApiRolePermission(ApiRolePermission.RoleAction.READ)
                 )
             )
-            .handler(this::getRole)
+            .handler(new BlockingHandler(this::getRole))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("putRole")
-            .handler(this::putRole)
+            .handler(new BlockingHandler(this::putRole))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("deleteRole")
             .handler(
@@ -96,7 +96,7 @@ public final class RolesRest extends BaseRest {
                     this.policy, new ApiRolePermission(ApiRolePermission.RoleAction.DELETE)
                 )
             )
-            .handler(this::deleteRole)
+            .handler(new BlockingHandler(this::deleteRole))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("enable")
             .handler(
@@ -104,7 +104,7 @@ public final class RolesRest extends BaseRest {
                     this.policy, new ApiRolePermission(ApiRolePermission.RoleAction.ENABLE)
                 )
             )
-            .handler(this::enableRole)
+            .handler(new BlockingHandler(this::enableRole))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("disable")
             .handler(
@@ -112,7 +112,7 @@ public final class RolesRest extends BaseRest {
                     this.policy, new ApiRolePermission(ApiRolePermission.RoleAction.ENABLE)
                 )
             )
-            .handler(this::disableRole)
+            .handler(new BlockingHandler(this::disableRole))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
     }
 
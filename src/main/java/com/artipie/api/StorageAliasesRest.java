@@ -66,7 +66,7 @@ public final class StorageAliasesRest extends BaseRest {
                     this.policy, new ApiAliasPermission(ApiAliasPermission.AliasAction.READ)
                 )
             )
-            .handler(this::addRepoAlias)
+            .handler(new BlockingHandler(this::addRepoAlias))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rtrb.operation("getRepoAliases")
             .handler(
@@ -74,7 +74,7 @@ public final class StorageAliasesRest extends BaseRest {
                     this.policy, new ApiAliasPermission(ApiAliasPermission.AliasAction.READ)
                 )
             )
-            .handler(this::getRepoAliases)
+            .handler(new BlockingHandler(this::getRepoAliases))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rtrb.operation("deleteRepoAlias")
             .handler(
@@ -82,7 +82,7 @@ public final class StorageAliasesRest extends BaseRest {
                     this.policy, new ApiAliasPermission(ApiAliasPermission.AliasAction.DELETE)
                 )
             )
-            .handler(this::deleteRepoAlias)
+            .handler(new BlockingHandler(this::deleteRepoAlias))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rtrb.operation("getAliases")
             .handler(
@@ -90,7 +90,7 @@ public final class StorageAliasesRest extends BaseRest {
                     this.policy, new ApiAliasPermission(ApiAliasPermission.AliasAction.READ)
                 )
             )
-            .handler(this::getAliases)
+            .handler(new BlockingHandler(this::getAliases))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rtrb.operation("addAlias")
             .handler(
@@ -98,7 +98,7 @@ public final class StorageAliasesRest extends BaseRest {
                     this.policy, new ApiAliasPermission(ApiAliasPermission.AliasAction.CREATE)
                 )
             )
-            .handler(this::addAlias)
+            .handler(new BlockingHandler(this::addAlias))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rtrb.operation("deleteAlias")
             .handler(
@@ -106,7 +106,7 @@ public final class StorageAliasesRest extends BaseRest {
                     this.policy, new ApiAliasPermission(ApiAliasPermission.AliasAction.DELETE)
                 )
             )
-            .handler(this::deleteAlias)
+            .handler(new BlockingHandler(this::deleteAlias))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
     }
 
@@ -93,7 +93,7 @@ public final class UsersRest extends BaseRest {
                     this.policy, new ApiUserPermission(ApiUserPermission.UserAction.READ)
                 )
             )
-            .handler(this::listAllUsers)
+            .handler(new BlockingHandler(this::listAllUsers))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("getUser")
             .handler(
@@ -101,10 +101,10 @@ public final class UsersRest extends BaseRest {
                     this.policy, new ApiUserPermission(ApiUserPermission.UserAction.READ)
                 )
             )
-            .handler(this::getUser)
+            .handler(new BlockingHandler(this::getUser))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("putUser")
-            .handler(this::putUser)
+            .handler(new BlockingHandler(this::putUser))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("deleteUser")
             .handler(
@@ -112,7 +112,7 @@ public final class UsersRest extends BaseRest {
                     this.policy, new ApiUserPermission(ApiUserPermission.UserAction.DELETE)
                 )
             )
-            .handler(this::deleteUser)
+            .handler(new BlockingHandler(this::deleteUser))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("alterPassword")
             .handler(
@@ -120,7 +120,7 @@ public final class UsersRest extends BaseRest {
                     this.policy, new ApiUserPermission(ApiUserPermission.UserAction.CHANGE_PASSWORD)
                 )
             )
-            .handler(this::alterPassword)
+            .handler(new BlockingHandler(this::alterPassword))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("enable")
             .handler(
@@ -128,7 +128,7 @@ public final class UsersRest extends BaseRest {
                     this.policy, new ApiUserPermission(ApiUserPermission.UserAction.ENABLE)
                 )
             )
-            .handler(this::enableUser)
+            .handler(new BlockingHandler(this::enableUser))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
         rbr.operation("disable")
             .handler(
@@ -136,7 +136,7 @@ public final class UsersRest extends BaseRest {
                     this.policy, new ApiUserPermission(ApiUserPermission.UserAction.ENABLE)
                 )
             )
-            .handler(this::disableUser)
+            .handler(new BlockingHandler(this::disableUser))
             .failureHandler(this.errorHandler(HttpStatus.INTERNAL_SERVER_ERROR_500));
     }
 
@@ -6,43 +6,155 @@ package com.artipie.auth;
 
 import com.artipie.http.auth.AuthUser;
 import com.artipie.http.auth.Authentication;
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import com.jcabi.log.Logger;
+import java.security.SecureRandom;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.keycloak.authorization.client.AuthzClient;
 import org.keycloak.authorization.client.Configuration;
+import org.keycloak.authorization.client.util.HttpResponseException;
 import org.keycloak.representations.idm.authorization.AuthorizationRequest;
 
 /**
  * Authentication based on keycloak.
+ * <p>
+ * One {@link AuthzClient} is created on first use and shared by all
+ * authentications. Password grants are performed on dedicated bounded
+ * worker pool ({@link ArtipieProperties#KEYCLOAK_POOL} threads) and are
+ * limited by {@link ArtipieProperties#KEYCLOAK_TIMEOUT}, successful grants
+ * are remembered until access token expires. Credentials rejected by
+ * Keycloak are not authenticated, while timeouts and other grant failures
+ * are reported as {@link AuthUnavailableException}.
+ * </p>
  * @since 0.28.0
  */
 public final class AuthFromKeycloak implements Authentication {
+
+    /**
+     * Keyed hash function for username and password.
+     */
+    private static final HashFunction HASH = Hashing.sipHash24(
+        new SecureRandom().nextLong(), new SecureRandom().nextLong()
+    );
+
+    /**
+     * Max number of remembered grants.
+     */
+    private static final long MAX_GRANTS = 10_000L;
+
+    /**
+     * Max number of grants waiting for worker.
+     */
+    private static final int QUEUE = 100;
+
     /**
-     * Configuration.
+     * Password grant.
      */
-    private final Configuration config;
+    private final Grant grant;
+
+    /**
+     * Workers pool.
+     */
+    private final ExecutorService pool;
+
+    /**
+     * Grant timeout in millis.
+     */
+    private final long timeout;
+
+    /**
+     * Access token expiration time in nanos by hash of username and password.
+     */
+    private final Cache<Long, Long> grants;
 
     /**
      * Ctor.
      * @param config Configuration
      */
     public AuthFromKeycloak(final Configuration config) {
-        this.config = config;
+        this(
+            new Grant.Password(config),
+            AuthFromKeycloak.workers(
+                //@checkstyle MagicNumberCheck (1 line)
+                (int) new Property(ArtipieProperties.KEYCLOAK_POOL).asLongOrDefault(8L)
+            ),
+            //@checkstyle MagicNumberCheck (1 line)
+            new Property(ArtipieProperties.KEYCLOAK_TIMEOUT).asLongOrDefault(5_000L)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param grant Password grant
+     * @param pool Workers pool
+     * @param timeout Grant timeout in millis
+     */
+    AuthFromKeycloak(final Grant grant, final ExecutorService pool, final long timeout) {
+        this.grant = grant;
+        this.pool = pool;
+        this.timeout = timeout;
+        this.grants = CacheBuilder.newBuilder().maximumSize(AuthFromKeycloak.MAX_GRANTS).build();
     }
 
     @Override
     @SuppressWarnings("PMD.AvoidCatchingThrowable")
     public Optional<AuthUser> user(final String username, final String password) {
-        final AuthzClient client = AuthzClient.create(this.config);
-        Optional<AuthUser> res;
-        try {
-            client.authorization(username, password, "openid")
-                .authorize(new AuthorizationRequest());
+        final long key = AuthFromKeycloak.HASH.newHasher()
+            .putInt(username.length()).putUnencodedChars(username)
+            .putUnencodedChars(password)
+            .hash().asLong();
+        final Long expires = this.grants.getIfPresent(key);
+        Optional<AuthUser> res = Optional.empty();
+        if (expires != null && expires - System.nanoTime() > 0) {
             res = Optional.of(new AuthUser(username, "keycloak"));
-            // @checkstyle IllegalCatchCheck (1 line)
-        } catch (final Throwable err) {
-            Logger.error(this, err.getMessage());
-            res = Optional.empty();
+        } else {
+            this.grants.invalidate(key);
+            Future<Long> future = null;
+            try {
+                future = this.pool.submit(() -> this.grant.expiresIn(username, password));
+                final long seconds = future.get(this.timeout, TimeUnit.MILLISECONDS);
+                this.grants.put(key, System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds));
+                res = Optional.of(new AuthUser(username, "keycloak"));
+            } catch (final RejectedExecutionException | TimeoutException err) {
+                throw new AuthUnavailableException(
+                    String.format("Keycloak grant for %s was not completed", username), err
+                );
+            } catch (final InterruptedException err) {
+                Thread.currentThread().interrupt();
+                throw new AuthUnavailableException(
+                    String.format("Keycloak grant for %s was interrupted", username), err
+                );
+            } catch (final ExecutionException err) {
+                if (!AuthFromKeycloak.rejected(err.getCause())) {
+                    throw new AuthUnavailableException(
+                        String.format("Keycloak grant for %s failed", username), err.getCause()
+                    );
+                }
+                Logger.info(
+                    this, "Keycloak rejected grant for %s: %s", username,
+                    err.getCause().getMessage()
+                );
+            } finally {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
         }
         return res;
     }
@@ -51,4 +163,91 @@ public final class AuthFromKeycloak implements Authentication {
     public String toString() {
         return String.format("%s()", this.getClass().getSimpleName());
     }
+
+    /**
+     * Did Keycloak reject credentials: grant failed with client error
+     * response, except request timeout and rate limiting.
+     * @param err Grant error
+     * @return True if credentials are invalid
+     */
+    private static boolean rejected(final Throwable err) {
+        boolean res = false;
+        Throwable cause = err;
+        while (cause != null && !res) {
+            if (cause instanceof HttpResponseException) {
+                final int status = ((HttpResponseException) cause).getStatusCode();
+                //@checkstyle MagicNumberCheck (1 line)
+                res = status >= 400 && status < 500 && status != 408 && status != 429;
+            }
+            cause = cause.getCause();
+        }
+        return res;
+    }
+
+    /**
+     * Create bounded workers pool with daemon threads.
+     * @param size Max number of threads
+     * @return Pool
+     */
+    private static ExecutorService workers(final int size) {
+        final AtomicInteger cnt = new AtomicInteger();
+        final ThreadPoolExecutor res = new ThreadPoolExecutor(
+            size, size, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(AuthFromKeycloak.QUEUE),
+            runnable -> {
+                final Thread thread = new Thread(
+                    runnable, String.format("keycloak-auth-%d", cnt.incrementAndGet())
+                );
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        res.allowCoreThreadTimeOut(true);
+        return res;
+    }
+
+    /**
+     * Keycloak password grant.
+     * @since 0.30
+     */
+    @FunctionalInterface
+    interface Grant {
+
+        /**
+         * Authorize user with password.
+         * @param username Username
+         * @param password Password
+         * @return Access token lifetime in seconds
+         * @throws Exception If user was not authorized
+         * @checkstyle IllegalThrowsCheck (3 lines)
+         */
+        @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+        long expiresIn(String username, String password) throws Exception;
+
+        /**
+         * Password grant with shared {@link AuthzClient}.
+         * @since 0.30
+         */
+        final class Password implements Grant {
+
+            /**
+             * Keycloak client, created on first use.
+             */
+            private final Supplier<AuthzClient> client;
+
+            /**
+             * Ctor.
+             * @param config Configuration
+             */
+            Password(final Configuration config) {
+                this.client = Suppliers.memoize(() -> AuthzClient.create(config));
+            }
+
+            @Override
+            public long expiresIn(final String username, final String password)
+                throws Exception {
+                return this.client.get().authorization(username, password, "openid")
+                    .authorize(new AuthorizationRequest()).getExpiresIn();
+            }
+        }
+    }
 }
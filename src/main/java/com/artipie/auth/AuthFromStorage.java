@@ -4,18 +4,14 @@
  */
 package com.artipie.auth;
 
-import com.amihaiemil.eoyaml.Yaml;
-import com.amihaiemil.eoyaml.YamlMapping;
-import com.artipie.asto.Key;
-import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.Storage;
+import com.artipie.asto.misc.Cleanable;
 import com.artipie.http.auth.AuthUser;
 import com.artipie.http.auth.Authentication;
-import com.jcabi.log.Logger;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.util.Objects;
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
 import java.util.Optional;
-import org.apache.commons.codec.digest.DigestUtils;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Authentication from abstract storage.
@@ -41,9 +37,13 @@ import org.apache.commons.codec.digest.DigestUtils;
  *       rpm-repo:
  *         - read
  * }</pre>
+ * Users are looked up in in-memory {@link UsersIndex}, so authentication
+ * never waits for storage: the index is loaded in bulk and refreshed in
+ * background. Invalidated and unknown users are loaded one by one in background
+ * and are authenticated with new credentials once loaded.
  * @since 1.29
  */
-public final class AuthFromStorage implements Authentication {
+public final class AuthFromStorage implements Authentication, Cleanable<String> {
 
     /**
      * Auth type name.
@@ -51,65 +51,60 @@ public final class AuthFromStorage implements Authentication {
     private static final String ARTIPIE = "artipie";
 
     /**
-     * The storage to obtain users files from.
+     * Parsed users index.
      */
-    private final BlockingStorage asto;
+    private final UsersIndex index;
 
     /**
      * Ctor.
-     * @param asto Abstract blocking storage
+     * @param asto Abstract storage
      */
-    public AuthFromStorage(final BlockingStorage asto) {
-        this.asto = asto;
+    public AuthFromStorage(final Storage asto) {
+        this(
+            new UsersIndex(
+                asto,
+                //@checkstyle MagicNumberCheck (1 line)
+                new Property(ArtipieProperties.USERS_REFRESH).asLongOrDefault(60_000L)
+            )
+        );
     }
 
-    @Override
-    public Optional<AuthUser> user(final String name, final String pass) {
-        final Optional<byte[]> res;
-        final Key yaml = new Key.From(String.format("users/%s.yaml", name));
-        final Key yml = new Key.From(String.format("users/%s.yml", name));
-        if (this.asto.exists(yaml)) {
-            res = Optional.of(this.asto.value(yaml));
-        } else if (this.asto.exists(yml)) {
-            res = Optional.of(this.asto.value(yml));
-        } else {
-            res = Optional.empty();
-        }
-        return res.map(bytes -> AuthFromStorage.readAndCheckFromYaml(bytes, name, pass))
-            .flatMap(opt -> opt);
+    /**
+     * Ctor.
+     * @param index Parsed users index
+     */
+    @SuppressWarnings("PMD.ConstructorOnlyInitializesOrCallOtherConstructors")
+    AuthFromStorage(final UsersIndex index) {
+        this.index = index;
+        this.index.refresh();
     }
 
     @Override
-    public String toString() {
-        return this.getClass().getSimpleName();
+    public Optional<AuthUser> user(final String name, final String pass) {
+        return this.index.get(name).filter(creds -> creds.matches(pass))
+            .map(creds -> new AuthUser(name, AuthFromStorage.ARTIPIE));
     }
 
     /**
-     * Reads bytes as yaml and check the password.
-     * @param bytes Yaml bytes
-     * @param name Username
-     * @param pass Password to check
-     * @return User if yaml parsed and password is correct
+     * Completion of users bulk load, completes normally even if load failed.
+     * @return Completion of current bulk load
      */
-    private static Optional<AuthUser> readAndCheckFromYaml(final byte[] bytes, final String name,
-        final String pass) {
-        Optional<AuthUser> res = Optional.empty();
-        try {
-            final YamlMapping info = Yaml.createYamlInput(new ByteArrayInputStream(bytes))
-                .readYamlMapping();
-            if (info != null
-                && !Boolean.FALSE.toString().equalsIgnoreCase(info.string("enabled"))) {
-                final String type = info.string("type");
-                final String origin = info.string("pass");
-                if ("plain".equals(type) && Objects.equals(origin, pass)) {
-                    res = Optional.of(new AuthUser(name, AuthFromStorage.ARTIPIE));
-                } else if ("sha256".equals(type) && DigestUtils.sha256Hex(pass).equals(origin)) {
-                    res = Optional.of(new AuthUser(name, AuthFromStorage.ARTIPIE));
-                }
-            }
-        } catch (final IOException err) {
-            Logger.error(AuthFromStorage.class, "Failed to parse yaml for user %s", name);
-        }
-        return res;
+    public CompletionStage<Void> loaded() {
+        return this.index.refresh();
+    }
+
+    @Override
+    public void invalidate(final String name) {
+        this.index.load(name);
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.index.reload();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName();
     }
 }
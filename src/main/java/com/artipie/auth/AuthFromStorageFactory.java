@@ -6,14 +6,14 @@ package com.artipie.auth;
 
 import com.amihaiemil.eoyaml.YamlMapping;
 import com.artipie.ArtipieException;
-import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.http.auth.ArtipieAuthFactory;
 import com.artipie.http.auth.AuthFactory;
 import com.artipie.http.auth.Authentication;
 import com.artipie.settings.YamlSettings;
 
 /**
- * Factory for auth from environment.
+ * Factory for auth from storage, users are loaded in background, so lookups
+ * miss until the first bulk load of users finishes.
  * @since 0.30
  */
 @ArtipieAuthFactory("artipie")
@@ -22,7 +22,7 @@ public final class AuthFromStorageFactory implements AuthFactory {
     @Override
     public Authentication getAuthentication(final YamlMapping yaml) {
         return new YamlSettings.PolicyStorage(yaml).parse().map(
-            asto -> new AuthFromStorage(new BlockingStorage(asto))
+            asto -> (Authentication) new AuthFromStorage(asto)
         ).orElseThrow(
             () ->  new ArtipieException(
                 "Failed to create artipie auth, storage is not configured"
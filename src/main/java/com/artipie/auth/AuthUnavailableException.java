@@ -0,0 +1,39 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.auth;
+
+import com.artipie.ArtipieException;
+
+/**
+ * Authentication backend failed to check credentials, e.g. timed out or
+ * answered with server error, so credentials are neither valid nor invalid.
+ * Unlike empty authentication result, it must not be remembered as failed
+ * attempt.
+ * @since 0.30
+ */
+public final class AuthUnavailableException extends ArtipieException {
+
+    /**
+     * Required serial.
+     */
+    private static final long serialVersionUID = 6_452_731_027_348_164_003L;
+
+    /**
+     * Ctor.
+     * @param msg Message
+     */
+    public AuthUnavailableException(final String msg) {
+        super(msg);
+    }
+
+    /**
+     * Ctor.
+     * @param msg Message
+     * @param cause Cause
+     */
+    public AuthUnavailableException(final String msg, final Throwable cause) {
+        super(msg, cause);
+    }
+}
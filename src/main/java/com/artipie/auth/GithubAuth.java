@@ -5,22 +5,60 @@
 package com.artipie.auth;
 
 import com.artipie.ArtipieException;
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
 import com.artipie.http.auth.AuthUser;
 import com.artipie.http.auth.Authentication;
-import com.jcabi.github.RtGithub;
-import java.io.IOException;
+import com.artipie.http.client.ClientSlices;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.jcabi.log.Logger;
+import java.io.StringReader;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.json.Json;
 
 /**
  * GitHub authentication uses username prefixed by provider name {@code github.com}
  * and personal access token as a password.
  * See <a href="https://developer.github.com/v3/oauth_authorizations/">GitHub docs</a>
  * for details.
+ * <p>
+ * Tokens are resolved to GitHub logins with asynchronous HTTP client, concurrent
+ * lookups for the same token share one GitHub API call. Resolved logins are
+ * remembered for {@link ArtipieProperties#GITHUB_AUTH_TIMEOUT}, but not longer
+ * than token is valid (if GitHub reports token expiration). Invalid token is
+ * resolved to empty {@link Login}, while GitHub API failures, e.g. rate
+ * limiting, are reported as {@link AuthUnavailableException}.
+ * </p>
  * @implNote This implementation is not case sensitive.
  * @since 0.10
  */
@@ -33,32 +71,70 @@ public final class GithubAuth implements Authentication {
     private static final Pattern PTN_NAME = Pattern.compile("^github\\.com/(.+)$");
 
     /**
-     * Github username resolver by personal access token.
+     * Keyed hash function for tokens.
      */
-    private final Function<String, String> github;
+    private static final HashFunction HASH = Hashing.sipHash24(
+        new SecureRandom().nextLong(), new SecureRandom().nextLong()
+    );
+
+    /**
+     * Github login resolver by personal access token.
+     */
+    private final Function<String, CompletionStage<Login>> github;
+
+    /**
+     * Resolved logins by token hash.
+     */
+    private final Cache<Long, Login> logins;
+
+    /**
+     * Lookups in progress by token hash.
+     */
+    private final ConcurrentMap<Long, CompletableFuture<Login>> inflight;
+
+    /**
+     * Lookup timeout in millis.
+     */
+    private final long timeout;
 
     /**
      * New GitHub authentication.
-     * @checkstyle ReturnCountCheck (10 lines)
+     * @param http Started HTTP client
+     */
+    public GithubAuth(final ClientSlices http) {
+        this(() -> http);
+    }
+
+    /**
+     * New GitHub authentication with HTTP client obtained on first lookup.
+     * @param http HTTP client supplier, supplies started client
      */
-    public GithubAuth() {
+    GithubAuth(final Supplier<? extends ClientSlices> http) {
         this(
-            token -> {
-                try {
-                    return new RtGithub(token).users().self().login();
-                } catch (final IOException unauthorized) {
-                    return "";
-                }
-            }
+            token -> new GithubAuth.Api(http.get()).login(token),
+            //@checkstyle MagicNumberCheck (1 line)
+            new Property(ArtipieProperties.GITHUB_TIMEOUT).asLongOrDefault(10_000L)
         );
     }
 
     /**
      * Primary constructor.
-     * @param github Resolves GitHub token to username
+     * @param github Resolves GitHub token to login
+     * @param timeout Lookup timeout in millis
      */
-    GithubAuth(final Function<String, String> github) {
+    GithubAuth(final Function<String, CompletionStage<Login>> github, final long timeout) {
         this.github = github;
+        this.timeout = timeout;
+        this.inflight = new ConcurrentHashMap<>();
+        this.logins = CacheBuilder.newBuilder()
+            .expireAfterWrite(
+                //@checkstyle MagicNumberCheck (1 line)
+                new Property(ArtipieProperties.GITHUB_AUTH_TIMEOUT).asLongOrDefault(300_000L),
+                TimeUnit.MILLISECONDS
+            )
+            //@checkstyle MagicNumberCheck (1 line)
+            .maximumSize(10_000L)
+            .build();
     }
 
     @Override
@@ -66,18 +142,11 @@ public final class GithubAuth implements Authentication {
         Optional<AuthUser> result = Optional.empty();
         final Matcher matcher = GithubAuth.PTN_NAME.matcher(username);
         if (matcher.matches()) {
-            try {
-                final String login = this.github.apply(password).toLowerCase(Locale.US);
-                if (
-                    Objects.equals(login, matcher.group(1).toLowerCase(Locale.US))
-                ) {
-                    result = Optional.of(new AuthUser(matcher.group(1), "github"));
-                }
-            } catch (final AssertionError error) {
-                if (error.getMessage() == null
-                    || !error.getMessage().contains("401 Unauthorized")) {
-                    throw new ArtipieException(error);
-                }
+            final String login = this.login(password).toLowerCase(Locale.US);
+            if (
+                Objects.equals(login, matcher.group(1).toLowerCase(Locale.US))
+            ) {
+                result = Optional.of(new AuthUser(matcher.group(1), "github"));
             }
         }
         return result;
@@ -87,4 +156,194 @@ public final class GithubAuth implements Authentication {
     public String toString() {
         return String.format("%s()", this.getClass().getSimpleName());
     }
+
+    /**
+     * Resolve token to GitHub login, empty if token is not valid.
+     * @param token Personal access token
+     * @return Login
+     * @throws AuthUnavailableException If GitHub API failed
+     */
+    private String login(final String token) {
+        final long key = GithubAuth.HASH.hashUnencodedChars(token).asLong();
+        final Login cached = this.logins.getIfPresent(key);
+        String res = "";
+        if (cached != null && cached.valid()) {
+            res = cached.name;
+        } else {
+            try {
+                res = this.lookup(key, token).get(this.timeout, TimeUnit.MILLISECONDS).name;
+            } catch (final TimeoutException err) {
+                throw new AuthUnavailableException("GitHub token lookup timed out", err);
+            } catch (final InterruptedException err) {
+                Thread.currentThread().interrupt();
+                throw new AuthUnavailableException("GitHub token lookup interrupted", err);
+            } catch (final ExecutionException err) {
+                throw new AuthUnavailableException("GitHub token lookup failed", err.getCause());
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Lookup login by token, concurrent lookups for the same token are joined.
+     * @param key Token hash
+     * @param token Personal access token
+     * @return Login future
+     */
+    private CompletableFuture<Login> lookup(final long key, final String token) {
+        final CompletableFuture<Login> created = new CompletableFuture<>();
+        final CompletableFuture<Login> prev = this.inflight.putIfAbsent(key, created);
+        final CompletableFuture<Login> res;
+        if (prev == null) {
+            this.github.apply(token).whenComplete(
+                (login, err) -> {
+                    this.inflight.remove(key, created);
+                    if (err == null) {
+                        if (!login.name.isEmpty()) {
+                            this.logins.put(key, login);
+                        }
+                        created.complete(login);
+                    } else {
+                        created.completeExceptionally(err);
+                    }
+                }
+            );
+            res = created;
+        } else {
+            res = prev;
+        }
+        return res;
+    }
+
+    /**
+     * Resolved GitHub login.
+     * @since 0.30
+     */
+    static final class Login {
+
+        /**
+         * Login, empty if token is not valid.
+         */
+        private final String name;
+
+        /**
+         * Token expiration time.
+         */
+        private final Optional<Instant> expires;
+
+        /**
+         * Ctor.
+         * @param name Login, empty if token is not valid
+         * @param expires Token expiration time
+         */
+        Login(final String name, final Optional<Instant> expires) {
+            this.name = name;
+            this.expires = expires;
+        }
+
+        /**
+         * Is token still valid?
+         * @return True if token has not expired
+         */
+        boolean valid() {
+            return this.expires.map(time -> time.isAfter(Instant.now())).orElse(true);
+        }
+    }
+
+    /**
+     * GitHub API client.
+     * @since 0.30
+     */
+    static final class Api {
+
+        /**
+         * GitHub token expiration header.
+         */
+        private static final String EXPIRATION = "github-authentication-token-expiration";
+
+        /**
+         * Format of token expiration header.
+         */
+        private static final DateTimeFormatter FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z", Locale.US);
+
+        /**
+         * HTTP client.
+         */
+        private final ClientSlices http;
+
+        /**
+         * Ctor.
+         * @param http HTTP client
+         */
+        Api(final ClientSlices http) {
+            this.http = http;
+        }
+
+        /**
+         * Resolve token to login with `GET /user` request.
+         * @param token Personal access token
+         * @return Login, empty if token is not valid
+         */
+        CompletionStage<Login> login(final String token) {
+            final CompletableFuture<Login> res = new CompletableFuture<>();
+            this.http.https("api.github.com").response(
+                new RequestLine(RqMethod.GET, "/user").toString(),
+                new Headers.From(
+                    new Header("Authorization", String.format("token %s", token)),
+                    new Header("Accept", "application/vnd.github+json"),
+                    new Header("User-Agent", "artipie")
+                ),
+                Content.EMPTY
+            ).send(
+                (status, headers, body) -> new PublisherAs(body).asciiString().thenAccept(
+                    text -> {
+                        if (status == RsStatus.OK) {
+                            res.complete(
+                                new Login(
+                                    Json.createReader(new StringReader(text)).readObject()
+                                        .getString("login"),
+                                    Api.expiration(headers)
+                                )
+                            );
+                        } else if (status == RsStatus.UNAUTHORIZED) {
+                            res.complete(new Login("", Optional.empty()));
+                        } else {
+                            res.completeExceptionally(
+                                new ArtipieException(
+                                    String.format("GitHub responded with %s: %s", status, text)
+                                )
+                            );
+                        }
+                    }
+                )
+            ).exceptionally(
+                err -> {
+                    res.completeExceptionally(err);
+                    return null;
+                }
+            );
+            return res;
+        }
+
+        /**
+         * Token expiration time from response headers.
+         * @param headers Response headers
+         * @return Expiration time if reported
+         */
+        private static Optional<Instant> expiration(
+            final Iterable<Map.Entry<String, String>> headers
+        ) {
+            Optional<Instant> res = Optional.empty();
+            final RqHeaders values = new RqHeaders(headers, Api.EXPIRATION);
+            if (!values.isEmpty()) {
+                try {
+                    res = Optional.of(ZonedDateTime.parse(values.get(0), Api.FORMAT).toInstant());
+                } catch (final DateTimeParseException err) {
+                    Logger.warn(Api.class, "Invalid token expiration %s", values.get(0));
+                }
+            }
+            return res;
+        }
+    }
 }
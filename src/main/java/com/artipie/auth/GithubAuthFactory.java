@@ -5,19 +5,74 @@
 package com.artipie.auth;
 
 import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.ArtipieException;
+import com.artipie.HttpClientSettings;
 import com.artipie.http.auth.ArtipieAuthFactory;
 import com.artipie.http.auth.AuthFactory;
 import com.artipie.http.auth.Authentication;
+import com.artipie.http.client.jetty.JettyClientSlices;
+import com.google.common.base.Suppliers;
+import com.jcabi.log.Logger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Factory for auth from github.
+ * Factory for auth from github. GitHub API is called by HTTP client with
+ * `meta.http_client` settings. Client is shared by all GitHub authentications
+ * created by the factory, so settings reloads don't start new clients: it's
+ * started on first token lookup and stopped on JVM shutdown.
  * @since 0.30
  */
 @ArtipieAuthFactory("github")
 public final class GithubAuthFactory implements AuthFactory {
 
+    /**
+     * Shared HTTP client, if started.
+     */
+    private static final AtomicReference<JettyClientSlices> CLIENT = new AtomicReference<>();
+
     @Override
     public Authentication getAuthentication(final YamlMapping yaml) {
-        return new GithubAuth();
+        return new GithubAuth(Suppliers.memoize(() -> GithubAuthFactory.client(yaml)));
+    }
+
+    /**
+     * Shared HTTP client, it's started with given settings if not started yet.
+     * @param yaml Settings
+     * @return Started client
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static synchronized JettyClientSlices client(final YamlMapping yaml) {
+        JettyClientSlices res = GithubAuthFactory.CLIENT.get();
+        if (res == null) {
+            res = new HttpClientSettings(yaml.yamlMapping("http_client")).client();
+            try {
+                res.start();
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Exception err) {
+                throw new ArtipieException(err);
+            }
+            final JettyClientSlices started = res;
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(() -> GithubAuthFactory.stop(started), "artipie-github-client")
+            );
+            GithubAuthFactory.CLIENT.set(res);
+        }
+        return res;
+    }
+
+    /**
+     * Stop HTTP client.
+     * @param client Client
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static void stop(final JettyClientSlices client) {
+        try {
+            client.stop();
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception err) {
+            Logger.warn(
+                GithubAuthFactory.class, "Failed to stop GitHub client: %[exception]s", err
+            );
+        }
     }
 }
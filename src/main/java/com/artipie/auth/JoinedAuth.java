@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.auth;
+
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.http.auth.AuthUser;
+import com.artipie.http.auth.Authentication;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Chain of authentications: user is authenticated by the first authentication
+ * of the chain which knows the user. Unlike {@link Authentication.Joined},
+ * invalidation is forwarded to all cleanable authentications of the chain, so
+ * cached users of {@link AuthFromStorage} are reloaded when credentials
+ * are changed. If no authentication knows the user and some of them were
+ * unavailable, {@link AuthUnavailableException} is thrown, so the attempt
+ * is not treated as invalid credentials.
+ * @since 0.30
+ */
+public final class JoinedAuth implements Authentication, Cleanable<String> {
+
+    /**
+     * Authentications chain.
+     */
+    private final List<Authentication> origins;
+
+    /**
+     * Ctor.
+     * @param origins Authentications chain
+     */
+    public JoinedAuth(final Authentication... origins) {
+        this(List.of(origins));
+    }
+
+    /**
+     * Ctor.
+     * @param origins Authentications chain
+     */
+    public JoinedAuth(final List<Authentication> origins) {
+        this.origins = origins;
+    }
+
+    @Override
+    public Optional<AuthUser> user(final String username, final String password) {
+        Optional<AuthUser> res = Optional.empty();
+        AuthUnavailableException unavailable = null;
+        for (final Authentication auth : this.origins) {
+            try {
+                res = auth.user(username, password);
+            } catch (final AuthUnavailableException err) {
+                unavailable = err;
+            }
+            if (res.isPresent()) {
+                break;
+            }
+        }
+        if (res.isEmpty() && unavailable != null) {
+            throw unavailable;
+        }
+        return res;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void invalidate(final String username) {
+        for (final Authentication auth : this.origins) {
+            if (auth instanceof Cleanable) {
+                ((Cleanable<String>) auth).invalidate(username);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void invalidateAll() {
+        for (final Authentication auth : this.origins) {
+            if (auth instanceof Cleanable) {
+                ((Cleanable<String>) auth).invalidateAll();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s([%s])",
+            this.getClass().getSimpleName(),
+            this.origins.stream().map(Object::toString).collect(Collectors.joining(","))
+        );
+    }
+}
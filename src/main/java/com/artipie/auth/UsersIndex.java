@@ -0,0 +1,348 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.auth;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.misc.BoundedLanes;
+import com.artipie.settings.ConfigFile;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * In-memory index of parsed users credentials from `users` directory of
+ * policy storage. All users are loaded in bulk on start and then once per
+ * refresh interval by a limited number of concurrent reads, single user is
+ * reloaded after invalidation. Lookups never wait for storage: they are served
+ * from the index only, so users are unknown until the first bulk load finishes
+ * and previous credentials are used until the user is reloaded after
+ * invalidation. Lookup of the user missing in the index is a miss which starts
+ * loading of this user in background, so users added after the last bulk load
+ * are found by next lookups.
+ * @since 0.30
+ */
+final class UsersIndex {
+
+    /**
+     * Users directory.
+     */
+    private static final Key USERS = new Key.From("users");
+
+    /**
+     * Bulk load lanes.
+     */
+    private static final BoundedLanes<Map.Entry<String, Key>> LANES = new BoundedLanes<>(16);
+
+    /**
+     * Storage to read users from.
+     */
+    private final Storage asto;
+
+    /**
+     * Refresh interval in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * Users credentials by name.
+     */
+    private final ConcurrentMap<String, Credentials> users;
+
+    /**
+     * Single users loads in progress by name.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> loading;
+
+    /**
+     * Last bulk load.
+     */
+    private final AtomicReference<CompletableFuture<Void>> bulk;
+
+    /**
+     * Is bulk reload requested.
+     */
+    private final AtomicBoolean stale;
+
+    /**
+     * Time of the last bulk load start, nanoseconds.
+     */
+    private volatile long refreshed;
+
+    /**
+     * Ctor.
+     * @param asto Storage to read users from
+     * @param interval Refresh interval in millis
+     */
+    UsersIndex(final Storage asto, final long interval) {
+        this.asto = asto;
+        this.interval = TimeUnit.MILLISECONDS.toNanos(interval);
+        this.users = new ConcurrentHashMap<>();
+        this.loading = new ConcurrentHashMap<>();
+        this.bulk = new AtomicReference<>();
+        this.stale = new AtomicBoolean();
+    }
+
+    /**
+     * Find user credentials.
+     * @param name Username
+     * @return Credentials if user is known
+     */
+    Optional<Credentials> get(final String name) {
+        this.refresh();
+        final Optional<Credentials> res = Optional.ofNullable(this.users.get(name));
+        if (res.isEmpty()) {
+            this.load(name);
+        }
+        return res;
+    }
+
+    /**
+     * Reload user, completes normally even if load failed.
+     * @param name Username
+     * @return Completion of loading
+     */
+    CompletableFuture<Void> load(final String name) {
+        final CompletableFuture<Void> created = new CompletableFuture<>();
+        final CompletableFuture<Void> prev = this.loading.putIfAbsent(name, created);
+        final CompletableFuture<Void> res;
+        if (prev == null) {
+            this.read(name).whenComplete(
+                (nothing, err) -> {
+                    this.loading.remove(name, created);
+                    if (err != null) {
+                        Logger.error(
+                            UsersIndex.class, "Failed to load user %s: %[exception]s", name, err
+                        );
+                    }
+                    created.complete(null);
+                }
+            );
+            res = created;
+        } else {
+            res = prev;
+        }
+        return res;
+    }
+
+    /**
+     * Read user from storage to index.
+     * @param name Username
+     * @return Completion of reading
+     */
+    private CompletableFuture<Void> read(final String name) {
+        final ConfigFile file = new ConfigFile(String.format("users/%s", name));
+        return file.existsIn(this.asto).thenCompose(
+            exists -> {
+                final CompletableFuture<Void> res;
+                if (exists) {
+                    res = file.valueFrom(this.asto).thenApply(PublisherAs::new)
+                        .thenCompose(PublisherAs::asciiString)
+                        .thenAccept(yaml -> this.put(name, yaml))
+                        .toCompletableFuture();
+                } else {
+                    this.users.remove(name);
+                    res = CompletableFuture.completedFuture(null);
+                }
+                return res;
+            }
+        ).toCompletableFuture();
+    }
+
+    /**
+     * Start bulk load of all users if index was never loaded or refresh
+     * interval passed.
+     * @return Completion of current bulk load
+     */
+    CompletableFuture<Void> refresh() {
+        CompletableFuture<Void> res = this.bulk.get();
+        final long now = System.nanoTime();
+        if (res == null
+            || res.isDone() && (this.stale.get() || now - this.refreshed > this.interval)) {
+            final CompletableFuture<Void> next = new CompletableFuture<>();
+            if (this.bulk.compareAndSet(res, next)) {
+                this.stale.set(false);
+                this.refreshed = now;
+                this.loadAll().whenComplete(
+                    (nothing, err) -> {
+                        if (err != null) {
+                            Logger.error(
+                                UsersIndex.class, "Failed to load users: %[exception]s", err
+                            );
+                        }
+                        next.complete(null);
+                    }
+                );
+            }
+            res = this.bulk.get();
+        }
+        return res;
+    }
+
+    /**
+     * Force bulk reload of all users.
+     * @return Completion of the load
+     */
+    CompletableFuture<Void> reload() {
+        this.stale.set(true);
+        final CompletableFuture<Void> current = this.bulk.get();
+        final CompletableFuture<Void> res;
+        if (current == null || current.isDone()) {
+            res = this.refresh();
+        } else {
+            res = current.thenCompose(nothing -> this.refresh());
+        }
+        return res;
+    }
+
+    /**
+     * Load all users from storage, users which were removed from storage are
+     * removed from index.
+     * @return Completion of the load
+     */
+    private CompletableFuture<Void> loadAll() {
+        return this.asto.list(UsersIndex.USERS).thenCompose(
+            keys -> {
+                final Map<String, Key> files = keys.stream()
+                    .filter(key -> new ConfigFile(key).isYamlOrYml())
+                    .collect(
+                        Collectors.toMap(
+                            UsersIndex::username, key -> key, UsersIndex::preferred
+                        )
+                    );
+                this.users.keySet().retainAll(files.keySet());
+                return UsersIndex.LANES.run(
+                    files.entrySet(),
+                    entry -> this.asto.value(entry.getValue())
+                        .thenApply(PublisherAs::new)
+                        .thenCompose(PublisherAs::asciiString)
+                        .thenAccept(yaml -> this.put(entry.getKey(), yaml))
+                        .exceptionally(
+                            err -> {
+                                Logger.error(
+                                    UsersIndex.class, "Failed to load user %s: %[exception]s",
+                                    entry.getKey(), err
+                                );
+                                return null;
+                            }
+                        )
+                );
+            }
+        ).toCompletableFuture();
+    }
+
+    /**
+     * Parse user yaml and put credentials to index.
+     * @param name Username
+     * @param yaml User yaml
+     */
+    private void put(final String name, final String yaml) {
+        try {
+            final YamlMapping info = Yaml.createYamlInput(yaml).readYamlMapping();
+            if (info == null) {
+                this.users.remove(name);
+            } else {
+                this.users.put(
+                    name,
+                    new Credentials(
+                        info.string("type"), info.string("pass"),
+                        !Boolean.FALSE.toString().equalsIgnoreCase(info.string("enabled"))
+                    )
+                );
+            }
+        } catch (final IOException err) {
+            this.users.remove(name);
+            Logger.error(UsersIndex.class, "Failed to parse yaml for user %s", name);
+        }
+    }
+
+    /**
+     * Username from user file key.
+     * @param key User file key
+     * @return Username
+     */
+    private static String username(final Key key) {
+        final String file = key.string().substring(UsersIndex.USERS.string().length() + 1);
+        return file.substring(0, file.lastIndexOf('.'));
+    }
+
+    /**
+     * Choose key with `.yaml` extension if user has both `.yaml` and `.yml` files.
+     * @param first First key
+     * @param second Second key
+     * @return Preferred key
+     */
+    private static Key preferred(final Key first, final Key second) {
+        final Key res;
+        if (second.string().endsWith(".yaml")) {
+            res = second;
+        } else {
+            res = first;
+        }
+        return res;
+    }
+
+    /**
+     * Parsed user credentials.
+     * @since 0.30
+     */
+    static final class Credentials {
+
+        /**
+         * Password type: plain or sha256.
+         */
+        private final String type;
+
+        /**
+         * Password or it's digest.
+         */
+        private final String digest;
+
+        /**
+         * Is user enabled.
+         */
+        private final boolean enabled;
+
+        /**
+         * Ctor.
+         * @param type Password type: plain or sha256
+         * @param digest Password or it's digest
+         * @param enabled Is user enabled
+         */
+        Credentials(final String type, final String digest, final boolean enabled) {
+            this.type = type;
+            this.digest = digest;
+            this.enabled = enabled;
+        }
+
+        /**
+         * Check password.
+         * @param pass Password to check
+         * @return True if user is enabled and password is correct
+         */
+        boolean matches(final String pass) {
+            boolean res = false;
+            if (this.enabled && "plain".equals(this.type)) {
+                res = Objects.equals(this.digest, pass);
+            } else if (this.enabled && "sha256".equals(this.type)) {
+                res = DigestUtils.sha256Hex(pass).equals(this.digest);
+            }
+            return res;
+        }
+    }
+}
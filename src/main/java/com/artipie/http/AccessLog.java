@@ -0,0 +1,343 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.rs.RsStatus;
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
+import com.jcabi.log.Logger;
+import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Asynchronous access log. Request threads put records into preallocated
+ * ring buffer, records are formatted and written by single background thread,
+ * one line per request:
+ * <pre>
+ * repo=my-maven claimed_user=alice request="GET /my-maven/a.jar HTTP/1.1" status=200
+ *   bytes=1024 duration=12
+ * </pre>
+ * Duration is in milliseconds. Claimed user is taken from `Authorization`
+ * header as presented by client: basic auth username or `sub` claim of JWT
+ * token. It's not verified, the request may be rejected as unauthorized, so
+ * it must not be treated as authenticated user.
+ * Request threads never wait for the log: when buffer is full, records are
+ * dropped and number of dropped records is logged by background thread.
+ * Lines are written to logger of this class, so they can be routed to
+ * separate appender by logging configuration. Owner of the log starts it
+ * with {@link #start()} and stops it with {@link #stop()}, which writes
+ * records left in buffer.
+ * @since 0.30
+ */
+public final class AccessLog {
+
+    /**
+     * Value for absent field.
+     */
+    private static final String NONE = "-";
+
+    /**
+     * Basic auth scheme prefix.
+     */
+    private static final String BASIC = "Basic ";
+
+    /**
+     * Bearer auth scheme prefix.
+     */
+    private static final String BEARER = "Bearer ";
+
+    /**
+     * Background thread sleep time when buffer is empty.
+     */
+    private static final long IDLE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Ring buffer entries.
+     */
+    private final Entry[] entries;
+
+    /**
+     * Mask of ring buffer position to get entry index.
+     */
+    private final long mask;
+
+    /**
+     * Next position to claim by request thread.
+     */
+    private final AtomicLong head;
+
+    /**
+     * Next position to write by background thread.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * Number of records dropped because buffer was full.
+     */
+    private final LongAdder dropped;
+
+    /**
+     * Lines consumer.
+     */
+    private final Consumer<String> sink;
+
+    /**
+     * Line builder, used by writing thread only.
+     */
+    private final StringBuilder line;
+
+    /**
+     * Background writing thread, if started.
+     */
+    private final AtomicReference<Thread> writer;
+
+    /**
+     * Access log with buffer size from {@link ArtipieProperties#ACCESS_LOG_BUFFER}
+     * written to logger.
+     */
+    public AccessLog() {
+        this(
+            //@checkstyle MagicNumberCheck (1 line)
+            (int) new Property(ArtipieProperties.ACCESS_LOG_BUFFER).asLongOrDefault(8192L),
+            text -> Logger.info(AccessLog.class, "%s", text)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param size Buffer size, rounded up to power of two
+     * @param sink Lines consumer
+     */
+    public AccessLog(final int size, final Consumer<String> sink) {
+        final int capacity = Integer.highestOneBit(Math.max(size, 2) * 2 - 1);
+        this.entries = new Entry[capacity];
+        for (int idx = 0; idx < capacity; idx += 1) {
+            this.entries[idx] = new Entry();
+        }
+        this.mask = capacity - 1;
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+        this.dropped = new LongAdder();
+        this.sink = sink;
+        this.line = new StringBuilder();
+        this.writer = new AtomicReference<>();
+    }
+
+    /**
+     * Start background thread which writes records.
+     * @return Itself
+     */
+    public AccessLog start() {
+        final Thread thread = new Thread(
+            () -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (this.drain() == 0) {
+                        LockSupport.parkNanos(AccessLog.IDLE);
+                    }
+                }
+            },
+            "artipie-access-log"
+        );
+        thread.setDaemon(true);
+        if (this.writer.compareAndSet(null, thread)) {
+            thread.start();
+        }
+        return this;
+    }
+
+    /**
+     * Stop background thread and write records left in buffer.
+     */
+    public void stop() {
+        final Thread thread = this.writer.getAndSet(null);
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.drain();
+    }
+
+    /**
+     * Put request record into buffer, it's dropped if buffer is full.
+     * Record fields are formatted by writing thread.
+     * @param repo Repository name resolver by request line
+     * @param request Request line
+     * @param auth Authorization header value, nullable
+     * @param status Response status, nullable if response was not sent
+     * @param bytes Response body bytes
+     * @param nanos Request duration in nanoseconds
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public void record(final Function<String, Optional<String>> repo, final String request,
+        final String auth, final RsStatus status, final long bytes, final long nanos) {
+        boolean claimed = false;
+        long pos = this.head.get();
+        while (!claimed && pos - this.tail.get() < this.entries.length) {
+            claimed = this.head.compareAndSet(pos, pos + 1);
+            if (!claimed) {
+                pos = this.head.get();
+            }
+        }
+        if (claimed) {
+            final Entry entry = this.entries[(int) (pos & this.mask)];
+            entry.repo = repo;
+            entry.request = request;
+            entry.auth = auth;
+            entry.status = status;
+            entry.bytes = bytes;
+            entry.nanos = nanos;
+            entry.seq = pos + 1;
+        } else {
+            this.dropped.increment();
+        }
+    }
+
+    /**
+     * Write all records available in buffer.
+     * @return Number of written records
+     */
+    public synchronized int drain() {
+        int res = 0;
+        long pos = this.tail.get();
+        Entry entry = this.entries[(int) (pos & this.mask)];
+        while (entry.seq == pos + 1) {
+            this.line.setLength(0);
+            this.sink.accept(entry.format(this.line));
+            entry.clear();
+            pos += 1;
+            this.tail.set(pos);
+            res += 1;
+            entry = this.entries[(int) (pos & this.mask)];
+        }
+        final long lost = this.dropped.sumThenReset();
+        if (lost > 0) {
+            Logger.warn(this, "%d access log records dropped, buffer is full", lost);
+        }
+        return res;
+    }
+
+    /**
+     * User name from authorization header.
+     * @param auth Authorization header value, nullable
+     * @return User name or {@code -}
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    static String user(final String auth) {
+        String res = AccessLog.NONE;
+        try {
+            if (auth != null && auth.startsWith(AccessLog.BASIC)) {
+                final String creds = new String(
+                    Base64.getDecoder().decode(auth.substring(AccessLog.BASIC.length()).trim()),
+                    StandardCharsets.UTF_8
+                );
+                final int colon = creds.indexOf(':');
+                if (colon > 0) {
+                    res = creds.substring(0, colon);
+                }
+            } else if (auth != null && auth.startsWith(AccessLog.BEARER)) {
+                final String[] parts = auth.substring(AccessLog.BEARER.length()).trim()
+                    .split("\\.");
+                //@checkstyle MagicNumberCheck (1 line)
+                if (parts.length == 3) {
+                    res = new JsonObject(
+                        new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                    ).getString("sub", AccessLog.NONE);
+                }
+            }
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final RuntimeException ignored) {
+            res = AccessLog.NONE;
+        }
+        return res;
+    }
+
+    /**
+     * Ring buffer entry, fields are written by request thread before
+     * publishing entry by volatile sequence write.
+     * @since 0.30
+     */
+    private static final class Entry {
+
+        /**
+         * Sequence: position of published record plus one.
+         */
+        private volatile long seq;
+
+        /**
+         * Repository name resolver.
+         */
+        private Function<String, Optional<String>> repo;
+
+        /**
+         * Request line.
+         */
+        private String request;
+
+        /**
+         * Authorization header value.
+         */
+        private String auth;
+
+        /**
+         * Response status.
+         */
+        private RsStatus status;
+
+        /**
+         * Response body bytes.
+         */
+        private long bytes;
+
+        /**
+         * Request duration in nanoseconds.
+         */
+        private long nanos;
+
+        /**
+         * Format record.
+         * @param builder Line builder
+         * @return Line
+         */
+        String format(final StringBuilder builder) {
+            final String rqline = this.request.trim();
+            builder.append("repo=").append(this.repo.apply(this.request).orElse(AccessLog.NONE))
+                .append(" claimed_user=").append(AccessLog.user(this.auth))
+                .append(" request=\"").append(rqline).append('"')
+                .append(" status=");
+            if (this.status == null) {
+                builder.append(AccessLog.NONE);
+            } else {
+                builder.append(this.status.code());
+            }
+            return builder.append(" bytes=").append(this.bytes)
+                .append(" duration=").append(TimeUnit.NANOSECONDS.toMillis(this.nanos))
+                .toString();
+        }
+
+        /**
+         * Clear references to request data.
+         */
+        @SuppressWarnings("PMD.NullAssignment")
+        void clear() {
+            this.repo = null;
+            this.request = null;
+            this.auth = null;
+            this.status = null;
+        }
+    }
+}
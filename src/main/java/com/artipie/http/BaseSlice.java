@@ -4,17 +4,20 @@
  */
 package com.artipie.http;
 
-import com.artipie.http.slice.LoggingSlice;
 import com.artipie.jfr.JfrSlice;
 import com.artipie.micrometer.MicrometerSlice;
 import com.artipie.settings.MetricsContext;
-import java.util.logging.Level;
+import io.micrometer.core.instrument.Tags;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Slice is base for any slice served by Artipie.
  * It is designed to gather request & response metrics, perform logging, handle errors at top level.
  * With all that functionality provided request are forwarded to origin slice
- * and response is given back to caller.
+ * and response is given back to caller. Requests are logged to asynchronous
+ * {@link AccessLog}, which is started and stopped by its owner.
+ * Text responses are compressed with {@link CompressionSlice}.
  *
  * @since 0.11
  */
@@ -25,13 +28,31 @@ public final class BaseSlice extends Slice.Wrap {
      *
      * @param mctx Metrics context.
      * @param origin Origin slice.
+     * @param access Access log.
      */
-    public BaseSlice(final MetricsContext mctx, final Slice origin) {
+    public BaseSlice(final MetricsContext mctx, final Slice origin, final AccessLog access) {
+        this(mctx, origin, access, line -> Tags.empty(), line -> Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param mctx Metrics context.
+     * @param origin Origin slice.
+     * @param access Access log.
+     * @param tags Extra metrics tags by request line.
+     * @param repo Repository name by request line for access log.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public BaseSlice(
+        final MetricsContext mctx, final Slice origin, final AccessLog access,
+        final Function<String, Tags> tags, final Function<String, Optional<String>> repo
+    ) {
         super(
             BaseSlice.wrapToBaseMetricsSlices(
-                mctx, new JfrSlice(
-                    new SafeSlice(
-                        new LoggingSlice(Level.INFO, origin)
+                mctx, tags, new JfrSlice(
+                    new AccessLogSlice(
+                        new CompressionSlice(new SafeSlice(origin)), access, repo
                     )
                 )
             )
@@ -42,13 +63,16 @@ public final class BaseSlice extends Slice.Wrap {
      * Wraps slice to metric related slices when {@code Metrics} is defined.
      *
      * @param mctx Metrics context.
+     * @param tags Extra metrics tags by request line.
      * @param origin Original slice.
      * @return Wrapped slice.
      */
-    private static Slice wrapToBaseMetricsSlices(final MetricsContext mctx, final Slice origin) {
+    private static Slice wrapToBaseMetricsSlices(
+        final MetricsContext mctx, final Function<String, Tags> tags, final Slice origin
+    ) {
         Slice res = origin;
         if (mctx.http()) {
-            res = new MicrometerSlice(origin);
+            res = new MicrometerSlice(origin, tags);
         }
         return res;
     }
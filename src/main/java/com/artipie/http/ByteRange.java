@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Single byte range of `Range` request header, see
+ * <a href="https://www.rfc-editor.org/rfc/rfc9110#name-range-requests">RFC 9110</a>.
+ * Header is applicable if it has exactly one syntactically valid bytes range,
+ * other headers (multiple ranges, other units) should be ignored and full
+ * content should be served.
+ * @since 0.30
+ */
+public final class ByteRange {
+
+    /**
+     * Bytes range unit prefix.
+     */
+    private static final String BYTES = "bytes=";
+
+    /**
+     * Max number of digits in range position.
+     */
+    private static final int DIGITS = 18;
+
+    /**
+     * Range header value.
+     */
+    private final String header;
+
+    /**
+     * Ctor.
+     * @param header Range header value
+     */
+    public ByteRange(final String header) {
+        this.header = header;
+    }
+
+    /**
+     * Is range header applicable to content.
+     * @param size Content size
+     * @return True if header has single valid bytes range
+     */
+    public boolean applicable(final long size) {
+        return this.bounds(size).isPresent();
+    }
+
+    /**
+     * Does range overlap content.
+     * @param size Content size
+     * @return True if range can be served, false if 416 should be returned
+     */
+    public boolean satisfiable(final long size) {
+        return this.bounds(size).map(bounds -> bounds[0] <= bounds[1]).orElse(false);
+    }
+
+    /**
+     * First byte position of range.
+     * @param size Content size
+     * @return Offset
+     */
+    public long offset(final long size) {
+        return this.satisfied(size)[0];
+    }
+
+    /**
+     * Range length.
+     * @param size Content size
+     * @return Length in bytes
+     */
+    public long length(final long size) {
+        final long[] bounds = this.satisfied(size);
+        return bounds[1] - bounds[0] + 1;
+    }
+
+    /**
+     * Value of `Content-Range` response header.
+     * @param size Content size
+     * @return Header value, `bytes *&#47;size` for unsatisfiable range
+     */
+    public String contentRange(final long size) {
+        final String res;
+        if (this.satisfiable(size)) {
+            final long[] bounds = this.satisfied(size);
+            res = String.format("bytes %d-%d/%d", bounds[0], bounds[1], size);
+        } else {
+            res = String.format("bytes */%d", size);
+        }
+        return res;
+    }
+
+    /**
+     * Bounds of satisfiable range.
+     * @param size Content size
+     * @return First and last byte positions
+     */
+    private long[] satisfied(final long size) {
+        return this.bounds(size).filter(bounds -> bounds[0] <= bounds[1]).orElseThrow(
+            () -> new IllegalStateException(
+                String.format("Range '%s' is not satisfiable for %d bytes", this.header, size)
+            )
+        );
+    }
+
+    /**
+     * Range bounds: first and last byte positions, first position is
+     * greater than last if range is unsatisfiable.
+     * @param size Content size
+     * @return Bounds or empty if header is not applicable
+     */
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    private Optional<long[]> bounds(final long size) {
+        Optional<long[]> res = Optional.empty();
+        final String value = this.header.trim();
+        if (value.toLowerCase(Locale.US).startsWith(ByteRange.BYTES)) {
+            final String spec = value.substring(ByteRange.BYTES.length());
+            final int dash = spec.indexOf('-');
+            if (dash >= 0 && spec.indexOf(',') < 0) {
+                final String first = spec.substring(0, dash).trim();
+                final String last = spec.substring(dash + 1).trim();
+                if (first.isEmpty() && ByteRange.number(last)) {
+                    final long suffix = Long.parseLong(last);
+                    if (suffix == 0 || size == 0) {
+                        res = Optional.of(new long[]{size, size - 1});
+                    } else {
+                        res = Optional.of(new long[]{Math.max(size - suffix, 0), size - 1});
+                    }
+                } else if (ByteRange.number(first) && last.isEmpty()) {
+                    res = Optional.of(new long[]{Long.parseLong(first), size - 1});
+                } else if (ByteRange.number(first) && ByteRange.number(last)
+                    && Long.parseLong(first) <= Long.parseLong(last)) {
+                    res = Optional.of(
+                        new long[]{Long.parseLong(first), Math.min(Long.parseLong(last), size - 1)}
+                    );
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Is string a non-negative range position.
+     * @param str String
+     * @return True if string has only digits
+     */
+    private static boolean number(final String str) {
+        boolean res = !str.isEmpty() && str.length() <= ByteRange.DIGITS;
+        for (int idx = 0; res && idx < str.length(); ++idx) {
+            final char chr = str.charAt(idx);
+            res = chr >= '0' && chr <= '9';
+        }
+        return res;
+    }
+}
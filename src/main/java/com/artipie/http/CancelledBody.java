@@ -0,0 +1,41 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import java.nio.ByteBuffer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber which cancels body of response which is not sent to client,
+ * so resources held by body publisher (open files, upstream connections)
+ * are released.
+ * @since 0.30
+ */
+final class CancelledBody implements Subscriber<ByteBuffer> {
+
+    @Override
+    public void onSubscribe(final Subscription subscription) {
+        subscription.cancel();
+    }
+
+    @Override
+    public void onNext(final ByteBuffer item) {
+        // @checkstyle MethodBodyCommentsCheck (1 line)
+        // body is cancelled
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        // @checkstyle MethodBodyCommentsCheck (1 line)
+        // body is cancelled
+    }
+
+    @Override
+    public void onComplete() {
+        // @checkstyle MethodBodyCommentsCheck (1 line)
+        // body is cancelled
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which compresses responses on the fly with coding accepted by client
+ * (see {@link Encoding}). Only full GET responses of allowed content types
+ * (or with allowed path extension if type is not set) and of at least
+ * minimal size are compressed: metadata and index files, which are usually
+ * text, while artifacts and archives are sent as is. Responses which are
+ * already encoded are not changed, so pre-compressed variants of
+ * {@link PrecompressedSlice} are sent as is. `304 Not Modified` responses
+ * of compressible content get the same validators as full response would
+ * get: weak `ETag` if it would be compressed and `Vary: Accept-Encoding`.
+ * @since 0.30
+ */
+public final class CompressionSlice implements Slice {
+
+    /**
+     * Default compressed content types.
+     */
+    private static final Set<String> TYPES = Set.of(
+        "application/json", "application/xml", "application/javascript", "application/yaml",
+        "application/x-yaml", "text/yaml", "text/x-yaml", "text/html", "text/plain", "text/xml",
+        "text/css", "text/csv"
+    );
+
+    /**
+     * Prefixes of content types which are not compressed even with `+json`
+     * suffix: Docker and OCI manifests are addressed by digest of their bytes.
+     */
+    private static final List<String> EXCLUDED = List.of(
+        "application/vnd.docker.", "application/vnd.oci."
+    );
+
+    /**
+     * Compressed path extensions for responses without content type.
+     */
+    private static final Set<String> EXTENSIONS = Set.of(
+        "json", "xml", "yaml", "yml", "html", "txt"
+    );
+
+    /**
+     * Default minimal compressed size in bytes.
+     */
+    private static final long MIN_SIZE = 1024;
+
+    /**
+     * Content type header.
+     */
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Compressed content types.
+     */
+    private final Set<String> types;
+
+    /**
+     * Minimal compressed size in bytes.
+     */
+    private final long min;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     */
+    public CompressionSlice(final Slice origin) {
+        this(origin, CompressionSlice.TYPES, CompressionSlice.MIN_SIZE);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param types Compressed content types
+     * @param min Minimal compressed size in bytes
+     */
+    public CompressionSlice(final Slice origin, final Set<String> types, final long min) {
+        this.origin = origin;
+        this.types = types;
+        this.min = min;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RqRoute route = new RqRoute(line);
+        final Response rsp = this.origin.response(line, headers, body);
+        final Response res;
+        if ("GET".equals(route.method()) && new RqHeaders(headers, "Range").isEmpty()) {
+            final Optional<Encoding> encoding = Encoding.accepted(headers);
+            res = connection -> rsp.send(
+                (status, rsheaders, rsbody) -> {
+                    final Response sent;
+                    if (status == RsStatus.OK
+                        && this.compressible(route.path(), rsheaders, rsbody)) {
+                        sent = CompressionSlice.compressed(encoding, rsheaders, rsbody);
+                    } else if (status == RsStatus.NOT_MODIFIED
+                        && this.compressible(route.path(), rsheaders, rsbody)) {
+                        sent = CompressionSlice.notModified(encoding, rsheaders, rsbody);
+                    } else {
+                        sent = conn -> conn.accept(status, rsheaders, rsbody);
+                    }
+                    return sent.send(connection);
+                }
+            );
+        } else {
+            res = rsp;
+        }
+        return res;
+    }
+
+    /**
+     * Is response compressible: it's not encoded, its content type is
+     * allowed and it's not smaller than minimal size.
+     * @param path Request path
+     * @param headers Response headers
+     * @param body Response body
+     * @return True if response can be compressed
+     */
+    private boolean compressible(
+        final String path, final Headers headers, final Publisher<ByteBuffer> body
+    ) {
+        return new RqHeaders(headers, "Content-Encoding").isEmpty()
+            && this.allowed(path, new RqHeaders(headers, CompressionSlice.CONTENT_TYPE))
+            && ConditionalSlice.length(headers, body).map(len -> len >= this.min).orElse(true);
+    }
+
+    /**
+     * Is content type allowed to be compressed, structured syntax suffixes
+     * `+json` and `+xml` are allowed too, except Docker and OCI types. Path
+     * extension is checked if content type is absent.
+     * @param path Request path
+     * @param type Content type header values
+     * @return True if allowed
+     */
+    private boolean allowed(final String path, final List<String> type) {
+        final boolean res;
+        if (type.isEmpty()) {
+            final int dot = path.lastIndexOf('.');
+            res = dot > path.lastIndexOf('/') && CompressionSlice.EXTENSIONS.contains(
+                path.substring(dot + 1).toLowerCase(Locale.US)
+            );
+        } else {
+            final String mime = type.get(0).split(";")[0].trim().toLowerCase(Locale.US);
+            res = this.types.contains(mime) || (mime.endsWith("+json") || mime.endsWith("+xml"))
+                && CompressionSlice.EXCLUDED.stream().noneMatch(mime::startsWith);
+        }
+        return res;
+    }
+
+    /**
+     * Compressed response, response which varies by `Accept-Encoding` is
+     * sent as is if no coding is accepted.
+     * @param encoding Accepted coding
+     * @param headers Response headers
+     * @param body Response body
+     * @return Response
+     */
+    private static Response compressed(
+        final Optional<Encoding> encoding, final Headers headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final Response res;
+        if (encoding.isPresent()) {
+            res = conn -> conn.accept(
+                RsStatus.OK, encoding.get().headers(headers, Optional.empty()),
+                encoding.get().encode(body)
+            );
+        } else {
+            res = conn -> conn.accept(
+                RsStatus.OK, new Headers.From(headers, new Header("Vary", "Accept-Encoding")),
+                body
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Not modified response of compressible content with headers of
+     * compressed response, but without body and its length.
+     * @param encoding Accepted coding
+     * @param headers Response headers
+     * @param body Response body
+     * @return Response
+     */
+    private static Response notModified(
+        final Optional<Encoding> encoding, final Headers headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final Headers hdrs;
+        if (encoding.isPresent()) {
+            hdrs = encoding.get().headers(headers, Optional.empty());
+        } else {
+            hdrs = new Headers.From(headers, new Header("Vary", "Accept-Encoding"));
+        }
+        return conn -> conn.accept(RsStatus.NOT_MODIFIED, hdrs, body);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which answers conditional GET and HEAD requests of repository items.
+ * Full responses of items found in storage by request path get strong `ETag`
+ * (item MD5 or size and modification time) and `Last-Modified` headers from
+ * item metadata, if origin slice has not set them. Requests with matching
+ * `If-None-Match` or with `If-Modified-Since` not earlier than item
+ * modification are answered with `304 Not Modified`, response body is not
+ * read but cancelled then. Origin slice is always called, so it authenticates
+ * and authorizes requests. Item metadata is read only if origin response has
+ * neither `ETag` nor `Last-Modified`, validators of origin are used as is
+ * otherwise. Metadata validators are added only if response length is equal
+ * to item size, so items modified by adapter on the fly are not validated by
+ * stored item metadata.
+ * @since 0.30
+ */
+public final class ConditionalSlice implements Slice {
+
+    /**
+     * Entity tag header.
+     */
+    private static final String ETAG = "ETag";
+
+    /**
+     * Last modified header.
+     */
+    private static final String LAST_MODIFIED = "Last-Modified";
+
+    /**
+     * HTTP date format.
+     */
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter
+        .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+        .withZone(ZoneOffset.UTC);
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Repository storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param storage Repository storage
+     */
+    public ConditionalSlice(final Slice origin, final Storage storage) {
+        this.origin = origin;
+        this.storage = storage;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RqRoute route = new RqRoute(line);
+        final Response rsp = this.origin.response(line, headers, body);
+        final Response res;
+        if ("GET".equals(route.method()) || "HEAD".equals(route.method())) {
+            res = connection -> rsp.send(
+                (status, rsheaders, rsbody) -> {
+                    final CompletionStage<Void> sent;
+                    if (status == RsStatus.OK) {
+                        sent = this.validated(route, rsheaders, rsbody).thenCompose(
+                            validated -> ConditionalSlice.respond(
+                                connection, headers, validated, rsbody
+                            )
+                        );
+                    } else {
+                        sent = connection.accept(status, rsheaders, rsbody);
+                    }
+                    return sent;
+                }
+            );
+        } else {
+            res = rsp;
+        }
+        return res;
+    }
+
+    /**
+     * Response headers with validators of repository item.
+     * @param route Request route
+     * @param headers Response headers
+     * @param body Response body
+     * @return Headers with validators if item is found
+     */
+    private CompletionStage<Headers> validated(
+        final RqRoute route, final Headers headers, final Publisher<ByteBuffer> body
+    ) {
+        final Optional<String> item = route.item();
+        final Optional<Long> length = ConditionalSlice.length(headers, body);
+        final CompletionStage<Headers> res;
+        if (item.isEmpty() || length.isEmpty()
+            || !new RqHeaders(headers, ConditionalSlice.ETAG).isEmpty()
+            || !new RqHeaders(headers, ConditionalSlice.LAST_MODIFIED).isEmpty()) {
+            res = CompletableFuture.completedFuture(headers);
+        } else {
+            res = this.storage.metadata(new Key.From(item.get())).handle(
+                (meta, err) -> {
+                    Headers hdrs = headers;
+                    if (err == null
+                        && meta.read(Meta.OP_SIZE).map(length.get()::equals).orElse(true)) {
+                        hdrs = ConditionalSlice.withValidators(headers, meta, length.get());
+                    }
+                    return hdrs;
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Send full response or `304 Not Modified` if request conditions match,
+     * body of full response is cancelled then.
+     * @param connection Connection
+     * @param request Request headers
+     * @param headers Response headers
+     * @param body Response body
+     * @return Completion
+     */
+    private static CompletionStage<Void> respond(
+        final Connection connection, final Iterable<Map.Entry<String, String>> request,
+        final Headers headers, final Publisher<ByteBuffer> body
+    ) {
+        final CompletionStage<Void> res;
+        if (ConditionalSlice.notModified(request, headers)) {
+            body.subscribe(new CancelledBody());
+            res = connection.accept(RsStatus.NOT_MODIFIED, headers, Content.EMPTY);
+        } else {
+            res = connection.accept(RsStatus.OK, headers, body);
+        }
+        return res;
+    }
+
+    /**
+     * Is response not modified for request with conditions, `If-Modified-Since`
+     * is ignored if `If-None-Match` is present.
+     * @param request Request headers
+     * @param headers Response headers
+     * @return True if not modified
+     */
+    private static boolean notModified(
+        final Iterable<Map.Entry<String, String>> request, final Headers headers
+    ) {
+        final List<String> match = new RqHeaders(request, "If-None-Match");
+        final List<String> since = new RqHeaders(request, "If-Modified-Since");
+        final List<String> etag = new RqHeaders(headers, ConditionalSlice.ETAG);
+        final List<String> modified = new RqHeaders(headers, ConditionalSlice.LAST_MODIFIED);
+        boolean res = false;
+        if (!match.isEmpty()) {
+            res = !etag.isEmpty() && ConditionalSlice.matches(match, etag.get(0));
+        } else if (!since.isEmpty() && !modified.isEmpty()) {
+            res = ConditionalSlice.date(modified.get(0))
+                .flatMap(
+                    updated -> ConditionalSlice.date(since.get(0))
+                        .map(date -> !updated.isAfter(date))
+                ).orElse(false);
+        }
+        return res;
+    }
+
+    /**
+     * Does `If-None-Match` header match entity tag, entity tags are compared
+     * by weak comparison.
+     * @param match If-None-Match header values
+     * @param etag Entity tag
+     * @return True if matches
+     */
+    private static boolean matches(final List<String> match, final String etag) {
+        final String opaque = ConditionalSlice.opaque(etag);
+        boolean res = false;
+        for (final String value : match) {
+            for (final String tag : value.split(",")) {
+                final String trimmed = tag.trim();
+                res = res || "*".equals(trimmed)
+                    || opaque.equals(ConditionalSlice.opaque(trimmed));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Opaque part of entity tag: tag without weakness indicator.
+     * @param etag Entity tag
+     * @return Opaque tag
+     */
+    private static String opaque(final String etag) {
+        String res = etag;
+        if (res.startsWith("W/")) {
+            res = res.substring(2);
+        }
+        return res;
+    }
+
+    /**
+     * Parse HTTP date.
+     * @param value Header value
+     * @return Instant, empty if date is invalid
+     */
+    private static Optional<Instant> date(final String value) {
+        Optional<Instant> res;
+        try {
+            res = Optional.of(
+                ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant()
+            );
+        } catch (final DateTimeParseException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Response body length: file content length or content length header.
+     * @param headers Response headers
+     * @param body Response body
+     * @return Length if known
+     */
+    static Optional<Long> length(
+        final Headers headers, final Publisher<ByteBuffer> body
+    ) {
+        Optional<Long> res = FileContent.from(body).map(FileContent::length);
+        if (res.isEmpty()) {
+            res = new RqHeaders(headers, "Content-Length").stream().findFirst()
+                .map(String::trim)
+                .filter(len -> !len.isEmpty() && len.chars().allMatch(Character::isDigit))
+                .map(Long::parseLong);
+        }
+        return res;
+    }
+
+    /**
+     * Add validators from item metadata to response headers: strong entity
+     * tag from MD5 or from size and modification time, and last modified
+     * date from modification time.
+     * @param headers Response headers
+     * @param meta Item metadata
+     * @param size Item size
+     * @return Headers
+     */
+    private static Headers withValidators(
+        final Headers headers, final Meta meta, final long size
+    ) {
+        final Optional<String> md5 = meta.read(Meta.OP_MD5).map(String::valueOf);
+        final Optional<Instant> updated = meta.read(Meta.OP_UPDATED_AT)
+            .map(time -> time.truncatedTo(ChronoUnit.SECONDS));
+        final List<Map.Entry<String, String>> validators = new ArrayList<>(2);
+        if (md5.isPresent()) {
+            validators.add(
+                new Header(ConditionalSlice.ETAG, String.format("\"%s\"", md5.get()))
+            );
+        } else if (updated.isPresent()) {
+            validators.add(
+                new Header(
+                    ConditionalSlice.ETAG,
+                    String.format("\"%x-%x\"", size, updated.get().toEpochMilli())
+                )
+            );
+        }
+        if (updated.isPresent()
+            && new RqHeaders(headers, ConditionalSlice.LAST_MODIFIED).isEmpty()) {
+            validators.add(
+                new Header(
+                    ConditionalSlice.LAST_MODIFIED,
+                    ConditionalSlice.HTTP_DATE.format(updated.get())
+                )
+            );
+        }
+        return new Headers.From(headers, validators);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Part of content: bytes of origin publisher from offset of given length,
+ * buffers out of the part are skipped, buffers on its bounds are sliced.
+ * @since 0.30
+ */
+final class ContentPart implements Content {
+
+    /**
+     * Origin publisher.
+     */
+    private final Publisher<ByteBuffer> origin;
+
+    /**
+     * Part offset.
+     */
+    private final long offset;
+
+    /**
+     * Part length.
+     */
+    private final long length;
+
+    /**
+     * Ctor.
+     * @param origin Origin publisher
+     * @param offset Part offset
+     * @param length Part length
+     */
+    ContentPart(final Publisher<ByteBuffer> origin, final long offset, final long length) {
+        this.origin = origin;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public Optional<Long> size() {
+        return Optional.of(this.length);
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        final AtomicLong pos = new AtomicLong();
+        final long end = this.offset + this.length;
+        Flowable.fromPublisher(this.origin).map(
+            buf -> {
+                final long first = pos.getAndAdd(buf.remaining());
+                final ByteBuffer res = buf.slice();
+                final long from = Math.max(this.offset - first, 0);
+                final long to = Math.min(end - first, res.remaining());
+                if (from >= to) {
+                    res.limit(0);
+                } else {
+                    res.limit((int) to).position((int) from);
+                }
+                return res;
+            }
+        ).filter(ByteBuffer::hasRemaining).subscribe(subscriber);
+    }
+}
@@ -10,17 +10,13 @@ import com.artipie.docker.perms.DockerRepositoryPermission;
 import com.artipie.http.auth.Authentication;
 import com.artipie.http.auth.BasicAuthzSlice;
 import com.artipie.http.auth.OperationControl;
-import com.artipie.http.rq.RequestLine;
-import com.artipie.http.rq.RequestLineFrom;
 import com.artipie.security.perms.EmptyPermissions;
 import com.artipie.security.perms.FreePermissions;
 import com.artipie.settings.Settings;
 import java.nio.ByteBuffer;
 import java.security.PermissionCollection;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import org.apache.http.client.utils.URIBuilder;
+import java.util.Optional;
 import org.reactivestreams.Publisher;
 
 /**
@@ -28,7 +24,7 @@ import org.reactivestreams.Publisher;
  * @since 0.9
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
-public final class DockerRoutingSlice implements Slice {
+public final class DockerRoutingSlice implements RoutedSlice {
 
     /**
      * Real path header name.
@@ -36,14 +32,14 @@ public final class DockerRoutingSlice implements Slice {
     private static final String HDR_REAL_PATH = "X-RealPath";
 
     /**
-     * Docker V2 API path pattern.
+     * Docker V2 API path prefix.
      */
-    private static final Pattern PTN_PATH = Pattern.compile("/v2((/.*)?)");
+    private static final String PREFIX = "/v2";
 
     /**
      * Origin slice.
      */
-    private final Slice origin;
+    private final RoutedSlice origin;
 
     /**
      * Settings.
@@ -55,50 +51,39 @@ public final class DockerRoutingSlice implements Slice {
      * @param settings Settings.
      * @param origin Origin slice
      */
-    DockerRoutingSlice(final Settings settings, final Slice origin) {
+    DockerRoutingSlice(final Settings settings, final RoutedSlice origin) {
         this.settings = settings;
         this.origin = origin;
     }
 
     @Override
-    @SuppressWarnings("PMD.NestedIfDepthCheck")
-    public Response response(final String line, final Iterable<Map.Entry<String, String>> headers,
-        final Publisher<ByteBuffer> body) {
-        final RequestLineFrom req = new RequestLineFrom(line);
-        final String path = req.uri().getPath();
-        final Matcher matcher = PTN_PATH.matcher(path);
+    public Response response(final RqRoute route,
+        final Iterable<Map.Entry<String, String>> headers, final Publisher<ByteBuffer> body) {
+        final Optional<RqRoute> docker = route.docker();
         final Response rsp;
-        if (matcher.matches()) {
-            final String group = matcher.group(1);
-            if (group.isEmpty() || group.equals("/")) {
-                rsp = new BasicAuthzSlice(
-                    new BaseEntity(),
-                    this.settings.authz().authentication(),
-                    new OperationControl(
-                        user -> {
-                            // @checkstyle NestedIfDepthCheck (10 lines)
-                            PermissionCollection res = new FreePermissions();
-                            if (Authentication.ANY_USER.name().equals(user.name())) {
-                                res = EmptyPermissions.INSTANCE;
-                            }
-                            return res;
-                        },
-                        new DockerRepositoryPermission("*", "*", DockerActions.PULL.mask())
-                    )
-                ).response(line, headers, body);
-            } else {
-                rsp = this.origin.response(
-                    new RequestLine(
-                        req.method().toString(),
-                        new URIBuilder(req.uri()).setPath(group).toString(),
-                        req.version()
-                    ).toString(),
-                    new Headers.From(headers, DockerRoutingSlice.HDR_REAL_PATH, path),
-                    body
-                );
-            }
+        if (route.dockerBase()) {
+            rsp = new BasicAuthzSlice(
+                new BaseEntity(),
+                this.settings.authz().authentication(),
+                new OperationControl(
+                    user -> {
+                        PermissionCollection res = new FreePermissions();
+                        if (Authentication.ANY_USER.name().equals(user.name())) {
+                            res = EmptyPermissions.INSTANCE;
+                        }
+                        return res;
+                    },
+                    new DockerRepositoryPermission("*", "*", DockerActions.PULL.mask())
+                )
+            ).response(route.line(), headers, body);
+        } else if (docker.isPresent()) {
+            rsp = this.origin.response(
+                docker.get(),
+                new Headers.From(headers, DockerRoutingSlice.HDR_REAL_PATH, route.decoded()),
+                body
+            );
         } else {
-            rsp = this.origin.response(line, headers, body);
+            rsp = this.origin.response(route, headers, body);
         }
         return rsp;
     }
@@ -126,15 +111,9 @@ public final class DockerRoutingSlice implements Slice {
         public Response response(final String line,
             final Iterable<Map.Entry<String, String>> headers,
             final Publisher<ByteBuffer> body) {
-            final RequestLineFrom req = new RequestLineFrom(line);
+            final RqRoute route = new RqRoute(line);
             return this.origin.response(
-                new RequestLine(
-                    req.method().toString(),
-                    new URIBuilder(req.uri())
-                        .setPath(String.format("/v2%s", req.uri().getPath()))
-                        .toString(),
-                    req.version()
-                ).toString(),
+                route.withPath(DockerRoutingSlice.PREFIX.concat(route.path())).line(),
                 headers,
                 body
             );
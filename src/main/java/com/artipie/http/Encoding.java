@@ -0,0 +1,226 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RqHeaders;
+import com.github.luben.zstd.ZstdOutputStream;
+import io.reactivex.Flowable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import org.reactivestreams.Publisher;
+
+/**
+ * Response content coding: `gzip` or `zstd`. Coding is chosen by request
+ * `Accept-Encoding` header with {@link #accepted(Iterable)}, content is
+ * encoded by streaming encoder, so it's not buffered as a whole, encoder is
+ * closed on completion, error or cancellation to release native memory.
+ * @since 0.30
+ */
+public enum Encoding {
+
+    /**
+     * Gzip coding.
+     */
+    GZIP("gzip", ".gz") {
+        @Override
+        OutputStream encoder(final OutputStream out) throws IOException {
+            return new GZIPOutputStream(out);
+        }
+    },
+
+    /**
+     * Zstandard coding.
+     */
+    ZSTD("zstd", ".zst") {
+        @Override
+        OutputStream encoder(final OutputStream out) throws IOException {
+            return new ZstdOutputStream(out);
+        }
+    };
+
+    /**
+     * Content coding token.
+     */
+    private final String token;
+
+    /**
+     * File name extension of encoded content.
+     */
+    private final String ext;
+
+    /**
+     * Ctor.
+     * @param token Content coding token
+     * @param ext File name extension
+     */
+    Encoding(final String token, final String ext) {
+        this.token = token;
+        this.ext = ext;
+    }
+
+    /**
+     * Content coding token for `Content-Encoding` header.
+     * @return Token
+     */
+    public String token() {
+        return this.token;
+    }
+
+    /**
+     * File name extension of encoded content: `.gz` or `.zst`.
+     * @return Extension with leading dot
+     */
+    public String extension() {
+        return this.ext;
+    }
+
+    /**
+     * Encode content.
+     * @param content Content
+     * @return Encoded content
+     */
+    public Publisher<ByteBuffer> encode(final Publisher<ByteBuffer> content) {
+        return Flowable.defer(
+            () -> {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final OutputStream encoder = this.encoder(out);
+                return Flowable.fromPublisher(content).map(
+                    buf -> {
+                        final byte[] bytes = new byte[buf.remaining()];
+                        buf.duplicate().get(bytes);
+                        encoder.write(bytes);
+                        return Encoding.drain(out);
+                    }
+                ).concatWith(
+                    Flowable.fromCallable(
+                        () -> {
+                            encoder.close();
+                            return Encoding.drain(out);
+                        }
+                    )
+                ).filter(ByteBuffer::hasRemaining)
+                    .doOnCancel(encoder::close)
+                    .doOnError(err -> encoder.close());
+            }
+        );
+    }
+
+    /**
+     * Encode bytes.
+     * @param bytes Bytes
+     * @return Encoded bytes
+     */
+    public byte[] encode(final byte[] bytes) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encoder = this.encoder(out)) {
+            encoder.write(bytes);
+        } catch (final IOException err) {
+            throw new UncheckedIOException(err);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Response headers of encoded content: `Content-Encoding` and
+     * `Vary: Accept-Encoding` are added, `Content-Length` is replaced and
+     * strong `ETag` becomes weak one as encoded content is not byte-to-byte
+     * equal to origin.
+     * @param headers Origin response headers
+     * @param length Encoded content length if known
+     * @return Headers
+     */
+    public Headers headers(final Headers headers, final Optional<Long> length) {
+        final List<Map.Entry<String, String>> res = new ArrayList<>(0);
+        for (final Map.Entry<String, String> header : headers) {
+            final String name = header.getKey();
+            if ("ETag".equalsIgnoreCase(name) && !header.getValue().startsWith("W/")) {
+                res.add(new Header(name, String.format("W/%s", header.getValue())));
+            } else if (!"Content-Length".equalsIgnoreCase(name)
+                && !"Content-Encoding".equalsIgnoreCase(name)) {
+                res.add(header);
+            }
+        }
+        res.add(new Header("Content-Encoding", this.token));
+        res.add(new Header("Vary", "Accept-Encoding"));
+        length.ifPresent(len -> res.add(new Header("Content-Length", String.valueOf(len))));
+        return new Headers.From(res);
+    }
+
+    /**
+     * Encoder of output stream.
+     * @param out Output stream
+     * @return Encoding output stream
+     * @throws IOException On error
+     */
+    abstract OutputStream encoder(OutputStream out) throws IOException;
+
+    /**
+     * Coding accepted by request `Accept-Encoding` header with highest
+     * quality, `zstd` is preferred over `gzip` if qualities are equal.
+     * @param headers Request headers
+     * @return Accepted coding, empty if none of codings is accepted
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static Optional<Encoding> accepted(final Iterable<Map.Entry<String, String>> headers) {
+        Optional<Encoding> res = Optional.empty();
+        double best = 0;
+        for (final String value : new RqHeaders(headers, "Accept-Encoding")) {
+            for (final String item : value.split(",")) {
+                final String[] parts = item.split(";");
+                final String token = parts[0].trim().toLowerCase(Locale.US);
+                final double quality = Encoding.quality(parts);
+                for (final Encoding enc : Encoding.values()) {
+                    if (enc.token.equals(token) && (quality > best
+                        || quality == best && quality > 0 && enc == Encoding.ZSTD)) {
+                        best = quality;
+                        res = Optional.of(enc);
+                    }
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Quality value of `Accept-Encoding` item.
+     * @param parts Item parts: coding and parameters
+     * @return Quality, 1 if not set, 0 if invalid
+     */
+    private static double quality(final String[] parts) {
+        double res = 1;
+        for (int idx = 1; idx < parts.length; idx += 1) {
+            final String param = parts[idx].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    res = Double.parseDouble(param.substring(2));
+                } catch (final NumberFormatException ex) {
+                    res = 0;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Take bytes written to output stream and reset it.
+     * @param out Output stream
+     * @return Bytes
+     */
+    private static ByteBuffer drain(final ByteArrayOutputStream out) {
+        final ByteBuffer res = ByteBuffer.wrap(out.toByteArray());
+        out.reset();
+        return res;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which passes file system storage items to server as
+ * {@link FileContent}, so they are sent with OS sendfile. Adapters respond
+ * with storage values mapped by {@link com.artipie.http.rs.RsWithBody}, such
+ * bodies are not file content anymore. If full GET response of hosted
+ * repository item has the same length as the stored item, which is file
+ * content, response body is cancelled and the stored item is sent instead.
+ * Length is the only check that the response is the stored item, so the slice
+ * is used only for repositories which serve the item stored by request path
+ * as is for every request path (`file` repositories).
+ * Responses with `Content-Encoding` are passed as is. Storage is asked for
+ * items only while it returns file content: the first item value of another
+ * kind shows that repository storage is not a file system one.
+ * @since 0.30
+ */
+public final class FileBodySlice implements Slice {
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Repository storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Does storage return file content.
+     */
+    private final AtomicBoolean files;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param storage Repository storage
+     */
+    public FileBodySlice(final Slice origin, final Storage storage) {
+        this.origin = origin;
+        this.storage = storage;
+        this.files = new AtomicBoolean(true);
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RqRoute route = new RqRoute(line);
+        final Response rsp = this.origin.response(line, headers, body);
+        final Optional<String> item = route.item();
+        final Response res;
+        if ("GET".equals(route.method()) && item.isPresent()) {
+            res = connection -> rsp.send(
+                (status, rsheaders, rsbody) -> {
+                    final Optional<Long> length = ConditionalSlice.length(rsheaders, rsbody);
+                    final CompletionStage<Void> sent;
+                    if (status == RsStatus.OK && this.files.get() && length.isPresent()
+                        && FileContent.from(rsbody).isEmpty()
+                        && new RqHeaders(rsheaders, "Content-Encoding").isEmpty()) {
+                        sent = this.file(new Key.From(item.get()), length.get()).thenCompose(
+                            file -> {
+                                final CompletionStage<Void> accepted;
+                                if (file.isPresent()) {
+                                    rsbody.subscribe(new CancelledBody());
+                                    accepted = connection.accept(status, rsheaders, file.get());
+                                } else {
+                                    accepted = connection.accept(status, rsheaders, rsbody);
+                                }
+                                return accepted;
+                            }
+                        );
+                    } else {
+                        sent = connection.accept(status, rsheaders, rsbody);
+                    }
+                    return sent;
+                }
+            );
+        } else {
+            res = rsp;
+        }
+        return res;
+    }
+
+    /**
+     * File content of stored item of expected length.
+     * @param key Item key
+     * @param length Expected length
+     * @return File content if item is file content of expected length
+     */
+    private CompletionStage<Optional<FileContent>> file(final Key key, final long length) {
+        return this.storage.value(key).handle(
+            (content, err) -> {
+                Optional<FileContent> res = Optional.empty();
+                if (err == null) {
+                    res = FileContent.from(content).filter(file -> file.length() == length);
+                    if (!(content instanceof FileContent)) {
+                        this.files.set(false);
+                        content.subscribe(new CancelledBody());
+                    }
+                }
+                return res;
+            }
+        );
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.jfr.ChunksAndSizeSubscriber;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Content of file system storage value which knows the file it's read from.
+ * Server can send such content with OS sendfile using {@link #path()},
+ * {@link #offset()} and {@link #length()} instead of subscribing to it, then
+ * it reports sent bytes by {@link #sent(long)}. Subscribers still get content
+ * from origin publisher. Content decorators which measure bytes should not
+ * wrap it but add observer with {@link #observed(LongConsumer)}, observers are
+ * notified with bytes count both on sendfile and on subscription completion.
+ * It's a {@link Flowable} to be kept as is by {@link Flowable#fromPublisher},
+ * so it can be found in response body by {@link #from(Publisher)}. Content is
+ * found only if it's passed to connection as is: bodies which are mapped by
+ * other publishers, e.g. by {@link com.artipie.http.rs.RsWithBody} which
+ * duplicates buffers, are subscribed to, since their mapping can't be skipped.
+ * Responses of hosted repositories items are replaced with file content by
+ * {@link FileBodySlice}.
+ * @since 0.30
+ */
+public final class FileContent extends Flowable<ByteBuffer> implements Content {
+
+    /**
+     * File path.
+     */
+    private final Path file;
+
+    /**
+     * Position of content in file.
+     */
+    private final long start;
+
+    /**
+     * Content length.
+     */
+    private final long size;
+
+    /**
+     * Origin content of the whole file.
+     */
+    private final Content origin;
+
+    /**
+     * Sent bytes observer.
+     */
+    private final LongConsumer observer;
+
+    /**
+     * Ctor.
+     * @param file File path
+     * @param size File size
+     * @param origin Origin content of the file
+     */
+    public FileContent(final Path file, final long size, final Content origin) {
+        this(file, 0, size, origin, bytes -> { });
+    }
+
+    /**
+     * Ctor.
+     * @param file File path
+     * @param start Position of content in file
+     * @param size Content length
+     * @param origin Origin content of the whole file
+     * @param observer Sent bytes observer
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private FileContent(final Path file, final long start, final long size,
+        final Content origin, final LongConsumer observer) {
+        this.file = file;
+        this.start = start;
+        this.size = size;
+        this.origin = origin;
+        this.observer = observer;
+    }
+
+    /**
+     * File content of response body.
+     * @param body Response body
+     * @return File content if body is file content
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static Optional<FileContent> from(final Publisher<ByteBuffer> body) {
+        Optional<FileContent> res = Optional.empty();
+        if (body instanceof FileContent) {
+            res = Optional.of((FileContent) body);
+        }
+        return res;
+    }
+
+    /**
+     * File path.
+     * @return Path
+     */
+    public Path path() {
+        return this.file;
+    }
+
+    /**
+     * Position of content in file.
+     * @return Offset in bytes
+     */
+    public long offset() {
+        return this.start;
+    }
+
+    /**
+     * Content length.
+     * @return Length in bytes
+     */
+    public long length() {
+        return this.size;
+    }
+
+    /**
+     * Content with extra sent bytes observer.
+     * @param callback Observer to add
+     * @return Observed content
+     */
+    public FileContent observed(final LongConsumer callback) {
+        return new FileContent(
+            this.file, this.start, this.size, this.origin, this.observer.andThen(callback)
+        );
+    }
+
+    /**
+     * Part of this content.
+     * @param offset Part position relatively to this content
+     * @param length Part length
+     * @return Content part
+     */
+    public FileContent part(final long offset, final long length) {
+        if (offset < 0 || length < 0 || offset + length > this.size) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Part %d+%d is out of content of %d bytes", offset, length, this.size
+                )
+            );
+        }
+        return new FileContent(
+            this.file, this.start + offset, length, this.origin, this.observer
+        );
+    }
+
+    /**
+     * Notify observers that content was sent without subscription.
+     * @param bytes Sent bytes count
+     */
+    public void sent(final long bytes) {
+        this.observer.accept(bytes);
+    }
+
+    @Override
+    public Optional<Long> size() {
+        return Optional.of(this.size);
+    }
+
+    @Override
+    protected void subscribeActual(final Subscriber<? super ByteBuffer> subscriber) {
+        final Content body;
+        if (this.start == 0 && this.origin.size().equals(Optional.of(this.size))) {
+            body = this.origin;
+        } else {
+            body = new ContentPart(this.origin, this.start, this.size);
+        }
+        body.subscribe(
+            new ChunksAndSizeSubscriber(
+                subscriber,
+                (chunks, bytes) -> {
+                    if (chunks >= 0) {
+                        this.sent(bytes);
+                    }
+                }
+            )
+        );
+    }
+}
@@ -6,45 +6,38 @@ package com.artipie.http;
 
 import com.artipie.http.auth.Tokens;
 import com.artipie.http.client.ClientSlices;
-import com.artipie.http.rq.RequestLineFrom;
-import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
-import com.artipie.http.rt.ByMethodsRule;
-import com.artipie.http.rt.RtPath;
-import com.artipie.http.rt.RtRule;
-import com.artipie.http.rt.RtRulePath;
-import com.artipie.http.rt.SliceRoute;
 import com.artipie.misc.ArtipieProperties;
 import com.artipie.settings.Settings;
-import java.util.Optional;
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.reactivestreams.Publisher;
 
 /**
  * Slice Artipie serves on it's main port.
  * The slice handles `/.health`, `/.version` and repositories requests
- * extracting repository name from URI path.
+ * extracting repository name from URI path. Request line is parsed once
+ * into {@link RqRoute}, which is passed to Docker and repository routing.
  *
  * @since 0.11
- * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
-@SuppressWarnings("PMD.AvoidDuplicateLiterals")
-public final class MainSlice extends Slice.Wrap {
+public final class MainSlice implements RoutedSlice {
 
     /**
-     * Route path returns {@code NO_CONTENT} status if path is empty.
+     * Health slice.
      */
-    private static final RtPath EMPTY_PATH = (line, headers, body) -> {
-        final String path = new RequestLineFrom(line).uri().getPath();
-        final Optional<Response> res;
-        if (path.equals("*") || path.equals("/")
-            || path.replaceAll("^/+", "").split("/").length == 0) {
-            res = Optional.of(new RsWithStatus(RsStatus.NO_CONTENT));
-        } else {
-            res = Optional.empty();
-        }
-        return res;
-    };
+    private final Slice health;
+
+    /**
+     * Version slice.
+     */
+    private final Slice version;
+
+    /**
+     * Repositories slice.
+     */
+    private final RoutedSlice repos;
 
     /**
      * Artipie entry point.
@@ -59,25 +52,34 @@ public final class MainSlice extends Slice.Wrap {
         final Settings settings,
         final Tokens tokens
     ) {
-        super(
-            new SliceRoute(
-                MainSlice.EMPTY_PATH,
-                new RtRulePath(
-                    new RtRule.ByPath(Pattern.compile("/\\.health")),
-                    new HealthSlice(settings)
-                ),
-                new RtRulePath(
-                    new RtRule.All(
-                        new ByMethodsRule(RqMethod.GET),
-                        new RtRule.ByPath("/.version")
-                    ),
-                    new VersionSlice(new ArtipieProperties())
-                ),
-                new RtRulePath(
-                    RtRule.FALLBACK,
-                    new DockerRoutingSlice(settings, new SliceByPath(http, settings, tokens))
-                )
-            )
-        );
+        this(settings, new RepositorySliceRegistry(http, settings, tokens));
+    }
+
+    /**
+     * Artipie entry point.
+     *
+     * @param settings Artipie settings.
+     * @param repos Repository slices registry
+     */
+    public MainSlice(final Settings settings, final RepositorySliceRegistry repos) {
+        this.health = new HealthSlice(settings);
+        this.version = new VersionSlice(new ArtipieProperties());
+        this.repos = new DockerRoutingSlice(settings, new SliceByPath(repos));
+    }
+
+    @Override
+    public Response response(final RqRoute route,
+        final Iterable<Map.Entry<String, String>> headers, final Publisher<ByteBuffer> body) {
+        final Response res;
+        if (route.empty()) {
+            res = new RsWithStatus(RsStatus.NO_CONTENT);
+        } else if ("/.health".equals(route.path())) {
+            res = this.health.response(route.line(), headers, body);
+        } else if (route.get("/.version")) {
+            res = this.version.response(route.line(), headers, body);
+        } else {
+            res = this.repos.response(route, headers, body);
+        }
+        return res;
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Negative lookups cache: remembers paths which were not found in a repository
+ * or in a member of group or proxy repository (scope `repo|member`). Paths are
+ * kept as 64-bit hashes, each scope is bounded by
+ * {@link ArtipieProperties#NEGATIVE_CACHE_SIZE} entries and entries expire
+ * after {@link ArtipieProperties#NEGATIVE_CACHE_TIMEOUT}. Caches are shared by
+ * all instances, invalidation by repository name drops the repository scope
+ * and scopes of all it's members. Invalidations by {@link #broadcast(String)}
+ * are published to other cluster nodes with publisher of the instance, which
+ * is given to constructor.
+ * @since 0.30
+ */
+public final class NegativeCache implements Cleanable<String> {
+
+    /**
+     * Separator of repository name and member in scope.
+     */
+    public static final String SEP = "|";
+
+    /**
+     * Caches by scope.
+     */
+    private static final ConcurrentMap<String, Cache<Long, Boolean>> SCOPES =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Publisher of repositories invalidations to other cluster nodes.
+     */
+    private final Consumer<String> cluster;
+
+    /**
+     * Ctor of cache which doesn't publish invalidations to other nodes.
+     */
+    public NegativeCache() {
+        this(name -> { });
+    }
+
+    /**
+     * Ctor.
+     * @param cluster Publisher of repositories invalidations to other nodes
+     */
+    public NegativeCache(final Consumer<String> cluster) {
+        this.cluster = cluster;
+    }
+
+    /**
+     * Is path missing in scope?
+     * @param scope Scope
+     * @param path Request path
+     * @return True if path was recently not found
+     */
+    public boolean missing(final String scope, final String path) {
+        final Cache<Long, Boolean> cache = NegativeCache.SCOPES.get(scope);
+        return cache != null && cache.getIfPresent(NegativeCache.hash(path)) != null;
+    }
+
+    /**
+     * Remember that path was not found in scope.
+     * @param scope Scope
+     * @param path Request path
+     */
+    public void miss(final String scope, final String path) {
+        NegativeCache.SCOPES.computeIfAbsent(scope, key -> NegativeCache.create())
+            .put(NegativeCache.hash(path), Boolean.TRUE);
+    }
+
+    /**
+     * Number of remembered paths in scope.
+     * @param scope Scope
+     * @return Approximate number of entries
+     */
+    public long size(final String scope) {
+        final Cache<Long, Boolean> cache = NegativeCache.SCOPES.get(scope);
+        long res = 0;
+        if (cache != null) {
+            res = cache.size();
+        }
+        return res;
+    }
+
+    @Override
+    public void invalidate(final String name) {
+        NegativeCache.SCOPES.keySet().removeIf(
+            scope -> scope.equals(name) || scope.startsWith(name.concat(NegativeCache.SEP))
+        );
+    }
+
+    /**
+     * Invalidate repository on this node and publish invalidation to other
+     * cluster nodes.
+     * @param name Repository name
+     */
+    public void broadcast(final String name) {
+        this.invalidate(name);
+        this.cluster.accept(name);
+    }
+
+    @Override
+    public void invalidateAll() {
+        NegativeCache.SCOPES.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s(scopes=%d)", this.getClass().getSimpleName(), NegativeCache.SCOPES.size()
+        );
+    }
+
+    /**
+     * Hash of request path.
+     * @param path Request path
+     * @return 64-bit hash
+     */
+    private static long hash(final String path) {
+        return Hashing.murmur3_128().hashString(path, StandardCharsets.UTF_8).asLong();
+    }
+
+    /**
+     * Create cache for scope.
+     * @return Bounded expiring cache
+     */
+    private static Cache<Long, Boolean> create() {
+        return CacheBuilder.newBuilder()
+            .maximumSize(
+                //@checkstyle MagicNumberCheck (1 line)
+                new Property(ArtipieProperties.NEGATIVE_CACHE_SIZE).asLongOrDefault(10_000L)
+            )
+            .expireAfterWrite(
+                //@checkstyle MagicNumberCheck (1 line)
+                new Property(ArtipieProperties.NEGATIVE_CACHE_TIMEOUT).asLongOrDefault(300_000L),
+                TimeUnit.MILLISECONDS
+            ).build();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.StandardRs;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice with negative lookups cache: GET and HEAD requests for paths which
+ * were recently not found are answered with 404 without calling origin,
+ * 404 responses of origin are remembered. Origin authenticates requests
+ * after this slice, so misses are remembered per request credentials
+ * (`Authorization` header): request without the same credentials is sent to
+ * origin and gets origin auth response. Proxy repositories answer 404 on
+ * upstream failures too, so for them only 404 which was answered by remote
+ * for the same request is remembered (see {@link UpstreamMisses}). Any other request (upload,
+ * delete) answered with 2xx by origin invalidates negative lookups of the
+ * repository and all it's members on all cluster nodes.
+ * @since 0.30
+ */
+public final class NegativeCacheSlice implements Slice {
+
+    /**
+     * Authorization header name.
+     */
+    private static final String AUTHORIZATION = "Authorization";
+
+    /**
+     * Cache scope: repository name or `repo|member`.
+     */
+    private final String scope;
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Negative lookups cache.
+     */
+    private final NegativeCache cache;
+
+    /**
+     * Watches of requests by path relative to repository: is origin 404
+     * response a real miss.
+     */
+    private final Function<String, UpstreamMisses.Watch> genuine;
+
+    /**
+     * Ctor.
+     * @param scope Cache scope: repository name or `repo|member`
+     * @param origin Origin slice
+     */
+    public NegativeCacheSlice(final String scope, final Slice origin) {
+        this(scope, origin, new NegativeCache());
+    }
+
+    /**
+     * Ctor.
+     * @param scope Cache scope: repository name or `repo|member`
+     * @param origin Origin slice
+     * @param cache Negative lookups cache
+     */
+    public NegativeCacheSlice(final String scope, final Slice origin, final NegativeCache cache) {
+        this(scope, origin, cache, path -> UpstreamMisses.Watch.TRUSTED);
+    }
+
+    /**
+     * Ctor of proxy repository slice.
+     * @param scope Cache scope: repository name or `repo|member`
+     * @param origin Origin slice
+     * @param cache Negative lookups cache
+     * @param upstream Upstream responses of the proxy
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public NegativeCacheSlice(
+        final String scope, final Slice origin, final NegativeCache cache,
+        final UpstreamMisses upstream
+    ) {
+        this(scope, origin, cache, upstream::watch);
+    }
+
+    /**
+     * Ctor.
+     * @param scope Cache scope: repository name or `repo|member`
+     * @param origin Origin slice
+     * @param cache Negative lookups cache
+     * @param genuine Watches of requests by path relative to repository
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private NegativeCacheSlice(final String scope, final Slice origin,
+        final NegativeCache cache, final Function<String, UpstreamMisses.Watch> genuine) {
+        this.scope = scope;
+        this.origin = origin;
+        this.cache = cache;
+        this.genuine = genuine;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RequestLineFrom rqline = new RequestLineFrom(line);
+        final Response res;
+        if (rqline.method() == RqMethod.GET || rqline.method() == RqMethod.HEAD) {
+            final String key = String.join(
+                "\n", rqline.uri().toString(),
+                String.join("\n", new RqHeaders(headers, NegativeCacheSlice.AUTHORIZATION))
+            );
+            if (this.cache.missing(this.scope, key)) {
+                res = StandardRs.NOT_FOUND;
+            } else {
+                final UpstreamMisses.Watch watch = this.genuine.apply(this.relative(line));
+                final Response rsp = this.origin.response(line, headers, body);
+                res = connection -> rsp.send(
+                    (status, rsheaders, rsbody) -> {
+                        if (status == RsStatus.NOT_FOUND && watch.missed()) {
+                            this.cache.miss(this.scope, key);
+                        }
+                        return connection.accept(status, rsheaders, rsbody);
+                    }
+                ).whenComplete((nothing, err) -> watch.stop());
+            }
+        } else {
+            res = NegativeCacheSlice.invalidating(
+                this.origin.response(line, headers, body), this.cache, this.scope
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Request path relative to repository: repository slices get paths with
+     * repository name, member slices of proxy remotes get relative paths.
+     * @param line Request line
+     * @return Relative path
+     */
+    private String relative(final String line) {
+        final RqRoute route = new RqRoute(line);
+        final String res;
+        if (this.scope.contains(NegativeCache.SEP)) {
+            res = route.path();
+        } else {
+            res = route.trimmed().map(RqRoute::path).orElse(route.path());
+        }
+        return res;
+    }
+
+    /**
+     * Response which invalidates negative lookups of repository the scope
+     * belongs to if origin succeeded.
+     * @param origin Origin response
+     * @param cache Negative lookups cache
+     * @param scope Cache scope
+     * @return Response
+     */
+    private static Response invalidating(
+        final Response origin, final NegativeCache cache, final String scope
+    ) {
+        return connection -> origin.send(
+            (status, headers, body) -> {
+                if (status.success()) {
+                    NegativeCacheSlice.invalidate(cache, scope);
+                }
+                return connection.accept(status, headers, body);
+            }
+        );
+    }
+
+    /**
+     * Invalidate negative lookups of repository the scope belongs to on all
+     * cluster nodes.
+     * @param cache Negative lookups cache
+     * @param scope Cache scope
+     */
+    private static void invalidate(final NegativeCache cache, final String scope) {
+        final int idx = scope.indexOf(NegativeCache.SEP);
+        if (idx < 0) {
+            cache.broadcast(scope);
+        } else {
+            cache.broadcast(scope.substring(0, idx));
+        }
+    }
+
+    /**
+     * Slice which doesn't cache lookups, but invalidates negative lookups of
+     * the repository on any request except GET and HEAD answered with 2xx,
+     * should be used for hosted repositories which can be members of groups.
+     * @since 0.30
+     */
+    public static final class Invalidating implements Slice {
+
+        /**
+         * Repository name.
+         */
+        private final String name;
+
+        /**
+         * Origin slice.
+         */
+        private final Slice origin;
+
+        /**
+         * Negative lookups cache.
+         */
+        private final NegativeCache cache;
+
+        /**
+         * Ctor.
+         * @param name Repository name
+         * @param origin Origin slice
+         * @param cache Negative lookups cache
+         */
+        public Invalidating(final String name, final Slice origin, final NegativeCache cache) {
+            this.name = name;
+            this.origin = origin;
+            this.cache = cache;
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final RqMethod method = new RequestLineFrom(line).method();
+            final Response res;
+            if (method == RqMethod.GET || method == RqMethod.HEAD) {
+                res = this.origin.response(line, headers, body);
+            } else {
+                res = NegativeCacheSlice.invalidating(
+                    this.origin.response(line, headers, body), this.cache, this.name
+                );
+            }
+            return res;
+        }
+    }
+}
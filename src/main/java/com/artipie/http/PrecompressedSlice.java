@@ -0,0 +1,389 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which sends pre-compressed variants of large repository index files,
+ * such as conda `repodata.json` or helm `index.yaml`. Variant is stored under
+ * reserved `.artipie/precompressed/<item>/` prefix with item tag (MD5 or size
+ * and modification time) in its name, e.g. `<tag>.gz`, when it's requested
+ * first time after item modification, so compression cost is paid once per
+ * item change, and variants of previous tags are removed then. Variants are
+ * kept apart from repository items, so they never shadow items which clients
+ * request with the same name (conda requests `repodata.json.zst`), and
+ * adapters see repository storage as {@link ReservedStorage}, so clients can
+ * neither upload nor list variants. Item is compressed by streaming encoder
+ * on compression worker threads, concurrent requests of the same variant
+ * wait for the single compression. As in
+ * {@link ConditionalSlice}, origin slice is always called and variant is sent
+ * only if origin response length is equal to item size, otherwise origin
+ * response is sent as is.
+ * @since 0.30
+ */
+public final class PrecompressedSlice implements Slice {
+
+    /**
+     * Default index file names.
+     */
+    private static final Set<String> INDEXES = Set.of(
+        "repodata.json", "current_repodata.json", "index.yaml", "packages.json"
+    );
+
+    /**
+     * Default minimal item size in bytes.
+     */
+    private static final long MIN_SIZE = 64 * 1024;
+
+    /**
+     * Variants prefix.
+     */
+    private static final Key VARIANTS = new Key.From(ReservedStorage.RESERVED, "precompressed");
+
+    /**
+     * Compression workers.
+     */
+    private static final Scheduler WORKERS = Schedulers.from(
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "artipie-precompression");
+                thread.setDaemon(true);
+                return thread;
+            }
+        )
+    );
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Repository storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Index file names.
+     */
+    private final Set<String> indexes;
+
+    /**
+     * Minimal item size in bytes.
+     */
+    private final long min;
+
+    /**
+     * Running compressions by variant key.
+     */
+    private final ConcurrentMap<Key, CompletableFuture<Boolean>> running;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param storage Repository storage
+     */
+    public PrecompressedSlice(final Slice origin, final Storage storage) {
+        this(origin, storage, PrecompressedSlice.INDEXES, PrecompressedSlice.MIN_SIZE);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param storage Repository storage
+     * @param indexes Index file names
+     * @param min Minimal item size in bytes
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PrecompressedSlice(final Slice origin, final Storage storage,
+        final Set<String> indexes, final long min) {
+        this.origin = origin;
+        this.storage = storage;
+        this.indexes = indexes;
+        this.min = min;
+        this.running = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RqRoute route = new RqRoute(line);
+        final Optional<Encoding> encoding = Encoding.accepted(headers);
+        final Optional<Key> item = route.item()
+            .filter(path -> this.indexes.contains(path.substring(path.lastIndexOf('/') + 1)))
+            .map(Key.From::new);
+        final Response rsp = this.origin.response(line, headers, body);
+        final Response res;
+        if ("GET".equals(route.method()) && new RqHeaders(headers, "Range").isEmpty()
+            && encoding.isPresent() && item.isPresent()) {
+            res = connection -> rsp.send(
+                (status, rsheaders, rsbody) -> {
+                    final Optional<Long> length = ConditionalSlice.length(rsheaders, rsbody);
+                    final CompletionStage<Void> sent;
+                    if (status == RsStatus.OK && length.isPresent() && length.get() >= this.min
+                        && new RqHeaders(rsheaders, "Content-Encoding").isEmpty()) {
+                        sent = this.variant(item.get(), encoding.get(), length.get())
+                            .thenCompose(
+                                variant -> {
+                                    final CompletionStage<Void> done;
+                                    if (variant.isPresent()) {
+                                        rsbody.subscribe(new CancelledBody());
+                                        done = connection.accept(
+                                            RsStatus.OK,
+                                            encoding.get().headers(
+                                                rsheaders, variant.get().size()
+                                            ),
+                                            variant.get()
+                                        );
+                                    } else {
+                                        done = connection.accept(status, rsheaders, rsbody);
+                                    }
+                                    return done;
+                                }
+                            );
+                    } else {
+                        sent = connection.accept(status, rsheaders, rsbody);
+                    }
+                    return sent;
+                }
+            );
+        } else {
+            res = rsp;
+        }
+        return res;
+    }
+
+    /**
+     * Pre-compressed variant of item: stored variant of current item tag, or
+     * new variant which is compressed and stored.
+     * @param item Item key
+     * @param encoding Coding
+     * @param length Response length
+     * @return Variant content, empty if item doesn't match response or
+     *  variant can't be created
+     */
+    private CompletionStage<Optional<Content>> variant(
+        final Key item, final Encoding encoding, final long length
+    ) {
+        return this.storage.metadata(item).thenCompose(
+            meta -> {
+                final Optional<String> tag = PrecompressedSlice.tag(meta);
+                final CompletionStage<Optional<Content>> res;
+                if (tag.isEmpty()
+                    || !meta.read(Meta.OP_SIZE).map(Long.valueOf(length)::equals).orElse(false)) {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                } else {
+                    final Key variant = new Key.From(
+                        PrecompressedSlice.variants(item),
+                        String.format("%s%s", tag.get(), encoding.extension())
+                    );
+                    res = this.storage.exists(variant).thenCompose(
+                        exists -> {
+                            final CompletionStage<Boolean> stored;
+                            if (exists) {
+                                stored = CompletableFuture.completedFuture(true);
+                            } else {
+                                stored = this.single(item, variant, encoding, tag.get());
+                            }
+                            return stored;
+                        }
+                    ).thenCompose(
+                        stored -> {
+                            final CompletionStage<Optional<Content>> found;
+                            if (stored) {
+                                found = this.stored(variant);
+                            } else {
+                                found = CompletableFuture.completedFuture(Optional.empty());
+                            }
+                            return found;
+                        }
+                    );
+                }
+                return res;
+            }
+        ).exceptionally(err -> Optional.empty());
+    }
+
+    /**
+     * Stored variant content.
+     * @param variant Variant key
+     * @return Variant content if its size is known
+     */
+    private CompletionStage<Optional<Content>> stored(final Key variant) {
+        return this.storage.metadata(variant).thenCompose(
+            meta -> this.storage.value(variant).thenApply(
+                content -> PrecompressedSlice.sized(content, meta.read(Meta.OP_SIZE))
+            )
+        );
+    }
+
+    /**
+     * Compress item to variant once for concurrent requests: requests wait
+     * for the running compression of the same variant.
+     * @param item Item key
+     * @param variant Variant key
+     * @param encoding Coding
+     * @param tag Item tag
+     * @return True if variant is stored
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Boolean> single(final Key item, final Key variant,
+        final Encoding encoding, final String tag) {
+        final CompletableFuture<Boolean> created = new CompletableFuture<>();
+        final CompletableFuture<Boolean> current = this.running.putIfAbsent(variant, created);
+        final CompletionStage<Boolean> res;
+        if (current == null) {
+            this.compressed(item, variant, encoding, tag).whenComplete(
+                (stored, err) -> {
+                    this.running.remove(variant, created);
+                    if (err == null) {
+                        created.complete(stored);
+                    } else {
+                        created.completeExceptionally(err);
+                    }
+                }
+            );
+            res = created;
+        } else {
+            res = current;
+        }
+        return res;
+    }
+
+    /**
+     * Compress item by streaming encoder on compression workers and store
+     * variant, variants of other item tags are removed then. Variant is
+     * removed if item was modified while it was compressed.
+     * @param item Item key
+     * @param variant Variant key
+     * @param encoding Coding
+     * @param tag Item tag
+     * @return True if variant is stored
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Boolean> compressed(final Key item, final Key variant,
+        final Encoding encoding, final String tag) {
+        return this.storage.value(item)
+            .thenCompose(
+                content -> this.storage.save(
+                    variant,
+                    new Content.From(
+                        encoding.encode(
+                            Flowable.fromPublisher(content).observeOn(PrecompressedSlice.WORKERS)
+                        )
+                    )
+                )
+            )
+            .thenCompose(nothing -> this.storage.metadata(item))
+            .thenCompose(
+                meta -> {
+                    final CompletionStage<Boolean> res;
+                    if (PrecompressedSlice.tag(meta).map(tag::equals).orElse(false)) {
+                        res = this.storage.list(PrecompressedSlice.variants(item))
+                            .thenCompose(keys -> this.outdated(keys, variant, encoding))
+                            .thenApply(nothing -> true);
+                    } else {
+                        res = this.storage.delete(variant).thenApply(nothing -> false);
+                    }
+                    return res;
+                }
+            );
+    }
+
+    /**
+     * Remove variants of other item tags.
+     * @param keys Variants of item
+     * @param variant Current variant key
+     * @param encoding Coding
+     * @return Completion
+     */
+    private CompletionStage<Void> outdated(
+        final Collection<Key> keys, final Key variant, final Encoding encoding
+    ) {
+        return CompletableFuture.allOf(
+            keys.stream()
+                .filter(key -> !key.equals(variant))
+                .filter(key -> key.string().endsWith(encoding.extension()))
+                .map(key -> this.storage.delete(key).exceptionally(err -> null))
+                .toArray(CompletableFuture[]::new)
+        );
+    }
+
+    /**
+     * Prefix of item variants.
+     * @param item Item key
+     * @return Variants prefix
+     */
+    private static Key variants(final Key item) {
+        return new Key.From(PrecompressedSlice.VARIANTS, item.string());
+    }
+
+    /**
+     * Item tag: MD5 or size and modification time.
+     * @param meta Item metadata
+     * @return Tag, empty if metadata has neither MD5 nor modification time
+     */
+    private static Optional<String> tag(final Meta meta) {
+        final Optional<String> md5 = meta.read(Meta.OP_MD5).map(String::valueOf);
+        final Optional<? extends Instant> updated = meta.read(Meta.OP_UPDATED_AT);
+        final Optional<? extends Long> size = meta.read(Meta.OP_SIZE);
+        final Optional<String> res;
+        if (md5.isPresent()) {
+            res = md5;
+        } else if (updated.isPresent() && size.isPresent()) {
+            res = Optional.of(
+                String.format("%x-%x", size.get(), updated.get().toEpochMilli())
+            );
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Content of known size.
+     * @param content Content
+     * @param size Size from metadata
+     * @return Content if size is known
+     */
+    private static Optional<Content> sized(
+        final Content content, final Optional<? extends Long> size
+    ) {
+        final Optional<Content> res;
+        if (content.size().isPresent()) {
+            res = Optional.of(content);
+        } else if (size.isPresent()) {
+            res = Optional.of(new Content.From(size.get(), content));
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+}
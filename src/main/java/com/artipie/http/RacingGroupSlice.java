@@ -0,0 +1,443 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.http.group.GroupSlice;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.StandardRs;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.reactivestreams.Publisher;
+
+/**
+ * Group slice which races members: GET and HEAD requests are sent to group
+ * members concurrently, the first successful (2xx) or 304 response wins,
+ * bodies of other responses are cancelled. Any other response is a miss: if
+ * all members missed, the first response other than 404 (e.g. 401 or 503) is
+ * sent, if there is no such response and some of members failed, response
+ * fails with the member error, otherwise it is 404. With hedge delay members
+ * are started one by one with this delay, the next member is started right
+ * away if previous one missed. Member which served the last hit for a path
+ * prefix (request path without the last segment) is asked first and alone,
+ * other members are asked if it misses (all at once without hedge delay) or
+ * after hedge delay. Other methods are handled by {@link GroupSlice}.
+ * @since 0.30
+ */
+public final class RacingGroupSlice implements Slice {
+
+    /**
+     * Max number of path prefixes to remember last hit member for.
+     */
+    private static final long MAX_HINTS = 10_000L;
+
+    /**
+     * Group members.
+     */
+    private final List<Slice> members;
+
+    /**
+     * Hedge delay in millis, zero to start all members at once.
+     */
+    private final long hedge;
+
+    /**
+     * Last hit member index by path prefix.
+     */
+    private final Cache<String, Integer> hints;
+
+    /**
+     * Ctor.
+     * @param members Group members
+     * @param hedge Hedge delay, zero to start all members at once
+     */
+    public RacingGroupSlice(final List<Slice> members, final Duration hedge) {
+        this.members = members;
+        this.hedge = hedge.toMillis();
+        this.hints = CacheBuilder.newBuilder().maximumSize(RacingGroupSlice.MAX_HINTS).build();
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RequestLineFrom rqline = new RequestLineFrom(line);
+        final Response res;
+        if (rqline.method() == RqMethod.GET || rqline.method() == RqMethod.HEAD) {
+            final String path = rqline.uri().getPath();
+            final String prefix = path.substring(0, path.lastIndexOf('/') + 1);
+            res = connection -> new Race(
+                prefix, Optional.ofNullable(this.hints.getIfPresent(prefix)),
+                (idx, conn) -> this.members.get(idx).response(line, headers, body).send(conn)
+            ).send(connection);
+        } else {
+            res = new GroupSlice(this.members).response(line, headers, body);
+        }
+        return res;
+    }
+
+    /**
+     * Group slice from repository settings: racing group if `mode` is `race`
+     * (`hedge_delay` in millis is optional), ordered group otherwise.
+     * @param settings Repository settings section
+     * @param members Group members
+     * @return Group slice
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static Slice fromSettings(
+        final Optional<YamlMapping> settings, final List<Slice> members
+    ) {
+        final Slice res;
+        if (settings.map(yaml -> "race".equals(yaml.string("mode"))).orElse(false)) {
+            res = new RacingGroupSlice(
+                members,
+                RacingGroupSlice.hedge(settings.get())
+            );
+        } else {
+            res = new GroupSlice(members);
+        }
+        return res;
+    }
+
+    /**
+     * Hedge delay from repository settings.
+     * @param settings Repository settings section
+     * @return Hedge delay, zero if not configured
+     */
+    private static Duration hedge(final YamlMapping settings) {
+        final String value = settings.string("hedge_delay");
+        final long millis;
+        if (value == null) {
+            millis = 0L;
+        } else {
+            try {
+                millis = Long.parseLong(value.trim());
+            } catch (final NumberFormatException err) {
+                throw new IllegalStateException(
+                    String.format("Group `hedge_delay` is not a number: %s", value), err
+                );
+            }
+            if (millis < 0) {
+                throw new IllegalStateException(
+                    String.format("Group `hedge_delay` is negative: %s", value)
+                );
+            }
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    /**
+     * Is response status a hit which wins the race.
+     * @param status Response status
+     * @return True for 2xx and 304 statuses
+     */
+    private static boolean hit(final RsStatus status) {
+        return status.success() || status == RsStatus.NOT_MODIFIED;
+    }
+
+    /**
+     * Complete response sending.
+     * @param done Completion of response sending
+     * @param err Error of sending, nullable
+     */
+    private static void finish(final CompletableFuture<Void> done, final Throwable err) {
+        if (err == null) {
+            done.complete(null);
+        } else {
+            done.completeExceptionally(err);
+        }
+    }
+
+    /**
+     * Sender of request to group member.
+     * @since 0.30
+     */
+    @FunctionalInterface
+    private interface Member {
+
+        /**
+         * Send request to member and response to connection.
+         * @param idx Member index
+         * @param connection Connection
+         * @return Completion
+         */
+        CompletionStage<Void> send(int idx, Connection connection);
+    }
+
+    /**
+     * One race of group members.
+     * @since 0.30
+     */
+    private final class Race {
+
+        /**
+         * Request path prefix.
+         */
+        private final String prefix;
+
+        /**
+         * Members indexes in order of start.
+         */
+        private final List<Integer> order;
+
+        /**
+         * Is member started, by position in start order.
+         */
+        private final AtomicReferenceArray<Boolean> started;
+
+        /**
+         * Is response already sent.
+         */
+        private final AtomicBoolean won;
+
+        /**
+         * Number of missed members.
+         */
+        private final AtomicInteger missed;
+
+        /**
+         * First error of failed member.
+         */
+        private final AtomicReference<Throwable> failure;
+
+        /**
+         * First missed response other than 404.
+         */
+        private final AtomicReference<Fallback> fallback;
+
+        /**
+         * Hinted member exists.
+         */
+        private final boolean hinted;
+
+        /**
+         * Member request sender.
+         */
+        private final Member member;
+
+        /**
+         * Ctor.
+         * @param prefix Request path prefix
+         * @param hint Last hit member for prefix
+         * @param member Member request sender
+         */
+        Race(final String prefix, final Optional<Integer> hint, final Member member) {
+            this.prefix = prefix;
+            final int size = RacingGroupSlice.this.members.size();
+            this.order = new ArrayList<>(size);
+            hint.filter(idx -> idx < size).ifPresent(this.order::add);
+            for (int idx = 0; idx < size; idx = idx + 1) {
+                if (!this.order.contains(idx)) {
+                    this.order.add(idx);
+                }
+            }
+            this.hinted = hint.isPresent();
+            this.started = new AtomicReferenceArray<>(size);
+            this.won = new AtomicBoolean();
+            this.missed = new AtomicInteger();
+            this.failure = new AtomicReference<>();
+            this.fallback = new AtomicReference<>();
+            this.member = member;
+        }
+
+        /**
+         * Start the race.
+         * @param connection Connection
+         * @return Completion of response sending
+         */
+        CompletionStage<Void> send(final Connection connection) {
+            final CompletableFuture<Void> done = new CompletableFuture<>();
+            if (this.order.isEmpty()) {
+                StandardRs.NOT_FOUND.send(connection)
+                    .whenComplete((nothing, err) -> RacingGroupSlice.finish(done, err));
+            } else {
+                this.start(0, connection, done);
+                for (int pos = 1; pos < this.order.size(); pos = pos + 1) {
+                    final int next = pos;
+                    if (RacingGroupSlice.this.hedge > 0) {
+                        CompletableFuture.runAsync(
+                            () -> this.start(next, connection, done),
+                            CompletableFuture.delayedExecutor(
+                                RacingGroupSlice.this.hedge * pos, TimeUnit.MILLISECONDS
+                            )
+                        );
+                    } else if (!this.hinted) {
+                        this.start(next, connection, done);
+                    }
+                }
+            }
+            return done;
+        }
+
+        /**
+         * Start member at position if it was not started yet.
+         * @param pos Position in start order
+         * @param connection Connection
+         * @param done Completion of response sending
+         */
+        private void start(
+            final int pos, final Connection connection, final CompletableFuture<Void> done
+        ) {
+            if (!this.won.get() && this.started.compareAndSet(pos, null, true)) {
+                final int idx = this.order.get(pos);
+                this.member.send(
+                    idx,
+                    (status, headers, body) -> {
+                        final CompletionStage<Void> res;
+                        final Fallback kept = new Fallback(status, headers, body);
+                        if (RacingGroupSlice.hit(status) && this.won.compareAndSet(false, true)) {
+                            RacingGroupSlice.this.hints.put(this.prefix, idx);
+                            Optional.ofNullable(this.fallback.get()).ifPresent(Fallback::cancel);
+                            res = connection.accept(status, headers, body).whenComplete(
+                                (nothing, err) -> RacingGroupSlice.finish(done, err)
+                            );
+                        } else if (!RacingGroupSlice.hit(status) && status != RsStatus.NOT_FOUND
+                            && this.fallback.compareAndSet(null, kept)) {
+                            if (this.won.get()) {
+                                kept.cancel();
+                            }
+                            this.miss(connection, done);
+                            res = kept.sent;
+                        } else {
+                            body.subscribe(new CancelledBody());
+                            this.miss(connection, done);
+                            res = CompletableFuture.allOf();
+                        }
+                        return res;
+                    }
+                ).exceptionally(
+                    err -> {
+                        this.failure.compareAndSet(null, err);
+                        this.miss(connection, done);
+                        return null;
+                    }
+                );
+            }
+        }
+
+        /**
+         * Handle member miss: start next member (all not started members
+         * without hedge delay) or, if all missed, respond with the first
+         * missed response other than 404, fail with member error if some of
+         * members failed or respond with 404.
+         * @param connection Connection
+         * @param done Completion of response sending
+         */
+        private void miss(final Connection connection, final CompletableFuture<Void> done) {
+            if (this.missed.incrementAndGet() == this.order.size()) {
+                if (this.won.compareAndSet(false, true)) {
+                    RacingGroupSlice.this.hints.invalidate(this.prefix);
+                    final Fallback kept = this.fallback.get();
+                    final Throwable error = this.failure.get();
+                    if (kept != null) {
+                        kept.send(connection)
+                            .whenComplete((nothing, err) -> RacingGroupSlice.finish(done, err));
+                    } else if (error == null) {
+                        StandardRs.NOT_FOUND.send(connection)
+                            .whenComplete((nothing, err) -> RacingGroupSlice.finish(done, err));
+                    } else {
+                        done.completeExceptionally(error);
+                    }
+                }
+            } else {
+                for (int pos = 0; pos < this.order.size(); pos = pos + 1) {
+                    if (this.started.get(pos) == null) {
+                        this.start(pos, connection, done);
+                        if (RacingGroupSlice.this.hedge > 0) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Missed response which is sent if all members miss.
+     * @since 0.30
+     */
+    private static final class Fallback {
+
+        /**
+         * Response status.
+         */
+        private final RsStatus status;
+
+        /**
+         * Response headers.
+         */
+        private final Headers headers;
+
+        /**
+         * Response body.
+         */
+        private final Publisher<ByteBuffer> body;
+
+        /**
+         * Is response sent or cancelled.
+         */
+        private final AtomicBoolean used;
+
+        /**
+         * Completion of sending or cancelling.
+         */
+        private final CompletableFuture<Void> sent;
+
+        /**
+         * Ctor.
+         * @param status Response status
+         * @param headers Response headers
+         * @param body Response body
+         */
+        Fallback(final RsStatus status, final Headers headers, final Publisher<ByteBuffer> body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.used = new AtomicBoolean();
+            this.sent = new CompletableFuture<>();
+        }
+
+        /**
+         * Send response to connection.
+         * @param connection Connection
+         * @return Completion of sending
+         */
+        CompletionStage<Void> send(final Connection connection) {
+            if (this.used.compareAndSet(false, true)) {
+                connection.accept(this.status, this.headers, this.body).whenComplete(
+                    (nothing, err) -> RacingGroupSlice.finish(this.sent, err)
+                );
+            }
+            return this.sent;
+        }
+
+        /**
+         * Cancel response body if response was not sent.
+         */
+        void cancel() {
+            if (this.used.compareAndSet(false, true)) {
+                this.body.subscribe(new CancelledBody());
+                this.sent.complete(null);
+            }
+        }
+    }
+}
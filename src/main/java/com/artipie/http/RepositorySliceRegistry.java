@@ -0,0 +1,454 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.SliceFromConfig;
+import com.artipie.asto.Key;
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.http.async.AsyncSlice;
+import com.artipie.http.auth.Tokens;
+import com.artipie.http.client.ClientSlices;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.slice.SliceSimple;
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
+import com.artipie.settings.ConfigFile;
+import com.artipie.settings.Settings;
+import com.artipie.settings.repo.RepoConfig;
+import com.artipie.settings.repo.RepositoriesFromStorage;
+import com.jcabi.log.Logger;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of compiled repository slices.
+ * <p>
+ * Holds one fully built {@link SliceFromConfig} per repository name, so
+ * requests are served from memory without storage round trips, YAML parsing
+ * or slice construction. Entries are revalidated against repository config
+ * once per {@link ArtipieProperties#CONFIG_TIMEOUT} and are rebuilt only if
+ * {@link RepositoriesFromStorage} returns another config snapshot, i.e. when
+ * repository YAML was changed. Invalidated entries are always rebuilt.
+ * Revalidation and rebuilding run in background: previously compiled slice
+ * serves requests until the new one is ready, only requests to repositories
+ * which were not compiled yet wait for compilation. Replaced slices are not
+ * closed, they own no resources, so requests in flight complete on them.
+ * Absent repositories are not remembered, so new repositories become
+ * available right after configuration is added. Group members are resolved
+ * by the registry on each request, so groups see members config changes.
+ * </p>
+ * @since 0.30
+ */
+public final class RepositorySliceRegistry implements Cleanable<String> {
+
+    /**
+     * HTTP client.
+     */
+    private final ClientSlices http;
+
+    /**
+     * Artipie settings.
+     */
+    private final Settings settings;
+
+    /**
+     * Tokens: authentication and generation.
+     */
+    private final Tokens tokens;
+
+    /**
+     * Negative lookups cache.
+     */
+    private final NegativeCache negatives;
+
+    /**
+     * Compiled slices by repository name.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Optional<Compiled>>> slices;
+
+    /**
+     * Revalidation interval in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * New registry with negative lookups cache of this node.
+     * @param http HTTP client
+     * @param settings Artipie settings
+     * @param tokens Tokens: authentication and generation
+     */
+    public RepositorySliceRegistry(
+        final ClientSlices http,
+        final Settings settings,
+        final Tokens tokens
+    ) {
+        this(http, settings, tokens, new NegativeCache());
+    }
+
+    /**
+     * New registry.
+     * @param http HTTP client
+     * @param settings Artipie settings
+     * @param tokens Tokens: authentication and generation
+     * @param negatives Negative lookups cache
+     */
+    public RepositorySliceRegistry(
+        final ClientSlices http,
+        final Settings settings,
+        final Tokens tokens,
+        final NegativeCache negatives
+    ) {
+        this.http = http;
+        this.settings = settings;
+        this.tokens = tokens;
+        this.negatives = negatives;
+        this.slices = new ConcurrentHashMap<>();
+        this.interval = TimeUnit.MILLISECONDS.toNanos(
+            //@checkstyle MagicNumberCheck (1 line)
+            new Property(ArtipieProperties.CONFIG_TIMEOUT).asLongOrDefault(120_000L)
+        );
+    }
+
+    /**
+     * Find slice by name.
+     * @param name Repository name
+     * @param port Repository port
+     * @return Repository slice
+     */
+    public Slice slice(final Key name, final int port) {
+        final CompletableFuture<Optional<Compiled>> compiled = this.compiled(name.string());
+        final Slice res;
+        if (compiled.isDone() && !compiled.isCompletedExceptionally()) {
+            res = RepositorySliceRegistry.select(compiled.join(), name, port);
+        } else {
+            res = new AsyncSlice(
+                compiled.thenApply(opt -> RepositorySliceRegistry.select(opt, name, port))
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Slice of repository as a group member, repository is resolved on each
+     * request regardless of it's port.
+     * @param name Repository name
+     * @return Member slice
+     */
+    public Slice member(final String name) {
+        final Key key = new Key.From(name);
+        return (line, headers, body) -> {
+            final CompletableFuture<Optional<Compiled>> compiled = this.compiled(name);
+            final Slice res;
+            if (compiled.isDone() && !compiled.isCompletedExceptionally()) {
+                res = RepositorySliceRegistry.member(compiled.join(), key);
+            } else {
+                res = new AsyncSlice(
+                    compiled.thenApply(opt -> RepositorySliceRegistry.member(opt, key))
+                );
+            }
+            return res.response(line, headers, body);
+        };
+    }
+
+    /**
+     * Type of compiled repository, doesn't load or compile repository.
+     * @param name Repository name
+     * @return Repository type if repository exists and it's slice is compiled
+     */
+    public Optional<String> type(final String name) {
+        final CompletableFuture<Optional<Compiled>> compiled = this.slices.get(name);
+        Optional<String> res = Optional.empty();
+        if (compiled != null && compiled.isDone() && !compiled.isCompletedExceptionally()) {
+            res = compiled.join().map(cmp -> cmp.config.type());
+        }
+        return res;
+    }
+
+    /**
+     * Approximate number of compiled repository slices.
+     * @return Number of entries
+     */
+    public long size() {
+        return this.slices.size();
+    }
+
+    @Override
+    public void invalidate(final String name) {
+        final CompletableFuture<Optional<Compiled>> current = this.slices.get(name);
+        if (current != null) {
+            if (current.isDone() && !current.isCompletedExceptionally()
+                && current.join().isPresent()) {
+                current.join().get().invalidate();
+            } else {
+                this.slices.remove(name, current);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (final String name : this.slices.keySet()) {
+            this.invalidate(name);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s(size=%d)", this.getClass().getSimpleName(), this.slices.size()
+        );
+    }
+
+    /**
+     * Obtain compiled slice for repository, compiling it if required.
+     * Compiled slice is returned right away, it's revalidated in background
+     * if it's expired or invalidated.
+     * @param name Repository name
+     * @return Compiled slice, empty if repository does not exist
+     */
+    private CompletableFuture<Optional<Compiled>> compiled(final String name) {
+        final CompletableFuture<Optional<Compiled>> current =
+            this.slices.computeIfAbsent(name, key -> this.compile(key, Optional.empty()));
+        if (current.isDone()) {
+            if (current.isCompletedExceptionally() || current.join().isEmpty()) {
+                this.slices.remove(name, current);
+            } else {
+                this.revalidate(name, current, current.join().get());
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Revalidate compiled slice in background if it's expired or invalidated
+     * and it's not being revalidated already. Compiled slice is replaced
+     * when the new one is ready and the entry was not invalidated meanwhile,
+     * on failure current slice is kept and revalidated on the next request.
+     * @param name Repository name
+     * @param current Current registry entry
+     * @param prev Compiled slice of current entry
+     */
+    private void revalidate(
+        final String name,
+        final CompletableFuture<Optional<Compiled>> current,
+        final Compiled prev
+    ) {
+        if (prev.due(System.nanoTime()) && prev.lock()) {
+            final int version = prev.version();
+            final Optional<Compiled> reuse;
+            if (version == 0) {
+                reuse = Optional.of(prev);
+            } else {
+                reuse = Optional.empty();
+            }
+            this.compile(name, reuse).whenComplete(
+                (next, err) -> {
+                    if (err == null && prev.version() == version) {
+                        this.slices.replace(name, current, CompletableFuture.completedFuture(next));
+                    } else {
+                        if (err != null) {
+                            Logger.warn(
+                                RepositorySliceRegistry.class,
+                                "Failed to revalidate repository '%s': %[exception]s", name, err
+                            );
+                        }
+                        prev.unlock();
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Compile repository slice from it's configuration. Previously compiled
+     * slice is reused if configuration was not changed.
+     * @param name Repository name
+     * @param prev Previously compiled slice
+     * @return Compiled slice, empty if repository does not exist
+     */
+    private CompletableFuture<Optional<Compiled>> compile(
+        final String name, final Optional<Compiled> prev
+    ) {
+        return new ConfigFile(name).existsIn(this.settings.repoConfigsStorage()).thenCompose(
+            exists -> {
+                final CompletableFuture<Optional<Compiled>> res;
+                if (exists) {
+                    res = new RepositoriesFromStorage(this.settings).config(name)
+                        .thenApply(
+                            config -> {
+                                final long expires = System.nanoTime() + this.interval;
+                                final Compiled next;
+                                if (prev.isPresent() && prev.get().config.equals(config)) {
+                                    next = new Compiled(config, prev.get().slice, expires);
+                                } else {
+                                    next = new Compiled(
+                                        config,
+                                        new SliceFromConfig(
+                                            this.http, this.settings, config,
+                                            config.port().isPresent(), this.tokens,
+                                            this::member, this.negatives
+                                        ),
+                                        expires
+                                    );
+                                }
+                                return Optional.of(next);
+                            }
+                        ).toCompletableFuture();
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        ).toCompletableFuture();
+    }
+
+    /**
+     * Select slice for request port.
+     * @param compiled Compiled slice
+     * @param name Repository name
+     * @param port Request port
+     * @return Slice
+     */
+    private static Slice select(final Optional<Compiled> compiled, final Key name, final int port) {
+        return compiled.filter(cmp -> cmp.accepts(port))
+            .<Slice>map(cmp -> cmp.slice)
+            .orElseGet(() -> new SliceSimple(new RsRepoNotFound(name)));
+    }
+
+    /**
+     * Select group member slice.
+     * @param compiled Compiled slice
+     * @param name Repository name
+     * @return Slice
+     */
+    private static Slice member(final Optional<Compiled> compiled, final Key name) {
+        return compiled.map(cmp -> cmp.slice.member())
+            .orElseGet(() -> new SliceSimple(new RsRepoNotFound(name)));
+    }
+
+    /**
+     * Compiled repository slice.
+     * @since 0.30
+     */
+    private static final class Compiled {
+
+        /**
+         * Repository config.
+         */
+        private final RepoConfig config;
+
+        /**
+         * Repository slice.
+         */
+        private final SliceFromConfig slice;
+
+        /**
+         * Time when entry should be revalidated, nanoseconds.
+         */
+        private final long expires;
+
+        /**
+         * Number of invalidations of the entry.
+         */
+        private final AtomicInteger invalidations;
+
+        /**
+         * Is entry being revalidated.
+         */
+        private final AtomicBoolean revalidating;
+
+        /**
+         * Ctor.
+         * @param config Repository config
+         * @param slice Repository slice
+         * @param expires Time when entry should be revalidated
+         */
+        Compiled(final RepoConfig config, final SliceFromConfig slice, final long expires) {
+            this.config = config;
+            this.slice = slice;
+            this.expires = expires;
+            this.invalidations = new AtomicInteger();
+            this.revalidating = new AtomicBoolean();
+        }
+
+        /**
+         * Is it time to revalidate this entry?
+         * @param now Current time, nanoseconds
+         * @return True if expired or invalidated
+         */
+        boolean due(final long now) {
+            return now - this.expires > 0 || this.invalidations.get() > 0;
+        }
+
+        /**
+         * Invalidate entry: it should be rebuilt.
+         */
+        void invalidate() {
+            this.invalidations.incrementAndGet();
+        }
+
+        /**
+         * Number of invalidations of the entry.
+         * @return Invalidations number
+         */
+        int version() {
+            return this.invalidations.get();
+        }
+
+        /**
+         * Start revalidation of the entry.
+         * @return True if revalidation was not started by others
+         */
+        boolean lock() {
+            return this.revalidating.compareAndSet(false, true);
+        }
+
+        /**
+         * Finish revalidation without replacing the entry.
+         */
+        void unlock() {
+            this.revalidating.set(false);
+        }
+
+        /**
+         * Does repository accept requests on given port?
+         * @param port Request port
+         * @return True if accepts
+         */
+        boolean accepts(final int port) {
+            final OptionalInt own = this.config.port();
+            return own.isEmpty() || own.getAsInt() == port;
+        }
+    }
+
+    /**
+     * Repo not found response.
+     * @since 0.9
+     */
+    private static final class RsRepoNotFound extends Response.Wrap {
+
+        /**
+         * New repo not found response.
+         * @param repo Repo name
+         */
+        RsRepoNotFound(final Key repo) {
+            super(
+                new RsWithBody(
+                    StandardRs.NOT_FOUND,
+                    String.format("Repository '%s' not found", repo.string()),
+                    StandardCharsets.UTF_8
+                )
+            );
+        }
+    }
+}
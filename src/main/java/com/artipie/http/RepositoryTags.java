@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
+import io.micrometer.core.instrument.Tags;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Metrics tags `repo` and `type` of repository which serves the request.
+ * Repository is found by request path the same way as {@link SliceByPath}
+ * does (see {@link RqRoute#repo()}), type is taken from compiled repository slice in registry. Cardinality
+ * is limited: requests to absent or not yet compiled repositories and
+ * to non-repository paths are tagged with `unknown`, repositories beyond
+ * {@link ArtipieProperties#METRICS_MAX_REPOS} distinct names are tagged
+ * with `other`. Tags are created once per repository and type.
+ * @since 0.30
+ */
+public final class RepositoryTags implements Function<String, Tags> {
+
+    /**
+     * Repository tag.
+     */
+    public static final String REPO = "repo";
+
+    /**
+     * Repository type tag.
+     */
+    public static final String TYPE = "type";
+
+    /**
+     * Tag value for unknown repository.
+     */
+    private static final String UNKNOWN = "unknown";
+
+    /**
+     * Tags for unknown repository.
+     */
+    private static final Tags UNKNOWN_TAGS = Tags.of(
+        RepositoryTags.REPO, RepositoryTags.UNKNOWN, RepositoryTags.TYPE, RepositoryTags.UNKNOWN
+    );
+
+    /**
+     * Repository slices registry.
+     */
+    private final RepositorySliceRegistry repos;
+
+    /**
+     * Repository name, empty to find repository by path.
+     */
+    private final Optional<String> name;
+
+    /**
+     * Repositories which are tagged by name.
+     */
+    private final Set<String> known;
+
+    /**
+     * Tags by repository type and name.
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, Tags>> tagged;
+
+    /**
+     * Max number of repositories to tag by name.
+     */
+    private final long limit;
+
+    /**
+     * Tags for repositories on main port.
+     * @param repos Repository slices registry
+     */
+    public RepositoryTags(final RepositorySliceRegistry repos) {
+        this(repos, Optional.empty());
+    }
+
+    /**
+     * Tags for repository on it's own port.
+     * @param repos Repository slices registry
+     * @param name Repository name
+     */
+    public RepositoryTags(final RepositorySliceRegistry repos, final String name) {
+        this(repos, Optional.of(name));
+    }
+
+    /**
+     * Ctor.
+     * @param repos Repository slices registry
+     * @param name Repository name, empty to find repository by path
+     */
+    private RepositoryTags(final RepositorySliceRegistry repos, final Optional<String> name) {
+        this.repos = repos;
+        this.name = name;
+        this.known = ConcurrentHashMap.newKeySet();
+        this.tagged = new ConcurrentHashMap<>();
+        //@checkstyle MagicNumberCheck (1 line)
+        this.limit = new Property(ArtipieProperties.METRICS_MAX_REPOS).asLongOrDefault(500L);
+    }
+
+    @Override
+    public Tags apply(final String line) {
+        return this.repo(line)
+            .flatMap(repo -> this.repos.type(repo).map(type -> this.tags(repo, type)))
+            .orElse(RepositoryTags.UNKNOWN_TAGS);
+    }
+
+    /**
+     * Name of repository which serves the request, it's not limited by
+     * {@link ArtipieProperties#METRICS_MAX_REPOS} and is not checked in registry.
+     * @param line Request line
+     * @return Repository name if request is served by repository
+     */
+    public Optional<String> repo(final String line) {
+        return this.name.or(() -> RepositoryTags.repository(line));
+    }
+
+    /**
+     * Tags of repository.
+     * @param repo Repository name
+     * @param type Repository type
+     * @return Tags
+     */
+    private Tags tags(final String repo, final String type) {
+        final ConcurrentMap<String, Tags> bytype =
+            this.tagged.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+        Tags res = bytype.get(repo);
+        if (res == null) {
+            if (this.known.contains(repo)
+                || this.known.size() < this.limit && this.known.add(repo)) {
+                res = Tags.of(RepositoryTags.REPO, repo, RepositoryTags.TYPE, type);
+            } else {
+                res = Tags.of(RepositoryTags.REPO, "other", RepositoryTags.TYPE, type);
+            }
+            bytype.put(repo, res);
+        }
+        return res;
+    }
+
+    /**
+     * Repository name from request line.
+     * @param line Request line
+     * @return Repository name if path contains it
+     */
+    private static Optional<String> repository(final String line) {
+        final RqRoute route = new RqRoute(line);
+        final Optional<String> res;
+        if (route.dockerBase()) {
+            res = Optional.empty();
+        } else {
+            res = route.docker().orElse(route).repo();
+        }
+        return res;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Repository storage as adapters see it: items under reserved `.artipie/`
+ * prefix, which Artipie keeps for its own data such as pre-compressed
+ * variants of {@link PrecompressedSlice}, are not listed, not found and
+ * can't be saved, moved or deleted. So clients can neither upload nor
+ * replace such items, nor see them in repository listings and indexes.
+ * @since 0.30
+ */
+public final class ReservedStorage extends Storage.Wrap {
+
+    /**
+     * Reserved prefix.
+     */
+    static final Key RESERVED = new Key.From(".artipie");
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     */
+    public ReservedStorage(final Storage origin) {
+        super(origin);
+        this.origin = origin;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        final CompletableFuture<Boolean> res;
+        if (ReservedStorage.reserved(key)) {
+            res = CompletableFuture.completedFuture(false);
+        } else {
+            res = this.origin.exists(key);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return this.origin.list(prefix).thenApply(
+            keys -> keys.stream().filter(key -> !ReservedStorage.reserved(key))
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        final CompletableFuture<Content> res;
+        if (ReservedStorage.reserved(key)) {
+            res = CompletableFuture.failedFuture(new ValueNotFoundException(key));
+        } else {
+            res = this.origin.value(key);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        final CompletableFuture<Void> res;
+        if (ReservedStorage.reserved(key)) {
+            res = ReservedStorage.rejected(key);
+        } else {
+            res = this.origin.save(key, content);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        final CompletableFuture<Void> res;
+        if (ReservedStorage.reserved(source)) {
+            res = ReservedStorage.rejected(source);
+        } else if (ReservedStorage.reserved(destination)) {
+            res = ReservedStorage.rejected(destination);
+        } else {
+            res = this.origin.move(source, destination);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        final CompletableFuture<Void> res;
+        if (ReservedStorage.reserved(key)) {
+            res = ReservedStorage.rejected(key);
+        } else {
+            res = this.origin.delete(key);
+        }
+        return res;
+    }
+
+    /**
+     * Is key reserved.
+     * @param key Key
+     * @return True if key is under reserved prefix
+     */
+    static boolean reserved(final Key key) {
+        final String str = key.string();
+        final String prefix = ReservedStorage.RESERVED.string();
+        return str.equals(prefix) || str.startsWith(String.format("%s/", prefix));
+    }
+
+    /**
+     * Rejected write of reserved key.
+     * @param key Key
+     * @return Failed future
+     */
+    private static CompletableFuture<Void> rejected(final Key key) {
+        return CompletableFuture.failedFuture(
+            new ArtipieIOException(String.format("Key `%s` is reserved", key.string()))
+        );
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which accepts request line already parsed by router, so routing
+ * slices can pass parsed {@link RqRoute} to each other instead of parsing
+ * request line again.
+ * @since 0.30
+ */
+interface RoutedSlice extends Slice {
+
+    /**
+     * Respond to routed request.
+     * @param route Parsed request line
+     * @param headers Request headers
+     * @param body Request body
+     * @return Response
+     */
+    Response response(
+        RqRoute route, Iterable<Map.Entry<String, String>> headers, Publisher<ByteBuffer> body
+    );
+
+    @Override
+    default Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        return this.response(new RqRoute(line), headers, body);
+    }
+}
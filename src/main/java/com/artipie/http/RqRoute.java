@@ -0,0 +1,398 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.RqPath;
+import com.artipie.http.rq.RqMethod;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Request line parsed once for routing: method, raw (not decoded) path,
+ * query and repository name are found by single index scan without regular
+ * expressions and URI parsing, except for rare absolute-form request targets.
+ * Repository name is the first path segment or the third one for conda
+ * client paths (see {@link RqPath#CONDA}), Docker V2 API paths are routed
+ * to repositories with {@link #docker()}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public final class RqRoute {
+
+    /**
+     * Docker V2 API path prefix.
+     */
+    private static final String DOCKER = "/v2";
+
+    /**
+     * Request line.
+     */
+    private final String line;
+
+    /**
+     * Request method.
+     */
+    private final String method;
+
+    /**
+     * Raw request path.
+     */
+    private final String path;
+
+    /**
+     * Rest of request target after the path: query and fragment.
+     */
+    private final String rest;
+
+    /**
+     * Request HTTP version.
+     */
+    private final String version;
+
+    /**
+     * Port from absolute-form request target or -1.
+     */
+    private final int port;
+
+    /**
+     * Ctor.
+     * @param line Request line
+     */
+    public RqRoute(final String line) {
+        this(line, RqRoute.split(line));
+    }
+
+    /**
+     * Ctor.
+     * @param line Request line
+     * @param parts Request line parts: method, target and version
+     */
+    private RqRoute(final String line, final String[] parts) {
+        this(
+            line, parts[0], RqRoute.path(parts[1]), RqRoute.rest(parts[1]), parts[2],
+            RqRoute.port(parts[1])
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param line Request line
+     * @param method Request method
+     * @param path Raw request path
+     * @param rest Query and fragment
+     * @param version HTTP version
+     * @param port Port or -1
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private RqRoute(final String line, final String method, final String path,
+        final String rest, final String version, final int port) {
+        this.line = line;
+        this.method = method;
+        this.path = path;
+        this.rest = rest;
+        this.version = version;
+        this.port = port;
+    }
+
+    /**
+     * Request line.
+     * @return Request line
+     */
+    public String line() {
+        return this.line;
+    }
+
+    /**
+     * Request method.
+     * @return Method
+     */
+    public String method() {
+        return this.method;
+    }
+
+    /**
+     * Raw request path, it's not decoded.
+     * @return Path
+     */
+    public String path() {
+        return this.path;
+    }
+
+    /**
+     * Port from absolute-form request target.
+     * @return Port or -1 if absent
+     */
+    public int port() {
+        return this.port;
+    }
+
+    /**
+     * Request to root path or to the server itself.
+     * @return True if path is `/` or `*`
+     */
+    public boolean empty() {
+        return "/".equals(this.path) || "*".equals(this.path);
+    }
+
+    /**
+     * Request is GET request to path.
+     * @param other Path
+     * @return True if method is GET and path equals to other
+     */
+    public boolean get(final String other) {
+        return RqMethod.GET.value().equals(this.method) && other.equals(this.path);
+    }
+
+    /**
+     * Request is Docker V2 API base request: `/v2` or `/v2/`.
+     * @return True if it's base Docker request
+     */
+    public boolean dockerBase() {
+        return RqRoute.DOCKER.equals(this.path) || "/v2/".equals(this.path);
+    }
+
+    /**
+     * Docker V2 API request routed to repository: path without `/v2` prefix.
+     * @return Request with path without prefix if it's Docker request
+     */
+    public Optional<RqRoute> docker() {
+        final Optional<RqRoute> res;
+        final int len = RqRoute.DOCKER.length();
+        if (this.path.startsWith(RqRoute.DOCKER) && this.path.length() > len + 1
+            && this.path.charAt(len) == '/') {
+            res = Optional.of(this.withPath(this.path.substring(len)));
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Repository name.
+     * @return Repository name if path contains it
+     */
+    public Optional<String> repo() {
+        final Optional<String> res;
+        if (RqPath.CONDA.test(this.path)) {
+            res = RqRoute.segment(this.path, 2);
+        } else {
+            res = RqRoute.segment(this.path, 0);
+        }
+        return res;
+    }
+
+    /**
+     * Request to repository with path relative to repository: first path
+     * segment is removed. The segment should not contain dots and path
+     * should start with single slash.
+     * @return Request without repository name in path, empty if path doesn't match
+     */
+    public Optional<RqRoute> trimmed() {
+        final Optional<RqRoute> res;
+        final int end = RqRoute.end(this.path, 1);
+        if (end > 1 && this.path.charAt(0) == '/'
+            && this.path.lastIndexOf('.', end - 1) < 1) {
+            if (end == this.path.length()) {
+                res = Optional.of(this.withPath("/"));
+            } else {
+                res = Optional.of(this.withPath(this.path.substring(end)));
+            }
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Decoded request path.
+     * @return Path
+     */
+    public String decoded() {
+        final String res;
+        if (this.path.indexOf('%') >= 0) {
+            res = URI.create(this.path).getPath();
+        } else {
+            res = this.path;
+        }
+        return res;
+    }
+
+    /**
+     * Repository item: decoded path after repository name.
+     * @return Item path without leading slash, empty for repository root
+     *  and directories
+     */
+    public Optional<String> item() {
+        final String decoded = this.decoded();
+        int start = 0;
+        while (start < decoded.length() && decoded.charAt(start) == '/') {
+            start += 1;
+        }
+        int skip = 1;
+        if (RqPath.CONDA.test(this.path)) {
+            skip = 3;
+        }
+        for (int idx = 0; idx < skip && start > 0; idx += 1) {
+            start = decoded.indexOf('/', start) + 1;
+        }
+        Optional<String> res = Optional.empty();
+        if (start > 0 && start < decoded.length() && !decoded.endsWith("/")) {
+            res = Optional.of(decoded.substring(start));
+        }
+        return res;
+    }
+
+    /**
+     * Request with other path.
+     * @param other Path
+     * @return Request
+     */
+    RqRoute withPath(final String other) {
+        return new RqRoute(
+            String.join(" ", this.method, other + this.rest, this.version).concat("\r\n"),
+            this.method, other, this.rest, this.version, this.port
+        );
+    }
+
+    /**
+     * Split request line into method, target and version.
+     * @param line Request line
+     * @return Parts
+     */
+    private static String[] split(final String line) {
+        final int first = line.indexOf(' ');
+        final int second = line.indexOf(' ', first + 1);
+        if (first < 1 || second < 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid HTTP request line \n%s", line)
+            );
+        }
+        return new String[] {
+            line.substring(0, first),
+            line.substring(first + 1, second),
+            line.substring(second + 1).trim(),
+        };
+    }
+
+    /**
+     * Raw path from request target.
+     * @param target Request target
+     * @return Path
+     */
+    private static String path(final String target) {
+        final String res;
+        if (RqRoute.absolute(target)) {
+            res = Optional.ofNullable(URI.create(target).getRawPath()).orElse("");
+        } else {
+            res = target.substring(0, RqRoute.query(target));
+        }
+        return res;
+    }
+
+    /**
+     * Query and fragment from request target.
+     * @param target Request target
+     * @return Query and fragment with leading `?` or `#`, empty string if absent
+     */
+    private static String rest(final String target) {
+        final String res;
+        if (RqRoute.absolute(target)) {
+            final URI uri = URI.create(target);
+            final StringBuilder builder = new StringBuilder();
+            if (uri.getRawQuery() != null) {
+                builder.append('?').append(uri.getRawQuery());
+            }
+            if (uri.getRawFragment() != null) {
+                builder.append('#').append(uri.getRawFragment());
+            }
+            res = builder.toString();
+        } else {
+            res = target.substring(RqRoute.query(target));
+        }
+        return res;
+    }
+
+    /**
+     * Port from request target.
+     * @param target Request target
+     * @return Port or -1
+     */
+    private static int port(final String target) {
+        final int res;
+        if (RqRoute.absolute(target)) {
+            res = URI.create(target).getPort();
+        } else {
+            res = -1;
+        }
+        return res;
+    }
+
+    /**
+     * Request target is in absolute form: `http://host:port/path`.
+     * @param target Request target
+     * @return True if absolute
+     */
+    private static boolean absolute(final String target) {
+        return !target.isEmpty() && target.charAt(0) != '/' && !"*".equals(target);
+    }
+
+    /**
+     * Index of query or fragment start in request target.
+     * @param target Request target
+     * @return Index, target length if there is no query and fragment
+     */
+    private static int query(final String target) {
+        int res = target.length();
+        for (int idx = 0; idx < target.length(); idx += 1) {
+            final char chr = target.charAt(idx);
+            if (chr == '?' || chr == '#') {
+                res = idx;
+                break;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Path segment by index, leading slashes are skipped.
+     * @param path Path
+     * @param index Segment index
+     * @return Segment if exists and is not blank
+     */
+    private static Optional<String> segment(final String path, final int index) {
+        int start = 0;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start += 1;
+        }
+        for (int idx = 0; idx < index && start >= 0; idx += 1) {
+            start = path.indexOf('/', start);
+            if (start >= 0) {
+                start += 1;
+            }
+        }
+        Optional<String> res = Optional.empty();
+        if (start >= 0 && start < path.length()) {
+            final String segment = path.substring(start, RqRoute.end(path, start));
+            if (!segment.isBlank()) {
+                res = Optional.of(segment);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * End of path segment.
+     * @param path Path
+     * @param start Segment start
+     * @return Index of next slash or path length
+     */
+    private static int end(final String path, final int start) {
+        int res = path.indexOf('/', start);
+        if (res < 0) {
+            res = path.length();
+        }
+        return res;
+    }
+}
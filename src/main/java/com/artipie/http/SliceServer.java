@@ -0,0 +1,383 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServer;
+import io.vertx.reactivex.core.http.HttpServerRequest;
+import io.vertx.reactivex.core.http.HttpServerResponse;
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.reactivestreams.Publisher;
+
+/**
+ * Vert.x HTTP server for slice, the same as
+ * {@link com.artipie.vertx.VertxSliceServer}, but GET responses with
+ * {@link FileContent} body are sent by OS sendfile without copying content
+ * through JVM heap. Single bytes `Range` of full GET responses of known size
+ * is served as `206 Partial Content` (by sendfile for file content), it's
+ * done by server as {@link RsStatus} has no partial content status.
+ * @since 0.30
+ */
+public final class SliceServer implements Closeable {
+
+    /**
+     * Partial content status code, it's absent in {@link RsStatus}.
+     */
+    private static final int PARTIAL = 206;
+
+    /**
+     * Content length header.
+     */
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    /**
+     * Vert.x.
+     */
+    private final Vertx vertx;
+
+    /**
+     * Served slice.
+     */
+    private final Slice served;
+
+    /**
+     * Server options.
+     */
+    private final HttpServerOptions options;
+
+    /**
+     * Server lock.
+     */
+    private final Object sync;
+
+    /**
+     * Started server.
+     */
+    private HttpServer server;
+
+    /**
+     * Ctor.
+     * @param vertx Vert.x
+     * @param served Served slice
+     * @param port Port to listen on
+     */
+    public SliceServer(final Vertx vertx, final Slice served, final int port) {
+        this(vertx, served, new HttpServerOptions().setPort(port));
+    }
+
+    /**
+     * Ctor.
+     * @param vertx Vert.x
+     * @param served Served slice
+     * @param options Server options
+     */
+    public SliceServer(final Vertx vertx, final Slice served, final HttpServerOptions options) {
+        this.vertx = vertx;
+        this.served = served;
+        this.options = options;
+        this.sync = new Object();
+    }
+
+    /**
+     * Start the server.
+     * @return Port the server is listening on
+     */
+    public int start() {
+        synchronized (this.sync) {
+            if (this.server != null) {
+                throw new IllegalStateException("Server was already started");
+            }
+            this.server = this.vertx.createHttpServer(this.options);
+            this.server.requestHandler(this::handle);
+            this.server.rxListen().blockingGet();
+            return this.server.actualPort();
+        }
+    }
+
+    /**
+     * Stop the server.
+     */
+    public void stop() {
+        synchronized (this.sync) {
+            this.server.rxClose().blockingAwait();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.stop();
+    }
+
+    /**
+     * Handle request, errors are sent as internal error response.
+     * @param request Request
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void handle(final HttpServerRequest request) {
+        try {
+            this.served.response(
+                new RequestLine(
+                    request.method().name(), request.uri(), request.version().toString()
+                ).toString(),
+                request.headers(),
+                request.toFlowable().map(buf -> ByteBuffer.wrap(buf.getBytes()))
+            ).send(new SliceConnection(request)).exceptionally(
+                err -> {
+                    SliceServer.sendError(request.response(), err);
+                    return null;
+                }
+            );
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception err) {
+            SliceServer.sendError(request.response(), err);
+        }
+    }
+
+    /**
+     * Send internal error response with stacktrace.
+     * @param response Response
+     * @param err Error
+     */
+    private static void sendError(final HttpServerResponse response, final Throwable err) {
+        response.setStatusCode(Integer.parseInt(RsStatus.INTERNAL_ERROR.code()));
+        final StringWriter body = new StringWriter();
+        body.append(err.toString()).append('\n');
+        err.printStackTrace(new PrintWriter(body));
+        response.end(body.toString());
+    }
+
+    /**
+     * Connection of request, which writes response body chunks or sends file
+     * content by sendfile. Single bytes range of full GET response of known
+     * size is sent as partial content, `If-Range` request header is compared
+     * with `ETag` or `Last-Modified` response header.
+     * @since 0.30
+     */
+    private static final class SliceConnection implements Connection {
+
+        /**
+         * Request.
+         */
+        private final HttpServerRequest request;
+
+        /**
+         * Ctor.
+         * @param request Request
+         */
+        SliceConnection(final HttpServerRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public CompletionStage<Void> accept(
+            final RsStatus status, final Headers headers, final Publisher<ByteBuffer> body
+        ) {
+            final HttpServerResponse rsp = this.request.response();
+            final CompletionStage<Void> res;
+            if (status == RsStatus.CONTINUE) {
+                rsp.writeContinue();
+                res = CompletableFuture.completedFuture(null);
+            } else {
+                rsp.setStatusCode(Integer.parseInt(status.code()));
+                for (final Map.Entry<String, String> header : headers) {
+                    rsp.putHeader(header.getKey(), header.getValue());
+                }
+                final boolean get = this.request.method() == HttpMethod.GET;
+                final Optional<FileContent> file = FileContent.from(body).filter(any -> get);
+                final Optional<Long> size = SliceConnection.size(rsp, file)
+                    .filter(any -> get && status == RsStatus.OK);
+                size.ifPresent(any -> rsp.putHeader("Accept-Ranges", "bytes"));
+                final Optional<ByteRange> range = size.flatMap(len -> this.range(rsp, len));
+                if (range.isPresent()) {
+                    res = SliceConnection.partial(rsp, range.get(), size.get(), file, body);
+                } else if (file.isPresent()) {
+                    res = SliceConnection.sendFile(rsp, file.get());
+                } else {
+                    res = SliceConnection.write(rsp, body);
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Requested range of response, if it should be applied.
+         * @param rsp Response
+         * @param size Response body size
+         * @return Range if requested and applicable
+         */
+        private Optional<ByteRange> range(final HttpServerResponse rsp, final long size) {
+            final String header = this.request.getHeader("Range");
+            final String cond = this.request.getHeader("If-Range");
+            Optional<ByteRange> res = Optional.empty();
+            if (header != null && (cond == null || SliceConnection.matches(cond, rsp))) {
+                res = Optional.of(new ByteRange(header)).filter(rng -> rng.applicable(size));
+            }
+            return res;
+        }
+
+        /**
+         * Does `If-Range` condition match response: entity tag is compared
+         * with `ETag` header by strong comparison, date is compared with
+         * `Last-Modified` header.
+         * @param cond Condition
+         * @param rsp Response
+         * @return True if matches
+         */
+        private static boolean matches(final String cond, final HttpServerResponse rsp) {
+            final boolean res;
+            if (cond.startsWith("W/")) {
+                res = false;
+            } else if (cond.startsWith("\"")) {
+                res = cond.equals(rsp.headers().get("ETag"));
+            } else {
+                res = cond.equals(rsp.headers().get("Last-Modified"));
+            }
+            return res;
+        }
+
+        /**
+         * Response body size: file content length or content length header.
+         * @param rsp Response
+         * @param file File content of body
+         * @return Size if known
+         */
+        private static Optional<Long> size(
+            final HttpServerResponse rsp, final Optional<FileContent> file
+        ) {
+            final Optional<Long> res;
+            if (file.isPresent()) {
+                res = Optional.of(file.get().length());
+            } else {
+                res = Optional.ofNullable(rsp.headers().get(SliceServer.CONTENT_LENGTH))
+                    .filter(len -> !len.isEmpty() && len.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong);
+            }
+            return res;
+        }
+
+        /**
+         * Send range of response body as partial content, unsatisfiable range
+         * is answered with empty body and response body is cancelled.
+         * @param rsp Response
+         * @param range Range
+         * @param size Full body size
+         * @param file File content of body
+         * @param body Body
+         * @return Completion
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private static CompletionStage<Void> partial(final HttpServerResponse rsp,
+            final ByteRange range, final long size, final Optional<FileContent> file,
+            final Publisher<ByteBuffer> body) {
+            rsp.putHeader("Content-Range", range.contentRange(size));
+            final CompletionStage<Void> res;
+            if (range.satisfiable(size)) {
+                final long offset = range.offset(size);
+                final long length = range.length(size);
+                rsp.setStatusCode(SliceServer.PARTIAL)
+                    .putHeader(SliceServer.CONTENT_LENGTH, String.valueOf(length));
+                if (file.isPresent()) {
+                    res = SliceConnection.sendFile(rsp, file.get().part(offset, length));
+                } else {
+                    res = SliceConnection.write(rsp, new ContentPart(body, offset, length));
+                }
+            } else {
+                rsp.setStatusCode(Integer.parseInt(RsStatus.BAD_RANGE.code()))
+                    .putHeader(SliceServer.CONTENT_LENGTH, "0")
+                    .end();
+                file.ifPresentOrElse(
+                    content -> content.sent(0), () -> body.subscribe(new CancelledBody())
+                );
+                res = CompletableFuture.completedFuture(null);
+            }
+            return res;
+        }
+
+        /**
+         * Send file content with sendfile.
+         * @param rsp Response
+         * @param file File content
+         * @return Completion
+         */
+        private static CompletionStage<Void> sendFile(
+            final HttpServerResponse rsp, final FileContent file
+        ) {
+            final CompletableFuture<Void> res = new CompletableFuture<>();
+            rsp.setChunked(false)
+                .putHeader(SliceServer.CONTENT_LENGTH, String.valueOf(file.length()));
+            if (file.length() == 0) {
+                rsp.end();
+                file.sent(0);
+                res.complete(null);
+            } else {
+                rsp.sendFile(
+                    file.path().toAbsolutePath().toString(), file.offset(), file.length(),
+                    result -> {
+                        if (result.succeeded()) {
+                            file.sent(file.length());
+                            res.complete(null);
+                        } else {
+                            res.completeExceptionally(result.cause());
+                        }
+                    }
+                );
+            }
+            return res;
+        }
+
+        /**
+         * Write response body chunks, response is chunked if content length
+         * is unknown.
+         * @param rsp Response
+         * @param body Body
+         * @return Completion
+         */
+        private static CompletionStage<Void> write(
+            final HttpServerResponse rsp, final Publisher<ByteBuffer> body
+        ) {
+            final CompletableFuture<Void> res = new CompletableFuture<>();
+            final Flowable<Buffer> chunks = Flowable.fromPublisher(body)
+                .map(SliceConnection::buffer)
+                .doOnError(res::completeExceptionally);
+            if (rsp.headers().contains(SliceServer.CONTENT_LENGTH)) {
+                rsp.setChunked(false);
+                chunks.doOnComplete(
+                    () -> {
+                        rsp.end();
+                        res.complete(null);
+                    }
+                ).forEach(rsp::write);
+            } else {
+                rsp.setChunked(true);
+                chunks.doOnComplete(() -> res.complete(null)).subscribe(rsp.toSubscriber());
+            }
+            return res;
+        }
+
+        /**
+         * Copy byte buffer to Vert.x buffer.
+         * @param buf Byte buffer
+         * @return Vert.x buffer
+         */
+        private static Buffer buffer(final ByteBuffer buf) {
+            final byte[] bytes = new byte[buf.remaining()];
+            buf.get(bytes);
+            return Buffer.buffer(bytes);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.slice.TrimPathSlice;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which removes repository name (first path segment) from request path,
+ * the same as {@link TrimPathSlice} with `/(?:[^/.]+)(/.*)?` pattern, but
+ * without regular expressions and URI rebuilding: path is trimmed by
+ * {@link RqRoute#trimmed()}. Full request path is added to `X-FullPath`
+ * header, requests which already have this header are passed as is.
+ * @since 0.30
+ */
+public final class TrimRepoSlice implements Slice {
+
+    /**
+     * Full path header name.
+     */
+    private static final String HDR_FULL_PATH = "X-FullPath";
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     */
+    public TrimRepoSlice(final Slice origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RqRoute route = new RqRoute(line);
+        final Optional<RqRoute> trimmed = route.trimmed();
+        final Response res;
+        if (trimmed.isEmpty()) {
+            res = new RsWithStatus(
+                new RsWithBody(
+                    String.format("Request path %s was not matched to repository", route.path()),
+                    StandardCharsets.UTF_8
+                ),
+                RsStatus.INTERNAL_ERROR
+            );
+        } else if (new RqHeaders(headers, TrimRepoSlice.HDR_FULL_PATH).isEmpty()) {
+            res = this.origin.response(
+                trimmed.get().line(),
+                new Headers.From(headers, TrimRepoSlice.HDR_FULL_PATH, route.decoded()),
+                body
+            );
+        } else {
+            res = this.origin.response(line, headers, body);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.client.ClientSlices;
+import com.artipie.http.rs.RsStatus;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Publisher;
+
+/**
+ * Upstream responses of proxy repository: records `404 Not Found` answered
+ * by remotes and upstream failures (errors, timeouts, server errors and
+ * throttling) for each watched request. Proxy adapters answer `404` on
+ * upstream failures too, so {@link NegativeCacheSlice} uses
+ * {@link #watch(String)} to remember only misses which were answered by
+ * remote for the request path, while no upstream request for this path
+ * failed. Upstream request is attributed to watched request if upstream
+ * path ends with the path of watched request relative to the repository,
+ * so requests for other paths don't affect each other; concurrent requests
+ * for the same path share upstream responses. Misses of adapters which
+ * request remotes by other paths are not remembered.
+ * @since 0.30
+ */
+public final class UpstreamMisses {
+
+    /**
+     * Watches of requests in progress by request path.
+     */
+    private final ConcurrentMap<String, Set<Tracked>> watches;
+
+    /**
+     * Ctor.
+     */
+    public UpstreamMisses() {
+        this.watches = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * HTTP client which reports responses of remotes.
+     * @param origin Origin HTTP client
+     * @return HTTP client
+     */
+    public ClientSlices client(final ClientSlices origin) {
+        return new Client(origin);
+    }
+
+    /**
+     * Start watching upstream responses for request path.
+     * @param path Request path relative to repository
+     * @return Watch, it should be stopped when request is served
+     */
+    public Watch watch(final String path) {
+        final Tracked res = new Tracked(path);
+        this.watches.compute(
+            path,
+            (key, prev) -> {
+                final Set<Tracked> set;
+                if (prev == null) {
+                    set = ConcurrentHashMap.newKeySet();
+                } else {
+                    set = prev;
+                }
+                set.add(res);
+                return set;
+            }
+        );
+        return res;
+    }
+
+    /**
+     * Record upstream response for watches of paths which upstream path
+     * ends with.
+     * @param upstream Upstream request path
+     * @param missed True if remote answered not found, false on failure
+     */
+    private void record(final String upstream, final boolean missed) {
+        int idx = upstream.indexOf('/');
+        while (idx >= 0) {
+            final Set<Tracked> found = this.watches.get(upstream.substring(idx));
+            if (found != null) {
+                found.forEach(watch -> watch.record(missed));
+            }
+            idx = upstream.indexOf('/', idx + 1);
+        }
+    }
+
+    /**
+     * Watch of upstream responses for request.
+     * @since 0.30
+     */
+    public interface Watch {
+
+        /**
+         * Watch for slices without upstream: every not found is a miss.
+         */
+        Watch TRUSTED = new Watch() {
+            @Override
+            public boolean missed() {
+                return true;
+            }
+
+            @Override
+            public void stop() {
+                // nothing to stop
+            }
+        };
+
+        /**
+         * Was not found answered by remote for request path without
+         * upstream failures.
+         * @return True if it's real miss
+         */
+        boolean missed();
+
+        /**
+         * Stop watching.
+         */
+        void stop();
+    }
+
+    /**
+     * Watch of request path.
+     * @since 0.30
+     */
+    private final class Tracked implements Watch {
+
+        /**
+         * Request path.
+         */
+        private final String path;
+
+        /**
+         * Did remote answer not found.
+         */
+        private final AtomicBoolean notfound;
+
+        /**
+         * Did upstream request fail.
+         */
+        private final AtomicBoolean failed;
+
+        /**
+         * Ctor.
+         * @param path Request path
+         */
+        Tracked(final String path) {
+            this.path = path;
+            this.notfound = new AtomicBoolean();
+            this.failed = new AtomicBoolean();
+        }
+
+        @Override
+        public boolean missed() {
+            return this.notfound.get() && !this.failed.get();
+        }
+
+        @Override
+        public void stop() {
+            UpstreamMisses.this.watches.computeIfPresent(
+                this.path,
+                (key, set) -> {
+                    set.remove(this);
+                    final Set<Tracked> res;
+                    if (set.isEmpty()) {
+                        res = null;
+                    } else {
+                        res = set;
+                    }
+                    return res;
+                }
+            );
+        }
+
+        /**
+         * Record upstream response.
+         * @param missed True if remote answered not found, false on failure
+         */
+        void record(final boolean missed) {
+            if (missed) {
+                this.notfound.set(true);
+            } else {
+                this.failed.set(true);
+            }
+        }
+    }
+
+    /**
+     * HTTP client which reports responses of remotes.
+     * @since 0.30
+     */
+    private final class Client implements ClientSlices {
+
+        /**
+         * Origin HTTP client.
+         */
+        private final ClientSlices origin;
+
+        /**
+         * Ctor.
+         * @param origin Origin HTTP client
+         */
+        Client(final ClientSlices origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        public Slice http(final String host) {
+            return new Recorded(this.origin.http(host));
+        }
+
+        @Override
+        public Slice http(final String host, final int port) {
+            return new Recorded(this.origin.http(host, port));
+        }
+
+        @Override
+        public Slice https(final String host) {
+            return new Recorded(this.origin.https(host));
+        }
+
+        @Override
+        public Slice https(final String host, final int port) {
+            return new Recorded(this.origin.https(host, port));
+        }
+    }
+
+    /**
+     * Remote slice which reports responses.
+     * @since 0.30
+     */
+    private final class Recorded implements Slice {
+
+        /**
+         * Remote slice.
+         */
+        private final Slice remote;
+
+        /**
+         * Ctor.
+         * @param remote Remote slice
+         */
+        Recorded(final Slice remote) {
+            this.remote = remote;
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final String path = new RqRoute(line).path();
+            final Response rsp = this.remote.response(line, headers, body);
+            return connection -> rsp.send(
+                (status, rsheaders, rsbody) -> {
+                    if (status == RsStatus.NOT_FOUND) {
+                        UpstreamMisses.this.record(path, true);
+                    } else if (status.serverError() || status == RsStatus.TOO_MANY_REQUESTS
+                        || status == RsStatus.REQUEST_TIMEOUT) {
+                        UpstreamMisses.this.record(path, false);
+                    }
+                    return connection.accept(status, rsheaders, rsbody);
+                }
+            ).whenComplete(
+                (nothing, err) -> {
+                    if (err != null) {
+                        UpstreamMisses.this.record(path, false);
+                    }
+                }
+            );
+        }
+    }
+}
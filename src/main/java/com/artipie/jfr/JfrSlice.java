@@ -5,6 +5,7 @@
 package com.artipie.jfr;
 
 import com.artipie.http.Connection;
+import com.artipie.http.FileContent;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
@@ -12,6 +13,7 @@ import com.artipie.http.rq.RequestLineFrom;
 import com.artipie.http.rs.RsStatus;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
@@ -186,11 +188,14 @@ public final class JfrSlice implements Slice {
             final Headers headers,
             final Publisher<ByteBuffer> body
         ) {
-            return this.original.accept(
-                status,
-                headers,
-                new ChunksAndSizeMetricsPublisher(body, this.callback)
-            );
+            final Optional<FileContent> file = FileContent.from(body);
+            final Publisher<ByteBuffer> measured;
+            if (file.isPresent()) {
+                measured = file.get().observed(size -> this.callback.accept(1, size));
+            } else {
+                measured = new ChunksAndSizeMetricsPublisher(body, this.callback);
+            }
+            return this.original.accept(status, headers, measured);
         }
     }
 
@@ -8,6 +8,7 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
 import com.artipie.asto.Storage;
+import com.artipie.http.FileContent;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -207,7 +208,8 @@ public final class JfrStorage implements Storage {
     }
 
     /**
-     * Wraps passed {@code content} to {@link ChunksAndSizeMetricsContent}.
+     * Wraps passed {@code content} to {@link ChunksAndSizeMetricsContent},
+     * file content is observed to be sent by sendfile without wrapping.
      *
      * @param key Key
      * @param content Content
@@ -216,18 +218,22 @@ public final class JfrStorage implements Storage {
      * @return Wrapped content
      * @checkstyle ParameterNumberCheck (25 lines)
      */
-    private ChunksAndSizeMetricsContent metricsContent(
+    private Content metricsContent(
         final Key key,
         final Content content,
         final AbstractStorageEvent evt,
         final BiConsumer<Integer, Long> updater
     ) {
-        return new ChunksAndSizeMetricsContent(
-            content,
-            (chunks, size) -> this.eventProcess(
-                key, evt, () -> updater.accept(chunks, size)
-            )
+        final BiConsumer<Integer, Long> callback = (chunks, size) -> this.eventProcess(
+            key, evt, () -> updater.accept(chunks, size)
         );
+        final Content res;
+        if (content instanceof FileContent) {
+            res = ((FileContent) content).observed(size -> callback.accept(1, size));
+        } else {
+            res = new ChunksAndSizeMetricsContent(content, callback);
+        }
+        return res;
     }
 
     /**
@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.micrometer;
+
+import io.micrometer.core.instrument.Meter;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Fixed size table of meters by index. Table is allocated once, meter is
+ * registered in registry on first access to it's slot, next accesses are
+ * plain array reads without registry lookups and tags allocation. Meters are
+ * not registered upfront to not publish zero series for every combination
+ * of tags. Concurrent first accesses may register the same meter twice,
+ * it's safe as registry returns the same meter for the same id.
+ * @param <T> Meter type
+ * @since 0.30
+ */
+final class MeterTable<T extends Meter> {
+
+    /**
+     * Meters by index.
+     */
+    private final AtomicReferenceArray<T> meters;
+
+    /**
+     * Meter factory by index.
+     */
+    private final IntFunction<T> factory;
+
+    /**
+     * Ctor.
+     * @param size Table size
+     * @param factory Meter factory by index
+     */
+    MeterTable(final int size, final IntFunction<T> factory) {
+        this.meters = new AtomicReferenceArray<>(size);
+        this.factory = factory;
+    }
+
+    /**
+     * Meter by index.
+     * @param idx Index
+     * @return Meter
+     */
+    T get(final int idx) {
+        T res = this.meters.get(idx);
+        if (res == null) {
+            res = this.factory.apply(idx);
+            this.meters.set(idx, res);
+        }
+        return res;
+    }
+}
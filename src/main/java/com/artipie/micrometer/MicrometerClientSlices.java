@@ -0,0 +1,272 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.micrometer;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.client.ClientSlices;
+import com.artipie.http.rs.RsStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.micrometer.backends.BackendRegistries;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+
+/**
+ * Client slices decorator which measures requests to upstream (remote)
+ * hosts: time to first byte (response status and headers received), total
+ * duration (response body transferred), response body bytes, status codes,
+ * failed requests and requests in progress. Meters are tagged with remote
+ * host, port is added if it's not default for the scheme.
+ * @since 0.30
+ */
+public final class MicrometerClientSlices implements ClientSlices {
+
+    /**
+     * Default HTTP port.
+     */
+    private static final int HTTP_PORT = 80;
+
+    /**
+     * Default HTTPS port.
+     */
+    private static final int HTTPS_PORT = 443;
+
+    /**
+     * Host tag.
+     */
+    private static final String HOST = "host";
+
+    /**
+     * Status tag.
+     */
+    private static final String STATUS = "status";
+
+    /**
+     * Response statuses.
+     */
+    private static final RsStatus[] STATUSES = RsStatus.values();
+
+    /**
+     * Origin client slices.
+     */
+    private final ClientSlices origin;
+
+    /**
+     * Micrometer registry.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * Ctor.
+     * @param origin Origin client slices
+     */
+    public MicrometerClientSlices(final ClientSlices origin) {
+        this(origin, BackendRegistries.getDefaultNow());
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin client slices
+     * @param registry Micrometer registry
+     */
+    public MicrometerClientSlices(final ClientSlices origin, final MeterRegistry registry) {
+        this.origin = origin;
+        this.registry = registry;
+    }
+
+    @Override
+    public Slice http(final String host) {
+        return new Remote(this.origin.http(host), host);
+    }
+
+    @Override
+    public Slice http(final String host, final int port) {
+        return new Remote(
+            this.origin.http(host, port),
+            MicrometerClientSlices.remote(host, port, MicrometerClientSlices.HTTP_PORT)
+        );
+    }
+
+    @Override
+    public Slice https(final String host) {
+        return new Remote(this.origin.https(host), host);
+    }
+
+    @Override
+    public Slice https(final String host, final int port) {
+        return new Remote(
+            this.origin.https(host, port),
+            MicrometerClientSlices.remote(host, port, MicrometerClientSlices.HTTPS_PORT)
+        );
+    }
+
+    /**
+     * Remote tag value.
+     * @param host Host
+     * @param port Port
+     * @param def Default port of the scheme
+     * @return Host, with port if it's not default
+     */
+    private static String remote(final String host, final int port, final int def) {
+        final String res;
+        if (port == def) {
+            res = host;
+        } else {
+            res = String.format("%s:%d", host, port);
+        }
+        return res;
+    }
+
+    /**
+     * Timer builder.
+     * @param name Timer name
+     * @param host Remote host tag value
+     * @param status Response status index
+     * @return Timer builder
+     */
+    private static Timer.Builder timer(final String name, final String host, final int status) {
+        return Timer.builder(name)
+            .tag(MicrometerClientSlices.HOST, host)
+            .tag(MicrometerClientSlices.STATUS, MicrometerClientSlices.STATUSES[status].name())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            //@checkstyle MagicNumberCheck (1 line)
+            .maximumExpectedValue(Duration.ofSeconds(60));
+    }
+
+    /**
+     * Slice of remote host with metrics.
+     * @since 0.30
+     */
+    private final class Remote implements Slice {
+
+        /**
+         * Origin slice.
+         */
+        private final Slice origin;
+
+        /**
+         * Time to first byte timers by status.
+         */
+        private final MeterTable<Timer> ttfb;
+
+        /**
+         * Total duration timers by status.
+         */
+        private final MeterTable<Timer> duration;
+
+        /**
+         * Requests in progress.
+         */
+        private final MeterTable<LongTaskTimer> inflight;
+
+        /**
+         * Failed requests counter.
+         */
+        private final MeterTable<Counter> errors;
+
+        /**
+         * Response body size summary.
+         */
+        private final MeterTable<DistributionSummary> size;
+
+        /**
+         * Response body bytes counter.
+         */
+        private final MeterTable<Counter> bytes;
+
+        /**
+         * Ctor.
+         * @param origin Origin slice
+         * @param host Remote host tag value
+         */
+        Remote(final Slice origin, final String host) {
+            this.origin = origin;
+            final MeterRegistry registry = MicrometerClientSlices.this.registry;
+            this.ttfb = new MeterTable<>(
+                MicrometerClientSlices.STATUSES.length,
+                idx -> MicrometerClientSlices.timer("artipie.upstream.ttfb", host, idx)
+                    .description("Time to upstream response status and headers")
+                    .register(registry)
+            );
+            this.duration = new MeterTable<>(
+                MicrometerClientSlices.STATUSES.length,
+                idx -> MicrometerClientSlices.timer("artipie.upstream.duration", host, idx)
+                    .description("Upstream request duration including response body")
+                    .register(registry)
+            );
+            this.inflight = new MeterTable<>(
+                1,
+                idx -> LongTaskTimer.builder("artipie.upstream.inflight")
+                    .description("Upstream requests in progress")
+                    .tag(MicrometerClientSlices.HOST, host)
+                    .register(registry)
+            );
+            this.errors = new MeterTable<>(
+                1,
+                idx -> Counter.builder("artipie.upstream.errors")
+                    .description("Upstream requests failed without response")
+                    .tag(MicrometerClientSlices.HOST, host)
+                    .register(registry)
+            );
+            this.size = new MeterTable<>(
+                1,
+                idx -> DistributionSummary.builder("artipie.upstream.body.size")
+                    .description("Upstream response body size and chunks")
+                    .tag(MicrometerClientSlices.HOST, host)
+                    .baseUnit("bytes")
+                    .register(registry)
+            );
+            this.bytes = new MeterTable<>(
+                1,
+                idx -> Counter.builder("artipie.upstream.bytes")
+                    .description("Upstream response body bytes")
+                    .tag(MicrometerClientSlices.HOST, host)
+                    .baseUnit("bytes")
+                    .register(registry)
+            );
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final Response response = this.origin.response(line, headers, body);
+            return connection -> {
+                final Timer.Sample timer = Timer.start(MicrometerClientSlices.this.registry);
+                final LongTaskTimer.Sample active = this.inflight.get(0).start();
+                return response.send(
+                    (status, rsheaders, rsbody) -> {
+                        timer.stop(this.ttfb.get(status.ordinal()));
+                        return connection.accept(
+                            status, rsheaders,
+                            new MicrometerPublisher(
+                                new Content.From(rsbody), this.size.get(0), this.bytes.get(0)
+                            )
+                        ).whenComplete(
+                            (nothing, err) -> timer.stop(this.duration.get(status.ordinal()))
+                        );
+                    }
+                ).whenComplete(
+                    (nothing, err) -> {
+                        active.stop();
+                        if (err != null) {
+                            this.errors.get(0).increment();
+                        }
+                    }
+                );
+            };
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package com.artipie.micrometer;
 
 import com.artipie.asto.Content;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import java.nio.ByteBuffer;
 import java.util.Optional;
@@ -16,6 +17,7 @@ import org.reactivestreams.Subscription;
  * Publisher decorator which counts number of inner chunks and number of bytes.
  * To get these amounts micrometer {@link DistributionSummary}
  * is used, as it always publish a count of events in addition to main measure.
+ * Optional bytes {@link Counter} is incremented by each chunk size.
  * <a href="https://micrometer.io/docs/concepts#_distribution_summaries">Docs</a>.
  * @since 0.28
  */
@@ -31,14 +33,29 @@ public final class MicrometerPublisher implements Content {
      */
     private final DistributionSummary summary;
 
+    /**
+     * Bytes counter.
+     */
+    private final Optional<Counter> bytes;
+
     /**
      * Ctor.
      * @param origin Origin content
      * @param summary Micrometer distribution summary
      */
     public MicrometerPublisher(final Content origin, final DistributionSummary summary) {
-        this.origin = origin;
-        this.summary = summary;
+        this(origin, summary, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin content
+     * @param summary Micrometer distribution summary
+     * @param bytes Bytes counter
+     */
+    public MicrometerPublisher(final Content origin, final DistributionSummary summary,
+        final Counter bytes) {
+        this(origin, summary, Optional.of(bytes));
     }
 
     /**
@@ -51,9 +68,22 @@ public final class MicrometerPublisher implements Content {
         this(new Content.From(origin), summary);
     }
 
+    /**
+     * Ctor.
+     * @param origin Origin content
+     * @param summary Micrometer distribution summary
+     * @param bytes Bytes counter
+     */
+    private MicrometerPublisher(final Content origin, final DistributionSummary summary,
+        final Optional<Counter> bytes) {
+        this.origin = origin;
+        this.summary = summary;
+        this.bytes = bytes;
+    }
+
     @Override
     public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
-        this.origin.subscribe(new MicrometerSubscriber(subscriber, this.summary));
+        this.origin.subscribe(new MicrometerSubscriber(subscriber, this.summary, this.bytes));
     }
 
     @Override
@@ -77,15 +107,22 @@ public final class MicrometerPublisher implements Content {
          */
         private final DistributionSummary summary;
 
+        /**
+         * Bytes counter.
+         */
+        private final Optional<Counter> bytes;
+
         /**
          * Wrap subscriber.
          * @param origin Origin subscriber
          * @param summary Micrometer distribution summary
+         * @param bytes Bytes counter
          */
         MicrometerSubscriber(final Subscriber<? super ByteBuffer> origin,
-            final DistributionSummary summary) {
+            final DistributionSummary summary, final Optional<Counter> bytes) {
             this.origin = origin;
             this.summary = summary;
+            this.bytes = bytes;
         }
 
         @Override
@@ -95,7 +132,11 @@ public final class MicrometerPublisher implements Content {
 
         @Override
         public void onNext(final ByteBuffer buffer) {
-            this.summary.record(buffer.remaining());
+            final int size = buffer.remaining();
+            this.summary.record(size);
+            if (this.bytes.isPresent()) {
+                this.bytes.get().increment(size);
+            }
             this.origin.onNext(buffer);
         }
 
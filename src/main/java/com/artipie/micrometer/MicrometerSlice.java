@@ -5,27 +5,38 @@
 package com.artipie.micrometer;
 
 import com.artipie.http.Connection;
+import com.artipie.http.FileContent;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
 import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.vertx.micrometer.backends.BackendRegistries;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
 
 /**
  * Calculated uploaded and downloaded body size for all requests.
+ * Meters can be tagged with extra request tags (e.g. repository name and
+ * type), timers are published with service level objective buckets.
+ * Meters are resolved once per extra tags into fixed tables by request method,
+ * response status and outcome, so requests don't look meters up in registry,
+ * meters table of request is found once when request is received.
  * @since 0.28
  * @checkstyle ParameterNumberCheck (500 lines)
  */
@@ -46,6 +57,26 @@ public final class MicrometerSlice implements Slice {
      */
     private static final String STATUS = "status";
 
+    /**
+     * Timers service level objectives.
+     */
+    private static final Duration[] SLO = {
+        Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+        Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+        Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500),
+        Duration.ofSeconds(5), Duration.ofSeconds(10),
+    };
+
+    /**
+     * Request methods.
+     */
+    private static final RqMethod[] METHODS = RqMethod.values();
+
+    /**
+     * Response statuses.
+     */
+    private static final RsStatus[] STATUSES = RsStatus.values();
+
     /**
      * Origin slice.
      */
@@ -56,6 +87,16 @@ public final class MicrometerSlice implements Slice {
      */
     private final MeterRegistry registry;
 
+    /**
+     * Extra tags by request line.
+     */
+    private final Function<String, Tags> tags;
+
+    /**
+     * Meters tables by extra tags.
+     */
+    private final ConcurrentMap<Tags, Meters> tables;
+
     /**
      * Update traffic metrics on requests and responses.
      * @param origin Origin slice to decorate
@@ -70,60 +111,209 @@ public final class MicrometerSlice implements Slice {
      * @param registry Micrometer registry
      */
     public MicrometerSlice(final Slice origin, final MeterRegistry registry) {
+        this(origin, registry, line -> Tags.empty());
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin slice to decorate
+     * @param tags Extra tags by request line
+     */
+    public MicrometerSlice(final Slice origin, final Function<String, Tags> tags) {
+        this(origin, BackendRegistries.getDefaultNow(), tags);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin slice to decorate
+     * @param registry Micrometer registry
+     * @param tags Extra tags by request line
+     */
+    public MicrometerSlice(
+        final Slice origin, final MeterRegistry registry, final Function<String, Tags> tags
+    ) {
         this.origin = origin;
         this.registry = registry;
+        this.tags = tags;
+        this.tables = new ConcurrentHashMap<>();
+        this.tables.put(Tags.empty(), new Meters(Tags.empty()));
     }
 
     @Override
     public Response response(final String line, final Iterable<Map.Entry<String, String>> head,
         final Publisher<ByteBuffer> body) {
-        final String method = new RequestLineFrom(line).method().value();
-        final Counter.Builder cnt = Counter.builder("artipie.request.counter")
-            .description("HTTP requests counter")
-            .tag(MicrometerSlice.METHOD, method);
-        final DistributionSummary rqbody = DistributionSummary.builder("artipie.request.body.size")
-            .description("Request body size and chunks")
-            .baseUnit(MicrometerSlice.BYTES)
-            .tag(MicrometerSlice.METHOD, method)
-            .register(this.registry);
-        final DistributionSummary rsbody = DistributionSummary.builder("artipie.response.body.size")
-            .baseUnit(MicrometerSlice.BYTES)
-            .description("Response body size and chunks")
-            .tag(MicrometerSlice.METHOD, method)
-            .register(this.registry);
+        final int method = new RequestLineFrom(line).method().ordinal();
         final Timer.Sample timer = Timer.start(this.registry);
+        final Meters meters = this.meters(line);
         return new MicrometerResponse(
-            this.origin.response(line, head, new MicrometerPublisher(body, rqbody)),
-            rsbody, cnt, timer
+            this.origin.response(
+                line, head, new MicrometerPublisher(body, meters.rqbody.get(method))
+            ),
+            meters, method, timer
         );
     }
 
     /**
-     * Handle completion of some action by registering the timer.
-     * @param name Timer name
+     * Meters table for request.
+     * @param line Request line
+     * @return Meters
+     */
+    private Meters meters(final String line) {
+        final Tags extra = this.tags.apply(line);
+        Meters res = this.tables.get(extra);
+        if (res == null) {
+            res = this.tables.computeIfAbsent(extra, Meters::new);
+        }
+        return res;
+    }
+
+    /**
+     * Handle completion of some action by stopping the timer.
+     * @param timers Timers table, error timer follows success timer
+     * @param idx Success timer index
      * @param timer The timer
-     * @param status Response status
      * @return Completable action
      */
-    private BiFunction<Void, Throwable, CompletionStage<Void>> handleWithTimer(
-        final String name, final Timer.Sample timer, final Optional<String> status
+    private static BiFunction<Void, Throwable, CompletionStage<Void>> handleWithTimer(
+        final MeterTable<Timer> timers, final int idx, final Timer.Sample timer
     ) {
         return (ignored, err) -> {
-            CompletionStage<Void> res = CompletableFuture.allOf();
-            String copy = name;
-            if (err != null) {
-                copy = String.format("%s.error", name);
-                res = CompletableFuture.failedFuture(err);
-            }
-            if (status.isPresent()) {
-                timer.stop(this.registry.timer(copy, MicrometerSlice.STATUS, status.get()));
+            final CompletionStage<Void> res;
+            if (err == null) {
+                timer.stop(timers.get(idx));
+                res = CompletableFuture.allOf();
             } else {
-                timer.stop(this.registry.timer(copy));
+                timer.stop(timers.get(idx + 1));
+                res = CompletableFuture.failedFuture(err);
             }
             return res;
         };
     }
 
+    /**
+     * Meters for extra tags.
+     * @since 0.30
+     */
+    private final class Meters {
+
+        /**
+         * Request body summaries by method.
+         */
+        private final MeterTable<DistributionSummary> rqbody;
+
+        /**
+         * Response body summaries by method.
+         */
+        private final MeterTable<DistributionSummary> rsbody;
+
+        /**
+         * Requests counters by method and status.
+         */
+        private final MeterTable<Counter> counters;
+
+        /**
+         * Response send timers: success and error.
+         */
+        private final MeterTable<Timer> send;
+
+        /**
+         * Connection accept timers by status: success and error.
+         */
+        private final MeterTable<Timer> accept;
+
+        /**
+         * Slice response timers by status: success and error.
+         */
+        private final MeterTable<Timer> response;
+
+        /**
+         * Ctor.
+         * @param extra Extra tags
+         */
+        Meters(final Tags extra) {
+            this.rqbody = new MeterTable<>(
+                MicrometerSlice.METHODS.length,
+                idx -> this.summary(
+                    "artipie.request.body.size", "Request body size and chunks", extra, idx
+                )
+            );
+            this.rsbody = new MeterTable<>(
+                MicrometerSlice.METHODS.length,
+                idx -> this.summary(
+                    "artipie.response.body.size", "Response body size and chunks", extra, idx
+                )
+            );
+            this.counters = new MeterTable<>(
+                MicrometerSlice.METHODS.length * MicrometerSlice.STATUSES.length,
+                idx -> Counter.builder("artipie.request.counter")
+                    .description("HTTP requests counter")
+                    .tag(
+                        MicrometerSlice.METHOD,
+                        MicrometerSlice.METHODS[idx / MicrometerSlice.STATUSES.length].value()
+                    )
+                    .tag(
+                        MicrometerSlice.STATUS,
+                        MicrometerSlice.STATUSES[idx % MicrometerSlice.STATUSES.length].name()
+                    )
+                    .tags(extra)
+                    .register(MicrometerSlice.this.registry)
+            );
+            this.send = new MeterTable<>(
+                2, idx -> this.timer("artipie.response.send", idx, extra)
+            );
+            this.accept = new MeterTable<>(
+                MicrometerSlice.STATUSES.length * 2,
+                idx -> this.timer(
+                    "artipie.connection.accept", idx,
+                    extra.and(MicrometerSlice.STATUS, MicrometerSlice.STATUSES[idx / 2].name())
+                )
+            );
+            this.response = new MeterTable<>(
+                MicrometerSlice.STATUSES.length * 2,
+                idx -> this.timer(
+                    "artipie.slice.response", idx,
+                    extra.and(MicrometerSlice.STATUS, MicrometerSlice.STATUSES[idx / 2].name())
+                )
+            );
+        }
+
+        /**
+         * Register body size summary.
+         * @param name Summary name
+         * @param description Summary description
+         * @param extra Extra tags
+         * @param method Request method index
+         * @return Summary
+         */
+        private DistributionSummary summary(
+            final String name, final String description, final Tags extra, final int method
+        ) {
+            return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(MicrometerSlice.BYTES)
+                .tag(MicrometerSlice.METHOD, MicrometerSlice.METHODS[method].value())
+                .tags(extra)
+                .register(MicrometerSlice.this.registry);
+        }
+
+        /**
+         * Register timer, odd indexes are error timers.
+         * @param name Timer name
+         * @param idx Timer index
+         * @param tags Timer tags
+         * @return Timer
+         */
+        private Timer timer(final String name, final int idx, final Tags tags) {
+            String copy = name;
+            if (idx % 2 == 1) {
+                copy = String.format("%s.error", name);
+            }
+            return Timer.builder(copy).tags(tags)
+                .serviceLevelObjectives(MicrometerSlice.SLO)
+                .register(MicrometerSlice.this.registry);
+        }
+    }
+
     /**
      * Response which sends itself to connection with metrics.
      * @since 0.10
@@ -136,14 +326,14 @@ public final class MicrometerSlice implements Slice {
         private final Response origin;
 
         /**
-         * Micrometer distribution summary.
+         * Meters of request.
          */
-        private final DistributionSummary summary;
+        private final Meters meters;
 
         /**
-         * Micrometer requests counter.
+         * Request method index.
          */
-        private final Counter.Builder counter;
+        private final int method;
 
         /**
          * Timer sample to measure slice.response method execution time.
@@ -154,29 +344,23 @@ public final class MicrometerSlice implements Slice {
          * Wraps response.
          *
          * @param response Origin response
-         * @param summary Micrometer distribution summary
-         * @param counter Micrometer requests counter
+         * @param meters Meters of request
+         * @param method Request method index
          * @param sample Timer sample to measure slice.response method execution time
          */
-        MicrometerResponse(final Response response, final DistributionSummary summary,
-            final Counter.Builder counter, final Timer.Sample sample) {
+        MicrometerResponse(final Response response, final Meters meters, final int method,
+            final Timer.Sample sample) {
             this.origin = response;
-            this.summary = summary;
-            this.counter = counter;
+            this.meters = meters;
+            this.method = method;
             this.sample = sample;
         }
 
         @Override
         public CompletionStage<Void> send(final Connection connection) {
             final Timer.Sample timer = Timer.start(MicrometerSlice.this.registry);
-            return this.origin.send(
-                new MicrometerConnection(
-                    connection, this.summary, this.counter, this.sample
-                )
-            ).handle(
-                MicrometerSlice.this.handleWithTimer(
-                    "artipie.response.send", timer, Optional.empty()
-                )
+            return this.origin.send(new MicrometerConnection(connection)).handle(
+                MicrometerSlice.handleWithTimer(this.meters.send, 0, timer)
             ).thenCompose(Function.identity());
         }
 
@@ -191,52 +375,36 @@ public final class MicrometerSlice implements Slice {
              */
             private final Connection origin;
 
-            /**
-             * Micrometer distribution summary.
-             */
-            private final DistributionSummary summary;
-
-            /**
-             * Micrometer requests counter.
-             */
-            private final Counter.Builder counter;
-
-            /**
-             * Timer sample to measure slice.response method execution time.
-             */
-            private final Timer.Sample sample;
-
             /**
              * Wrap connection.
              *
              * @param origin Origin connection
-             * @param summary Micrometer distribution summary
-             * @param counter Micrometer requests counter
-             * @param sample Timer sample to measure slice.response method execution time
              */
-            MicrometerConnection(final Connection origin, final DistributionSummary summary,
-                final Counter.Builder counter, final Timer.Sample sample) {
+            MicrometerConnection(final Connection origin) {
                 this.origin = origin;
-                this.summary = summary;
-                this.counter = counter;
-                this.sample = sample;
             }
 
             @Override
             public CompletionStage<Void> accept(final RsStatus status, final Headers headers,
                 final Publisher<ByteBuffer> body) {
-                this.counter.tag(MicrometerSlice.STATUS, status.name())
-                    .register(MicrometerSlice.this.registry).increment();
+                final Meters meters = MicrometerResponse.this.meters;
+                final int method = MicrometerResponse.this.method;
+                meters.counters.get(
+                    method * MicrometerSlice.STATUSES.length + status.ordinal()
+                ).increment();
                 final Timer.Sample timer = Timer.start(MicrometerSlice.this.registry);
-                return this.origin.accept(
-                    status, headers, new MicrometerPublisher(body, this.summary)
-                ).handle(
-                    MicrometerSlice.this.handleWithTimer(
-                        "artipie.connection.accept", timer, Optional.of(status.name())
-                    )
+                final Optional<FileContent> file = FileContent.from(body);
+                final Publisher<ByteBuffer> measured;
+                if (file.isPresent()) {
+                    measured = file.get().observed(meters.rsbody.get(method)::record);
+                } else {
+                    measured = new MicrometerPublisher(body, meters.rsbody.get(method));
+                }
+                return this.origin.accept(status, headers, measured).handle(
+                    MicrometerSlice.handleWithTimer(meters.accept, status.ordinal() * 2, timer)
                 ).thenCompose(Function.identity()).handle(
-                    MicrometerSlice.this.handleWithTimer(
-                        "artipie.slice.response", this.sample, Optional.of(status.name())
+                    MicrometerSlice.handleWithTimer(
+                        meters.response, status.ordinal() * 2, MicrometerResponse.this.sample
                     )
                 ).thenCompose(Function.identity());
             }
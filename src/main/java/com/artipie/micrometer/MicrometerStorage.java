@@ -8,17 +8,28 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
 import com.artipie.asto.Storage;
+import com.artipie.http.FileContent;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.vertx.micrometer.backends.BackendRegistries;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Micrometer storage decorator measures various storage operations execution time.
+ * Meters are tagged with storage name: storage alias or repository name, which is
+ * much shorter than {@link Storage#identifier()} for file or S3 storages. Timers
+ * publish percentile histograms, number of operations in progress is
+ * measured by long task timers per operation, read and written bytes are
+ * counted. Meters are resolved once per operation into fixed tables, so
+ * storage operations don't look meters up in registry.
  * @since 0.28
  */
 @SuppressWarnings("PMD.TooManyMethods")
@@ -29,6 +40,21 @@ public final class MicrometerStorage implements Storage {
      */
     private static final String ARTIPIE_STORAGE = "artipie.storage";
 
+    /**
+     * Storage name tag.
+     */
+    private static final String ID = "id";
+
+    /**
+     * Operation tag.
+     */
+    private static final String OPERATION = "operation";
+
+    /**
+     * Storage operations.
+     */
+    private static final Operation[] OPERATIONS = Operation.values();
+
     /**
      * Origin source storage.
      */
@@ -39,14 +65,99 @@ public final class MicrometerStorage implements Storage {
      */
     private final MeterRegistry registry;
 
+    /**
+     * Operations timers, error timer follows success timer.
+     */
+    private final MeterTable<Timer> timers;
+
+    /**
+     * Operations in progress by operation.
+     */
+    private final MeterTable<LongTaskTimer> inflight;
+
+    /**
+     * Content size summaries by operation.
+     */
+    private final MeterTable<DistributionSummary> summaries;
+
+    /**
+     * Content bytes counters by operation.
+     */
+    private final MeterTable<Counter> bytes;
+
     /**
      * Ctor.
      * @param origin Origin source storage
      * @param registry Micrometer registry
+     * @param name Storage name: alias or repository name
      */
-    public MicrometerStorage(final Storage origin, final MeterRegistry registry) {
+    public MicrometerStorage(
+        final Storage origin, final MeterRegistry registry, final String name
+    ) {
         this.origin = origin;
         this.registry = registry;
+        this.timers = new MeterTable<>(
+            MicrometerStorage.OPERATIONS.length * 2,
+            idx -> {
+                String metric = MicrometerStorage.OPERATIONS[idx / 2].metric();
+                if (idx % 2 == 1) {
+                    metric = String.join(".", metric, "error");
+                }
+                return Timer.builder(metric)
+                    .tag(MicrometerStorage.ID, name)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    //@checkstyle MagicNumberCheck (1 line)
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+            }
+        );
+        this.inflight = new MeterTable<>(
+            MicrometerStorage.OPERATIONS.length,
+            idx -> LongTaskTimer
+                .builder(String.join(".", MicrometerStorage.ARTIPIE_STORAGE, "inflight"))
+                .description("Storage operations in progress")
+                .tag(MicrometerStorage.ID, name)
+                .tag(MicrometerStorage.OPERATION, MicrometerStorage.OPERATIONS[idx].name)
+                .register(registry)
+        );
+        this.summaries = new MeterTable<>(
+            MicrometerStorage.OPERATIONS.length,
+            idx -> DistributionSummary
+                .builder(String.join(".", MicrometerStorage.OPERATIONS[idx].metric(), "size"))
+                .description("Storage content body size and chunks")
+                .tag(MicrometerStorage.ID, name)
+                .baseUnit("bytes")
+                .register(registry)
+        );
+        this.bytes = new MeterTable<>(
+            MicrometerStorage.OPERATIONS.length,
+            idx -> Counter
+                .builder(String.join(".", MicrometerStorage.ARTIPIE_STORAGE, "bytes"))
+                .description("Storage content bytes read and written")
+                .tag(MicrometerStorage.ID, name)
+                .tag(MicrometerStorage.OPERATION, MicrometerStorage.OPERATIONS[idx].name)
+                .baseUnit("bytes")
+                .register(registry)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin source storage
+     * @param name Storage name: alias or repository name
+     */
+    public MicrometerStorage(final Storage origin, final String name) {
+        this(origin, BackendRegistries.getDefaultNow(), name);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin source storage
+     * @param registry Micrometer registry
+     */
+    public MicrometerStorage(final Storage origin, final MeterRegistry registry) {
+        this(origin, registry, origin.identifier());
     }
 
     /**
@@ -59,81 +170,54 @@ public final class MicrometerStorage implements Storage {
 
     @Override
     public CompletableFuture<Boolean> exists(final Key key) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        return this.origin.exists(key).handle(
-            (res, err) -> this.handleCompletion("exists", timer, res, err)
-        ).thenCompose(Function.identity());
+        return this.measured(Operation.EXISTS, () -> this.origin.exists(key));
     }
 
     @Override
     public CompletableFuture<Collection<Key>> list(final Key key) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        return this.origin.list(key).handle(
-            (res, err) -> this.handleCompletion("list", timer, res, err)
-        ).thenCompose(Function.identity());
+        return this.measured(Operation.LIST, () -> this.origin.list(key));
     }
 
     @Override
     public CompletableFuture<Void> save(final Key key, final Content content) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        final String method = "save";
-        return this.origin.save(
-            key, new MicrometerPublisher(content, this.summary(method))
-        ).handle(
-            (res, err) -> this.handleCompletion(method, timer, res, err)
-        ).thenCompose(Function.identity());
+        return this.measured(
+            Operation.SAVE,
+            () -> this.origin.save(key, this.content(Operation.SAVE, content))
+        );
     }
 
     @Override
     public CompletableFuture<Void> move(final Key source, final Key dest) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        return this.origin.move(source, dest).handle(
-            (res, err) ->
-                this.handleCompletion("move", timer, res, err)
-        ).thenCompose(Function.identity());
+        return this.measured(Operation.MOVE, () -> this.origin.move(source, dest));
     }
 
     @Override
     public CompletableFuture<? extends Meta> metadata(final Key key) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        return this.origin.metadata(key).handle(
-            (res, err) -> this.handleCompletion("metadata", timer, res, err)
-        ).thenCompose(Function.identity());
+        return this.measured(Operation.METADATA, () -> this.origin.metadata(key));
     }
 
     @Override
     public CompletableFuture<Content> value(final Key key) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        final String method = "value";
-        return this.origin.value(key).handle(
-            (res, err) -> this.handleCompletion(method, timer, res, err)
-        ).thenCompose(Function.identity())
-            .thenApply(content -> new MicrometerPublisher(content, this.summary(method)));
+        return this.measured(Operation.VALUE, () -> this.origin.value(key))
+            .thenApply(content -> this.content(Operation.VALUE, content));
     }
 
     @Override
     public CompletableFuture<Void> delete(final Key key) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        return this.origin.delete(key).handle(
-            (res, err) -> this.handleCompletion("delete", timer, res, err)
-        ).thenCompose(Function.identity());
+        return this.measured(Operation.DELETE, () -> this.origin.delete(key));
     }
 
     @Override
     public CompletableFuture<Void> deleteAll(final Key prefix) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        return this.origin.deleteAll(prefix).handle(
-            (res, err) -> this.handleCompletion("deleteAll", timer, res, err)
-        ).thenCompose(Function.identity());
+        return this.measured(Operation.DELETE_ALL, () -> this.origin.deleteAll(prefix));
     }
 
     @Override
     public <T> CompletionStage<T> exclusively(final Key key,
         final Function<Storage, CompletionStage<T>> function) {
-        final Timer.Sample timer = Timer.start(this.registry);
-        return this.origin.exclusively(key, function).handle(
-            (res, err) -> this.handleCompletion("exclusively", timer, res, err)
-        ).thenCompose(Function.identity());
+        return this.measured(
+            Operation.EXCLUSIVELY, () -> this.origin.exclusively(key, function)
+        );
     }
 
     @Override
@@ -142,48 +226,127 @@ public final class MicrometerStorage implements Storage {
     }
 
     /**
-     * Handles operation completion by stopping the timer and reporting the event. Note, that
-     * we also have to complete the operation exactly in the same way as if there were no timers.
-     * Storage id and key tags are added by default, provide additional tags in the corresponding
-     * parameters.
-     * @param method The method name
-     * @param timer Timer
-     * @param res Operation result
-     * @param err Error
+     * Perform operation measuring it's execution time and number of operations
+     * in progress. Note, that we also have to complete the operation exactly in the
+     * same way as if there were no timers.
+     * @param operation Storage operation
+     * @param action Operation action
      * @param <T> Result type
      * @return Completion stage with the result
-     * @checkstyle ParameterNumberCheck (10 lines)
      */
-    private <T> CompletionStage<T> handleCompletion(
-        final String method, final Timer.Sample timer, final T res, final Throwable err
+    private <T> CompletableFuture<T> measured(
+        final Operation operation, final Supplier<? extends CompletionStage<? extends T>> action
     ) {
-        final CompletionStage<T> complete;
-        final String operation = String.join(".", MicrometerStorage.ARTIPIE_STORAGE, method);
-        if (err == null) {
-            timer.stop(this.registry.timer(operation, "id", this.identifier()));
-            complete = CompletableFuture.completedFuture(res);
-        } else {
-            timer.stop(
-                this.registry.timer(
-                    String.join(".", operation, "error"), "id", this.identifier()
-                )
+        final Timer.Sample timer = Timer.start(this.registry);
+        final LongTaskTimer.Sample active = this.inflight.get(operation.ordinal()).start();
+        return action.get().handle(
+            (res, err) -> {
+                active.stop();
+                final CompletionStage<T> complete;
+                if (err == null) {
+                    timer.stop(this.timers.get(operation.ordinal() * 2));
+                    complete = CompletableFuture.completedFuture(res);
+                } else {
+                    timer.stop(this.timers.get(operation.ordinal() * 2 + 1));
+                    complete = CompletableFuture.failedFuture(err);
+                }
+                return complete;
+            }
+        ).thenCompose(Function.identity()).toCompletableFuture();
+    }
+
+    /**
+     * Content which updates size summary and bytes counter of operation.
+     * @param operation Storage operation
+     * @param content Origin content
+     * @return Measured content
+     */
+    private Content content(final Operation operation, final Content content) {
+        final DistributionSummary summary = this.summaries.get(operation.ordinal());
+        final Counter counter = this.bytes.get(operation.ordinal());
+        final Content res;
+        if (content instanceof FileContent) {
+            res = ((FileContent) content).observed(
+                size -> {
+                    summary.record(size);
+                    counter.increment(size);
+                }
             );
-            complete = CompletableFuture.failedFuture(err);
+        } else {
+            res = new MicrometerPublisher(content, summary, counter);
         }
-        return complete;
+        return res;
     }
 
     /**
-     * Create and register distribution summary.
-     * @param method Method name
-     * @return Summary
+     * Storage operation.
+     * @since 0.30
      */
-    private DistributionSummary summary(final String method) {
-        return DistributionSummary
-            .builder(String.join(".", MicrometerStorage.ARTIPIE_STORAGE, method, "size"))
-            .description("Storage content body size and chunks")
-            .tag("id", this.identifier())
-            .baseUnit("bytes")
-            .register(this.registry);
+    private enum Operation {
+        /**
+         * Exists.
+         */
+        EXISTS("exists"),
+
+        /**
+         * List.
+         */
+        LIST("list"),
+
+        /**
+         * Save.
+         */
+        SAVE("save"),
+
+        /**
+         * Move.
+         */
+        MOVE("move"),
+
+        /**
+         * Metadata.
+         */
+        METADATA("metadata"),
+
+        /**
+         * Value.
+         */
+        VALUE("value"),
+
+        /**
+         * Delete.
+         */
+        DELETE("delete"),
+
+        /**
+         * Delete all.
+         */
+        DELETE_ALL("deleteAll"),
+
+        /**
+         * Exclusively.
+         */
+        EXCLUSIVELY("exclusively");
+
+        /**
+         * Operation name.
+         */
+        private final String name;
+
+        /**
+         * Ctor.
+         * @param name Operation name
+         */
+        Operation(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Metric name.
+         * @return Name of operation metric
+         */
+        String metric() {
+            return String.join(".", MicrometerStorage.ARTIPIE_STORAGE, this.name);
+        }
     }
 }
@@ -25,6 +25,51 @@ public final class ArtipieProperties {
      */
     public static final String AUTH_TIMEOUT = "artipie.cached.auth.timeout";
 
+    /**
+     * Expiration time for cached failed authentication attempts.
+     */
+    public static final String AUTH_FAILED_TIMEOUT = "artipie.cached.auth.failed.timeout";
+
+    /**
+     * Time window to count failed authentication attempts for username in.
+     */
+    public static final String AUTH_THROTTLE_WINDOW = "artipie.auth.throttle.window";
+
+    /**
+     * Max number of failed authentication attempts for username in time window.
+     */
+    public static final String AUTH_THROTTLE_FAILURES = "artipie.auth.throttle.failures";
+
+    /**
+     * Max number of threads to perform keycloak grants.
+     */
+    public static final String KEYCLOAK_POOL = "artipie.keycloak.pool.size";
+
+    /**
+     * Timeout of keycloak grant.
+     */
+    public static final String KEYCLOAK_TIMEOUT = "artipie.keycloak.timeout";
+
+    /**
+     * Expiration time for cached GitHub logins.
+     */
+    public static final String GITHUB_AUTH_TIMEOUT = "artipie.cached.github.timeout";
+
+    /**
+     * Timeout of GitHub token lookup.
+     */
+    public static final String GITHUB_TIMEOUT = "artipie.github.timeout";
+
+    /**
+     * Number of worker threads for REST API operations.
+     */
+    public static final String REST_WORKERS = "artipie.rest.workers";
+
+    /**
+     * Max number of repositories to report metrics by repository name.
+     */
+    public static final String METRICS_MAX_REPOS = "artipie.metrics.max.repos";
+
     /**
      * Expiration time for cache of storage setting.
      */
@@ -45,6 +90,41 @@ public final class ArtipieProperties {
      */
     public static final String FILTERS_TIMEOUT = "artipie.cached.filters.timeout";
 
+    /**
+     * Max number of repository configs loaded at the same time on start.
+     */
+    public static final String BOOTSTRAP_PARALLELISM = "artipie.repos.bootstrap.parallelism";
+
+    /**
+     * Interval of proxy caches eviction.
+     */
+    public static final String PROXY_EVICTION_INTERVAL = "artipie.proxy.cache.eviction.interval";
+
+    /**
+     * Expiration time for negative lookups cache entries.
+     */
+    public static final String NEGATIVE_CACHE_TIMEOUT = "artipie.negative.cache.timeout";
+
+    /**
+     * Max number of negative lookups cache entries per repository or member.
+     */
+    public static final String NEGATIVE_CACHE_SIZE = "artipie.negative.cache.size";
+
+    /**
+     * Interval of users bulk reload from policy storage.
+     */
+    public static final String USERS_REFRESH = "artipie.users.refresh.interval";
+
+    /**
+     * Size of access log records buffer.
+     */
+    public static final String ACCESS_LOG_BUFFER = "artipie.access.log.buffer";
+
+    /**
+     * Storage operations logging sampling: every Nth operation is logged, 0 to disable.
+     */
+    public static final String STORAGE_LOG_SAMPLING = "artipie.storage.log.sampling";
+
     /**
      * Name of file with properties.
      */
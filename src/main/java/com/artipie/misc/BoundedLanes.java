@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.misc;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Asynchronous action for each item with limited number of actions in
+ * progress: each of `parallelism` lanes takes next item from the queue when
+ * its previous action completes. Failed action does not stop it's lane,
+ * actions are expected to handle and report their failures.
+ * @param <T> Item type
+ * @since 0.30
+ */
+public final class BoundedLanes<T> {
+
+    /**
+     * Max number of actions in progress.
+     */
+    private final int parallelism;
+
+    /**
+     * Ctor.
+     * @param parallelism Max number of actions in progress
+     * @throws IllegalArgumentException If parallelism is not positive
+     */
+    public BoundedLanes(final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                String.format("Parallelism must be positive: %d", parallelism)
+            );
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Perform action for each item.
+     * @param items Items
+     * @param action Action
+     * @return Completion of all actions
+     */
+    public CompletableFuture<Void> run(
+        final Collection<? extends T> items, final Function<T, ? extends CompletionStage<?>> action
+    ) {
+        final Queue<T> queue = new ConcurrentLinkedQueue<>(items);
+        return CompletableFuture.allOf(
+            IntStream.range(0, Math.min(this.parallelism, items.size()))
+                .mapToObj(lane -> BoundedLanes.next(queue, action))
+                .toArray(CompletableFuture[]::new)
+        );
+    }
+
+    /**
+     * Perform action for next item of the queue, then continue with the rest
+     * of the queue.
+     * @param queue Items queue
+     * @param action Action
+     * @param <T> Item type
+     * @return Completion of the lane
+     */
+    private static <T> CompletableFuture<Void> next(
+        final Queue<T> queue, final Function<T, ? extends CompletionStage<?>> action
+    ) {
+        final T item = queue.poll();
+        final CompletableFuture<Void> res;
+        if (item == null) {
+            res = CompletableFuture.completedFuture(null);
+        } else {
+            res = action.apply(item).toCompletableFuture()
+                .handle((nothing, err) -> item)
+                .thenComposeAsync(prev -> BoundedLanes.next(queue, action));
+        }
+        return res;
+    }
+}
@@ -48,6 +48,11 @@ public final class MetricsContext {
      */
     private static final String TYPE_STORAGE = "storage";
 
+    /**
+     * Upstream (proxy client) metrics type.
+     */
+    private static final String TYPE_UPSTREAM = "upstream";
+
     /**
      * Meta section from Artipie yaml settings.
      */
@@ -72,7 +77,8 @@ public final class MetricsContext {
             )
             .orElse(
                 Set.of(
-                    MetricsContext.TYPE_HTTP, MetricsContext.TYPE_JVM, MetricsContext.TYPE_STORAGE
+                    MetricsContext.TYPE_HTTP, MetricsContext.TYPE_JVM,
+                    MetricsContext.TYPE_STORAGE, MetricsContext.TYPE_UPSTREAM
                 )
             );
     }
@@ -117,6 +123,14 @@ public final class MetricsContext {
         return this.enabled() && this.types.contains(MetricsContext.TYPE_HTTP);
     }
 
+    /**
+     * Are upstream (proxy client requests to remotes) metrics enabled?
+     * @return True is yes
+     */
+    public boolean upstream() {
+        return this.enabled() && this.types.contains(MetricsContext.TYPE_UPSTREAM);
+    }
+
     /**
      * Get endpoint and port pair from yaml.
      * @param meta Yaml mapping
@@ -41,6 +41,24 @@ public final class StorageByAlias {
         ).orElseThrow(StorageByAlias::illegalState);
     }
 
+    @Override
+    public boolean equals(final Object obj) {
+        final boolean res;
+        if (obj == this) {
+            res = true;
+        } else if (obj instanceof StorageByAlias) {
+            res = this.yaml.equals(((StorageByAlias) obj).yaml);
+        } else {
+            res = false;
+        }
+        return res;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.yaml.hashCode();
+    }
+
     /**
      * Throws illegal state exception.
      * @return Illegal state exception.
@@ -14,6 +14,7 @@ import com.artipie.asto.Storage;
 import com.artipie.asto.SubStorage;
 import com.artipie.asto.factory.Config;
 import com.artipie.auth.AuthFromEnv;
+import com.artipie.auth.JoinedAuth;
 import com.artipie.http.auth.AuthLoader;
 import com.artipie.http.auth.Authentication;
 import com.artipie.settings.cache.ArtipieCaches;
@@ -169,9 +170,10 @@ public final class YamlSettings implements Settings {
             final List<Authentication> auths = creds.values().stream().map(
                 node -> node.asMapping().string(YamlSettings.NODE_TYPE)
             ).map(type -> loader.newObject(type, settings)).toList();
-            res = auths.get(0);
-            for (final Authentication auth : auths.subList(1, auths.size())) {
-                res = new Authentication.Joined(res, auth);
+            if (auths.size() == 1) {
+                res = auths.get(0);
+            } else {
+                res = new JoinedAuth(auths);
             }
         }
         return new CachedUsers(res);
@@ -18,6 +18,7 @@ import com.google.common.base.Strings;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.LoadingCache;
+import java.nio.file.Paths;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.NotImplementedException;
@@ -79,17 +80,11 @@ public class CachedStorages implements StoragesCache {
                     final StorageCreateEvent event = new StorageCreateEvent();
                     if (event.isEnabled()) {
                         event.begin();
-                        res = new JfrStorage(
-                            CachedStorages.STORAGES
-                                .newObject(type, new Config.YamlStorageConfig(yaml))
-                        );
+                        res = new JfrStorage(CachedStorages.create(type, yaml));
                         event.storage = res.identifier();
                         event.commit();
                     } else {
-                        res = new JfrStorage(
-                            CachedStorages.STORAGES
-                                .newObject(type, new Config.YamlStorageConfig(yaml))
-                        );
+                        res = new JfrStorage(CachedStorages.create(type, yaml));
                     }
                     return res;
                 }
@@ -121,4 +116,19 @@ public class CachedStorages implements StoragesCache {
     public void invalidateAll() {
         this.cache.invalidateAll();
     }
+
+    /**
+     * Create storage by type and configuration, values of file system
+     * storage are marked with file path to be sent by OS sendfile.
+     * @param type Storage type
+     * @param yaml Storage configuration
+     * @return Storage
+     */
+    private static Storage create(final String type, final YamlMapping yaml) {
+        Storage res = CachedStorages.STORAGES.newObject(type, new Config.YamlStorageConfig(yaml));
+        if ("fs".equals(type)) {
+            res = new FilePathStorage(res, Paths.get(yaml.string("path")));
+        }
+        return res;
+    }
 }
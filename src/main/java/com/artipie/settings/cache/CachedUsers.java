@@ -5,31 +5,71 @@
 package com.artipie.settings.cache;
 
 import com.artipie.asto.misc.Cleanable;
-import com.artipie.asto.misc.UncheckedScalar;
+import com.artipie.auth.AuthUnavailableException;
 import com.artipie.http.auth.AuthUser;
 import com.artipie.http.auth.Authentication;
 import com.artipie.misc.ArtipieProperties;
 import com.artipie.misc.Property;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.jcabi.log.Logger;
+import java.security.SecureRandom;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
-import org.apache.commons.codec.digest.DigestUtils;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Cached authentication decorator.
  * <p>
  * It remembers the result of decorated authentication provider and returns it
- * instead of calling origin authentication.
+ * instead of calling origin authentication. Successful and failed results are
+ * kept in separate bounded caches keyed by SipHash of username and password
+ * with per-process random key. After
+ * {@link ArtipieProperties#AUTH_THROTTLE_FAILURES} failed attempts for username
+ * during {@link ArtipieProperties#AUTH_THROTTLE_WINDOW} origin authentication
+ * is not called for this username until the window expires, already cached
+ * successful logins keep working. Only definite results are remembered:
+ * when origin is unavailable ({@link AuthUnavailableException}, e.g. Keycloak
+ * timeout or GitHub API error), user is not authenticated, but the attempt
+ * is neither cached nor counted as failed.
  * </p>
  * @since 0.22
  */
 public final class CachedUsers implements Authentication, Cleanable<String> {
+
     /**
-     * Cache for users. The key is md5 calculated from username and password
-     * joined with space.
+     * Keyed hash function for username and password.
      */
-    private final Cache<String, Optional<AuthUser>> users;
+    private static final HashFunction HASH = Hashing.sipHash24(
+        new SecureRandom().nextLong(), new SecureRandom().nextLong()
+    );
+
+    /**
+     * Max number of entries in each cache.
+     */
+    private static final long MAX_SIZE = 10_000L;
+
+    /**
+     * Successfully authenticated users by hash of username and password.
+     */
+    private final Cache<Long, Login> users;
+
+    /**
+     * Usernames of failed attempts by hash of username and password.
+     */
+    private final Cache<Long, String> failed;
+
+    /**
+     * Number of recent failed attempts by username.
+     */
+    private final Cache<String, AtomicInteger> attempts;
+
+    /**
+     * Max number of failed attempts for username before throttling.
+     */
+    private final int limit;
 
     /**
      * Origin authentication.
@@ -50,21 +90,46 @@ public final class CachedUsers implements Authentication, Cleanable<String> {
                     //@checkstyle MagicNumberCheck (1 line)
                     new Property(ArtipieProperties.AUTH_TIMEOUT).asLongOrDefault(300_000L),
                     TimeUnit.MILLISECONDS
-                ).softValues()
-                .build()
+                ).maximumSize(CachedUsers.MAX_SIZE)
+                .build(),
+            CacheBuilder.newBuilder()
+                .expireAfterWrite(
+                    //@checkstyle MagicNumberCheck (1 line)
+                    new Property(ArtipieProperties.AUTH_FAILED_TIMEOUT).asLongOrDefault(60_000L),
+                    TimeUnit.MILLISECONDS
+                ).maximumSize(CachedUsers.MAX_SIZE)
+                .build(),
+            CacheBuilder.newBuilder()
+                .expireAfterWrite(
+                    //@checkstyle MagicNumberCheck (1 line)
+                    new Property(ArtipieProperties.AUTH_THROTTLE_WINDOW).asLongOrDefault(60_000L),
+                    TimeUnit.MILLISECONDS
+                ).maximumSize(CachedUsers.MAX_SIZE)
+                .build(),
+            (int) new Property(ArtipieProperties.AUTH_THROTTLE_FAILURES).asLongOrDefault(20L)
         );
     }
 
     /**
      * Ctor.
      * @param origin Origin authentication
-     * @param cache Cache for users
+     * @param users Cache for authenticated users
+     * @param failed Cache for failed attempts
+     * @param attempts Cache for failed attempts counters by username
+     * @param limit Max number of failed attempts for username before throttling
+     * @checkstyle ParameterNumberCheck (10 lines)
      */
     CachedUsers(
         final Authentication origin,
-        final Cache<String, Optional<AuthUser>> cache
+        final Cache<Long, Login> users,
+        final Cache<Long, String> failed,
+        final Cache<String, AtomicInteger> attempts,
+        final int limit
     ) {
-        this.users = cache;
+        this.users = users;
+        this.failed = failed;
+        this.attempts = attempts;
+        this.limit = limit;
         this.origin = origin;
     }
 
@@ -73,28 +138,102 @@ public final class CachedUsers implements Authentication, Cleanable<String> {
         final String username,
         final String password
     ) {
-        final String key = DigestUtils.md5Hex(String.join(" ", username, password));
-        return new UncheckedScalar<>(
-            () -> this.users.get(key, () -> this.origin.user(username, password))
-        ).value();
+        final long key = CachedUsers.HASH.newHasher()
+            .putInt(username.length()).putUnencodedChars(username)
+            .putUnencodedChars(password)
+            .hash().asLong();
+        Optional<AuthUser> res = Optional.ofNullable(this.users.getIfPresent(key))
+            .map(login -> login.user);
+        if (res.isEmpty() && this.failed.getIfPresent(key) == null && !this.throttled(username)) {
+            try {
+                res = this.origin.user(username, password);
+                if (res.isPresent()) {
+                    this.users.put(key, new Login(username, res.get()));
+                    this.attempts.invalidate(username);
+                } else {
+                    this.failed.put(key, username);
+                    this.attempts.asMap()
+                        .computeIfAbsent(username, name -> new AtomicInteger())
+                        .incrementAndGet();
+                }
+            } catch (final AuthUnavailableException err) {
+                Logger.warn(
+                    this, "Failed to check credentials of '%s': %[exception]s", username, err
+                );
+            }
+        }
+        return res;
     }
 
     @Override
     public String toString() {
         return String.format(
-            "%s(size=%d),origin=%s",
-            this.getClass().getSimpleName(), this.users.size(),
+            "%s(size=%d,failed=%d),origin=%s",
+            this.getClass().getSimpleName(), this.users.size(), this.failed.size(),
             this.origin.toString()
         );
     }
 
     @Override
-    public void invalidate(final String key) {
-        this.users.invalidate(key);
+    @SuppressWarnings("unchecked")
+    public void invalidate(final String username) {
+        this.users.asMap().values().removeIf(
+            login -> login.name.equals(username) || login.user.name().equals(username)
+        );
+        this.failed.asMap().values().removeIf(username::equals);
+        this.attempts.invalidate(username);
+        if (this.origin instanceof Cleanable) {
+            ((Cleanable<String>) this.origin).invalidate(username);
+        }
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void invalidateAll() {
         this.users.invalidateAll();
+        this.failed.invalidateAll();
+        this.attempts.invalidateAll();
+        if (this.origin instanceof Cleanable) {
+            ((Cleanable<String>) this.origin).invalidateAll();
+        }
+    }
+
+    /**
+     * Too many recent failed attempts for username?
+     * @param username Username
+     * @return True if origin should not be called for username
+     */
+    private boolean throttled(final String username) {
+        final AtomicInteger failures = this.attempts.getIfPresent(username);
+        return failures != null && failures.get() >= this.limit;
+    }
+
+    /**
+     * Successful login: username presented by client and authenticated user,
+     * which name may differ from presented one (e.g. `github.com/octocat`
+     * for `octocat`).
+     * @since 0.30
+     */
+    static final class Login {
+
+        /**
+         * Presented username.
+         */
+        private final String name;
+
+        /**
+         * Authenticated user.
+         */
+        private final AuthUser user;
+
+        /**
+         * Ctor.
+         * @param name Presented username
+         * @param user Authenticated user
+         */
+        Login(final String name, final AuthUser user) {
+            this.name = name;
+            this.user = user;
+        }
     }
 }
@@ -0,0 +1,284 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache;
+
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.asto.Storage;
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.http.NegativeCache;
+import com.artipie.http.filter.Filters;
+import com.artipie.settings.Settings;
+import com.artipie.settings.cache.bus.Invalidation;
+import com.artipie.settings.cache.bus.InvalidationBus;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Artipie caches shared by cluster nodes: every invalidation is applied
+ * to local caches and published to {@link InvalidationBus}, invalidations
+ * received from other nodes are applied to local caches. Filters
+ * invalidation means that repository settings were changed, so it's also
+ * applied to repositories caches (configs, compiled slices). Negative lookups
+ * invalidations of {@link NegativeCache#broadcast(String)} are published too
+ * for negative lookups caches created by {@link #negativeCache()}.
+ * @since 0.30
+ */
+public final class ClusterCaches implements ArtipieCaches {
+
+    /**
+     * Users cache name.
+     */
+    private static final String USERS = "users";
+
+    /**
+     * Policy cache name.
+     */
+    private static final String POLICY = "policy";
+
+    /**
+     * Filters cache name.
+     */
+    private static final String FILTERS = "filters";
+
+    /**
+     * Storages cache name.
+     */
+    private static final String STORAGES = "storages";
+
+    /**
+     * Negative lookups cache name.
+     */
+    private static final String NEGATIVE = "negative";
+
+    /**
+     * Local caches.
+     */
+    private final ArtipieCaches origin;
+
+    /**
+     * Invalidation bus.
+     */
+    private final InvalidationBus bus;
+
+    /**
+     * Local repositories caches.
+     */
+    private final Collection<? extends Cleanable<String>> repos;
+
+    /**
+     * Id of current node.
+     */
+    private final String node;
+
+    /**
+     * Ctor.
+     * @param origin Local caches
+     * @param bus Invalidation bus
+     * @param repos Local repositories caches
+     */
+    @SuppressWarnings("PMD.ConstructorOnlyInitializesOrCallOtherConstructors")
+    public ClusterCaches(
+        final ArtipieCaches origin,
+        final InvalidationBus bus,
+        final Collection<? extends Cleanable<String>> repos
+    ) {
+        this.origin = origin;
+        this.bus = bus;
+        this.repos = repos;
+        this.node = UUID.randomUUID().toString();
+        this.bus.subscribe(this::receive);
+    }
+
+    /**
+     * Negative lookups cache, which publishes broadcast invalidations to
+     * other cluster nodes.
+     * @return Negative lookups cache
+     */
+    public NegativeCache negativeCache() {
+        return new NegativeCache(
+            name -> this.bus.publish(
+                new Invalidation(this.node, ClusterCaches.NEGATIVE, Optional.of(name))
+            )
+        );
+    }
+
+    @Override
+    public StoragesCache storagesCache() {
+        return new BroadcastStorages();
+    }
+
+    @Override
+    public Cleanable<String> usersCache() {
+        return new Broadcast(ClusterCaches.USERS);
+    }
+
+    @Override
+    public Cleanable<String> policyCache() {
+        return new Broadcast(ClusterCaches.POLICY);
+    }
+
+    @Override
+    public FiltersCache filtersCache() {
+        return new BroadcastFilters();
+    }
+
+    /**
+     * Apply message received from the bus, messages of current node are skipped
+     * as they were already applied.
+     * @param message Invalidation message
+     */
+    private void receive(final Invalidation message) {
+        if (!this.node.equals(message.node())) {
+            this.apply(message.cache(), message.key());
+        }
+    }
+
+    /**
+     * Invalidate local cache.
+     * @param cache Cache name
+     * @param key Key to invalidate, empty to invalidate all items
+     */
+    private void apply(final String cache, final Optional<String> key) {
+        switch (cache) {
+            case ClusterCaches.USERS:
+                ClusterCaches.clean(this.origin.usersCache(), key);
+                break;
+            case ClusterCaches.POLICY:
+                ClusterCaches.clean(this.origin.policyCache(), key);
+                break;
+            case ClusterCaches.FILTERS:
+                ClusterCaches.clean(this.origin.filtersCache(), key);
+                this.repos.forEach(repo -> ClusterCaches.clean(repo, key));
+                break;
+            case ClusterCaches.NEGATIVE:
+                ClusterCaches.clean(new NegativeCache(), key);
+                break;
+            case ClusterCaches.STORAGES:
+                this.origin.storagesCache().invalidateAll();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Apply invalidation locally and publish it to the bus.
+     * @param cache Cache name
+     * @param key Key to invalidate, empty to invalidate all items
+     */
+    private void publish(final String cache, final Optional<String> key) {
+        this.apply(cache, key);
+        this.bus.publish(new Invalidation(this.node, cache, key));
+    }
+
+    /**
+     * Invalidate cache key or all items.
+     * @param cache Cache
+     * @param key Key to invalidate, empty to invalidate all items
+     */
+    private static void clean(final Cleanable<String> cache, final Optional<String> key) {
+        if (key.isPresent()) {
+            cache.invalidate(key.get());
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Cache which broadcasts invalidations.
+     * @since 0.30
+     */
+    private final class Broadcast implements Cleanable<String> {
+
+        /**
+         * Cache name.
+         */
+        private final String name;
+
+        /**
+         * Ctor.
+         * @param name Cache name
+         */
+        Broadcast(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void invalidate(final String key) {
+            ClusterCaches.this.publish(this.name, Optional.of(key));
+        }
+
+        @Override
+        public void invalidateAll() {
+            ClusterCaches.this.publish(this.name, Optional.empty());
+        }
+    }
+
+    /**
+     * Filters cache which broadcasts invalidations.
+     * @since 0.30
+     */
+    private final class BroadcastFilters implements FiltersCache {
+
+        @Override
+        public Optional<Filters> filters(
+            final String reponame, final YamlMapping repoyaml
+        ) {
+            return ClusterCaches.this.origin.filtersCache().filters(reponame, repoyaml);
+        }
+
+        @Override
+        public long size() {
+            return ClusterCaches.this.origin.filtersCache().size();
+        }
+
+        @Override
+        public void invalidate(final String reponame) {
+            ClusterCaches.this.publish(ClusterCaches.FILTERS, Optional.of(reponame));
+        }
+
+        @Override
+        public void invalidateAll() {
+            ClusterCaches.this.publish(ClusterCaches.FILTERS, Optional.empty());
+        }
+    }
+
+    /**
+     * Storages cache which broadcasts invalidations. Storages are cached by
+     * yaml config, so any invalidation invalidates all items on other nodes.
+     * @since 0.30
+     */
+    private final class BroadcastStorages implements StoragesCache {
+
+        @Override
+        public Storage storage(final Settings settings) {
+            return ClusterCaches.this.origin.storagesCache().storage(settings);
+        }
+
+        @Override
+        public Storage storage(final YamlMapping yaml) {
+            return ClusterCaches.this.origin.storagesCache().storage(yaml);
+        }
+
+        @Override
+        public long size() {
+            return ClusterCaches.this.origin.storagesCache().size();
+        }
+
+        @Override
+        public void invalidate(final YamlMapping yaml) {
+            ClusterCaches.this.origin.storagesCache().invalidate(yaml);
+            ClusterCaches.this.bus.publish(
+                new Invalidation(ClusterCaches.this.node, ClusterCaches.STORAGES, Optional.empty())
+            );
+        }
+
+        @Override
+        public void invalidateAll() {
+            ClusterCaches.this.publish(ClusterCaches.STORAGES, Optional.empty());
+        }
+    }
+}
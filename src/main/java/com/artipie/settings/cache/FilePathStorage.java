@@ -0,0 +1,58 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.http.FileContent;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * File system storage decorator which marks values as {@link FileContent},
+ * so server can send them with OS sendfile. Values are resolved in storage
+ * directory the same way as {@link com.artipie.asto.fs.FileStorage} does it,
+ * content without size is returned as is.
+ * @since 0.30
+ */
+final class FilePathStorage extends Storage.Wrap {
+
+    /**
+     * Origin file storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Storage directory.
+     */
+    private final Path dir;
+
+    /**
+     * Ctor.
+     * @param origin Origin file storage
+     * @param dir Storage directory
+     */
+    FilePathStorage(final Storage origin, final Path dir) {
+        super(origin);
+        this.origin = origin;
+        this.dir = dir;
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.origin.value(key).thenApply(
+            content -> {
+                final Optional<Long> size = content.size();
+                Content res = content;
+                if (size.isPresent()) {
+                    res = new FileContent(this.dir.resolve(key.string()), size.get(), content);
+                }
+                return res;
+            }
+        );
+    }
+}
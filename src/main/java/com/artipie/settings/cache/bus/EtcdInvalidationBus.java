@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache.bus;
+
+import com.jcabi.log.Logger;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import io.etcd.jetcd.Watch;
+import io.etcd.jetcd.options.WatchOption;
+import io.etcd.jetcd.watch.WatchEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus based on etcd watch API: every message is put
+ * to the key `prefix/cache-name`, all nodes watch keys with this prefix.
+ * Each cache has only one key, so etcd storage does not grow.
+ * @since 0.30
+ */
+public final class EtcdInvalidationBus implements InvalidationBus {
+
+    /**
+     * Etcd client.
+     */
+    private final Client client;
+
+    /**
+     * Keys prefix.
+     */
+    private final String prefix;
+
+    /**
+     * Active watchers.
+     */
+    private final List<Watch.Watcher> watchers;
+
+    /**
+     * Ctor.
+     * @param client Etcd client
+     * @param prefix Keys prefix
+     */
+    public EtcdInvalidationBus(final Client client, final String prefix) {
+        this.client = client;
+        this.prefix = prefix;
+        this.watchers = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void publish(final Invalidation message) {
+        this.client.getKVClient().put(
+            EtcdInvalidationBus.bytes(String.format("%s/%s", this.prefix, message.cache())),
+            EtcdInvalidationBus.bytes(message.json())
+        );
+    }
+
+    @Override
+    public void subscribe(final Consumer<Invalidation> listener) {
+        final ByteSequence seq = EtcdInvalidationBus.bytes(String.format("%s/", this.prefix));
+        this.watchers.add(
+            this.client.getWatchClient().watch(
+                seq,
+                WatchOption.newBuilder().withPrefix(seq).build(),
+                Watch.listener(
+                    rsp -> {
+                        for (final WatchEvent event : rsp.getEvents()) {
+                            if (event.getEventType() == WatchEvent.EventType.PUT) {
+                                listener.accept(
+                                    new Invalidation(
+                                        event.getKeyValue().getValue()
+                                            .toString(StandardCharsets.UTF_8)
+                                    )
+                                );
+                            }
+                        }
+                    },
+                    err -> Logger.error(
+                        this, "Invalidation bus watch failed: %[exception]s", err
+                    )
+                )
+            )
+        );
+    }
+
+    @Override
+    public void close() {
+        this.watchers.forEach(Watch.Watcher::close);
+        this.watchers.clear();
+        this.client.close();
+    }
+
+    /**
+     * String as etcd byte sequence.
+     * @param str String
+     * @return Byte sequence
+     */
+    private static ByteSequence bytes(final String str) {
+        return ByteSequence.from(str, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache.bus;
+
+import java.io.StringReader;
+import java.util.Optional;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+/**
+ * Cache invalidation message.
+ * @since 0.30
+ */
+public final class Invalidation {
+
+    /**
+     * Json field with node id.
+     */
+    private static final String NODE = "node";
+
+    /**
+     * Json field with cache name.
+     */
+    private static final String CACHE = "cache";
+
+    /**
+     * Json field with invalidated key.
+     */
+    private static final String KEY = "key";
+
+    /**
+     * Id of the node which published the message.
+     */
+    private final String node;
+
+    /**
+     * Cache name.
+     */
+    private final String cache;
+
+    /**
+     * Invalidated key, empty means all cache items.
+     */
+    private final Optional<String> key;
+
+    /**
+     * Ctor.
+     * @param node Id of the node which published the message
+     * @param cache Cache name
+     * @param key Invalidated key, empty means all cache items
+     */
+    public Invalidation(final String node, final String cache, final Optional<String> key) {
+        this.node = node;
+        this.cache = cache;
+        this.key = key;
+    }
+
+    /**
+     * Ctor.
+     * @param json Message json
+     */
+    public Invalidation(final String json) {
+        this(Json.createReader(new StringReader(json)).readObject());
+    }
+
+    /**
+     * Ctor.
+     * @param json Message json
+     */
+    private Invalidation(final JsonObject json) {
+        this(
+            json.getString(Invalidation.NODE),
+            json.getString(Invalidation.CACHE),
+            Optional.ofNullable(json.getString(Invalidation.KEY, null))
+        );
+    }
+
+    /**
+     * Id of the node which published the message.
+     * @return Node id
+     */
+    public String node() {
+        return this.node;
+    }
+
+    /**
+     * Cache name.
+     * @return Name of the cache
+     */
+    public String cache() {
+        return this.cache;
+    }
+
+    /**
+     * Invalidated key.
+     * @return Key, empty means all cache items
+     */
+    public Optional<String> key() {
+        return this.key;
+    }
+
+    /**
+     * Message as json.
+     * @return Json string
+     */
+    public String json() {
+        final JsonObjectBuilder json = Json.createObjectBuilder()
+            .add(Invalidation.NODE, this.node)
+            .add(Invalidation.CACHE, this.cache);
+        this.key.ifPresent(val -> json.add(Invalidation.KEY, val));
+        return json.build().toString();
+    }
+
+    @Override
+    public String toString() {
+        return this.json();
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache.bus;
+
+import java.util.function.Consumer;
+
+/**
+ * Caches invalidation bus: delivers invalidation messages to all Artipie
+ * nodes subscribed to the bus, including the node which published the message.
+ * @since 0.30
+ */
+public interface InvalidationBus extends AutoCloseable {
+
+    /**
+     * Publish invalidation message.
+     * @param message Invalidation message
+     */
+    void publish(Invalidation message);
+
+    /**
+     * Subscribe to invalidation messages.
+     * @param listener Messages listener
+     */
+    void subscribe(Consumer<Invalidation> listener);
+
+    @Override
+    void close();
+}
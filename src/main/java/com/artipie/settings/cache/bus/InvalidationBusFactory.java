@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache.bus;
+
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.ArtipieException;
+import io.etcd.jetcd.Client;
+import java.io.IOException;
+import java.util.Optional;
+import org.redisson.Redisson;
+import org.redisson.config.Config;
+
+/**
+ * Invalidation bus factory: creates bus by `invalidation_bus` section
+ * of Artipie `meta` settings:
+ * <pre>
+ * meta:
+ *   invalidation_bus:
+ *     type: redis # or etcd, local by default
+ *     topic: artipie-invalidation # optional, redis topic or etcd keys prefix
+ *     config: | # redis only, redisson config
+ *       singleServerConfig:
+ *         address: redis://127.0.0.1:6379
+ *     connection: # etcd only
+ *       endpoints:
+ *         - http://127.0.0.1:2379
+ * </pre>
+ * @since 0.30
+ */
+public final class InvalidationBusFactory {
+
+    /**
+     * Default redis topic or etcd keys prefix.
+     */
+    private static final String TOPIC = "artipie-invalidation";
+
+    /**
+     * Ctor.
+     */
+    private InvalidationBusFactory() {
+    }
+
+    /**
+     * Create invalidation bus.
+     * @param meta Artipie `meta` settings section
+     * @return Invalidation bus
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static InvalidationBus newInstance(final YamlMapping meta) {
+        final YamlMapping yaml = meta.yamlMapping("invalidation_bus");
+        final InvalidationBus res;
+        if (yaml == null) {
+            res = new LocalInvalidationBus();
+        } else {
+            final String topic = Optional.ofNullable(yaml.string("topic"))
+                .orElse(InvalidationBusFactory.TOPIC);
+            final String type = Optional.ofNullable(yaml.string("type")).orElse("local");
+            switch (type) {
+                case "local":
+                    res = new LocalInvalidationBus();
+                    break;
+                case "redis":
+                    try {
+                        res = new RedisInvalidationBus(
+                            Redisson.create(Config.fromYAML(yaml.string("config"))), topic
+                        );
+                    } catch (final IOException err) {
+                        throw new ArtipieException(err);
+                    }
+                    break;
+                case "etcd":
+                    res = new EtcdInvalidationBus(
+                        Client.builder().endpoints(
+                            yaml.yamlMapping("connection").yamlSequence("endpoints")
+                                .values().stream().map(node -> node.asScalar().value())
+                                .toArray(String[]::new)
+                        ).build(),
+                        topic
+                    );
+                    break;
+                default:
+                    throw new ArtipieException(
+                        String.format("Unknown invalidation bus type '%s'", type)
+                    );
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache.bus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-memory invalidation bus, delivers messages to subscribers
+ * of current JVM only. Used by single node installations.
+ * @since 0.30
+ */
+public final class LocalInvalidationBus implements InvalidationBus {
+
+    /**
+     * Subscribers.
+     */
+    private final List<Consumer<Invalidation>> listeners;
+
+    /**
+     * Ctor.
+     */
+    public LocalInvalidationBus() {
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void publish(final Invalidation message) {
+        this.listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(final Consumer<Invalidation> listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        this.listeners.clear();
+    }
+}
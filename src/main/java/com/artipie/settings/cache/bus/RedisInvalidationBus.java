@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache.bus;
+
+import java.util.function.Consumer;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * Invalidation bus based on redis pub/sub topic.
+ * @since 0.30
+ */
+public final class RedisInvalidationBus implements InvalidationBus {
+
+    /**
+     * Redisson client.
+     */
+    private final RedissonClient client;
+
+    /**
+     * Topic name.
+     */
+    private final String topic;
+
+    /**
+     * Ctor.
+     * @param client Redisson client
+     * @param topic Topic name
+     */
+    public RedisInvalidationBus(final RedissonClient client, final String topic) {
+        this.client = client;
+        this.topic = topic;
+    }
+
+    @Override
+    public void publish(final Invalidation message) {
+        this.channel().publishAsync(message.json());
+    }
+
+    @Override
+    public void subscribe(final Consumer<Invalidation> listener) {
+        this.channel().addListener(
+            String.class, (channel, msg) -> listener.accept(new Invalidation(msg))
+        );
+    }
+
+    @Override
+    public void close() {
+        this.client.shutdown();
+    }
+
+    /**
+     * Redis topic.
+     * @return Topic
+     */
+    private RTopic channel() {
+        return this.client.getTopic(this.topic, StringCodec.INSTANCE);
+    }
+}
@@ -5,24 +5,31 @@
 
 package com.artipie.settings.repo;
 
+import com.amihaiemil.eoyaml.Scalar;
 import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlNode;
 import com.artipie.asto.Key;
-import com.artipie.asto.LoggingStorage;
 import com.artipie.asto.Storage;
 import com.artipie.asto.SubStorage;
 import com.artipie.micrometer.MicrometerStorage;
 import com.artipie.settings.StorageByAlias;
 import com.artipie.settings.cache.StoragesCache;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.Optional;
 import java.util.OptionalInt;
-import java.util.logging.Level;
 import java.util.stream.Stream;
 
 /**
  * Repository config.
+ * <p>
+ * Instances are immutable snapshots of repository YAML: values which require
+ * YAML lookups or construction of objects (type, port, URL, content length
+ * limit and storage chain) are resolved once on first access and reused.
+ * </p>
  * @since 0.2
  * @checkstyle ParameterNumberCheck (500 lines)
  */
@@ -54,6 +61,36 @@ public final class RepoConfig {
      */
     private final boolean metrics;
 
+    /**
+     * Repo part of YAML.
+     */
+    private final Supplier<YamlMapping> repo;
+
+    /**
+     * Repository type.
+     */
+    private final Supplier<String> rtype;
+
+    /**
+     * Repository port.
+     */
+    private final Supplier<OptionalInt> rport;
+
+    /**
+     * Repository URL.
+     */
+    private final Supplier<URL> rurl;
+
+    /**
+     * Maximum allowed Content-Length.
+     */
+    private final Supplier<Optional<Long>> length;
+
+    /**
+     * Repository storage.
+     */
+    private final Supplier<Optional<Storage>> asto;
+
     /**
      * Ctor.
      *
@@ -75,6 +112,14 @@ public final class RepoConfig {
         this.yaml = yaml;
         this.cache = cache;
         this.metrics = metrics;
+        this.repo = Suppliers.memoize(this::readRepoYaml);
+        this.rtype = Suppliers.memoize(() -> this.string("type"));
+        this.rport = Suppliers.memoize(this::readPort);
+        this.rurl = Suppliers.memoize(this::readUrl);
+        this.length = Suppliers.memoize(
+            () -> this.stringOpt("content-length-max").map(Long::valueOf)
+        );
+        this.asto = Suppliers.memoize(this::readStorage);
     }
 
     /**
@@ -107,7 +152,7 @@ public final class RepoConfig {
      * @return Async string of type
      */
     public String type() {
-        return this.string("type");
+        return this.rtype.get();
     }
 
     /**
@@ -116,9 +161,7 @@ public final class RepoConfig {
      * @return Repository port.
      */
     public OptionalInt port() {
-        return Stream.ofNullable(this.repoYaml().string("port"))
-            .mapToInt(Integer::parseInt)
-            .findFirst();
+        return this.rport.get();
     }
 
     /**
@@ -135,15 +178,7 @@ public final class RepoConfig {
      * @return Async string of URL
      */
     public URL url() {
-        final String str = this.string("url");
-        try {
-            return URI.create(str).toURL();
-        } catch (final MalformedURLException ex) {
-            throw new IllegalArgumentException(
-                String.format("Failed to build URL from '%s'", str),
-                ex
-            );
-        }
+        return this.rurl.get();
     }
 
     /**
@@ -152,7 +187,7 @@ public final class RepoConfig {
      * @return Maximum allowed value, empty if none specified.
      */
     public Optional<Long> contentLengthMax() {
-        return this.stringOpt("content-length-max").map(Long::valueOf);
+        return this.length.get();
     }
 
     /**
@@ -171,25 +206,7 @@ public final class RepoConfig {
      * @return Async storage for repo
      */
     public Optional<Storage> storageOpt() {
-        return Optional.ofNullable(
-            this.repoYaml().value("storage")
-        ).map(
-            node -> new SubStorage(
-                this.prefix,
-                new LoggingStorage(
-                    Level.INFO,
-                    this.cache.storage(this.aliases, node)
-                )
-            )
-        ).map(
-            asto -> {
-                Storage res = asto;
-                if (this.metrics) {
-                    res = new MicrometerStorage(asto);
-                }
-                return res;
-            }
-        );
+        return this.asto.get();
     }
 
     /**
@@ -225,9 +242,7 @@ public final class RepoConfig {
      * @return Async YAML mapping
      */
     public YamlMapping repoYaml() {
-        return Optional.ofNullable(this.yaml.yamlMapping("repo")).orElseThrow(
-            () -> new IllegalStateException("Invalid repo configuration")
-        );
+        return this.repo.get();
     }
 
     @Override
@@ -235,6 +250,86 @@ public final class RepoConfig {
         return this.yaml.toString();
     }
 
+    /**
+     * Reads repo part of YAML.
+     *
+     * @return YAML mapping
+     */
+    private YamlMapping readRepoYaml() {
+        return Optional.ofNullable(this.yaml.yamlMapping("repo")).orElseThrow(
+            () -> new IllegalStateException("Invalid repo configuration")
+        );
+    }
+
+    /**
+     * Reads repository port from YAML.
+     *
+     * @return Repository port.
+     */
+    private OptionalInt readPort() {
+        return Stream.ofNullable(this.repoYaml().string("port"))
+            .mapToInt(Integer::parseInt)
+            .findFirst();
+    }
+
+    /**
+     * Reads repository URL from YAML.
+     *
+     * @return Repository URL
+     */
+    private URL readUrl() {
+        final String str = this.string("url");
+        try {
+            return URI.create(str).toURL();
+        } catch (final MalformedURLException ex) {
+            throw new IllegalArgumentException(
+                String.format("Failed to build URL from '%s'", str),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Create storage chain if configured in YAML.
+     *
+     * @return Storage for repo
+     */
+    private Optional<Storage> readStorage() {
+        return Optional.ofNullable(
+            this.repoYaml().value("storage")
+        ).map(
+            node -> new SubStorage(
+                this.prefix,
+                new SampledLoggingStorage(this.cache.storage(this.aliases, node))
+            )
+        ).map(
+            asto -> {
+                Storage res = asto;
+                if (this.metrics) {
+                    res = new MicrometerStorage(asto, this.storageName());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Storage name for metrics: storage alias if repository storage is
+     * configured by alias, repository name otherwise.
+     *
+     * @return Storage name
+     */
+    private String storageName() {
+        final YamlNode node = this.repoYaml().value("storage");
+        final String res;
+        if (node instanceof Scalar) {
+            res = ((Scalar) node).value();
+        } else {
+            res = this.name();
+        }
+        return res;
+    }
+
     /**
      * Reads string by key from repo part of YAML.
      *
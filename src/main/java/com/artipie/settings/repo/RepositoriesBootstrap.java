@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.repo;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.misc.BoundedLanes;
+import com.artipie.settings.ConfigFile;
+import com.jcabi.log.Logger;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Repositories bootstrap: loads all repository configs from configuration
+ * storage asynchronously, at most `parallelism` configs are loaded at the
+ * same time. Each config is loaded and handled independently: failed
+ * configs are logged and do not stop loading of others.
+ * @since 0.30
+ */
+public final class RepositoriesBootstrap {
+
+    /**
+     * Repository configs storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Repositories.
+     */
+    private final Repositories repos;
+
+    /**
+     * Loading lanes.
+     */
+    private final BoundedLanes<String> lanes;
+
+    /**
+     * Ctor.
+     * @param storage Repository configs storage
+     * @param repos Repositories
+     * @param parallelism Max number of configs loaded at the same time
+     * @throws IllegalArgumentException If parallelism is not positive
+     */
+    public RepositoriesBootstrap(
+        final Storage storage, final Repositories repos, final int parallelism
+    ) {
+        this.storage = storage;
+        this.repos = repos;
+        this.lanes = new BoundedLanes<>(parallelism);
+    }
+
+    /**
+     * Load all repository configs.
+     * @param action Action to perform with each loaded config
+     * @return Completion with number of successfully handled configs
+     */
+    public CompletionStage<Integer> load(final Consumer<RepoConfig> action) {
+        final long start = System.nanoTime();
+        return this.storage.list(Key.ROOT).thenCompose(
+            keys -> {
+                final List<String> names = keys.stream().map(ConfigFile::new)
+                    .filter(Predicate.not(ConfigFile::isSystem).and(ConfigFile::isYamlOrYml))
+                    .map(ConfigFile::name)
+                    .collect(Collectors.toList());
+                final AtomicInteger loaded = new AtomicInteger();
+                return this.lanes.run(names, name -> this.load(name, action, loaded)).thenApply(
+                    nothing -> {
+                        Logger.info(
+                            RepositoriesBootstrap.class,
+                            "Loaded %d of %d repositories in %[nano]s",
+                            loaded.get(), names.size(), System.nanoTime() - start
+                        );
+                        return loaded.get();
+                    }
+                );
+            }
+        );
+    }
+
+    /**
+     * Load repository config and perform action with it.
+     * @param name Repository name
+     * @param action Action to perform with loaded config
+     * @param loaded Counter of successfully handled configs
+     * @return Completion of loading
+     */
+    private CompletionStage<Void> load(
+        final String name, final Consumer<RepoConfig> action, final AtomicInteger loaded
+    ) {
+        final long start = System.nanoTime();
+        return this.repos.config(name).thenAccept(action).handle(
+            (nothing, err) -> {
+                if (err == null) {
+                    loaded.incrementAndGet();
+                    Logger.info(
+                        RepositoriesBootstrap.class,
+                        "Repository '%s' was loaded in %[nano]s",
+                        name, System.nanoTime() - start
+                    );
+                } else {
+                    Logger.error(
+                        RepositoriesBootstrap.class,
+                        "Invalid repo config file %s: %[exception]s", name, err
+                    );
+                }
+                return nothing;
+            }
+        );
+    }
+}
@@ -8,12 +8,15 @@ import com.amihaiemil.eoyaml.Yaml;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
 import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.asto.misc.UncheckedIOScalar;
 import com.artipie.misc.ArtipieProperties;
 import com.artipie.misc.Property;
 import com.artipie.settings.AliasSettings;
 import com.artipie.settings.ConfigFile;
 import com.artipie.settings.Settings;
 import com.artipie.settings.StorageByAlias;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -22,6 +25,8 @@ import io.reactivex.Single;
 import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.apache.commons.codec.digest.DigestUtils;
 
 /**
  * Artipie repositories created from {@link Settings}.
@@ -29,7 +34,7 @@ import java.util.concurrent.TimeUnit;
  * @since 0.13
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
-public final class RepositoriesFromStorage implements Repositories {
+public final class RepositoriesFromStorage implements Repositories, Cleanable<String> {
     /**
      * Cache for config files.
      */
@@ -40,6 +45,11 @@ public final class RepositoriesFromStorage implements Repositories {
      */
     private static LoadingCache<FilesContent, Single<StorageByAlias>> aliases;
 
+    /**
+     * Cache for parsed configs.
+     */
+    private static Cache<FilesContent, Snapshot> snapshots;
+
     static {
         final long duration;
         //@checkstyle MagicNumberCheck (1 line)
@@ -66,6 +76,10 @@ public final class RepositoriesFromStorage implements Repositories {
                     }
                 }
             );
+        RepositoriesFromStorage.snapshots = CacheBuilder.newBuilder()
+            .expireAfterAccess(duration, TimeUnit.MILLISECONDS)
+            .softValues()
+            .build();
     }
 
     /**
@@ -90,16 +104,137 @@ public final class RepositoriesFromStorage implements Repositories {
         return Single.zip(
             RepositoriesFromStorage.configs.getUnchecked(content),
             RepositoriesFromStorage.aliases.getUnchecked(content),
-            (data, als) -> new RepoConfig(
-                als,
-                content.key,
-                Yaml.createYamlInput(data).readYamlMapping(),
-                this.settings.caches().storagesCache(),
-                this.settings.metrics().storage()
-            )
+            (data, als) -> this.snapshot(content, data, als)
         ).to(SingleInterop.get());
     }
 
+    /**
+     * Invalidate cached config, aliases and parsed config of the repository.
+     * Invalidation affects cached items of all storages.
+     * @param name Repository name
+     */
+    @Override
+    public void invalidate(final String name) {
+        final Key key = new Key.From(new ConfigFile(name).name());
+        final Predicate<FilesContent> same = content -> content.key.equals(key);
+        RepositoriesFromStorage.configs.asMap().keySet().removeIf(same);
+        RepositoriesFromStorage.aliases.asMap().keySet().removeIf(same);
+        RepositoriesFromStorage.snapshots.asMap().keySet().removeIf(same);
+    }
+
+    /**
+     * Invalidate all cached configs, aliases and parsed configs.
+     * Invalidation affects cached items of all storages.
+     */
+    @Override
+    public void invalidateAll() {
+        RepositoriesFromStorage.configs.invalidateAll();
+        RepositoriesFromStorage.aliases.invalidateAll();
+        RepositoriesFromStorage.snapshots.invalidateAll();
+    }
+
+    /**
+     * Obtain parsed config snapshot. The config is parsed only when it's content
+     * or storage aliases have changed, otherwise previously parsed immutable
+     * instance is returned.
+     * @param content Config file
+     * @param data Config file content
+     * @param als Storage aliases
+     * @return Repository config
+     */
+    @SuppressWarnings("PMD.OnlyOneReturn")
+    private RepoConfig snapshot(final FilesContent content, final String data,
+        final StorageByAlias als) {
+        final Snapshot cached = RepositoriesFromStorage.snapshots.getIfPresent(content);
+        if (cached != null && cached.loadedFrom(data, als)) {
+            return cached.config;
+        }
+        return RepositoriesFromStorage.snapshots.asMap().compute(
+            content,
+            (key, prev) -> {
+                final Snapshot res;
+                if (prev != null && prev.loadedFrom(data, als)) {
+                    res = prev;
+                } else {
+                    final String digest = DigestUtils.sha256Hex(data);
+                    if (prev != null && prev.digest.equals(digest) && prev.aliases.equals(als)) {
+                        res = new Snapshot(data, als, digest, prev.config);
+                    } else {
+                        res = new Snapshot(
+                            data, als, digest,
+                            new RepoConfig(
+                                als,
+                                key.key,
+                                new UncheckedIOScalar<>(
+                                    () -> Yaml.createYamlInput(data).readYamlMapping()
+                                ).value(),
+                                this.settings.caches().storagesCache(),
+                                this.settings.metrics().storage()
+                            )
+                        );
+                    }
+                }
+                return res;
+            }
+        ).config;
+    }
+
+    /**
+     * Parsed repository config along with the source it was parsed from.
+     * @since 0.30
+     */
+    private static final class Snapshot {
+
+        /**
+         * Config file content.
+         */
+        private final String data;
+
+        /**
+         * Storage aliases.
+         */
+        private final StorageByAlias aliases;
+
+        /**
+         * Config file content digest.
+         */
+        private final String digest;
+
+        /**
+         * Parsed config.
+         */
+        private final RepoConfig config;
+
+        /**
+         * Ctor.
+         * @param data Config file content
+         * @param aliases Storage aliases
+         * @param digest Config file content digest
+         * @param config Parsed config
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Snapshot(final String data, final StorageByAlias aliases, final String digest,
+            final RepoConfig config) {
+            this.data = data;
+            this.aliases = aliases;
+            this.digest = digest;
+            this.config = config;
+        }
+
+        /**
+         * Was this snapshot loaded from exactly these cached instances? Cached
+         * instances are kept until the cache entries expire, so identity
+         * check is enough to skip digest calculation.
+         * @param content Config file content
+         * @param als Storage aliases
+         * @return True if loaded from the same instances
+         */
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        boolean loadedFrom(final String content, final StorageByAlias als) {
+            return this.data == content && this.aliases == als;
+        }
+    }
+
     /**
      * Extra class for obtaining aliases and content of configuration file.
      * @since 0.22
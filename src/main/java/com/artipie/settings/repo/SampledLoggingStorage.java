@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.repo;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.LoggingStorage;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.Property;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Storage which logs sampled operations: on average one of every
+ * {@link ArtipieProperties#STORAGE_LOG_SAMPLING} operations is logged by
+ * {@link LoggingStorage}, other operations are performed by origin storage
+ * without logging. Logging is disabled if sampling is zero (default),
+ * set it to one to log every operation.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class SampledLoggingStorage implements Storage {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Logging storage.
+     */
+    private final Storage logging;
+
+    /**
+     * Sampling: every Nth operation is logged, 0 to disable logging.
+     */
+    private final int sampling;
+
+    /**
+     * Ctor with sampling from {@link ArtipieProperties#STORAGE_LOG_SAMPLING}.
+     * @param origin Origin storage
+     */
+    public SampledLoggingStorage(final Storage origin) {
+        this(
+            origin,
+            (int) new Property(ArtipieProperties.STORAGE_LOG_SAMPLING).asLongOrDefault(0L)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     * @param sampling Every Nth operation is logged, 0 to disable logging
+     */
+    public SampledLoggingStorage(final Storage origin, final int sampling) {
+        this.origin = origin;
+        this.logging = new LoggingStorage(Level.INFO, origin);
+        this.sampling = sampling;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        return this.storage().exists(key);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return this.storage().list(prefix);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        return this.storage().save(key, content);
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return this.storage().move(source, destination);
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        return this.storage().metadata(key);
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.storage().value(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return this.storage().delete(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return this.storage().deleteAll(prefix);
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(
+        final Key key, final Function<Storage, CompletionStage<T>> function
+    ) {
+        return this.storage().exclusively(key, function);
+    }
+
+    @Override
+    public String identifier() {
+        return this.origin.identifier();
+    }
+
+    /**
+     * Storage to perform next operation with.
+     * @return Logging storage if operation is sampled, origin storage otherwise
+     */
+    private Storage storage() {
+        final Storage res;
+        if (this.sampling > 0 && (this.sampling == 1
+            || ThreadLocalRandom.current().nextInt(this.sampling) == 0)) {
+            res = this.logging;
+        } else {
+            res = this.origin;
+        }
+        return res;
+    }
+}
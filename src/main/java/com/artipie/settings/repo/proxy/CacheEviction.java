@@ -0,0 +1,396 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.repo.proxy;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.SubStorage;
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.misc.ArtipieProperties;
+import com.artipie.misc.BoundedLanes;
+import com.artipie.misc.Property;
+import com.jcabi.log.Logger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Proxy cache eviction engine. Tracked cache storages record size and
+ * access time of items to {@link CacheIndex}, background thread
+ * periodically removes expired and least recently used items from each
+ * tracked cache which exceeds its limits. Cache items are kept under the
+ * cache prefix of the storage (repository name), the storage can be shared
+ * with other repositories: only items under the prefix are listed and
+ * evicted. Items which were cached before the cache was tracked, e.g. before
+ * restart, are indexed on the first sweep with access time from storage
+ * metadata: last access time if storage provides it, last modification time
+ * otherwise. Caches are tracked by
+ * repository name and remote, so proxy config can be recreated at any time;
+ * invalidation by repository name stops tracking of repository caches until
+ * the repository is built again, so removed repositories are not swept.
+ * Storage operations of a sweep are performed by a limited number of
+ * concurrent lanes, so large caches don't exhaust storage connections.
+ * @since 0.30
+ */
+public final class CacheEviction implements Cleanable<String> {
+
+    /**
+     * Separator of repository name and remote in cache name.
+     */
+    private static final String SEP = "|";
+
+    /**
+     * Tracked caches by name.
+     */
+    private static final ConcurrentMap<String, Tracked> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * Eviction thread.
+     */
+    private static final ScheduledExecutorService SWEEPER =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                final Thread thread = new Thread(runnable, "artipie-cache-eviction");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+
+    /**
+     * Lanes of storage operations of a cache sweep.
+     */
+    private static final BoundedLanes<Key> LANES = new BoundedLanes<>(16);
+
+    /**
+     * Is eviction thread scheduled.
+     */
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    /**
+     * Track cache storage of repository remote.
+     * @param repo Repository name
+     * @param remote Remote url
+     * @param storage Storage which keeps cache under the prefix
+     * @param prefix Cache prefix
+     * @param maxsize Max size of cached items in bytes
+     * @param ttl Time to live of items since last access
+     * @return Storage which has to be used as cache storage, keys are
+     *  relative to the prefix
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Storage track(
+        final String repo, final String remote, final Storage storage, final Key prefix,
+        final long maxsize, final Duration ttl
+    ) {
+        return this.track(
+            String.join(CacheEviction.SEP, repo, remote), storage, prefix, maxsize, ttl
+        );
+    }
+
+    /**
+     * Track cache storage which keeps only cache items.
+     * @param name Cache name
+     * @param storage Cache storage
+     * @param maxsize Max size of cached items in bytes
+     * @param ttl Time to live of items since last access
+     * @return Storage which has to be used as cache storage
+     */
+    Storage track(
+        final String name, final Storage storage, final long maxsize, final Duration ttl
+    ) {
+        return this.track(name, storage, Key.ROOT, maxsize, ttl);
+    }
+
+    /**
+     * Track cache storage.
+     * @param name Cache name
+     * @param storage Storage which keeps cache under the prefix
+     * @param prefix Cache prefix
+     * @param maxsize Max size of cached items in bytes
+     * @param ttl Time to live of items since last access
+     * @return Storage which has to be used as cache storage
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private Storage track(
+        final String name, final Storage storage, final Key prefix,
+        final long maxsize, final Duration ttl
+    ) {
+        CacheEviction.start();
+        return CacheEviction.CACHES.compute(
+            name,
+            (key, prev) -> {
+                final Tracked res;
+                if (prev != null && prev.identifier.equals(storage.identifier())
+                    && prev.prefix.equals(prefix)) {
+                    res = new Tracked(prev, maxsize, ttl);
+                } else {
+                    res = new Tracked(storage, prefix, maxsize, ttl);
+                }
+                return res;
+            }
+        ).storage;
+    }
+
+    /**
+     * Stop tracking all caches.
+     */
+    void clear() {
+        CacheEviction.CACHES.clear();
+    }
+
+    @Override
+    public void invalidate(final String name) {
+        CacheEviction.CACHES.keySet().removeIf(
+            cache -> cache.equals(name) || cache.startsWith(name.concat(CacheEviction.SEP))
+        );
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s(caches=%d)", this.getClass().getSimpleName(), CacheEviction.CACHES.size()
+        );
+    }
+
+    /**
+     * Run eviction of all tracked caches.
+     * @return Completion
+     */
+    CompletableFuture<Void> sweep() {
+        return CompletableFuture.allOf(
+            CacheEviction.CACHES.entrySet().stream()
+                .map(entry -> entry.getValue().sweep(entry.getKey()))
+                .toArray(CompletableFuture[]::new)
+        );
+    }
+
+    /**
+     * Schedule eviction thread.
+     */
+    private static void start() {
+        if (CacheEviction.STARTED.compareAndSet(false, true)) {
+            final long interval = new Property(ArtipieProperties.PROXY_EVICTION_INTERVAL)
+                //@checkstyle MagicNumberCheck (1 line)
+                .asLongOrDefault(60_000L);
+            CacheEviction.SWEEPER.scheduleWithFixedDelay(
+                () -> new CacheEviction().sweep().join(),
+                interval, interval, TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    /**
+     * Last access time of item from metadata: access time, if storage
+     * provides it, or modification time.
+     * @param meta Item metadata
+     * @return Time, millis
+     */
+    private static Optional<Long> accessed(final Meta meta) {
+        Optional<Long> res = meta.read(Meta.OP_ACCESSED_AT).map(Instant::toEpochMilli);
+        if (res.isEmpty()) {
+            res = meta.read(Meta.OP_UPDATED_AT).map(Instant::toEpochMilli);
+        }
+        return res;
+    }
+
+    /**
+     * Tracked cache.
+     * @since 0.30
+     */
+    private static final class Tracked {
+
+        /**
+         * Storage identifier.
+         */
+        private final String identifier;
+
+        /**
+         * Cache prefix.
+         */
+        private final Key prefix;
+
+        /**
+         * Cache index.
+         */
+        private final CacheIndex index;
+
+        /**
+         * Indexed storage.
+         */
+        private final Storage indexed;
+
+        /**
+         * Indexed storage of cache prefix.
+         */
+        private final Storage storage;
+
+        /**
+         * Is index loaded from storage.
+         */
+        private final AtomicBoolean loaded;
+
+        /**
+         * Max size of cached items in bytes.
+         */
+        private final long maxsize;
+
+        /**
+         * Time to live in millis.
+         */
+        private final long ttl;
+
+        /**
+         * New tracked cache.
+         * @param storage Storage which keeps cache under the prefix
+         * @param prefix Cache prefix
+         * @param maxsize Max size of cached items in bytes
+         * @param ttl Time to live
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Tracked(
+            final Storage storage, final Key prefix, final long maxsize, final Duration ttl
+        ) {
+            this(storage, prefix, new CacheIndex(), maxsize, ttl);
+        }
+
+        /**
+         * Tracked cache with new limits.
+         * @param prev Previously tracked cache
+         * @param maxsize Max size of cached items in bytes
+         * @param ttl Time to live
+         */
+        Tracked(final Tracked prev, final long maxsize, final Duration ttl) {
+            this.identifier = prev.identifier;
+            this.prefix = prev.prefix;
+            this.index = prev.index;
+            this.indexed = prev.indexed;
+            this.storage = prev.storage;
+            this.loaded = prev.loaded;
+            this.maxsize = maxsize;
+            this.ttl = ttl.toMillis();
+        }
+
+        /**
+         * Ctor.
+         * @param storage Storage which keeps cache under the prefix
+         * @param prefix Cache prefix
+         * @param index Cache index
+         * @param maxsize Max size of cached items in bytes
+         * @param ttl Time to live
+         * @checkstyle ParameterNumberCheck (10 lines)
+         */
+        private Tracked(
+            final Storage storage, final Key prefix, final CacheIndex index,
+            final long maxsize, final Duration ttl
+        ) {
+            this.identifier = storage.identifier();
+            this.prefix = prefix;
+            this.index = index;
+            this.indexed = new IndexedStorage(storage, index);
+            if (prefix.equals(Key.ROOT)) {
+                this.storage = this.indexed;
+            } else {
+                this.storage = new SubStorage(prefix, this.indexed);
+            }
+            this.loaded = new AtomicBoolean();
+            this.maxsize = maxsize;
+            this.ttl = ttl.toMillis();
+        }
+
+        /**
+         * Evict expired and least recently used items.
+         * @param name Cache name
+         * @return Completion
+         */
+        CompletableFuture<Void> sweep(final String name) {
+            final CompletableFuture<Void> res;
+            if (this.loaded.compareAndSet(false, true)) {
+                res = this.load().thenCompose(nothing -> this.evict(name));
+            } else {
+                res = this.evict(name);
+            }
+            return res.exceptionally(
+                err -> {
+                    Logger.warn(
+                        CacheEviction.class, "Failed to evict items of cache %s: %[exception]s",
+                        name, err
+                    );
+                    return null;
+                }
+            );
+        }
+
+        /**
+         * Index items stored before the cache was tracked with access time
+         * from metadata.
+         * @return Completion
+         */
+        private CompletableFuture<Void> load() {
+            final long now = System.currentTimeMillis();
+            return this.indexed.list(this.prefix).thenCompose(
+                keys -> CacheEviction.LANES.run(
+                    keys.stream().filter(this::cached).collect(Collectors.toList()),
+                    key -> this.indexed.metadata(key).thenAccept(
+                        meta -> this.index.putIfAbsent(
+                            key,
+                            meta.read(Meta.OP_SIZE).map(Long::longValue).orElse(0L),
+                            CacheEviction.accessed(meta).orElse(now)
+                        )
+                    )
+                )
+            );
+        }
+
+        /**
+         * Is key under the cache prefix.
+         * @param key Storage key
+         * @return True if key is a cache item
+         */
+        private boolean cached(final Key key) {
+            return this.prefix.equals(Key.ROOT)
+                || key.string().startsWith(this.prefix.string().concat("/"));
+        }
+
+        /**
+         * Remove items selected by index.
+         * @param name Cache name
+         * @return Completion
+         */
+        private CompletableFuture<Void> evict(final String name) {
+            final List<Key> keys = this.index.evictable(
+                this.maxsize, this.ttl, System.currentTimeMillis()
+            );
+            if (!keys.isEmpty()) {
+                Logger.info(
+                    CacheEviction.class, "Evicting %d items from cache %s", keys.size(), name
+                );
+            }
+            return CacheEviction.LANES.run(
+                keys,
+                key -> this.indexed.delete(key).handle(
+                    (nothing, err) -> {
+                        this.index.remove(key);
+                        return nothing;
+                    }
+                )
+            );
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.repo.proxy;
+
+import com.artipie.asto.Key;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of proxy cache items: keeps size and last access time of each
+ * cached item and selects items to evict by time to live and LRU order.
+ * Item content is not kept, each item takes one map entry with an
+ * {@link Item} of size and access time in seconds.
+ * @since 0.30
+ */
+final class CacheIndex {
+
+    /**
+     * Items by key string.
+     */
+    private final ConcurrentMap<String, Item> items;
+
+    /**
+     * Total size of items.
+     */
+    private final AtomicLong total;
+
+    /**
+     * Ctor.
+     */
+    CacheIndex() {
+        this.items = new ConcurrentHashMap<>();
+        this.total = new AtomicLong();
+    }
+
+    /**
+     * Add or replace item.
+     * @param key Item key
+     * @param size Item size
+     * @param time Access time, millis
+     */
+    void put(final Key key, final long size, final long time) {
+        final Item prev = this.items.put(key.string(), new Item(size, time));
+        if (prev == null) {
+            this.total.addAndGet(size);
+        } else {
+            this.total.addAndGet(size - prev.size);
+        }
+    }
+
+    /**
+     * Add item if it's not indexed yet.
+     * @param key Item key
+     * @param size Item size
+     * @param time Access time, millis
+     */
+    void putIfAbsent(final Key key, final long size, final long time) {
+        if (this.items.putIfAbsent(key.string(), new Item(size, time)) == null) {
+            this.total.addAndGet(size);
+        }
+    }
+
+    /**
+     * Update item access time.
+     * @param key Item key
+     * @param time Access time, millis
+     * @return True if item is indexed
+     */
+    boolean touch(final Key key, final long time) {
+        final Item item = this.items.get(key.string());
+        if (item != null) {
+            item.touch(time);
+        }
+        return item != null;
+    }
+
+    /**
+     * Remove item.
+     * @param key Item key
+     */
+    void remove(final Key key) {
+        final Item prev = this.items.remove(key.string());
+        if (prev != null) {
+            this.total.addAndGet(-prev.size);
+        }
+    }
+
+    /**
+     * Total size of indexed items.
+     * @return Size in bytes
+     */
+    long size() {
+        return this.total.get();
+    }
+
+    /**
+     * Select items to evict: all items which were not accessed during
+     * time to live and least recently used items which do not fit max size.
+     * @param maxsize Max total size
+     * @param ttl Time to live, millis
+     * @param now Current time, millis
+     * @return Keys to evict
+     */
+    List<Key> evictable(final long maxsize, final long ttl, final long now) {
+        final List<Map.Entry<String, Item>> lru = new ArrayList<>(this.items.entrySet());
+        final List<Map.Entry<String, Long>> times = new ArrayList<>(lru.size());
+        for (final Map.Entry<String, Item> entry : lru) {
+            times.add(Map.entry(entry.getKey(), entry.getValue().time()));
+        }
+        times.sort(Map.Entry.comparingByValue());
+        final List<Key> res = new ArrayList<>(0);
+        long remains = this.total.get();
+        for (final Map.Entry<String, Long> entry : times) {
+            if (now - entry.getValue() > ttl || remains > maxsize) {
+                res.add(new Key.From(entry.getKey()));
+                remains -= this.items.getOrDefault(entry.getKey(), Item.EMPTY).size;
+            } else {
+                break;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Indexed item: size and last access time in seconds, times are kept
+     * with seconds precision to keep items small.
+     * @since 0.30
+     */
+    private static final class Item {
+
+        /**
+         * Item which is not indexed.
+         */
+        private static final Item EMPTY = new Item(0L, 0L);
+
+        /**
+         * Milliseconds in second.
+         */
+        private static final long SECOND = 1000L;
+
+        /**
+         * Size in bytes.
+         */
+        private final long size;
+
+        /**
+         * Last access time, seconds since epoch.
+         */
+        private volatile int seconds;
+
+        /**
+         * Ctor.
+         * @param size Size in bytes
+         * @param time Access time, millis
+         */
+        Item(final long size, final long time) {
+            this.size = size;
+            this.seconds = Item.seconds(time);
+        }
+
+        /**
+         * Update access time.
+         * @param time Access time, millis
+         */
+        void touch(final long time) {
+            this.seconds = Item.seconds(time);
+        }
+
+        /**
+         * Last access time.
+         * @return Time, millis
+         */
+        long time() {
+            return Integer.toUnsignedLong(this.seconds) * Item.SECOND;
+        }
+
+        /**
+         * Time in seconds since epoch as unsigned int.
+         * @param time Time, millis
+         * @return Seconds
+         */
+        private static int seconds(final long time) {
+            return (int) Math.min(Math.max(time / Item.SECOND, 0L), 0xFFFF_FFFFL);
+        }
+    }
+}
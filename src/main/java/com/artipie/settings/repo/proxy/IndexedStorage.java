@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.repo.proxy;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage which records size and access time of items to {@link CacheIndex}.
+ * @since 0.30
+ */
+final class IndexedStorage extends Storage.Wrap {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Cache index.
+     */
+    private final CacheIndex index;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     * @param index Cache index
+     */
+    IndexedStorage(final Storage origin, final CacheIndex index) {
+        super(origin);
+        this.origin = origin;
+        this.index = index;
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.origin.value(key).thenApply(
+            content -> {
+                final long now = System.currentTimeMillis();
+                if (!this.index.touch(key, now)) {
+                    content.size().ifPresent(size -> this.index.put(key, size, now));
+                }
+                return content;
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        return this.origin.save(key, content).thenCompose(nothing -> this.indexed(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return this.origin.move(source, destination).thenCompose(
+            nothing -> {
+                this.index.remove(source);
+                return this.indexed(destination);
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return this.origin.delete(key).thenRun(() -> this.index.remove(key));
+    }
+
+    /**
+     * Add saved item to index.
+     * @param key Item key
+     * @return Completion
+     */
+    private CompletableFuture<Void> indexed(final Key key) {
+        return IndexedStorage.size(this.origin, key).thenAccept(
+            size -> this.index.put(key, size, System.currentTimeMillis())
+        );
+    }
+
+    /**
+     * Size of storage item from it's metadata.
+     * @param storage Storage
+     * @param key Item key
+     * @return Size in bytes, zero if unknown
+     */
+    static CompletableFuture<Long> size(final Storage storage, final Key key) {
+        return storage.metadata(key).thenApply(
+            meta -> meta.read(Meta.OP_SIZE).map(Long::longValue).orElse(0L)
+        );
+    }
+}
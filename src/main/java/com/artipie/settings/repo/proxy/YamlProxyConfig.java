@@ -8,16 +8,20 @@ import com.amihaiemil.eoyaml.Yaml;
 import com.amihaiemil.eoyaml.YamlMapping;
 import com.amihaiemil.eoyaml.YamlNode;
 import com.artipie.asto.Key;
-import com.artipie.asto.LoggingStorage;
 import com.artipie.asto.Storage;
 import com.artipie.asto.SubStorage;
 import com.artipie.http.client.ClientSlices;
 import com.artipie.http.client.auth.Authenticator;
 import com.artipie.http.client.auth.GenericAuthenticator;
 import com.artipie.settings.repo.RepoConfig;
+import com.artipie.settings.repo.SampledLoggingStorage;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.logging.Level;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -30,6 +34,21 @@ import java.util.stream.StreamSupport;
  */
 public final class YamlProxyConfig implements ProxyConfig {
 
+    /**
+     * Unlimited time to live.
+     */
+    private static final Duration UNLIMITED = Duration.ofMillis(Long.MAX_VALUE);
+
+    /**
+     * Cache size pattern: number with optional unit.
+     */
+    private static final Pattern SIZE = Pattern.compile("(\\d+)\\s*([bkmgtBKMGT])?[bB]?");
+
+    /**
+     * Time to live pattern: number with unit.
+     */
+    private static final Pattern TTL = Pattern.compile("(\\d+)\\s*([dhmsDHMS])");
+
     /**
      * HTTP client.
      */
@@ -109,12 +128,18 @@ public final class YamlProxyConfig implements ProxyConfig {
      * @return Storage.
      */
     Storage storageForProxy(final YamlNode node) {
-        return new SubStorage(
-            this.prefix,
-            new LoggingStorage(
-                Level.INFO,
-                this.repoConfig.storagesCache().storage(this.repoConfig.storageAliases(), node)
-            )
+        return new SubStorage(this.prefix, this.cacheStorage(node));
+    }
+
+    /**
+     * Storage which keeps proxy cache under cache storage prefix.
+     *
+     * @param node Storage config or alias.
+     * @return Storage.
+     */
+    private Storage cacheStorage(final YamlNode node) {
+        return new SampledLoggingStorage(
+            this.repoConfig.storagesCache().storage(this.repoConfig.storageAliases(), node)
         );
     }
 
@@ -173,11 +198,102 @@ public final class YamlProxyConfig implements ProxyConfig {
         public Optional<CacheStorage> cache() {
             return Optional.ofNullable(this.source.yamlMapping("cache")).flatMap(
                 root -> Optional.ofNullable(root.value("storage")).map(
-                    node -> new YamlProxyStorage(
-                        YamlProxyConfig.this.storageForProxy(node)
-                    )
+                    node -> {
+                        final long size = YamlProxyConfig.maxSize(root);
+                        final Duration ttl = YamlProxyConfig.ttl(root);
+                        final YamlProxyStorage res;
+                        if (size == Long.MAX_VALUE && ttl.equals(YamlProxyConfig.UNLIMITED)) {
+                            res = new YamlProxyStorage(
+                                YamlProxyConfig.this.storageForProxy(node)
+                            );
+                        } else {
+                            res = new YamlProxyStorage(
+                                new CacheEviction().track(
+                                    YamlProxyConfig.this.repoConfig.name(), this.url(),
+                                    YamlProxyConfig.this.cacheStorage(node),
+                                    YamlProxyConfig.this.prefix, size, ttl
+                                ),
+                                size, ttl
+                            );
+                        }
+                        return res;
+                    }
                 )
             );
         }
     }
+
+    /**
+     * Max size of cache from `max-size` field, e.g. `1073741824`, `512MB`, `10GB`.
+     * @param cache Cache yaml section
+     * @return Max size in bytes
+     */
+    private static long maxSize(final YamlMapping cache) {
+        final String value = cache.string("max-size");
+        final long res;
+        if (value == null) {
+            res = Long.MAX_VALUE;
+        } else {
+            final Matcher matcher = YamlProxyConfig.SIZE.matcher(value.trim());
+            if (!matcher.matches()) {
+                throw new IllegalStateException(
+                    String.format("Invalid proxy cache `max-size`: %s", value)
+                );
+            }
+            // @checkstyle MagicNumberCheck (1 line)
+            final int shift = 10 * "BKMGT".indexOf(
+                Optional.ofNullable(matcher.group(2)).orElse("B").toUpperCase(Locale.US)
+            );
+            final long number;
+            try {
+                number = Long.parseLong(matcher.group(1));
+            } catch (final NumberFormatException err) {
+                throw new IllegalStateException(
+                    String.format("Proxy cache `max-size` is too large: %s", value), err
+                );
+            }
+            if (number > Long.MAX_VALUE >> shift) {
+                throw new IllegalStateException(
+                    String.format("Proxy cache `max-size` is too large: %s", value)
+                );
+            }
+            res = number << shift;
+        }
+        return res;
+    }
+
+    /**
+     * Time to live of cache items since last access from `ttl` field,
+     * ISO-8601 duration (e.g. `P30D`, `PT12H`) or number with unit (e.g. `30d`, `12h`).
+     * @param cache Cache yaml section
+     * @return Time to live
+     */
+    private static Duration ttl(final YamlMapping cache) {
+        final String value = cache.string("ttl");
+        final Duration res;
+        if (value == null) {
+            res = YamlProxyConfig.UNLIMITED;
+        } else {
+            final Matcher matcher = YamlProxyConfig.TTL.matcher(value.trim());
+            try {
+                final Duration parsed;
+                if (!matcher.matches()) {
+                    parsed = Duration.parse(value.trim());
+                } else if ("d".equalsIgnoreCase(matcher.group(2))) {
+                    parsed = Duration.ofDays(Long.parseLong(matcher.group(1)));
+                } else {
+                    parsed = Duration.parse(
+                        String.format("PT%s%s", matcher.group(1), matcher.group(2))
+                    );
+                }
+                res = Duration.ofMillis(parsed.toMillis());
+            } catch (final DateTimeParseException | NumberFormatException
+                | ArithmeticException err) {
+                throw new IllegalStateException(
+                    String.format("Invalid proxy cache `ttl`: %s", value), err
+                );
+            }
+        }
+        return res;
+    }
 }
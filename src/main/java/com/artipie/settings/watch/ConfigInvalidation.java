@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.watch;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.settings.AliasSettings;
+import com.artipie.settings.ConfigFile;
+import com.jcabi.log.Logger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Listener of configuration storage changes, which invalidates repository
+ * related caches: a change of repository config invalidates entries of this
+ * repository only, a change of storage aliases or unknown change invalidates
+ * all entries.
+ * @since 0.30
+ */
+public final class ConfigInvalidation implements Consumer<Key> {
+
+    /**
+     * Caches with repository name keys.
+     */
+    private final Collection<Cleanable<String>> caches;
+
+    /**
+     * Ctor.
+     * @param caches Caches with repository name keys
+     */
+    @SafeVarargs
+    public ConfigInvalidation(final Cleanable<String>... caches) {
+        this(Arrays.asList(caches));
+    }
+
+    /**
+     * Ctor.
+     * @param caches Caches with repository name keys
+     */
+    public ConfigInvalidation(final Collection<Cleanable<String>> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public void accept(final Key key) {
+        final ConfigFile file = new ConfigFile(key);
+        if (key.string().isEmpty() || file.isYamlOrYml() && ConfigInvalidation.aliases(file)) {
+            Logger.debug(this, "Config storage changed (%s), invalidating all", key.string());
+            this.caches.forEach(Cleanable::invalidateAll);
+        } else if (file.isYamlOrYml()) {
+            final String name = file.name();
+            Logger.debug(this, "Config of repository '%s' changed", name);
+            this.caches.forEach(cache -> cache.invalidate(name));
+        }
+    }
+
+    /**
+     * Is it storage aliases file of any level?
+     * @param file Config file
+     * @return True if it's aliases file
+     */
+    private static boolean aliases(final ConfigFile file) {
+        final String name = file.name();
+        final String aliases = new ConfigFile(AliasSettings.FILE_NAME).name();
+        return name.equals(aliases) || name.endsWith(String.format("/%s", aliases));
+    }
+}
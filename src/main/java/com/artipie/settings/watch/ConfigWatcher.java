@@ -0,0 +1,43 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.watch;
+
+import com.artipie.asto.Key;
+import java.util.function.Consumer;
+
+/**
+ * Watcher of repositories configuration storage. Notifies listener with the keys
+ * (relative to repositories configuration storage) of changed items, {@link Key#ROOT}
+ * is passed when it's not possible to determine what exactly was changed.
+ * @since 0.30
+ */
+public interface ConfigWatcher extends AutoCloseable {
+
+    /**
+     * Watcher which does not watch anything.
+     */
+    ConfigWatcher NONE = new ConfigWatcher() {
+        @Override
+        public void start(final Consumer<Key> listener) {
+            // @checkstyle MethodBodyCommentsCheck (1 line)
+            // do nothing
+        }
+
+        @Override
+        public void close() {
+            // @checkstyle MethodBodyCommentsCheck (1 line)
+            // do nothing
+        }
+    };
+
+    /**
+     * Start watching.
+     * @param listener Listener of changed keys
+     */
+    void start(Consumer<Key> listener);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.watch;
+
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.ArtipieException;
+import com.artipie.asto.Key;
+import io.etcd.jetcd.Client;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.redisson.Redisson;
+import org.redisson.config.Config;
+
+/**
+ * Config watcher factory: creates watcher of repositories configuration
+ * storage by Artipie `meta` settings section.
+ * @since 0.30
+ */
+public final class ConfigWatcherFactory {
+
+    /**
+     * Ctor.
+     */
+    private ConfigWatcherFactory() {
+    }
+
+    /**
+     * Create config watcher for configuration storage. If storage type
+     * does not support change notifications, {@link ConfigWatcher#NONE} is returned.
+     * @param meta Artipie `meta` settings section
+     * @return Config watcher
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static ConfigWatcher newInstance(final YamlMapping meta) {
+        final YamlMapping storage = meta.yamlMapping("storage");
+        final Optional<String> configs = Optional.ofNullable(meta.string("repo_configs"));
+        final ConfigWatcher res;
+        if (storage == null) {
+            res = ConfigWatcher.NONE;
+        } else {
+            switch (Optional.ofNullable(storage.string("type")).orElse("")) {
+                case "fs":
+                case "vertx-file":
+                    final Path root = Path.of(storage.string("path"));
+                    res = new FsConfigWatcher(configs.map(root::resolve).orElse(root));
+                    break;
+                case "etcd":
+                    res = new EtcdConfigWatcher(
+                        Client.builder().endpoints(
+                            storage.yamlMapping("connection").yamlSequence("endpoints")
+                                .values().stream().map(node -> node.asScalar().value())
+                                .toArray(String[]::new)
+                        ).build(),
+                        configs.<Key>map(Key.From::new).orElse(Key.ROOT)
+                    );
+                    break;
+                case "redis":
+                    try {
+                        res = new RedisConfigWatcher(
+                            Redisson.create(Config.fromYAML(storage.string("config"))),
+                            Optional.ofNullable(storage.string("name")).orElse("artipie-redis")
+                        );
+                    } catch (final IOException err) {
+                        throw new ArtipieException(err);
+                    }
+                    break;
+                default:
+                    res = ConfigWatcher.NONE;
+                    break;
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.watch;
+
+import com.artipie.asto.Key;
+import com.jcabi.log.Logger;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import io.etcd.jetcd.Watch;
+import io.etcd.jetcd.options.WatchOption;
+import io.etcd.jetcd.watch.WatchEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Watcher of etcd configuration storage, uses etcd watch API for all
+ * keys with configuration prefix.
+ * @since 0.30
+ */
+public final class EtcdConfigWatcher implements ConfigWatcher {
+
+    /**
+     * Etcd client.
+     */
+    private final Client client;
+
+    /**
+     * Configuration keys prefix.
+     */
+    private final Key prefix;
+
+    /**
+     * Active watcher.
+     */
+    private final AtomicReference<Watch.Watcher> watcher;
+
+    /**
+     * Ctor.
+     * @param client Etcd client
+     * @param prefix Configuration keys prefix
+     */
+    public EtcdConfigWatcher(final Client client, final Key prefix) {
+        this.client = client;
+        this.prefix = prefix;
+        this.watcher = new AtomicReference<>();
+    }
+
+    @Override
+    public void start(final Consumer<Key> listener) {
+        final String start;
+        if (this.prefix.string().isEmpty()) {
+            start = "";
+        } else {
+            start = String.format("%s/", this.prefix.string());
+        }
+        final ByteSequence seq = ByteSequence.from(start, StandardCharsets.UTF_8);
+        this.watcher.set(
+            this.client.getWatchClient().watch(
+                seq,
+                WatchOption.newBuilder().withPrefix(seq).build(),
+                Watch.listener(
+                    rsp -> {
+                        for (final WatchEvent event : rsp.getEvents()) {
+                            listener.accept(
+                                new Key.From(
+                                    event.getKeyValue().getKey()
+                                        .toString(StandardCharsets.UTF_8)
+                                        .substring(start.length())
+                                )
+                            );
+                        }
+                    },
+                    err -> {
+                        Logger.error(this, "Config watch failed: %[exception]s", err);
+                        listener.accept(Key.ROOT);
+                    }
+                )
+            )
+        );
+    }
+
+    @Override
+    public void close() {
+        final Watch.Watcher current = this.watcher.getAndSet(null);
+        if (current != null) {
+            current.close();
+        }
+        this.client.close();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.watch;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Key;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Watcher of file system configuration storage, uses {@link WatchService}
+ * on configuration directory and all it's subdirectories.
+ * @since 0.30
+ */
+public final class FsConfigWatcher implements ConfigWatcher {
+
+    /**
+     * Configuration directory.
+     */
+    private final Path root;
+
+    /**
+     * Watch service.
+     */
+    private volatile WatchService service;
+
+    /**
+     * Ctor.
+     * @param root Configuration directory
+     */
+    public FsConfigWatcher(final Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public void start(final Consumer<Key> listener) {
+        try {
+            this.service = this.root.getFileSystem().newWatchService();
+            this.register(this.root);
+        } catch (final IOException err) {
+            throw new ArtipieIOException(err);
+        }
+        final Thread thread = new Thread(
+            () -> this.loop(listener), String.format("config-watcher-%s", this.root)
+        );
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        if (this.service != null) {
+            try {
+                this.service.close();
+            } catch (final IOException err) {
+                throw new ArtipieIOException(err);
+            }
+        }
+    }
+
+    /**
+     * Process watch events until watch service is closed.
+     * @param listener Listener of changed keys
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void loop(final Consumer<Key> listener) {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = this.service.take();
+            } catch (final ClosedWatchServiceException | InterruptedException ex) {
+                break;
+            }
+            final Path dir = (Path) key.watchable();
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                try {
+                    listener.accept(this.changed(dir, event));
+                // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final RuntimeException err) {
+                    Logger.error(this, "Failed to process config change: %[exception]s", err);
+                }
+            }
+            key.reset();
+        }
+    }
+
+    /**
+     * Find changed key by watch event, registers new directories for watching.
+     * @param dir Watched directory
+     * @param event Watch event
+     * @return Changed key
+     */
+    private Key changed(final Path dir, final WatchEvent<?> event) {
+        final Key res;
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            res = Key.ROOT;
+        } else {
+            final Path path = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                && Files.isDirectory(path)) {
+                try {
+                    this.register(path);
+                } catch (final IOException err) {
+                    throw new ArtipieIOException(err);
+                }
+                res = Key.ROOT;
+            } else {
+                final List<String> parts = StreamSupport.stream(
+                    this.root.relativize(path).spliterator(), false
+                ).map(Path::toString).collect(Collectors.toList());
+                res = new Key.From(parts);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Register directory and all it's subdirectories in watch service.
+     * @param dir Directory
+     * @throws IOException On error
+     */
+    private void register(final Path dir) throws IOException {
+        try (Stream<Path> dirs = Files.walk(dir)) {
+            for (final Path sub : dirs.filter(Files::isDirectory).collect(Collectors.toList())) {
+                sub.register(
+                    this.service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.watch;
+
+import com.artipie.asto.Key;
+import java.util.function.Consumer;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * Watcher of redis configuration storage. Redis storage keeps all items in
+ * one hash, keyspace notifications do not contain hash fields, so every
+ * notification means that anything could be changed. Keyspace notifications
+ * have to be enabled on redis server (`notify-keyspace-events Kh`).
+ * @since 0.30
+ */
+public final class RedisConfigWatcher implements ConfigWatcher {
+
+    /**
+     * Redisson client.
+     */
+    private final RedissonClient client;
+
+    /**
+     * Name of redis hash where storage items are kept.
+     */
+    private final String name;
+
+    /**
+     * Ctor.
+     * @param client Redisson client
+     * @param name Name of redis hash where storage items are kept
+     */
+    public RedisConfigWatcher(final RedissonClient client, final String name) {
+        this.client = client;
+        this.name = name;
+    }
+
+    @Override
+    public void start(final Consumer<Key> listener) {
+        this.client.getPatternTopic(
+            String.format("__keyspace@*__:%s", this.name), StringCodec.INSTANCE
+        ).addListener(String.class, (pattern, channel, msg) -> listener.accept(Key.ROOT));
+    }
+
+    @Override
+    public void close() {
+        this.client.shutdown();
+    }
+}
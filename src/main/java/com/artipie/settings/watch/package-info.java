@@ -0,0 +1,11 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+
+/**
+ * Watching Artipie configuration storage for changes.
+ *
+ * @since 0.30
+ */
+package com.artipie.settings.watch;
@@ -4,10 +4,15 @@
  */
 package com.artipie;
 
+import com.amihaiemil.eoyaml.Yaml;
 import com.artipie.http.client.Settings;
+import com.artipie.http.client.jetty.JettyClientSlices;
+import java.util.List;
 import java.util.Optional;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
+import org.hamcrest.core.IsNull;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -71,4 +76,83 @@ class HttpClientSettingsTest {
             new IsEqual<>(true)
         );
     }
+
+    @Test
+    public void shouldReadSettingsFromYaml() {
+        final HttpClientSettings settings = new HttpClientSettings(
+            Yaml.createYamlMappingBuilder()
+                .add("connect_timeout", "5000")
+                .add("follow_redirects", "false")
+                .build()
+        );
+        MatcherAssert.assertThat(
+            "Connect timeout from yaml",
+            settings.connectTimeout(),
+            new IsEqual<>(5000L)
+        );
+        MatcherAssert.assertThat(
+            "Idle timeout is default",
+            settings.idleTimeout(),
+            new IsEqual<>(30_000L)
+        );
+        MatcherAssert.assertThat(
+            "Redirects from yaml",
+            settings.followRedirects(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    public void shouldReadProxyFromYaml() {
+        final Optional<Settings.Proxy> proxy = new HttpClientSettings(
+            Yaml.createYamlMappingBuilder().add(
+                "proxy",
+                Yaml.createYamlMappingBuilder()
+                    .add("host", "proxy.com")
+                    .add("port", "3128")
+                    .add("secure", "true")
+                    .build()
+            ).build()
+        ).proxy();
+        MatcherAssert.assertThat(
+            "Proxy has expected host and port",
+            proxy.map(item -> String.format("%s:%d", item.host(), item.port())).orElse("none"),
+            new IsEqual<>("proxy.com:3128")
+        );
+        MatcherAssert.assertThat(
+            "Proxy is secure",
+            proxy.get().secure(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    public void shouldReportUnsupportedSettings() {
+        MatcherAssert.assertThat(
+            new HttpClientSettings(
+                Yaml.createYamlMappingBuilder()
+                    .add("idle_timeout", "8000")
+                    .add("max_connections_per_destination", "256")
+                    .add("http2", "true")
+                    .build()
+            ).unsupported(),
+            new IsEqual<>(List.of("max_connections_per_destination", "http2"))
+        );
+    }
+
+    @Test
+    public void shouldCreateClient() throws Exception {
+        final JettyClientSlices client = new HttpClientSettings(
+            Yaml.createYamlMappingBuilder().add("idle_timeout", "8000").build()
+        ).client();
+        client.start();
+        try {
+            MatcherAssert.assertThat(
+                client.http("localhost"),
+                new IsNot<>(new IsNull<>())
+            );
+        } finally {
+            client.stop();
+        }
+    }
 }
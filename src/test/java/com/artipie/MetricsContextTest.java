@@ -39,6 +39,7 @@ public class MetricsContextTest {
         MatcherAssert.assertThat(
             "Metrics (all types) are enabled",
             metrics.enabled() && metrics.jvm() && metrics.http() && metrics.storage()
+                && metrics.upstream()
         );
     }
 
@@ -54,6 +55,7 @@ public class MetricsContextTest {
         MatcherAssert.assertThat(
             "Metrics (all types) are disabled",
             !metrics.enabled() && !metrics.jvm() && !metrics.http() && !metrics.storage()
+                && !metrics.upstream()
         );
     }
 
@@ -75,10 +77,10 @@ public class MetricsContextTest {
     @Test
     void returnsTrueWhenTypeIsEnabled() {
         final MetricsContext metrics =
-            new MetricsContext(this.settings("/any", 9876, "jvm", "http", "storage"));
+            new MetricsContext(this.settings("/any", 9876, "jvm", "http", "storage", "upstream"));
         MatcherAssert.assertThat(
             "Metrics (all types) are enabled",
-            metrics.jvm() && metrics.http() && metrics.storage()
+            metrics.jvm() && metrics.http() && metrics.storage() && metrics.upstream()
         );
     }
 
@@ -88,7 +90,7 @@ public class MetricsContextTest {
             new MetricsContext(this.settings("/any", 9876));
         MatcherAssert.assertThat(
             "Metrics (all types) are disabled",
-            !metrics.jvm() && !metrics.http() && !metrics.storage()
+            !metrics.jvm() && !metrics.http() && !metrics.storage() && !metrics.upstream()
         );
     }
 
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.adapters;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.cache.CacheControl;
+import com.artipie.asto.cache.FromStorageCache;
+import com.artipie.asto.cache.Remote;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link CoalescingCache}.
+ * @since 0.30
+ */
+final class CoalescingCacheTest {
+
+    @Test
+    void fetchesRemoteOnceForConcurrentLoads() {
+        final CoalescingCache cache = new CoalescingCache(
+            "my-proxy", new FromStorageCache(new InMemoryStorage())
+        );
+        final Key key = new Key.From("com/artipie/lib/1.0/lib-1.0.jar");
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<Optional<? extends Content>> upstream = new CompletableFuture<>();
+        final Remote remote = () -> {
+            calls.incrementAndGet();
+            return upstream;
+        };
+        final CompletionStage<Optional<? extends Content>> first =
+            cache.load(key, remote, CacheControl.Standard.ALWAYS);
+        final CompletionStage<Optional<? extends Content>> second =
+            cache.load(key, remote, CacheControl.Standard.ALWAYS);
+        upstream.complete(
+            Optional.of(new Content.From("jar".getBytes(StandardCharsets.UTF_8)))
+        );
+        MatcherAssert.assertThat(
+            "Content was not loaded",
+            new String[] {CoalescingCacheTest.read(first), CoalescingCacheTest.read(second)},
+            Matchers.arrayContaining("jar", "jar")
+        );
+        MatcherAssert.assertThat(
+            "Remote was called more than once",
+            calls.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void returnsEmptyToWaitersIfRemoteHasNoItem() {
+        final CoalescingCache cache = new CoalescingCache(
+            "empty-proxy", new FromStorageCache(new InMemoryStorage())
+        );
+        final Key key = new Key.From("absent.txt");
+        final CompletableFuture<Optional<? extends Content>> upstream = new CompletableFuture<>();
+        cache.load(key, () -> upstream, CacheControl.Standard.ALWAYS);
+        final CompletionStage<Optional<? extends Content>> waiter =
+            cache.load(key, Remote.EMPTY, CacheControl.Standard.ALWAYS);
+        upstream.complete(Optional.empty());
+        MatcherAssert.assertThat(
+            waiter.toCompletableFuture().join().isPresent(),
+            Matchers.equalTo(false)
+        );
+    }
+
+    @Test
+    void failsWaitersIfFirstLoadFailed() {
+        final CoalescingCache cache = new CoalescingCache(
+            "failed-proxy", new FromStorageCache(new InMemoryStorage())
+        );
+        final Key key = new Key.From("failed.txt");
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<Optional<? extends Content>> upstream = new CompletableFuture<>();
+        final Remote remote = () -> {
+            calls.incrementAndGet();
+            return upstream;
+        };
+        cache.load(key, remote, CacheControl.Standard.ALWAYS);
+        final CompletionStage<Optional<? extends Content>> waiter =
+            cache.load(key, remote, CacheControl.Standard.ALWAYS);
+        upstream.completeExceptionally(new IllegalStateException("Upstream failed"));
+        Assertions.assertThrows(
+            CompletionException.class, () -> waiter.toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            "Waiter called remote",
+            calls.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void releasesCompletedLoads() {
+        new CoalescingCache("released-proxy", new FromStorageCache(new InMemoryStorage()))
+            .load(new Key.From("any"), Remote.EMPTY, CacheControl.Standard.ALWAYS)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(CoalescingCache.inflight(), Matchers.equalTo(0));
+    }
+
+    /**
+     * Read loaded content as string.
+     * @param loaded Loaded content
+     * @return Content string
+     */
+    private static String read(final CompletionStage<Optional<? extends Content>> loaded) {
+        return new PublisherAs(loaded.toCompletableFuture().join().orElseThrow())
+            .asciiString().toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.adapters;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.StandardRs;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link CoalescingSlice}.
+ * @since 0.30
+ */
+final class CoalescingSliceTest {
+
+    @Test
+    void releasesWaitersWhenHeadersOfMissArrive() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new CoalescingSlice(
+            "headers-proxy",
+            (line, headers, body) -> {
+                calls.incrementAndGet();
+                return StandardRs.NOT_FOUND;
+            }
+        );
+        final String line = new RequestLine(RqMethod.GET, "/simple/lib/").toString();
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        final CompletableFuture<Void> first = slice.response(line, Headers.EMPTY, Content.EMPTY)
+            .send((status, headers, body) -> sent).toCompletableFuture();
+        slice.response(line, Headers.EMPTY, Content.EMPTY)
+            .send((status, headers, body) -> CompletableFuture.allOf())
+            .toCompletableFuture().get(1, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "First response was completed",
+            first.isDone(),
+            Matchers.equalTo(false)
+        );
+        MatcherAssert.assertThat(
+            "Origin was not called for waiter",
+            calls.get(),
+            Matchers.equalTo(2)
+        );
+        sent.complete(null);
+    }
+
+    @Test
+    void followsFirstSuccessfulResponseUntilCompleted() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new CoalescingSlice(
+            "follow-proxy",
+            (line, headers, body) -> {
+                calls.incrementAndGet();
+                return StandardRs.OK;
+            }
+        );
+        final String line = new RequestLine(RqMethod.GET, "/simple/lib/").toString();
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        slice.response(line, Headers.EMPTY, Content.EMPTY)
+            .send((status, headers, body) -> sent);
+        final CompletableFuture<Void> waiter = slice.response(line, Headers.EMPTY, Content.EMPTY)
+            .send((status, headers, body) -> CompletableFuture.allOf())
+            .toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Waiter was served before first response completed",
+            calls.get() == 1 && !waiter.isDone(),
+            Matchers.equalTo(true)
+        );
+        sent.complete(null);
+        waiter.get(1, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "Origin was not called for waiter",
+            calls.get(),
+            Matchers.equalTo(2)
+        );
+    }
+}
@@ -0,0 +1,11 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+
+/**
+ * Tests for adapter's specific classes.
+ *
+ * @since 0.30
+ */
+package com.artipie.adapters;
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.api;
+
+import com.artipie.nuget.RandomFreePort;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jetty.http.HttpStatus;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Test for {@link BlockingHandler}.
+ * @since 0.30
+ */
+@ExtendWith(VertxExtension.class)
+final class BlockingHandlerTest {
+
+    /**
+     * Test timeout in seconds.
+     */
+    private static final long TIMEOUT = 5;
+
+    /**
+     * Server port.
+     */
+    private int port;
+
+    @BeforeEach
+    void setUp(final Vertx vertx, final VertxTestContext ctx) throws IOException {
+        this.port = new RandomFreePort().value();
+        vertx.deployVerticle(
+            new TestApi(this.port),
+            new DeploymentOptions().setWorkerPoolName(RestApi.WORKERS).setWorkerPoolSize(2)
+        ).onComplete(ctx.succeedingThenComplete());
+    }
+
+    @Test
+    void runsOnRestApiWorker(final Vertx vertx, final VertxTestContext ctx) throws Exception {
+        WebClient.create(vertx).get(this.port, "localhost", "/thread").send()
+            .onComplete(
+                ctx.succeeding(
+                    rsp -> ctx.verify(
+                        () -> MatcherAssert.assertThat(
+                            rsp.bodyAsString(),
+                            Matchers.startsWith(RestApi.WORKERS)
+                        )
+                    ).completeNow()
+                )
+            );
+        MatcherAssert.assertThat(
+            ctx.awaitCompletion(BlockingHandlerTest.TIMEOUT, TimeUnit.SECONDS),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void passesFailureToRouteFailureHandler(final Vertx vertx, final VertxTestContext ctx)
+        throws Exception {
+        WebClient.create(vertx).get(this.port, "localhost", "/fail").send()
+            .onComplete(
+                ctx.succeeding(
+                    rsp -> ctx.verify(
+                        () -> {
+                            MatcherAssert.assertThat(
+                                "Wrong status",
+                                rsp.statusCode(),
+                                new IsEqual<>(HttpStatus.INTERNAL_SERVER_ERROR_500)
+                            );
+                            MatcherAssert.assertThat(
+                                "Wrong failure",
+                                rsp.statusMessage(),
+                                new IsEqual<>("Storage failed")
+                            );
+                        }
+                    ).completeNow()
+                )
+            );
+        MatcherAssert.assertThat(
+            ctx.awaitCompletion(BlockingHandlerTest.TIMEOUT, TimeUnit.SECONDS),
+            new IsEqual<>(true)
+        );
+    }
+
+    /**
+     * Verticle with blocking routes: `/thread` answers with name of the thread
+     * handler runs on, `/fail` fails.
+     * @since 0.30
+     */
+    private static final class TestApi extends AbstractVerticle {
+
+        /**
+         * Server port.
+         */
+        private final int port;
+
+        /**
+         * Ctor.
+         * @param port Server port
+         */
+        TestApi(final int port) {
+            this.port = port;
+        }
+
+        @Override
+        public void start(final Promise<Void> started) {
+            final Router router = Router.router(this.vertx);
+            router.get("/thread").handler(
+                new BlockingHandler(
+                    context -> context.response().end(Thread.currentThread().getName())
+                )
+            );
+            router.get("/fail").handler(
+                new BlockingHandler(
+                    context -> {
+                        throw new IllegalStateException("Storage failed");
+                    }
+                )
+            ).failureHandler(
+                context -> context.response()
+                    .setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR_500)
+                    .setStatusMessage(context.failure().getMessage())
+                    .end()
+            );
+            this.vertx.createHttpServer().requestHandler(router).listen(this.port)
+                .<Void>mapEmpty().onComplete(started);
+        }
+    }
+}
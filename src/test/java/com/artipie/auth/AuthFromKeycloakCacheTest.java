@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.auth;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.keycloak.authorization.client.util.HttpResponseException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link AuthFromKeycloak} grants caching and timeouts.
+ * @since 0.30
+ */
+final class AuthFromKeycloakCacheTest {
+
+    /**
+     * Workers pool.
+     */
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        this.pool = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.pool.shutdownNow();
+    }
+
+    @Test
+    void remembersGrantUntilExpiration() {
+        final AtomicInteger calls = new AtomicInteger();
+        final AuthFromKeycloak auth = new AuthFromKeycloak(
+            (user, pass) -> {
+                calls.incrementAndGet();
+                return 300L;
+            },
+            this.pool, 1000L
+        );
+        auth.user("alice", "secret");
+        MatcherAssert.assertThat(
+            "User was not authenticated",
+            auth.user("alice", "secret").isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Grant was not cached",
+            calls.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void requestsNewGrantAfterExpiration() {
+        final AtomicInteger calls = new AtomicInteger();
+        final AuthFromKeycloak auth = new AuthFromKeycloak(
+            (user, pass) -> {
+                calls.incrementAndGet();
+                return 0L;
+            },
+            this.pool, 1000L
+        );
+        auth.user("bob", "secret");
+        auth.user("bob", "secret");
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void doesNotAuthenticateRejectedCredentials() {
+        MatcherAssert.assertThat(
+            new AuthFromKeycloak(
+                (user, pass) -> {
+                    throw new IllegalStateException(
+                        "Could not obtain access token",
+                        new HttpResponseException(
+                            "Unexpected response from server: 401 / Unauthorized", 401,
+                            "Unauthorized", new byte[0]
+                        )
+                    );
+                },
+                this.pool, 1000L
+            ).user("john", "wrong").isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void reportsUnavailableOnFailureOrTimeout() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AuthFromKeycloak failed = new AuthFromKeycloak(
+            (user, pass) -> {
+                throw new IllegalStateException("Connection refused");
+            },
+            this.pool, 1000L
+        );
+        Assertions.assertThrows(
+            AuthUnavailableException.class,
+            () -> failed.user("john", "any"),
+            "Failed grant was not reported"
+        );
+        final AuthFromKeycloak slow = new AuthFromKeycloak(
+            (user, pass) -> {
+                latch.await();
+                return 300L;
+            },
+            this.pool, 100L
+        );
+        Assertions.assertThrows(
+            AuthUnavailableException.class,
+            () -> slow.user("john", "slow"),
+            "Timed out grant was not reported"
+        );
+        latch.countDown();
+    }
+}
@@ -107,7 +107,7 @@ public class AuthFromKeycloakTest {
     /**
      * Compiles, loads 'keycloak.KeycloakDockerInitializer' class and start 'main'-method.
      * Runtime compilation is required because 'keycloak.KeycloakDockerInitializer' class
-     * has a clash of dependencies with Artipie's dependency 'com.jcabi:jcabi-github:1.3.2'.
+     * has a clash of dependencies with Artipie's dependencies.
      */
     @BeforeAll
     static void init() {
@@ -4,12 +4,17 @@
  */
 package com.artipie.auth;
 
+import com.artipie.asto.Content;
 import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
 import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.http.auth.AuthUser;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.awaitility.Awaitility;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +26,7 @@ import org.junit.jupiter.params.provider.ValueSource;
  * Test for {@link AuthFromStorage}.
  * @since 1.29
  * @checkstyle MethodNameCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
  */
 @SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 class AuthFromStorageTest {
@@ -28,11 +34,17 @@ class AuthFromStorageTest {
     /**
      * Test storage.
      */
+    private Storage storage;
+
+    /**
+     * Blocking test storage.
+     */
     private BlockingStorage asto;
 
     @BeforeEach
     void init() {
-        this.asto = new BlockingStorage(new InMemoryStorage());
+        this.storage = new InMemoryStorage();
+        this.asto = new BlockingStorage(this.storage);
     }
 
     @ParameterizedTest
@@ -40,7 +52,7 @@ class AuthFromStorageTest {
     void authorisesUserWithPlainPassword(final String key) {
         this.asto.save(new Key.From(key), this.aliceConfig());
         MatcherAssert.assertThat(
-            new AuthFromStorage(this.asto).user("alice", "qwerty").get(),
+            this.auth().user("alice", "qwerty").get(),
             new IsEqual<>(new AuthUser("alice", "test"))
         );
     }
@@ -50,7 +62,7 @@ class AuthFromStorageTest {
     void notAuthorisesUserWithPlainPasswordIfPasswordNotCorrect(final String key) {
         this.asto.save(new Key.From(key), this.aliceConfig());
         MatcherAssert.assertThat(
-            new AuthFromStorage(this.asto).user("alice", "not_correct").isEmpty(),
+            this.auth().user("alice", "not_correct").isEmpty(),
             new IsEqual<>(true)
         );
     }
@@ -60,7 +72,7 @@ class AuthFromStorageTest {
     void authorisesUserWithSha256Password(final String key) {
         this.asto.save(new Key.From(key), this.davidConfig());
         MatcherAssert.assertThat(
-            new AuthFromStorage(this.asto).user("david", "abc123").get(),
+            this.auth().user("david", "abc123").get(),
             new IsEqual<>(new AuthUser("david", "test"))
         );
     }
@@ -70,7 +82,7 @@ class AuthFromStorageTest {
     void notAuthorisesUserWithSha256PasswordIfPasswordNotCorrect(final String key) {
         this.asto.save(new Key.From(key), this.davidConfig());
         MatcherAssert.assertThat(
-            new AuthFromStorage(this.asto).user("david", "not_valid").isEmpty(),
+            this.auth().user("david", "not_valid").isEmpty(),
             new IsEqual<>(true)
         );
     }
@@ -79,7 +91,7 @@ class AuthFromStorageTest {
     void doesNotAuthoriseDisabledUser() {
         this.asto.save(new Key.From("users/jane.yml"), this.janeConfig());
         MatcherAssert.assertThat(
-            new AuthFromStorage(this.asto).user("jane", "qwerty").isEmpty(),
+            this.auth().user("jane", "qwerty").isEmpty(),
             new IsEqual<>(true)
         );
     }
@@ -87,7 +99,7 @@ class AuthFromStorageTest {
     @Test
     void doesNotAuthoriseIfUserNotExists() {
         MatcherAssert.assertThat(
-            new AuthFromStorage(this.asto).user("notPresent", "any").isEmpty(),
+            this.auth().user("notPresent", "any").isEmpty(),
             new IsEqual<>(true)
         );
     }
@@ -96,11 +108,101 @@ class AuthFromStorageTest {
     void doesNotAuthoriseIfUserYamlIsNotValid() {
         this.asto.save(new Key.From("users/olga.yml"), "any text".getBytes(StandardCharsets.UTF_8));
         MatcherAssert.assertThat(
-            new AuthFromStorage(this.asto).user("olga", "any").isEmpty(),
+            this.auth().user("olga", "any").isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void findsUserAddedAfterInvalidation() {
+        final UsersIndex index = new UsersIndex(this.storage, Long.MAX_VALUE);
+        final AuthFromStorage auth = new AuthFromStorage(index);
+        auth.loaded().toCompletableFuture().join();
+        this.asto.save(new Key.From("users/alice.yml"), this.aliceConfig());
+        auth.invalidate("alice");
+        index.load("alice").join();
+        MatcherAssert.assertThat(
+            auth.user("alice", "qwerty").isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void usesPreviousPasswordWhileReloadingAfterInvalidation() {
+        this.asto.save(new Key.From("users/alice.yml"), this.aliceConfig());
+        final Storage slow = new Storage.Wrap(this.storage) {
+            @Override
+            public CompletableFuture<Content> value(final Key key) {
+                return CompletableFuture.runAsync(
+                    () -> { },
+                    CompletableFuture.delayedExecutor(100L, TimeUnit.MILLISECONDS)
+                ).thenCompose(nothing -> super.value(key));
+            }
+        };
+        final AuthFromStorage auth = new AuthFromStorage(new UsersIndex(slow, Long.MAX_VALUE));
+        auth.loaded().toCompletableFuture().join();
+        this.asto.save(
+            new Key.From("users/alice.yml"),
+            "type: plain\npass: changed".getBytes(StandardCharsets.UTF_8)
+        );
+        auth.invalidate("alice");
+        MatcherAssert.assertThat(
+            "Previous password is used while user is reloaded",
+            auth.user("alice", "qwerty").isPresent(),
+            new IsEqual<>(true)
+        );
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> auth.user("alice", "changed").isPresent());
+    }
+
+    @Test
+    void findsUserAddedAfterBulkLoad() {
+        final AuthFromStorage auth = this.auth();
+        this.asto.save(new Key.From("users/alice.yaml"), this.aliceConfig());
+        MatcherAssert.assertThat(
+            "First lookup of unknown user misses",
+            auth.user("alice", "qwerty").isPresent(),
+            new IsEqual<>(false)
+        );
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> auth.user("alice", "qwerty").isPresent());
+    }
+
+    @Test
+    void doesNotWaitForStorageOnLookup() {
+        this.asto.save(new Key.From("users/alice.yaml"), this.aliceConfig());
+        final Storage hanging = new Storage.Wrap(this.storage) {
+            @Override
+            public CompletableFuture<Content> value(final Key key) {
+                return new CompletableFuture<>();
+            }
+        };
+        MatcherAssert.assertThat(
+            new AuthFromStorage(new UsersIndex(hanging, Long.MAX_VALUE))
+                .user("alice", "qwerty").isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void forgetsRemovedUserAfterReload() {
+        this.asto.save(new Key.From("users/alice.yaml"), this.aliceConfig());
+        final AuthFromStorage auth = this.auth();
+        this.asto.delete(new Key.From("users/alice.yaml"));
+        auth.invalidateAll();
+        auth.loaded().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            auth.user("alice", "qwerty").isEmpty(),
             new IsEqual<>(true)
         );
     }
 
+    private AuthFromStorage auth() {
+        final AuthFromStorage auth = new AuthFromStorage(this.storage);
+        auth.loaded().toCompletableFuture().join();
+        return auth;
+    }
+
     private byte[] aliceConfig() {
         return String.join(
             "\n",
@@ -5,10 +5,19 @@
 package com.artipie.auth;
 
 import com.artipie.ArtipieException;
+import com.artipie.http.Slice;
 import com.artipie.http.auth.AuthUser;
+import com.artipie.http.client.ClientSlices;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
-import org.cactoos.text.Joined;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -25,13 +34,16 @@ final class GithubAuthTest {
         final String secret = "secret";
         MatcherAssert.assertThat(
             new GithubAuth(
-                // @checkstyle ReturnCountCheck (5 lines)
                 token -> {
+                    String login = "";
                     if (token.equals(secret)) {
-                        return "User";
+                        login = "User";
                     }
-                    return "";
-                }
+                    return CompletableFuture.completedFuture(
+                        new GithubAuth.Login(login, Optional.empty())
+                    );
+                },
+                5000L
             ).user("github.com/UsEr", secret).orElseThrow(),
             new IsEqual<>(new AuthUser("UsEr", "test"))
         );
@@ -41,28 +53,158 @@ final class GithubAuthTest {
     void shouldReturnOptionalEmptyWhenRequestIsUnauthorized() {
         MatcherAssert.assertThat(
             new GithubAuth(
-                token -> {
-                    throw new AssertionError(
-                        new Joined(
-                            "HTTP response status is not equal to 200:\n",
-                            "401 Unauthorized [https://api.github.com/user]"
-                        )
-                    );
-                }
+                new FakeClientSlices(new CopyOnWriteArrayList<>(), RsStatus.UNAUTHORIZED)
             ).user("github.com/bad_user", "bad_secret"),
             new IsEqual<>(Optional.empty())
         );
     }
 
     @Test
-    void shouldThrownExceptionWhenAssertionErrorIsHappened() {
+    void reportsUnavailableWhenGithubFails() {
+        final GithubAuth auth = new GithubAuth(
+            token -> CompletableFuture.failedFuture(
+                new ArtipieException("GitHub responded with 403 Forbidden")
+            ),
+            5000L
+        );
         Assertions.assertThrows(
-            ArtipieException.class,
-            () -> new GithubAuth(
-                token -> {
-                    throw new AssertionError("Any error");
-                }
-            ).user("github.com/user", "pwd")
+            AuthUnavailableException.class,
+            () -> auth.user("github.com/user", "pwd")
+        );
+    }
+
+    @Test
+    void callsGithubWithInjectedClient() {
+        final List<String> hosts = new CopyOnWriteArrayList<>();
+        final GithubAuth auth = new GithubAuth(new FakeClientSlices(hosts, RsStatus.FORBIDDEN));
+        Assertions.assertThrows(
+            AuthUnavailableException.class,
+            () -> auth.user("github.com/octocat", "token")
+        );
+        MatcherAssert.assertThat(
+            "GitHub API was not called with injected client",
+            hosts, Matchers.contains("api.github.com")
+        );
+    }
+
+    @Test
+    void cachesResolvedLogin() {
+        final AtomicInteger calls = new AtomicInteger();
+        final GithubAuth auth = new GithubAuth(
+            token -> {
+                calls.incrementAndGet();
+                return CompletableFuture.completedFuture(
+                    new GithubAuth.Login("octocat", Optional.empty())
+                );
+            },
+            5000L
+        );
+        auth.user("github.com/octocat", "token");
+        auth.user("github.com/octocat", "token");
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void coalescesConcurrentLookups() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<GithubAuth.Login> login = new CompletableFuture<>();
+        final GithubAuth auth = new GithubAuth(
+            token -> {
+                calls.incrementAndGet();
+                return login;
+            },
+            5000L
         );
+        final CompletableFuture<Optional<AuthUser>> first = CompletableFuture.supplyAsync(
+            () -> auth.user("github.com/octocat", "token")
+        );
+        final CompletableFuture<Optional<AuthUser>> second = CompletableFuture.supplyAsync(
+            () -> auth.user("github.com/octocat", "token")
+        );
+        login.complete(new GithubAuth.Login("octocat", Optional.empty()));
+        MatcherAssert.assertThat(
+            "Users were not authenticated",
+            first.join().isPresent() && second.join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "GitHub was called more than once",
+            calls.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void doesNotUseExpiredLogin() {
+        final AtomicInteger calls = new AtomicInteger();
+        final GithubAuth auth = new GithubAuth(
+            token -> {
+                calls.incrementAndGet();
+                return CompletableFuture.completedFuture(
+                    new GithubAuth.Login("octocat", Optional.of(Instant.now().minusSeconds(1)))
+                );
+            },
+            5000L
+        );
+        auth.user("github.com/octocat", "token");
+        auth.user("github.com/octocat", "token");
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    /**
+     * Client slices which record requested hosts and answer with status.
+     * @since 0.30
+     */
+    private static final class FakeClientSlices implements ClientSlices {
+
+        /**
+         * Requested hosts.
+         */
+        private final List<String> hosts;
+
+        /**
+         * Response status.
+         */
+        private final RsStatus status;
+
+        /**
+         * Ctor.
+         * @param hosts Requested hosts
+         * @param status Response status
+         */
+        FakeClientSlices(final List<String> hosts, final RsStatus status) {
+            this.hosts = hosts;
+            this.status = status;
+        }
+
+        @Override
+        public Slice http(final String host) {
+            return this.slice(host);
+        }
+
+        @Override
+        public Slice http(final String host, final int port) {
+            return this.slice(host);
+        }
+
+        @Override
+        public Slice https(final String host) {
+            return this.slice(host);
+        }
+
+        @Override
+        public Slice https(final String host, final int port) {
+            return this.slice(host);
+        }
+
+        /**
+         * Slice of host.
+         * @param host Host
+         * @return Slice
+         */
+        private Slice slice(final String host) {
+            this.hosts.add(host);
+            return (line, headers, body) -> new RsWithStatus(this.status);
+        }
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.auth;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.auth.AuthUser;
+import com.artipie.settings.cache.CachedUsers;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link JoinedAuth}.
+ * @since 0.30
+ */
+final class JoinedAuthTest {
+
+    /**
+     * Users key.
+     */
+    private static final Key ALICE = new Key.From("users/alice.yaml");
+
+    /**
+     * Test storage.
+     */
+    private BlockingStorage asto;
+
+    /**
+     * Storage authentication.
+     */
+    private AuthFromStorage storage;
+
+    @BeforeEach
+    void init() {
+        final InMemoryStorage memory = new InMemoryStorage();
+        this.asto = new BlockingStorage(memory);
+        this.asto.save(JoinedAuthTest.ALICE, JoinedAuthTest.alice("qwerty"));
+        this.storage = new AuthFromStorage(memory);
+        this.storage.loaded().toCompletableFuture().join();
+    }
+
+    @Test
+    void authenticatesByFirstKnowingAuth() {
+        MatcherAssert.assertThat(
+            new JoinedAuth(
+                (name, pass) -> Optional.empty(),
+                this.storage,
+                (name, pass) -> Optional.of(new AuthUser(name, "other"))
+            ).user("alice", "qwerty"),
+            new IsEqual<>(Optional.of(new AuthUser("alice", "artipie")))
+        );
+    }
+
+    @Test
+    void authenticatesDespiteUnavailableAuth() {
+        MatcherAssert.assertThat(
+            new JoinedAuth(
+                (name, pass) -> {
+                    throw new AuthUnavailableException("GitHub token lookup timed out");
+                },
+                this.storage
+            ).user("alice", "qwerty"),
+            new IsEqual<>(Optional.of(new AuthUser("alice", "artipie")))
+        );
+    }
+
+    @Test
+    void reportsUnavailableAuthIfUserIsUnknown() {
+        final JoinedAuth auth = new JoinedAuth(
+            (name, pass) -> {
+                throw new AuthUnavailableException("GitHub token lookup timed out");
+            },
+            this.storage
+        );
+        Assertions.assertThrows(
+            AuthUnavailableException.class,
+            () -> auth.user("alice", "wrong")
+        );
+    }
+
+    @Test
+    void reloadsChangedUserOfCachedChain() {
+        final CachedUsers users = new CachedUsers(
+            new JoinedAuth((name, pass) -> Optional.empty(), this.storage)
+        );
+        users.user("alice", "qwerty");
+        this.asto.save(JoinedAuthTest.ALICE, JoinedAuthTest.alice("secret"));
+        users.invalidate("alice");
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> this.storage.user("alice", "secret").isPresent());
+        MatcherAssert.assertThat(
+            "Old password is accepted",
+            users.user("alice", "qwerty").isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "New password is not accepted",
+            users.user("alice", "secret").isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void reloadsAllUsersOfChain() {
+        final JoinedAuth auth = new JoinedAuth(
+            (name, pass) -> Optional.empty(), this.storage
+        );
+        this.asto.save(JoinedAuthTest.ALICE, JoinedAuthTest.alice("secret"));
+        auth.invalidateAll();
+        this.storage.loaded().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            auth.user("alice", "secret").isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    /**
+     * Alice credentials.
+     * @param pass Password
+     * @return Yaml bytes
+     */
+    private static byte[] alice(final String pass) {
+        return String.join("\n", "type: plain", String.format("pass: %s", pass))
+            .getBytes(StandardCharsets.UTF_8);
+    }
+}
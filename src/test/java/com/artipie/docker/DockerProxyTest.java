@@ -5,8 +5,10 @@
 package com.artipie.docker;
 
 import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
 import com.artipie.adapters.docker.DockerProxy;
 import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
 import com.artipie.http.Headers;
 import com.artipie.http.Slice;
 import com.artipie.http.client.jetty.JettyClientSlices;
@@ -15,6 +17,7 @@ import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.security.policy.Policy;
+import com.artipie.settings.Settings;
 import com.artipie.settings.StorageByAlias;
 import com.artipie.settings.cache.StoragesCache;
 import com.artipie.settings.repo.RepoConfig;
@@ -23,12 +26,15 @@ import io.reactivex.Flowable;
 import java.io.IOException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import org.hamcrest.CustomMatcher;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsNot;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -90,6 +96,61 @@ class DockerProxyTest {
         );
     }
 
+    @Test
+    void buildsUpstreamSliceOnce() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final StoragesCache counting = new StoragesCache() {
+            @Override
+            public Storage storage(final Settings settings) {
+                return DockerProxyTest.this.cache.storage(settings);
+            }
+
+            @Override
+            public Storage storage(final YamlMapping yaml) {
+                created.incrementAndGet();
+                return DockerProxyTest.this.cache.storage(yaml);
+            }
+
+            @Override
+            public long size() {
+                return DockerProxyTest.this.cache.size();
+            }
+
+            @Override
+            public void invalidate(final YamlMapping yaml) {
+                DockerProxyTest.this.cache.invalidate(yaml);
+            }
+
+            @Override
+            public void invalidateAll() {
+                DockerProxyTest.this.cache.invalidateAll();
+            }
+        };
+        final Slice slice = dockerProxy(
+            counting,
+            String.join(
+                "\n",
+                "repo:",
+                "  type: docker-proxy",
+                "  remotes:",
+                "    - url: registry-1.docker.io",
+                "      cache:",
+                "        storage:",
+                "          type: fs",
+                "          path: /var/artipie/data/cache"
+            )
+        );
+        for (int idx = 0; idx < 2; ++idx) {
+            slice.response(
+                new RequestLine(RqMethod.GET, "/").toString(),
+                Headers.EMPTY,
+                Flowable.empty()
+            ).send((status, headers, body) -> CompletableFuture.allOf())
+                .toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(created.get(), new IsEqual<>(1));
+    }
+
     private static DockerProxy dockerProxy(
         final StoragesCache cache,
         final String yaml
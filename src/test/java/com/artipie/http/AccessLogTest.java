@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.http.headers.Authorization;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.slice.SliceSimple;
+import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link AccessLog} and {@link AccessLogSlice}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class AccessLogTest {
+
+    /**
+     * Written lines.
+     */
+    private List<String> lines;
+
+    @BeforeEach
+    void init() {
+        this.lines = new ArrayList<>(0);
+    }
+
+    @Test
+    void writesRecordOfRequest() {
+        final AccessLog log = new AccessLog(4, this.lines::add);
+        new AccessLogSlice(
+            new SliceSimple(
+                new RsWithBody(new RsWithStatus(RsStatus.OK), "abcd", StandardCharsets.UTF_8)
+            ),
+            log,
+            line -> Optional.of("my-repo")
+        ).response(
+            new RequestLine(RqMethod.GET, "/my-repo/file.txt").toString(),
+            new Headers.From(new Authorization.Basic("alice", "secret")),
+            Content.EMPTY
+        ).send(
+            (status, headers, body) -> CompletableFuture.runAsync(
+                () -> Flowable.fromPublisher(body).blockingSubscribe()
+            )
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat("Writes one line", log.drain(), new IsEqual<>(1));
+        MatcherAssert.assertThat(
+            this.lines.get(0),
+            Matchers.startsWith(
+                // @checkstyle LineLengthCheck (1 line)
+                "repo=my-repo claimed_user=alice request=\"GET /my-repo/file.txt HTTP/1.1\" status=200 bytes=4 duration="
+            )
+        );
+    }
+
+    @Test
+    void writesRecordsInOrder() {
+        final AccessLog log = new AccessLog(4, this.lines::add);
+        log.record(line -> Optional.empty(), "GET /a HTTP/1.1", null, RsStatus.OK, 1, 0);
+        log.record(
+            line -> Optional.empty(), "PUT /b HTTP/1.1", null, RsStatus.CREATED, 0,
+            TimeUnit.MILLISECONDS.toNanos(2)
+        );
+        log.drain();
+        MatcherAssert.assertThat(
+            this.lines,
+            Matchers.contains(
+                "repo=- claimed_user=- request=\"GET /a HTTP/1.1\" status=200 bytes=1 duration=0",
+                "repo=- claimed_user=- request=\"PUT /b HTTP/1.1\" status=201 bytes=0 duration=2"
+            )
+        );
+    }
+
+    @Test
+    void dropsRecordsWhenBufferIsFull() {
+        final AccessLog log = new AccessLog(2, this.lines::add);
+        for (int idx = 0; idx < 3; idx += 1) {
+            log.record(line -> Optional.empty(), "GET / HTTP/1.1", null, null, 0, 0);
+        }
+        MatcherAssert.assertThat("Writes buffered records", log.drain(), new IsEqual<>(2));
+        log.record(line -> Optional.empty(), "GET / HTTP/1.1", null, null, 0, 0);
+        MatcherAssert.assertThat("Reuses buffer entries", log.drain(), new IsEqual<>(1));
+        MatcherAssert.assertThat(
+            this.lines.get(0),
+            new IsEqual<>(
+                "repo=- claimed_user=- request=\"GET / HTTP/1.1\" status=- bytes=0 duration=0"
+            )
+        );
+    }
+
+    @Test
+    void writesRecordsLeftInBufferOnStop() {
+        final AccessLog log = new AccessLog(4, this.lines::add);
+        log.record(line -> Optional.empty(), "GET / HTTP/1.1", null, RsStatus.OK, 0, 0);
+        log.start().stop();
+        MatcherAssert.assertThat(
+            this.lines,
+            Matchers.contains(
+                "repo=- claimed_user=- request=\"GET / HTTP/1.1\" status=200 bytes=0 duration=0"
+            )
+        );
+    }
+
+    @Test
+    void readsUserFromJwtToken() {
+        MatcherAssert.assertThat(
+            AccessLog.user(
+                String.format(
+                    "Bearer header.%s.signature",
+                    Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        "{\"sub\":\"bob\"}".getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+            ),
+            new IsEqual<>("bob")
+        );
+    }
+
+    @Test
+    void ignoresUnknownAuthorization() {
+        MatcherAssert.assertThat(
+            AccessLog.user("Bearer opaque-token"),
+            new IsEqual<>("-")
+        );
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link ByteRange}.
+ * @since 0.30
+ */
+final class ByteRangeTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "bytes=0-9,100,0,10,bytes 0-9/100",
+        "bytes=10-,100,10,90,bytes 10-99/100",
+        "bytes=-20,100,80,20,bytes 80-99/100",
+        "bytes=-200,100,0,100,bytes 0-99/100",
+        "bytes=90-200,100,90,10,bytes 90-99/100",
+        "Bytes= 5 - 5 ,100,5,1,bytes 5-5/100"
+    })
+    void readsSatisfiableRange(final String header, final long size, final long offset,
+        final long length, final String range) {
+        final ByteRange rng = new ByteRange(header);
+        MatcherAssert.assertThat(
+            "Range is not satisfiable",
+            rng.satisfiable(size),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Wrong offset",
+            rng.offset(size),
+            new IsEqual<>(offset)
+        );
+        MatcherAssert.assertThat(
+            "Wrong length",
+            rng.length(size),
+            new IsEqual<>(length)
+        );
+        MatcherAssert.assertThat(
+            "Wrong content range",
+            rng.contentRange(size),
+            new IsEqual<>(range)
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({"bytes=100-,100", "bytes=100-200,100", "bytes=-0,100", "bytes=0-,0"})
+    void detectsUnsatisfiableRange(final String header, final long size) {
+        final ByteRange rng = new ByteRange(header);
+        MatcherAssert.assertThat(
+            "Range is not applicable",
+            rng.applicable(size),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Range is satisfiable",
+            rng.satisfiable(size),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Wrong content range",
+            rng.contentRange(size),
+            new IsEqual<>(String.format("bytes */%d", size))
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'bytes=0-1,5-6'", "items=0-1", "bytes=5-1", "bytes=a-b", "bytes=", "bytes=-", "bytes=1"
+    })
+    void ignoresInvalidRange(final String header) {
+        MatcherAssert.assertThat(
+            new ByteRange(header).applicable(100),
+            new IsEqual<>(false)
+        );
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link CompressionSlice}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class CompressionSliceTest {
+
+    /**
+     * Response data.
+     */
+    private static final String DATA = "{\"name\": \"package\", \"versions\": {}}";
+
+    @Test
+    void compressesAllowedContent() throws IOException {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        final byte[] body = CompressionSliceTest.send(
+            "/repo/package", "gzip", "application/json; charset=utf-8", headers
+        );
+        MatcherAssert.assertThat(
+            "Wrong content encoding",
+            new RqHeaders(headers.get(), "Content-Encoding"),
+            new IsEqual<>(List.of("gzip"))
+        );
+        MatcherAssert.assertThat(
+            "Content length was not removed",
+            new RqHeaders(headers.get(), "Content-Length").isEmpty(),
+            new IsEqual<>(true)
+        );
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            MatcherAssert.assertThat(
+                "Wrong content",
+                new String(input.readAllBytes(), StandardCharsets.UTF_8),
+                new IsEqual<>(CompressionSliceTest.DATA)
+            );
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "/repo/file.tar.gz,gzip,application/octet-stream",
+        "/repo/index.yaml,identity,",
+        "/repo/file.bin,gzip,",
+        "/repo/file.txt,'gzip;q=0',",
+        "/v2/image/manifests/1.0,gzip,application/vnd.docker.distribution.manifest.v2+json",
+        "/v2/image/manifests/1.1,gzip,application/vnd.oci.image.index.v1+json"
+    })
+    void sendsAsIs(final String path, final String accept, final String type) {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        MatcherAssert.assertThat(
+            new String(
+                CompressionSliceTest.send(path, accept, type, headers), StandardCharsets.UTF_8
+            ),
+            new IsEqual<>(CompressionSliceTest.DATA)
+        );
+    }
+
+    @Test
+    void addsVaryHeaderForCompressibleContent() {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        CompressionSliceTest.send("/repo/index.yaml", "identity", null, headers);
+        MatcherAssert.assertThat(
+            new RqHeaders(headers.get(), "Vary"),
+            new IsEqual<>(List.of("Accept-Encoding"))
+        );
+    }
+
+    @Test
+    void doesNotCompressSmallContent() {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        new CompressionSlice(
+            (line, rqheaders, body) -> new RsWithBody(
+                StandardRs.OK, CompressionSliceTest.DATA.getBytes(StandardCharsets.UTF_8)
+            ),
+            Set.of("application/json"), 1024
+        ).response(
+            new RequestLine(RqMethod.GET, "/repo/small.json").toString(),
+            new Headers.From("Accept-Encoding", "gzip"), Content.EMPTY
+        ).send(
+            (status, rsheaders, body) -> {
+                headers.set(rsheaders);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new RqHeaders(headers.get(), "Content-Encoding").isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void addsValidatorsOfCompressedContentToNotModified() {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        new CompressionSlice(
+            (line, rqheaders, body) -> new RsWithHeaders(
+                new RsWithStatus(RsStatus.NOT_MODIFIED),
+                new Headers.From(
+                    new Header("Content-Type", "application/json"),
+                    new Header("ETag", "\"abc\"")
+                )
+            ),
+            Set.of("application/json"), 0
+        ).response(
+            new RequestLine(RqMethod.GET, "/repo/package").toString(),
+            new Headers.From("Accept-Encoding", "gzip"), Content.EMPTY
+        ).send(
+            (status, rsheaders, body) -> {
+                MatcherAssert.assertThat(status, new IsEqual<>(RsStatus.NOT_MODIFIED));
+                headers.set(rsheaders);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Entity tag is not weak",
+            new RqHeaders(headers.get(), "ETag"),
+            new IsEqual<>(List.of("W/\"abc\""))
+        );
+        MatcherAssert.assertThat(
+            "Vary header is absent",
+            new RqHeaders(headers.get(), "Vary"),
+            new IsEqual<>(List.of("Accept-Encoding"))
+        );
+    }
+
+    /**
+     * Send request with minimal compressed size of zero.
+     * @param path Request path
+     * @param accept Accept-Encoding header
+     * @param type Response content type or null
+     * @param headers Response headers
+     * @return Response body
+     */
+    private static byte[] send(final String path, final String accept, final String type,
+        final AtomicReference<Headers> headers) {
+        final AtomicReference<byte[]> res = new AtomicReference<>();
+        new CompressionSlice(
+            (line, rqheaders, body) -> {
+                Response rsp = new RsWithBody(
+                    StandardRs.OK, CompressionSliceTest.DATA.getBytes(StandardCharsets.UTF_8)
+                );
+                if (type != null) {
+                    rsp = new RsWithHeaders(rsp, new Header("Content-Type", type));
+                }
+                return rsp;
+            },
+            Set.of("application/json"), 0
+        ).response(
+            new RequestLine(RqMethod.GET, path).toString(),
+            new Headers.From("Accept-Encoding", accept), Content.EMPTY
+        ).send(
+            (status, rsheaders, body) -> {
+                MatcherAssert.assertThat(status, new IsEqual<>(RsStatus.OK));
+                headers.set(rsheaders);
+                return new PublisherAs(body).bytes().thenAccept(res::set);
+            }
+        ).toCompletableFuture().join();
+        return res.get();
+    }
+}
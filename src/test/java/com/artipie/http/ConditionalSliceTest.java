@@ -0,0 +1,286 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.StandardRs;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link ConditionalSlice}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class ConditionalSliceTest {
+
+    /**
+     * Item data.
+     */
+    private static final byte[] DATA = "item data".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp(@TempDir final Path tmp) {
+        this.storage = new FileStorage(tmp);
+        this.storage.save(new Key.From("one/item.txt"), new Content.From(ConditionalSliceTest.DATA))
+            .join();
+    }
+
+    @Test
+    void addsValidators() {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        MatcherAssert.assertThat(
+            "Wrong status",
+            this.send(RqMethod.GET, Headers.EMPTY, ConditionalSliceTest.DATA, headers),
+            new IsEqual<>(RsStatus.OK)
+        );
+        MatcherAssert.assertThat(
+            "Entity tag is absent",
+            new RqHeaders(headers.get(), "ETag").size(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Last modified is absent",
+            new RqHeaders(headers.get(), "Last-Modified").size(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEntityTag() {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        this.send(RqMethod.GET, Headers.EMPTY, ConditionalSliceTest.DATA, headers);
+        MatcherAssert.assertThat(
+            this.send(
+                RqMethod.GET,
+                new Headers.From(
+                    "If-None-Match",
+                    String.format("\"x\", W/%s", new RqHeaders(headers.get(), "ETag").get(0))
+                ),
+                ConditionalSliceTest.DATA, new AtomicReference<>()
+            ),
+            new IsEqual<>(RsStatus.NOT_MODIFIED)
+        );
+    }
+
+    @Test
+    void answersNotModifiedSinceLastModification() {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        this.send(RqMethod.HEAD, Headers.EMPTY, ConditionalSliceTest.DATA, headers);
+        MatcherAssert.assertThat(
+            this.send(
+                RqMethod.HEAD,
+                new Headers.From(
+                    "If-Modified-Since", new RqHeaders(headers.get(), "Last-Modified").get(0)
+                ),
+                ConditionalSliceTest.DATA, new AtomicReference<>()
+            ),
+            new IsEqual<>(RsStatus.NOT_MODIFIED)
+        );
+    }
+
+    @Test
+    void answersFullResponseIfEntityTagDiffers() {
+        MatcherAssert.assertThat(
+            this.send(
+                RqMethod.GET, new Headers.From("If-None-Match", "\"other\""),
+                ConditionalSliceTest.DATA, new AtomicReference<>()
+            ),
+            new IsEqual<>(RsStatus.OK)
+        );
+    }
+
+    @Test
+    void doesNotValidateTransformedContent() {
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        this.send(
+            RqMethod.GET, Headers.EMPTY, "other".getBytes(StandardCharsets.UTF_8), headers
+        );
+        MatcherAssert.assertThat(
+            new RqHeaders(headers.get(), "ETag").isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void keepsEntityTagOfOrigin() {
+        final AtomicReference<RsStatus> res = new AtomicReference<>();
+        new ConditionalSlice(
+            (line, headers, body) -> connection -> connection.accept(
+                RsStatus.OK, new Headers.From(new Header("ETag", "\"origin\"")), Content.EMPTY
+            ),
+            this.storage
+        ).response(
+            new RequestLine(RqMethod.GET, "/repo/one/item.txt").toString(),
+            new Headers.From("If-None-Match", "\"origin\""), Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                res.set(status);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(res.get(), new IsEqual<>(RsStatus.NOT_MODIFIED));
+    }
+
+    @Test
+    void cancelsBodyOfNotModifiedResponse() {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final AtomicReference<RsStatus> res = new AtomicReference<>();
+        new ConditionalSlice(
+            (line, headers, body) -> connection -> connection.accept(
+                RsStatus.OK,
+                new Headers.From(new Header("ETag", "\"origin\"")),
+                Flowable.just(ByteBuffer.wrap(ConditionalSliceTest.DATA))
+                    .doOnCancel(() -> cancelled.set(true))
+            ),
+            this.storage
+        ).response(
+            new RequestLine(RqMethod.GET, "/repo/one/item.txt").toString(),
+            new Headers.From("If-None-Match", "\"origin\""), Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                res.set(status);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Wrong status",
+            res.get(),
+            new IsEqual<>(RsStatus.NOT_MODIFIED)
+        );
+        MatcherAssert.assertThat(
+            "Body was not cancelled",
+            cancelled.get(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void doesNotReadMetadataIfOriginHasValidators() {
+        final AtomicInteger reads = new AtomicInteger();
+        final AtomicReference<RsStatus> res = new AtomicReference<>();
+        new ConditionalSlice(
+            (line, headers, body) -> connection -> connection.accept(
+                RsStatus.OK,
+                new Headers.From(
+                    new Header("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT"),
+                    new Header("Content-Length", String.valueOf(ConditionalSliceTest.DATA.length))
+                ),
+                new Content.From(ConditionalSliceTest.DATA)
+            ),
+            new MetadataReads(this.storage, reads)
+        ).response(
+            new RequestLine(RqMethod.GET, "/repo/one/item.txt").toString(),
+            new Headers.From("If-Modified-Since", "Thu, 22 Oct 2015 07:28:00 GMT"),
+            Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                res.set(status);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Wrong status",
+            res.get(),
+            new IsEqual<>(RsStatus.NOT_MODIFIED)
+        );
+        MatcherAssert.assertThat(
+            "Metadata was read",
+            reads.get(),
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void passesOtherMethods() {
+        MatcherAssert.assertThat(
+            this.send(
+                RqMethod.PUT, new Headers.From("If-None-Match", "*"),
+                ConditionalSliceTest.DATA, new AtomicReference<>()
+            ),
+            new IsEqual<>(RsStatus.OK)
+        );
+    }
+
+    /**
+     * Send request for stored item.
+     * @param method Request method
+     * @param headers Request headers
+     * @param data Data answered by origin
+     * @param rsheaders Response headers
+     * @return Response status
+     */
+    private RsStatus send(final RqMethod method, final Headers headers, final byte[] data,
+        final AtomicReference<Headers> rsheaders) {
+        final AtomicReference<RsStatus> res = new AtomicReference<>();
+        new ConditionalSlice(
+            (line, rqheaders, body) -> new RsWithBody(StandardRs.OK, data),
+            this.storage
+        ).response(
+            new RequestLine(method, "/repo/one/item.txt").toString(), headers, Content.EMPTY
+        ).send(
+            (status, hdrs, body) -> {
+                res.set(status);
+                rsheaders.set(hdrs);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        return res.get();
+    }
+
+    /**
+     * Storage which counts metadata reads.
+     * @since 0.30
+     */
+    private static final class MetadataReads extends Storage.Wrap {
+
+        /**
+         * Metadata reads count.
+         */
+        private final AtomicInteger reads;
+
+        /**
+         * Ctor.
+         * @param origin Origin storage
+         * @param reads Metadata reads count
+         */
+        MetadataReads(final Storage origin, final AtomicInteger reads) {
+            super(origin);
+            this.reads = reads;
+        }
+
+        @Override
+        public CompletableFuture<? extends Meta> metadata(final Key key) {
+            this.reads.incrementAndGet();
+            return super.metadata(key);
+        }
+    }
+}
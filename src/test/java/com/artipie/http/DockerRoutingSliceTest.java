@@ -49,7 +49,9 @@ final class DockerRoutingSliceTest {
         verify(
             new DockerRoutingSlice(
                 new TestSettings(),
-                new AssertSlice(new RqLineHasUri(new RqLineHasUri.HasPath("/foo/bar")))
+                DockerRoutingSliceTest.routed(
+                    new AssertSlice(new RqLineHasUri(new RqLineHasUri.HasPath("/foo/bar")))
+                )
             ),
             "/v2/foo/bar"
         );
@@ -61,7 +63,9 @@ final class DockerRoutingSliceTest {
         verify(
             new DockerRoutingSlice(
                 new TestSettings(),
-                new AssertSlice(new RqLineHasUri(new RqLineHasUri.HasPath(path)))
+                DockerRoutingSliceTest.routed(
+                    new AssertSlice(new RqLineHasUri(new RqLineHasUri.HasPath(path)))
+                )
             ),
             path
         );
@@ -100,8 +104,10 @@ final class DockerRoutingSliceTest {
         verify(
             new DockerRoutingSlice(
                 new TestSettings(),
-                new DockerRoutingSlice.Reverted(
-                    new AssertSlice(new RqLineHasUri(new RqLineHasUri.HasPath(path)))
+                DockerRoutingSliceTest.routed(
+                    new DockerRoutingSlice.Reverted(
+                        new AssertSlice(new RqLineHasUri(new RqLineHasUri.HasPath(path)))
+                    )
                 )
             ),
             path
@@ -126,6 +132,10 @@ final class DockerRoutingSliceTest {
         );
     }
 
+    private static RoutedSlice routed(final Slice slice) {
+        return (route, headers, body) -> slice.response(route.line(), headers, body);
+    }
+
     private static void verify(final Slice slice, final String path) throws Exception {
         slice.response(
             new RequestLine(RqMethod.GET, path).toString(),
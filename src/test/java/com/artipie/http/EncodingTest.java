@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RqHeaders;
+import com.github.luben.zstd.ZstdInputStream;
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Test for {@link Encoding}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class EncodingTest {
+
+    @ParameterizedTest
+    @CsvSource(value = {
+        "gzip, deflate, br|GZIP",
+        "gzip, zstd|ZSTD",
+        "zstd;q=0.5, gzip|GZIP",
+        "zstd;q=0, gzip;q=0|",
+        "identity|",
+        "ZSTD;q=1.0|ZSTD"
+    }, delimiter = '|')
+    void choosesAcceptedCoding(final String header, final Encoding expected) {
+        MatcherAssert.assertThat(
+            Encoding.accepted(new Headers.From("Accept-Encoding", header)),
+            new IsEqual<>(Optional.ofNullable(expected))
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(Encoding.class)
+    void encodesContentByChunks(final Encoding encoding) throws IOException {
+        final byte[] encoded = new PublisherAs(
+            new Content.From(
+                encoding.encode(
+                    Flowable.just("first ", "second ", "third").map(
+                        str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8))
+                    )
+                )
+            )
+        ).bytes().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new String(EncodingTest.decode(encoding, encoded), StandardCharsets.UTF_8),
+            new IsEqual<>("first second third")
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(Encoding.class)
+    void encodesBytes(final Encoding encoding) throws IOException {
+        MatcherAssert.assertThat(
+            new String(
+                EncodingTest.decode(
+                    encoding, encoding.encode("data".getBytes(StandardCharsets.UTF_8))
+                ),
+                StandardCharsets.UTF_8
+            ),
+            new IsEqual<>("data")
+        );
+    }
+
+    @Test
+    void replacesHeaders() {
+        final Headers headers = Encoding.GZIP.headers(
+            new Headers.From(
+                new Header("Content-Length", "100"), new Header("ETag", "\"abc\""),
+                new Header("Content-Type", "application/json")
+            ),
+            Optional.of(20L)
+        );
+        MatcherAssert.assertThat(
+            "Wrong content length",
+            new RqHeaders(headers, "Content-Length").get(0),
+            new IsEqual<>("20")
+        );
+        MatcherAssert.assertThat(
+            "Entity tag is not weak",
+            new RqHeaders(headers, "ETag").get(0),
+            new IsEqual<>("W/\"abc\"")
+        );
+        MatcherAssert.assertThat(
+            "Wrong content encoding",
+            new RqHeaders(headers, "Content-Encoding").get(0),
+            new IsEqual<>("gzip")
+        );
+    }
+
+    private static byte[] decode(final Encoding encoding, final byte[] bytes)
+        throws IOException {
+        final InputStream input;
+        if (encoding == Encoding.GZIP) {
+            input = new GZIPInputStream(new ByteArrayInputStream(bytes));
+        } else {
+            input = new ZstdInputStream(new ByteArrayInputStream(bytes));
+        }
+        try (input) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.StandardRs;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test for {@link FileBodySlice}.
+ * @since 0.30
+ */
+final class FileBodySliceTest {
+
+    /**
+     * Item key.
+     */
+    private static final Key ITEM = new Key.From("com/lib/1.0/lib-1.0.jar");
+
+    /**
+     * Item content.
+     */
+    private static final byte[] DATA = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void sendsStoredFileContent() {
+        final Storage storage = new InMemoryStorage();
+        storage.save(FileBodySliceTest.ITEM, new Content.From(FileBodySliceTest.DATA)).join();
+        final Storage files = new Storage.Wrap(storage) {
+            @Override
+            public CompletableFuture<Content> value(final Key key) {
+                return storage.value(key).thenApply(
+                    content -> new FileContent(
+                        Path.of(key.string()), content.size().get(), content
+                    )
+                );
+            }
+        };
+        MatcherAssert.assertThat(
+            FileBodySliceTest.body(files, files) instanceof FileContent,
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void passesBodyOfOtherStorages() {
+        final Storage storage = new InMemoryStorage();
+        storage.save(FileBodySliceTest.ITEM, new Content.From(FileBodySliceTest.DATA)).join();
+        MatcherAssert.assertThat(
+            FileBodySliceTest.body(storage, storage) instanceof FileContent,
+            new IsEqual<>(false)
+        );
+    }
+
+    /**
+     * Body of repository item response sent to connection.
+     * @param origin Storage of origin slice
+     * @param storage Storage of slice under test
+     * @return Body
+     */
+    private static Publisher<ByteBuffer> body(final Storage origin, final Storage storage) {
+        final AtomicReference<Publisher<ByteBuffer>> res = new AtomicReference<>();
+        new FileBodySlice(
+            (line, headers, body) -> new AsyncResponse(
+                origin.value(FileBodySliceTest.ITEM)
+                    .thenApply(content -> new RsWithBody(StandardRs.OK, content))
+            ),
+            storage
+        ).response(
+            new RequestLine(RqMethod.GET, "/my-maven/com/lib/1.0/lib-1.0.jar").toString(),
+            Headers.EMPTY, Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                res.set(body);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        return res.get();
+    }
+}
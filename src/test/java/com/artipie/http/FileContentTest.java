@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link FileContent}.
+ * @since 0.30
+ */
+final class FileContentTest {
+
+    @Test
+    void notifiesObserversOnSubscription() {
+        final AtomicLong first = new AtomicLong();
+        final AtomicLong second = new AtomicLong();
+        final Content content = new FileContent(
+            Path.of("any"), 10, FileContentTest.chunks("01234", "56789")
+        ).observed(first::set).observed(second::set);
+        MatcherAssert.assertThat(
+            "Wrong content",
+            new PublisherAs(content).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("0123456789")
+        );
+        MatcherAssert.assertThat(
+            "First observer was not notified",
+            first.get(),
+            new IsEqual<>(10L)
+        );
+        MatcherAssert.assertThat(
+            "Second observer was not notified",
+            second.get(),
+            new IsEqual<>(10L)
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,3,012", "3,4,3456", "5,5,56789", "9,1,9", "4,0,''"})
+    void readsPart(final long offset, final long length, final String expected) {
+        final AtomicLong sent = new AtomicLong(-1);
+        final FileContent part = new FileContent(
+            Path.of("any"), 10, FileContentTest.chunks("012", "3456", "789")
+        ).observed(sent::set).part(offset, length);
+        MatcherAssert.assertThat(
+            "Wrong part content",
+            new PublisherAs(part).asciiString().toCompletableFuture().join(),
+            new IsEqual<>(expected)
+        );
+        MatcherAssert.assertThat(
+            "Wrong part offset in file",
+            part.offset(),
+            new IsEqual<>(offset)
+        );
+        MatcherAssert.assertThat(
+            "Observer was not notified with part length",
+            sent.get(),
+            new IsEqual<>(length)
+        );
+    }
+
+    @Test
+    void failsOnPartOutOfContent() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new FileContent(Path.of("any"), 10, FileContentTest.chunks("0123456789"))
+                .part(5, 6)
+        );
+    }
+
+    @Test
+    void findsOnlyContentPassedAsIs() {
+        final FileContent content = new FileContent(
+            Path.of("any"), 10, FileContentTest.chunks("0123456789")
+        );
+        MatcherAssert.assertThat(
+            "File content was not found",
+            FileContent.from(content).isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "File content was found in mapped body",
+            FileContent.from(Flowable.fromPublisher(content).map(ByteBuffer::duplicate))
+                .isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    private static Content chunks(final String... parts) {
+        long size = 0;
+        for (final String part : parts) {
+            size += part.length();
+        }
+        return new Content.From(
+            size,
+            Flowable.fromArray(parts)
+                .map(part -> ByteBuffer.wrap(part.getBytes(StandardCharsets.US_ASCII)))
+        );
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.http.client.ClientSlices;
+import com.artipie.http.headers.Authorization;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link NegativeCacheSlice}.
+ * @since 0.30
+ */
+final class NegativeCacheSliceTest {
+
+    /**
+     * Requested path.
+     */
+    private static final String PATH = "/com/artipie/lib/maven-metadata.xml";
+
+    @AfterEach
+    void tearDown() {
+        new NegativeCache().invalidateAll();
+    }
+
+    @Test
+    void cachesMissAnsweredByRemote() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = NegativeCacheSliceTest.proxy(
+            "proxy-missed", StandardRs.NOT_FOUND, calls
+        );
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {500, 503, 429, 408})
+    void doesNotCacheMissOnUpstreamFailure(final int code) {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = NegativeCacheSliceTest.proxy(
+            "proxy-failed",
+            new RsWithStatus(
+                Arrays.stream(RsStatus.values())
+                    .filter(status -> status.code().equals(String.valueOf(code)))
+                    .findFirst().orElseThrow()
+            ),
+            calls
+        );
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void doesNotCacheMissOnUpstreamError() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = NegativeCacheSliceTest.proxy(
+            "proxy-error",
+            connection -> CompletableFuture.failedFuture(new IllegalStateException("timeout")),
+            calls
+        );
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void doesNotCacheMissAnsweredForAnotherPath() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = NegativeCacheSliceTest.proxy(
+            "proxy-other-path", (line, headers, body) -> StandardRs.NOT_FOUND, calls,
+            "/maven2/com/artipie/other/maven-metadata.xml"
+        );
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void cachesMissWhenAnotherPathFailed() {
+        final AtomicInteger calls = new AtomicInteger();
+        final String other = "/maven2/com/artipie/other/maven-metadata.xml";
+        final Slice slice = NegativeCacheSliceTest.proxy(
+            "proxy-other-failed",
+            (line, headers, body) -> {
+                final Response rsp;
+                if (line.contains(other)) {
+                    rsp = new RsWithStatus(RsStatus.UNAVAILABLE);
+                } else {
+                    rsp = StandardRs.NOT_FOUND;
+                }
+                return rsp;
+            },
+            calls, other, String.format("/maven2%s", NegativeCacheSliceTest.PATH)
+        );
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void publishesInvalidationOnUpload() {
+        final List<String> published = new CopyOnWriteArrayList<>();
+        NegativeCacheSliceTest.send(
+            new NegativeCacheSlice.Invalidating(
+                "local", (line, headers, body) -> StandardRs.OK, new NegativeCache(published::add)
+            ),
+            RqMethod.PUT
+        );
+        MatcherAssert.assertThat(published, Matchers.contains("local"));
+    }
+
+    @Test
+    void doesNotPublishInvalidationOnFailedUpload() {
+        final List<String> published = new CopyOnWriteArrayList<>();
+        NegativeCacheSliceTest.send(
+            new NegativeCacheSlice.Invalidating(
+                "local", (line, headers, body) -> new RsWithStatus(RsStatus.UNAUTHORIZED),
+                new NegativeCache(published::add)
+            ),
+            RqMethod.PUT
+        );
+        MatcherAssert.assertThat(published, Matchers.empty());
+    }
+
+    @Test
+    void doesNotServeCachedMissWithoutSameCredentials() {
+        final Headers alice = new Headers.From(new Authorization.Basic("alice", "qwerty"));
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new NegativeCacheSlice(
+            "private",
+            (line, headers, body) -> {
+                calls.incrementAndGet();
+                final Response res;
+                if (new RqHeaders(headers, "Authorization").isEmpty()) {
+                    res = new RsWithStatus(RsStatus.UNAUTHORIZED);
+                } else {
+                    res = StandardRs.NOT_FOUND;
+                }
+                return res;
+            }
+        );
+        final RequestLine line = new RequestLine(RqMethod.GET, NegativeCacheSliceTest.PATH);
+        MatcherAssert.assertThat(
+            slice,
+            new SliceHasResponse(new RsHasStatus(RsStatus.NOT_FOUND), line, alice, Content.EMPTY)
+        );
+        MatcherAssert.assertThat(
+            "Anonymous request got cached miss",
+            slice,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.UNAUTHORIZED), line, Headers.EMPTY, Content.EMPTY
+            )
+        );
+        MatcherAssert.assertThat(
+            slice,
+            new SliceHasResponse(new RsHasStatus(RsStatus.NOT_FOUND), line, alice, Content.EMPTY)
+        );
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void servesCachedMissWithoutOrigin() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new NegativeCacheSlice(
+            "group|remote",
+            (line, headers, body) -> {
+                calls.incrementAndGet();
+                return StandardRs.NOT_FOUND;
+            }
+        );
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        MatcherAssert.assertThat(
+            slice,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.HEAD, NegativeCacheSliceTest.PATH)
+            )
+        );
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void doesNotCacheFoundPaths() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new NegativeCacheSlice(
+            "found",
+            (line, headers, body) -> {
+                calls.incrementAndGet();
+                return StandardRs.OK;
+            }
+        );
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        NegativeCacheSliceTest.send(slice, RqMethod.GET);
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void invalidatesOnUploadToMember() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice member = new NegativeCacheSlice(
+            "local",
+            (line, headers, body) -> {
+                calls.incrementAndGet();
+                return StandardRs.NOT_FOUND;
+            }
+        );
+        NegativeCacheSliceTest.send(member, RqMethod.GET);
+        NegativeCacheSliceTest.send(
+            new NegativeCacheSlice.Invalidating(
+                "local", (line, headers, body) -> StandardRs.OK, new NegativeCache()
+            ),
+            RqMethod.PUT
+        );
+        NegativeCacheSliceTest.send(member, RqMethod.GET);
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void invalidatesMembersByRepositoryName() {
+        final NegativeCache cache = new NegativeCache();
+        cache.miss("proxy|https://one", NegativeCacheSliceTest.PATH);
+        cache.miss("proxy-other", NegativeCacheSliceTest.PATH);
+        cache.invalidate("proxy");
+        MatcherAssert.assertThat(
+            "Member lookups were not invalidated",
+            cache.missing("proxy|https://one", NegativeCacheSliceTest.PATH),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Another repository lookups were invalidated",
+            cache.missing("proxy-other", NegativeCacheSliceTest.PATH),
+            new IsEqual<>(true)
+        );
+    }
+
+    /**
+     * Proxy slice which answers 404 whatever remote answers.
+     * @param scope Cache scope
+     * @param remote Remote response
+     * @param calls Remote calls counter
+     * @return Proxy slice
+     */
+    private static Slice proxy(final String scope, final Response remote,
+        final AtomicInteger calls) {
+        return NegativeCacheSliceTest.proxy(
+            scope, (line, headers, body) -> remote, calls, NegativeCacheSliceTest.PATH
+        );
+    }
+
+    /**
+     * Proxy slice which requests remote paths one by one and answers 404
+     * whatever remote answers.
+     * @param scope Cache scope
+     * @param remote Remote slice
+     * @param calls Remote calls counter
+     * @param paths Remote paths to request
+     * @return Proxy slice
+     */
+    private static Slice proxy(final String scope, final Slice remote,
+        final AtomicInteger calls, final String... paths) {
+        final UpstreamMisses upstream = new UpstreamMisses();
+        final Slice client = upstream.client(new FakeClientSlices(remote)).https("remote");
+        return new NegativeCacheSlice(
+            scope,
+            (line, headers, body) -> connection -> {
+                calls.incrementAndGet();
+                CompletableFuture<Void> requested = CompletableFuture.allOf();
+                for (final String path : paths) {
+                    requested = requested.thenCompose(
+                        nothing -> client.response(
+                            new RequestLine(RqMethod.GET, path).toString(),
+                            Headers.EMPTY, Content.EMPTY
+                        ).send((status, rsheaders, rsbody) -> CompletableFuture.allOf())
+                            .handle((sent, err) -> (Void) null)
+                    );
+                }
+                return requested.thenCompose(
+                    nothing -> StandardRs.NOT_FOUND.send(connection)
+                );
+            },
+            new NegativeCache(),
+            upstream
+        );
+    }
+
+    /**
+     * Send request to slice and wait for response.
+     * @param slice Slice
+     * @param method Request method
+     */
+    private static void send(final Slice slice, final RqMethod method) {
+        slice.response(
+            new RequestLine(method, NegativeCacheSliceTest.PATH).toString(),
+            Headers.EMPTY, Content.EMPTY
+        ).send((status, headers, body) -> CompletableFuture.allOf())
+            .toCompletableFuture().join();
+    }
+
+    /**
+     * Client slices which answer with the same slice for any host.
+     * @since 0.30
+     */
+    private static final class FakeClientSlices implements ClientSlices {
+
+        /**
+         * Remote slice.
+         */
+        private final Slice rsp;
+
+        /**
+         * Ctor.
+         * @param rsp Remote slice
+         */
+        FakeClientSlices(final Slice rsp) {
+            this.rsp = rsp;
+        }
+
+        @Override
+        public Slice http(final String host) {
+            return this.rsp;
+        }
+
+        @Override
+        public Slice http(final String host, final int port) {
+            return this.rsp;
+        }
+
+        @Override
+        public Slice https(final String host) {
+            return this.rsp;
+        }
+
+        @Override
+        public Slice https(final String host, final int port) {
+            return this.rsp;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.StandardRs;
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link PrecompressedSlice}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class PrecompressedSliceTest {
+
+    /**
+     * Index key.
+     */
+    private static final Key INDEX = new Key.From("index.yaml");
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp(@TempDir final Path tmp) {
+        this.storage = new FileStorage(tmp);
+    }
+
+    @Test
+    void storesAndSendsVariant() throws IOException {
+        this.save("entries: {}");
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        final byte[] body = this.send("entries: {}", headers);
+        MatcherAssert.assertThat(
+            "Wrong content encoding",
+            new RqHeaders(headers.get(), "Content-Encoding"),
+            new IsEqual<>(List.of("gzip"))
+        );
+        MatcherAssert.assertThat(
+            "Wrong content",
+            PrecompressedSliceTest.gunzip(body),
+            new IsEqual<>("entries: {}")
+        );
+        MatcherAssert.assertThat(
+            "Variant was not stored",
+            PrecompressedSliceTest.gunzip(
+                new BlockingStorage(this.storage).value(this.variants().get(0))
+            ),
+            new IsEqual<>("entries: {}")
+        );
+    }
+
+    @Test
+    void doesNotStoreVariantNextToItem() {
+        this.save("entries: {}");
+        this.send("entries: {}", new AtomicReference<>());
+        MatcherAssert.assertThat(
+            this.storage.exists(new Key.From("index.yaml.gz")).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void sendsStoredVariant() throws IOException {
+        this.save("entries: {}");
+        this.send("entries: {}", new AtomicReference<>());
+        this.storage.save(
+            this.variants().get(0),
+            new Content.From(Encoding.GZIP.encode("stored".getBytes(StandardCharsets.UTF_8)))
+        ).join();
+        MatcherAssert.assertThat(
+            PrecompressedSliceTest.gunzip(this.send("entries: {}", new AtomicReference<>())),
+            new IsEqual<>("stored")
+        );
+    }
+
+    @Test
+    void replacesOutdatedVariant() throws IOException {
+        this.save("entries: {}");
+        this.send("entries: {}", new AtomicReference<>());
+        this.save("entries: {changed: []}");
+        MatcherAssert.assertThat(
+            "Wrong content",
+            PrecompressedSliceTest.gunzip(
+                this.send("entries: {changed: []}", new AtomicReference<>())
+            ),
+            new IsEqual<>("entries: {changed: []}")
+        );
+        MatcherAssert.assertThat(
+            "Outdated variant was not removed",
+            this.variants().size(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void sendsOriginResponseIfItemDiffers() throws IOException {
+        this.save("entries: {}");
+        final AtomicReference<Headers> headers = new AtomicReference<>();
+        MatcherAssert.assertThat(
+            "Wrong content",
+            new String(this.send("generated", headers), StandardCharsets.UTF_8),
+            new IsEqual<>("generated")
+        );
+        MatcherAssert.assertThat(
+            "Variant was stored",
+            this.variants().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void compressesOnceForConcurrentRequests() throws IOException {
+        this.save("entries: {}");
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        final AtomicInteger reads = new AtomicInteger();
+        final Slice slice = new PrecompressedSlice(
+            (line, rqheaders, body) -> new RsWithBody(
+                StandardRs.OK, "entries: {}".getBytes(StandardCharsets.UTF_8)
+            ),
+            new GatedStorage(this.storage, gate, reads), Set.of("index.yaml"), 0
+        );
+        final AtomicReference<byte[]> first = new AtomicReference<>();
+        final AtomicReference<byte[]> second = new AtomicReference<>();
+        final CompletionStage<Void> one = PrecompressedSliceTest.send(slice, first);
+        final CompletionStage<Void> two = PrecompressedSliceTest.send(slice, second);
+        gate.complete(null);
+        one.toCompletableFuture().join();
+        two.toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Item was compressed more than once",
+            reads.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Wrong content of first response",
+            PrecompressedSliceTest.gunzip(first.get()),
+            new IsEqual<>("entries: {}")
+        );
+        MatcherAssert.assertThat(
+            "Wrong content of second response",
+            PrecompressedSliceTest.gunzip(second.get()),
+            new IsEqual<>("entries: {}")
+        );
+    }
+
+    @Test
+    void cancelsOriginBodyWhenVariantIsSent() {
+        this.save("entries: {}");
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        PrecompressedSliceTest.send(
+            new PrecompressedSlice(
+                (line, rqheaders, body) -> connection -> connection.accept(
+                    RsStatus.OK,
+                    new Headers.From("Content-Length", "11"),
+                    Flowable.just(ByteBuffer.wrap("entries: {}".getBytes(StandardCharsets.UTF_8)))
+                        .doOnCancel(() -> cancelled.set(true))
+                ),
+                this.storage, Set.of("index.yaml"), 0
+            ),
+            new AtomicReference<>()
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(cancelled.get(), new IsEqual<>(true));
+    }
+
+    /**
+     * Stored variants of index.
+     * @return Variant keys
+     */
+    private List<Key> variants() {
+        return new ArrayList<>(new BlockingStorage(this.storage).list(new Key.From(".artipie")));
+    }
+
+    /**
+     * Save index.
+     * @param data Index data
+     */
+    private void save(final String data) {
+        this.storage.save(
+            PrecompressedSliceTest.INDEX,
+            new Content.From(data.getBytes(StandardCharsets.UTF_8))
+        ).join();
+    }
+
+    /**
+     * Send request of index accepting gzip coding.
+     * @param data Data answered by origin
+     * @param headers Response headers
+     * @return Response body
+     */
+    private byte[] send(final String data, final AtomicReference<Headers> headers) {
+        final AtomicReference<byte[]> res = new AtomicReference<>();
+        new PrecompressedSlice(
+            (line, rqheaders, body) -> new RsWithBody(
+                StandardRs.OK, data.getBytes(StandardCharsets.UTF_8)
+            ),
+            this.storage, Set.of("index.yaml"), 0
+        ).response(
+            new RequestLine(RqMethod.GET, "/helm/index.yaml").toString(),
+            new Headers.From("Accept-Encoding", "gzip"), Content.EMPTY
+        ).send(
+            (status, rsheaders, body) -> {
+                headers.set(rsheaders);
+                return new PublisherAs(body).bytes().thenAccept(res::set);
+            }
+        ).toCompletableFuture().join();
+        return res.get();
+    }
+
+    /**
+     * Send request of index accepting gzip coding to slice.
+     * @param slice Slice
+     * @param body Response body
+     * @return Completion
+     */
+    private static CompletionStage<Void> send(
+        final Slice slice, final AtomicReference<byte[]> body
+    ) {
+        return slice.response(
+            new RequestLine(RqMethod.GET, "/helm/index.yaml").toString(),
+            new Headers.From("Accept-Encoding", "gzip"), Content.EMPTY
+        ).send(
+            (status, rsheaders, rsbody) -> new PublisherAs(rsbody).bytes().thenAccept(body::set)
+        );
+    }
+
+    /**
+     * Decompress gzip bytes.
+     * @param bytes Compressed bytes
+     * @return Decompressed string
+     * @throws IOException On error
+     */
+    private static String gunzip(final byte[] bytes) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Storage which answers metadata synchronously and holds index reads
+     * until gate is open.
+     * @since 0.30
+     */
+    private static final class GatedStorage extends Storage.Wrap {
+
+        /**
+         * Gate of index reads.
+         */
+        private final CompletableFuture<Void> gate;
+
+        /**
+         * Index reads count.
+         */
+        private final AtomicInteger reads;
+
+        /**
+         * Ctor.
+         * @param origin Origin storage
+         * @param gate Gate of index reads
+         * @param reads Index reads count
+         */
+        GatedStorage(final Storage origin, final CompletableFuture<Void> gate,
+            final AtomicInteger reads) {
+            super(origin);
+            this.gate = gate;
+            this.reads = reads;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> exists(final Key key) {
+            return CompletableFuture.completedFuture(super.exists(key).join());
+        }
+
+        @Override
+        public CompletableFuture<? extends Meta> metadata(final Key key) {
+            return CompletableFuture.completedFuture(super.metadata(key).join());
+        }
+
+        @Override
+        public CompletableFuture<Content> value(final Key key) {
+            final CompletableFuture<Content> res;
+            if (key.equals(PrecompressedSliceTest.INDEX)) {
+                this.reads.incrementAndGet();
+                res = this.gate.thenCompose(nothing -> super.value(key));
+            } else {
+                res = super.value(key);
+            }
+            return res;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.artipie.asto.Content;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.slice.SliceSimple;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link RacingGroupSlice}.
+ * @since 0.30
+ */
+final class RacingGroupSliceTest {
+
+    @Test
+    void returnsFirstSuccessfulResponse() {
+        MatcherAssert.assertThat(
+            new RacingGroupSlice(
+                List.of(
+                    RacingGroupSliceTest.delayed(RacingGroupSliceTest.body("slow")),
+                    new SliceSimple(RacingGroupSliceTest.body("fast"))
+                ),
+                Duration.ZERO
+            ),
+            new SliceHasResponse(
+                new RsHasBody("fast", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/com/artipie/lib/1.0/lib-1.0.jar")
+            )
+        );
+    }
+
+    @Test
+    void returnsNotFoundIfAllMembersMiss() {
+        MatcherAssert.assertThat(
+            new RacingGroupSlice(
+                List.of(
+                    new SliceSimple(StandardRs.NOT_FOUND),
+                    RacingGroupSliceTest.delayed(StandardRs.NOT_FOUND)
+                ),
+                Duration.ofMillis(10L)
+            ),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/any/file.pom")
+            )
+        );
+    }
+
+    @Test
+    void asksLastHitMemberFirst() {
+        final AtomicInteger misses = new AtomicInteger();
+        final Slice slice = new RacingGroupSlice(
+            List.of(
+                (line, headers, body) -> {
+                    misses.incrementAndGet();
+                    return StandardRs.NOT_FOUND;
+                },
+                new SliceSimple(RacingGroupSliceTest.body("hit"))
+            ),
+            Duration.ZERO
+        );
+        for (final String file : new String[] {"lib-1.0.jar", "lib-1.0.pom"}) {
+            MatcherAssert.assertThat(
+                slice,
+                new SliceHasResponse(
+                    new RsHasBody("hit", StandardCharsets.UTF_8),
+                    new RequestLine(RqMethod.GET, String.format("/com/lib/1.0/%s", file))
+                )
+            );
+        }
+        MatcherAssert.assertThat(misses.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void returnsNotModifiedResponse() {
+        MatcherAssert.assertThat(
+            new RacingGroupSlice(
+                List.of(
+                    new SliceSimple(StandardRs.NOT_FOUND),
+                    new SliceSimple(new RsWithStatus(RsStatus.NOT_MODIFIED))
+                ),
+                Duration.ZERO
+            ),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_MODIFIED),
+                new RequestLine(RqMethod.GET, "/com/lib/1.0/lib-1.0.pom")
+            )
+        );
+    }
+
+    @Test
+    void failsIfMemberFailedAndOthersMissed() {
+        final CompletableFuture<Void> sent = new RacingGroupSlice(
+            List.of(
+                new SliceSimple(StandardRs.NOT_FOUND),
+                (line, headers, body) -> connection -> CompletableFuture.failedFuture(
+                    new IllegalStateException("Connection refused")
+                )
+            ),
+            Duration.ZERO
+        ).response(
+            new RequestLine(RqMethod.GET, "/com/lib/1.0/lib-1.0.jar").toString(),
+            Headers.EMPTY, Content.EMPTY
+        ).send((status, headers, body) -> CompletableFuture.allOf()).toCompletableFuture();
+        Assertions.assertThrows(CompletionException.class, sent::join);
+    }
+
+    @Test
+    void returnsErrorIfNoMemberHits() {
+        MatcherAssert.assertThat(
+            new RacingGroupSlice(
+                List.of(
+                    new SliceSimple(new RsWithStatus(RsStatus.UNAUTHORIZED)),
+                    RacingGroupSliceTest.delayed(StandardRs.NOT_FOUND)
+                ),
+                Duration.ZERO
+            ),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.UNAUTHORIZED),
+                new RequestLine(RqMethod.GET, "/com/lib/1.0/lib-1.0.jar")
+            )
+        );
+    }
+
+    @Test
+    void prefersLaterHitOverError() {
+        MatcherAssert.assertThat(
+            new RacingGroupSlice(
+                List.of(
+                    new SliceSimple(new RsWithStatus(RsStatus.UNAVAILABLE)),
+                    RacingGroupSliceTest.delayed(RacingGroupSliceTest.body("hit"))
+                ),
+                Duration.ZERO
+            ),
+            new SliceHasResponse(
+                new RsHasBody("hit", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/com/lib/1.0/lib-1.0.jar")
+            )
+        );
+    }
+
+    @Test
+    void startsAllOtherMembersIfHintedMemberMisses() throws Exception {
+        final AtomicBoolean moved = new AtomicBoolean();
+        final Slice slice = new RacingGroupSlice(
+            List.of(
+                (line, headers, body) -> {
+                    final Response res;
+                    if (moved.get()) {
+                        res = connection -> new CompletableFuture<>();
+                    } else {
+                        res = StandardRs.NOT_FOUND;
+                    }
+                    return res;
+                },
+                (line, headers, body) -> {
+                    final Response res;
+                    if (moved.get()) {
+                        res = RacingGroupSliceTest.body("moved");
+                    } else {
+                        res = StandardRs.NOT_FOUND;
+                    }
+                    return res;
+                },
+                (line, headers, body) -> {
+                    final Response res;
+                    if (moved.get()) {
+                        res = StandardRs.NOT_FOUND;
+                    } else {
+                        res = RacingGroupSliceTest.body("hit");
+                    }
+                    return res;
+                }
+            ),
+            Duration.ZERO
+        );
+        MatcherAssert.assertThat(
+            slice,
+            new SliceHasResponse(
+                new RsHasBody("hit", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/com/lib/1.0/lib-1.0.jar")
+            )
+        );
+        moved.set(true);
+        final AtomicReference<RsStatus> status = new AtomicReference<>();
+        slice.response(
+            new RequestLine(RqMethod.GET, "/com/lib/1.0/lib-1.0.pom").toString(),
+            Headers.EMPTY, Content.EMPTY
+        ).send(
+            (rsstatus, headers, body) -> {
+                status.set(rsstatus);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(status.get(), Matchers.equalTo(RsStatus.OK));
+    }
+
+    @Test
+    void rejectsInvalidHedgeDelay() {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> RacingGroupSlice.fromSettings(
+                Optional.of(
+                    Yaml.createYamlMappingBuilder()
+                        .add("mode", "race")
+                        .add("hedge_delay", "10ms")
+                        .build()
+                ),
+                List.of()
+            )
+        );
+    }
+
+    /**
+     * Response with body.
+     * @param text Body text
+     * @return Response
+     */
+    private static Response body(final String text) {
+        return new RsWithBody(StandardRs.OK, text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Slice which responds with delay.
+     * @param rsp Response
+     * @return Slice
+     */
+    private static Slice delayed(final Response rsp) {
+        return (line, headers, body) -> new AsyncResponse(
+            CompletableFuture.supplyAsync(
+                () -> rsp,
+                CompletableFuture.delayedExecutor(300L, TimeUnit.MILLISECONDS)
+            )
+        );
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.http.client.jetty.JettyClientSlices;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.settings.Settings;
+import com.artipie.settings.repo.RepoConfigYaml;
+import com.artipie.test.TestSettings;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsNot;
+import org.hamcrest.core.IsSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link RepositorySliceRegistry}.
+ *
+ * @since 0.30
+ */
+final class RepositorySliceRegistryTest {
+
+    /**
+     * Repository name.
+     */
+    private static final Key REPO = new Key.From("my-files");
+
+    /**
+     * Temp dir for repository storage.
+     * @checkstyle VisibilityModifierCheck (5 lines)
+     */
+    @TempDir
+    Path tmp;
+
+    /**
+     * Artipie settings.
+     */
+    private Settings settings;
+
+    /**
+     * Registry under test.
+     */
+    private RepositorySliceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        this.settings = new TestSettings();
+        this.registry = new RepositorySliceRegistry(
+            new JettyClientSlices(), this.settings, null
+        );
+    }
+
+    @Test
+    void returnsNotFoundForAbsentRepository() {
+        MatcherAssert.assertThat(
+            this.registry.slice(RepositorySliceRegistryTest.REPO, -1),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/my-files/file.txt")
+            )
+        );
+    }
+
+    @Test
+    void reusesCompiledSlice() {
+        this.saveConfig(new RepoConfigYaml("file").withFileStorage(this.tmp));
+        this.compile();
+        MatcherAssert.assertThat(
+            this.registry.slice(RepositorySliceRegistryTest.REPO, -1),
+            new IsSame<>(this.registry.slice(RepositorySliceRegistryTest.REPO, -1))
+        );
+    }
+
+    @Test
+    void rebuildsSliceAfterInvalidation() {
+        this.saveConfig(new RepoConfigYaml("file").withFileStorage(this.tmp));
+        this.compile();
+        final Slice first = this.registry.slice(RepositorySliceRegistryTest.REPO, -1);
+        this.registry.invalidate(RepositorySliceRegistryTest.REPO.string());
+        MatcherAssert.assertThat(
+            "Previous slice is served until the new one is ready",
+            this.registry.slice(RepositorySliceRegistryTest.REPO, -1),
+            new IsSame<>(first)
+        );
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(
+            () -> this.registry.slice(RepositorySliceRegistryTest.REPO, -1) != first
+        );
+        MatcherAssert.assertThat(
+            "Slice was rebuilt",
+            this.registry.slice(RepositorySliceRegistryTest.REPO, -1),
+            new IsNot<>(new IsSame<>(first))
+        );
+    }
+
+    @Test
+    void returnsNotFoundForAnotherPort() {
+        this.saveConfig(
+            new RepoConfigYaml("file").withFileStorage(this.tmp).withPort(8765)
+        );
+        MatcherAssert.assertThat(
+            this.registry.slice(RepositorySliceRegistryTest.REPO, -1),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/my-files/file.txt")
+            )
+        );
+    }
+
+    @Test
+    void resolvesGroupMemberOnEachRequest() throws Exception {
+        final Slice member = this.registry.member(RepositorySliceRegistryTest.REPO.string());
+        final RequestLine line = new RequestLine(RqMethod.GET, "/my-files/member.txt");
+        MatcherAssert.assertThat(
+            "Absent member is not found",
+            member,
+            new SliceHasResponse(new RsHasStatus(RsStatus.NOT_FOUND), line)
+        );
+        Files.write(this.tmp.resolve("member.txt"), "member".getBytes(StandardCharsets.UTF_8));
+        this.saveConfig(new RepoConfigYaml("file").withFileStorage(this.tmp));
+        MatcherAssert.assertThat(
+            "Member is found after it's config was added",
+            member,
+            new SliceHasResponse(new RsHasStatus(RsStatus.OK), line)
+        );
+    }
+
+    /**
+     * Send request to the repository to wait until it's slice is compiled.
+     */
+    private void compile() {
+        this.registry.slice(RepositorySliceRegistryTest.REPO, -1).response(
+            new RequestLine(RqMethod.GET, "/my-files/any.txt").toString(),
+            Headers.EMPTY, Content.EMPTY
+        ).send((status, headers, body) -> CompletableFuture.allOf())
+            .toCompletableFuture().join();
+    }
+
+    /**
+     * Save repository config.
+     * @param yaml Repository config yaml
+     */
+    private void saveConfig(final RepoConfigYaml yaml) {
+        yaml.saveTo(
+            this.settings.repoConfigsStorage(), RepositorySliceRegistryTest.REPO.string()
+        );
+    }
+}
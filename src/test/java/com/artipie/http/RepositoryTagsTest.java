@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.http.client.jetty.JettyClientSlices;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.settings.Settings;
+import com.artipie.settings.repo.RepoConfigYaml;
+import com.artipie.test.TestSettings;
+import io.micrometer.core.instrument.Tags;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link RepositoryTags}.
+ * @since 0.30
+ */
+final class RepositoryTagsTest {
+
+    /**
+     * Temp dir for repository storage.
+     * @checkstyle VisibilityModifierCheck (5 lines)
+     */
+    @TempDir
+    Path tmp;
+
+    /**
+     * Repository slices registry.
+     */
+    private RepositorySliceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        final Settings settings = new TestSettings();
+        new RepoConfigYaml("file").withFileStorage(this.tmp)
+            .saveTo(settings.repoConfigsStorage(), "my-files");
+        this.registry = new RepositorySliceRegistry(new JettyClientSlices(), settings, null);
+    }
+
+    @Test
+    void tagsCompiledRepository() {
+        this.compile();
+        MatcherAssert.assertThat(
+            new RepositoryTags(this.registry).apply(
+                new RequestLine(RqMethod.GET, "/my-files/file.txt").toString()
+            ),
+            new IsEqual<>(Tags.of("repo", "my-files", "type", "file"))
+        );
+    }
+
+    @Test
+    void tagsDockerApiPath() {
+        this.compile();
+        MatcherAssert.assertThat(
+            new RepositoryTags(this.registry).apply(
+                new RequestLine(RqMethod.GET, "/v2/my-files/manifests/1").toString()
+            ),
+            new IsEqual<>(Tags.of("repo", "my-files", "type", "file"))
+        );
+    }
+
+    @Test
+    void collapsesUnknownRepositories() {
+        MatcherAssert.assertThat(
+            new RepositoryTags(this.registry).apply(
+                new RequestLine(RqMethod.GET, "/random-name/file.txt").toString()
+            ),
+            new IsEqual<>(Tags.of("repo", "unknown", "type", "unknown"))
+        );
+    }
+
+    /**
+     * Send request to the repository to wait until it's slice is compiled.
+     */
+    private void compile() {
+        this.registry.slice(new Key.From("my-files"), -1).response(
+            new RequestLine(RqMethod.GET, "/my-files/any.txt").toString(),
+            Headers.EMPTY, Content.EMPTY
+        ).send((status, headers, body) -> CompletableFuture.allOf())
+            .toCompletableFuture().join();
+    }
+}
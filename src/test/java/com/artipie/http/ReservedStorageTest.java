@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ReservedStorage}.
+ * @since 0.30
+ */
+final class ReservedStorageTest {
+
+    /**
+     * Reserved key.
+     */
+    private static final Key VARIANT = new Key.From(".artipie/precompressed/index.yaml/1.gz");
+
+    /**
+     * Origin storage.
+     */
+    private Storage origin;
+
+    @BeforeEach
+    void init() {
+        this.origin = new InMemoryStorage();
+        this.origin.save(ReservedStorageTest.VARIANT, Content.EMPTY).join();
+        this.origin.save(new Key.From("index.yaml"), Content.EMPTY).join();
+    }
+
+    @Test
+    void hidesReservedKeysFromListing() {
+        MatcherAssert.assertThat(
+            new ReservedStorage(this.origin).list(Key.ROOT).join(),
+            Matchers.contains(new Key.From("index.yaml"))
+        );
+    }
+
+    @Test
+    void doesNotFindReservedKeys() {
+        MatcherAssert.assertThat(
+            new ReservedStorage(this.origin).exists(ReservedStorageTest.VARIANT).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void rejectsUploadToReservedKeys() {
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> new ReservedStorage(this.origin).save(
+                new Key.From(".artipie/precompressed/index.yaml/2.gz"), Content.EMPTY
+            ).join()
+        );
+        MatcherAssert.assertThat(
+            this.origin.list(new Key.From(".artipie")).join(),
+            Matchers.contains(ReservedStorageTest.VARIANT)
+        );
+    }
+
+    @Test
+    void rejectsMoveToReservedKeys() {
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> new ReservedStorage(this.origin).move(
+                new Key.From("index.yaml"), ReservedStorageTest.VARIANT
+            ).join()
+        );
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.http.client.utils.URIBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of request routing on main port: repository name and adapter
+ * path resolution by {@link RqRoute} versus previous routing with regular
+ * expressions, path splitting and request line parsing on every step.
+ * Run it from test classpath, e.g. with `-prof gc` to see allocation rate:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *   org.openjdk.jmh.Main RouterBench -prof gc
+ * </pre>
+ * @since 0.30
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RouterBench {
+
+    /**
+     * Docker V2 API path pattern.
+     */
+    private static final Pattern DOCKER = Pattern.compile("/v2((/.*)?)");
+
+    /**
+     * Conda path pattern.
+     */
+    private static final Pattern CONDA =
+        Pattern.compile("/t/.*(repodata\\.json|\\.conda|\\.tar\\.bz2)");
+
+    /**
+     * Adapter path pattern.
+     */
+    private static final Pattern TRIM = Pattern.compile("/(?:[^/.]+)(/.*)?");
+
+    /**
+     * Request path.
+     */
+    @Param({
+        "/maven/com/artipie/asto/1.0/asto-1.0.jar",
+        "/v2/docker/my-image/manifests/1.0",
+        "/npm/@artipie/npm-adapter/-/npm-adapter-1.0.0.tgz",
+        "/t/token/conda/noarch/repodata.json"
+    })
+    public String path;
+
+    /**
+     * Request line.
+     */
+    private String line;
+
+    @Setup
+    public void setup() {
+        this.line = new RequestLine(RqMethod.GET, this.path).toString();
+    }
+
+    @Benchmark
+    public Optional<String> route() {
+        final RqRoute route = new RqRoute(this.line);
+        final RqRoute repo = route.docker().orElse(route);
+        return repo.repo().flatMap(name -> repo.trimmed().map(RqRoute::line));
+    }
+
+    @Benchmark
+    public Optional<String> legacy() throws Exception {
+        String rqline = this.line;
+        String path = new RequestLineFrom(rqline).uri().getPath();
+        Optional<String> res = Optional.empty();
+        if (!path.equals("/") && path.replaceAll("^/+", "").split("/").length > 0) {
+            final Matcher docker = RouterBench.DOCKER.matcher(path);
+            if (docker.matches()) {
+                final RequestLineFrom req = new RequestLineFrom(rqline);
+                rqline = new RequestLine(
+                    req.method().toString(),
+                    new URIBuilder(req.uri()).setPath(docker.group(1)).toString(),
+                    req.version()
+                ).toString();
+            }
+            path = new RequestLineFrom(rqline).uri().getPath();
+            final String[] parts = path.replaceAll("^/+", "").split("/");
+            if (RouterBench.CONDA.matcher(path).matches()) {
+                res = Optional.of(parts[2]);
+            } else {
+                res = Optional.of(parts[0]);
+            }
+            final RequestLineFrom req = new RequestLineFrom(rqline);
+            final URI uri = req.uri();
+            final Matcher trim = RouterBench.TRIM.matcher(uri.getPath());
+            if (trim.matches()) {
+                res = Optional.of(
+                    new RequestLine(
+                        req.method().toString(),
+                        new URIBuilder(uri).setPath(trim.group(1)).toString(),
+                        req.version()
+                    ).toString()
+                );
+            } else {
+                res = Optional.empty();
+            }
+        }
+        return res;
+    }
+}
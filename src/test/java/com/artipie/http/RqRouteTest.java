@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link RqRoute}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class RqRouteTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "/my-maven/com/artipie/asto/1.0/asto-1.0.jar,my-maven",
+        "//my-npm/@scope%2fpkg,my-npm",
+        "/my-repo,my-repo",
+        "/t/ol-4ee312d8-9fe2-44d2-bea9-053325e1ffd5/my-conda/noarch/repodata.json,my-conda",
+        "/t/user-token/my-conda/noarch/myTest-0.2-0.tar.bz2,my-conda",
+        "/t/any/my-repo/repodata.json,t",
+        "/,",
+        "//,"
+    })
+    void findsRepository(final String path, final String repo) {
+        MatcherAssert.assertThat(
+            new RqRoute(new RequestLine(RqMethod.GET, path).toString()).repo(),
+            new IsEqual<>(Optional.ofNullable(repo))
+        );
+    }
+
+    @Test
+    void routesDockerRequests() {
+        final RqRoute route = new RqRoute(
+            new RequestLine(RqMethod.HEAD, "/v2/my-docker/manifests/1.0?x=y").toString()
+        );
+        MatcherAssert.assertThat(
+            "Docker request is not base request",
+            route.dockerBase(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Removes prefix from request line",
+            route.docker().map(RqRoute::line),
+            new IsEqual<>(
+                Optional.of(
+                    new RequestLine(RqMethod.HEAD, "/my-docker/manifests/1.0?x=y").toString()
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "Finds repository",
+            route.docker().flatMap(RqRoute::repo),
+            new IsEqual<>(Optional.of("my-docker"))
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({"/v2,true", "/v2/,true", "/v2x,false", "/v2/repo,false"})
+    void detectsDockerBaseRequest(final String path, final boolean base) {
+        MatcherAssert.assertThat(
+            new RqRoute(new RequestLine(RqMethod.GET, path).toString()).dockerBase(),
+            new IsEqual<>(base)
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "/repo/one/two?q=1,/one/two?q=1",
+        "/repo,/",
+        "/repo/,/",
+        "/repo.json/file,",
+        "//repo/file,",
+        "/,"
+    })
+    void trimsRepositoryName(final String path, final String trimmed) {
+        MatcherAssert.assertThat(
+            new RqRoute(new RequestLine(RqMethod.GET, path).toString()).trimmed()
+                .map(RqRoute::line),
+            new IsEqual<>(
+                Optional.ofNullable(trimmed)
+                    .map(target -> new RequestLine(RqMethod.GET, target).toString())
+            )
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "/my-maven/com/artipie/asto-1.0.jar,com/artipie/asto-1.0.jar",
+        "/my-file/some%20file.txt?x=1,some file.txt",
+        "/t/user-token/my-conda/noarch/repodata.json,noarch/repodata.json",
+        "/my-file/dir/,",
+        "/my-file,",
+        "/my-file/,"
+    })
+    void findsRepositoryItem(final String path, final String item) {
+        MatcherAssert.assertThat(
+            new RqRoute(new RequestLine(RqMethod.GET, path).toString()).item(),
+            new IsEqual<>(Optional.ofNullable(item))
+        );
+    }
+
+    @Test
+    void readsAbsoluteTarget() {
+        final RqRoute route = new RqRoute(
+            new RequestLine(RqMethod.GET, "http://artipie.com:8080/my-repo/file?a=b").toString()
+        );
+        MatcherAssert.assertThat(
+            "Reads port",
+            route.port(),
+            new IsEqual<>(8080)
+        );
+        MatcherAssert.assertThat(
+            "Reads path",
+            route.path(),
+            new IsEqual<>("/my-repo/file")
+        );
+    }
+
+    @Test
+    void respondsEmptyForRoot() {
+        MatcherAssert.assertThat(
+            new RqRoute(new RequestLine(RqMethod.OPTIONS, "*").toString()).empty(),
+            new IsEqual<>(true)
+        );
+    }
+}
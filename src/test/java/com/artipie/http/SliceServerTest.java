@@ -0,0 +1,262 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.asto.Content;
+import com.artipie.http.headers.ContentLength;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import io.reactivex.Flowable;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.reactivex.core.Vertx;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link SliceServer}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class SliceServerTest {
+
+    /**
+     * File data.
+     */
+    private static final String DATA = "0123456789";
+
+    /**
+     * Vert.x.
+     */
+    private Vertx vertx;
+
+    /**
+     * Server.
+     */
+    private SliceServer server;
+
+    /**
+     * Web client.
+     */
+    private WebClient client;
+
+    /**
+     * Server port.
+     */
+    private int port;
+
+    /**
+     * Bytes sent by sendfile.
+     */
+    private AtomicLong sent;
+
+    /**
+     * Was tracked response body cancelled.
+     */
+    private AtomicBoolean cancelled;
+
+    @BeforeEach
+    void setUp(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("file.txt");
+        Files.writeString(file, SliceServerTest.DATA);
+        this.sent = new AtomicLong(-1);
+        this.cancelled = new AtomicBoolean();
+        this.vertx = Vertx.vertx();
+        this.server = new SliceServer(
+            this.vertx,
+            (line, headers, body) -> {
+                final Response res;
+                if (line.contains("/file")) {
+                    res = connection -> connection.accept(
+                        RsStatus.OK,
+                        new Headers.From(
+                            new ContentLength(String.valueOf(SliceServerTest.DATA.length()))
+                        ),
+                        new FileContent(
+                            file, SliceServerTest.DATA.length(),
+                            new Content.From("unexpected".getBytes(StandardCharsets.UTF_8))
+                        ).observed(this.sent::set)
+                    );
+                } else if (line.contains("/tracked")) {
+                    res = connection -> connection.accept(
+                        RsStatus.OK,
+                        new Headers.From(
+                            new ContentLength(String.valueOf(SliceServerTest.DATA.length()))
+                        ),
+                        Flowable.just(
+                            ByteBuffer.wrap(SliceServerTest.DATA.getBytes(StandardCharsets.UTF_8))
+                        ).doOnCancel(() -> this.cancelled.set(true))
+                    );
+                } else if (line.contains("/sized")) {
+                    res = new RsWithHeaders(
+                        new RsWithBody(
+                            new RsWithStatus(RsStatus.OK), SliceServerTest.DATA,
+                            StandardCharsets.UTF_8
+                        ),
+                        new Headers.From("ETag", "\"abc\"")
+                    );
+                } else {
+                    res = new RsWithBody(
+                        new RsWithStatus(RsStatus.OK), "chunks", StandardCharsets.UTF_8
+                    );
+                }
+                return res;
+            },
+            0
+        );
+        this.port = this.server.start();
+        this.client = WebClient.create(this.vertx.getDelegate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.client.close();
+        this.server.close();
+        this.vertx.close();
+    }
+
+    @Test
+    void sendsFile() {
+        final HttpResponse<Buffer> rsp = this.get("/file", null);
+        MatcherAssert.assertThat(
+            "Wrong status",
+            rsp.statusCode(),
+            new IsEqual<>(200)
+        );
+        MatcherAssert.assertThat(
+            "Wrong body",
+            rsp.bodyAsString(),
+            new IsEqual<>(SliceServerTest.DATA)
+        );
+        MatcherAssert.assertThat(
+            "Sent bytes were not reported",
+            this.sent.get(),
+            new IsEqual<>(10L)
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({"bytes=2-4,234,bytes 2-4/10", "bytes=-3,789,bytes 7-9/10"})
+    void sendsFileRange(final String range, final String body, final String crange) {
+        final HttpResponse<Buffer> rsp = this.get("/file", range);
+        MatcherAssert.assertThat(
+            "Wrong status",
+            rsp.statusCode(),
+            new IsEqual<>(206)
+        );
+        MatcherAssert.assertThat(
+            "Wrong body",
+            rsp.bodyAsString(),
+            new IsEqual<>(body)
+        );
+        MatcherAssert.assertThat(
+            "Wrong content range",
+            rsp.getHeader("Content-Range"),
+            new IsEqual<>(crange)
+        );
+        MatcherAssert.assertThat(
+            "Sent bytes were not reported",
+            this.sent.get(),
+            new IsEqual<>((long) body.length())
+        );
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() {
+        final HttpResponse<Buffer> rsp = this.get("/file", "bytes=10-");
+        MatcherAssert.assertThat(
+            "Wrong status",
+            rsp.statusCode(),
+            new IsEqual<>(416)
+        );
+        MatcherAssert.assertThat(
+            "Wrong content range",
+            rsp.getHeader("Content-Range"),
+            new IsEqual<>("bytes */10")
+        );
+    }
+
+    @Test
+    void cancelsBodyOfUnsatisfiableRange() {
+        MatcherAssert.assertThat(
+            "Wrong status",
+            this.get("/tracked", "bytes=10-").statusCode(),
+            new IsEqual<>(416)
+        );
+        MatcherAssert.assertThat(
+            "Body was not cancelled",
+            this.cancelled.get(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void writesOtherContent() {
+        MatcherAssert.assertThat(
+            this.get("/other", null).bodyAsString(),
+            new IsEqual<>("chunks")
+        );
+    }
+
+    @Test
+    void writesRangeOfContentWithLength() {
+        final HttpResponse<Buffer> rsp = this.get("/sized", "bytes=3-5");
+        MatcherAssert.assertThat(
+            "Wrong status",
+            rsp.statusCode(),
+            new IsEqual<>(206)
+        );
+        MatcherAssert.assertThat(
+            "Wrong body",
+            rsp.bodyAsString(),
+            new IsEqual<>("345")
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({"\"abc\",206,3", "\"other\",200,10", "W/\"abc\",200,10"})
+    void appliesRangeIfEntityTagMatches(final String cond, final int status, final int len) {
+        final io.vertx.ext.web.client.HttpRequest<Buffer> req =
+            this.client.request(HttpMethod.GET, this.port, "localhost", "/sized");
+        req.putHeader("Range", "bytes=0-2").putHeader("If-Range", cond);
+        final HttpResponse<Buffer> rsp = req.send()
+            .toCompletionStage().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Wrong status",
+            rsp.statusCode(),
+            new IsEqual<>(status)
+        );
+        MatcherAssert.assertThat(
+            "Wrong body length",
+            rsp.bodyAsString().length(),
+            new IsEqual<>(len)
+        );
+    }
+
+    private HttpResponse<Buffer> get(final String path, final String range) {
+        final io.vertx.ext.web.client.HttpRequest<Buffer> req =
+            this.client.request(HttpMethod.GET, this.port, "localhost", path);
+        if (range != null) {
+            req.putHeader("Range", range);
+        }
+        return req.send().toCompletionStage().toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.micrometer;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Connection;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.slice.SliceSimple;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of metrics decorators overhead: bare slice and storage versus
+ * {@link MicrometerSlice} and {@link MicrometerStorage}. Run it from test
+ * classpath, e.g. with `-prof gc` to see allocation rate:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *   org.openjdk.jmh.Main MicrometerBench -prof gc
+ * </pre>
+ * @since 0.30
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MicrometerBench {
+
+    /**
+     * Request line.
+     */
+    private static final String LINE =
+        new RequestLine(RqMethod.GET, "/my-repo/file.txt").toString();
+
+    /**
+     * Storage key.
+     */
+    private static final Key KEY = new Key.From("file.txt");
+
+    /**
+     * Connection which ignores response.
+     */
+    private static final Connection CONNECTION =
+        (status, headers, body) -> CompletableFuture.allOf();
+
+    /**
+     * Bare slice.
+     */
+    private Slice bare;
+
+    /**
+     * Slice with metrics.
+     */
+    private Slice metered;
+
+    /**
+     * Slice with metrics tagged by repository.
+     */
+    private Slice tagged;
+
+    /**
+     * Bare storage.
+     */
+    private Storage storage;
+
+    /**
+     * Storage with metrics.
+     */
+    private Storage measured;
+
+    @Setup
+    public void setup() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        this.bare = new SliceSimple(StandardRs.OK);
+        this.metered = new MicrometerSlice(this.bare, registry);
+        final Tags tags = Tags.of("repo", "my-repo", "type", "file");
+        this.tagged = new MicrometerSlice(this.bare, registry, line -> tags);
+        this.storage = new InMemoryStorage();
+        this.storage.save(
+            MicrometerBench.KEY, new Content.From("abc".getBytes(StandardCharsets.UTF_8))
+        ).join();
+        this.measured = new MicrometerStorage(this.storage, registry);
+    }
+
+    @Benchmark
+    public void bareSlice() {
+        MicrometerBench.send(this.bare);
+    }
+
+    @Benchmark
+    public void meteredSlice() {
+        MicrometerBench.send(this.metered);
+    }
+
+    @Benchmark
+    public void taggedSlice() {
+        MicrometerBench.send(this.tagged);
+    }
+
+    @Benchmark
+    public boolean bareStorage() {
+        return this.storage.exists(MicrometerBench.KEY).join();
+    }
+
+    @Benchmark
+    public boolean meteredStorage() {
+        return this.measured.exists(MicrometerBench.KEY).join();
+    }
+
+    /**
+     * Send request to slice and wait for response.
+     * @param slice Slice
+     */
+    private static void send(final Slice slice) {
+        slice.response(MicrometerBench.LINE, Headers.EMPTY, Content.EMPTY)
+            .send(MicrometerBench.CONNECTION).toCompletableFuture().join();
+    }
+}
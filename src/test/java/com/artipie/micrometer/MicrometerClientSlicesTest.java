@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.micrometer;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.client.ClientSlices;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.slice.SliceSimple;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MicrometerClientSlices}.
+ * @since 0.30
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class MicrometerClientSlicesTest {
+
+    /**
+     * Test registry.
+     */
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void init() {
+        this.registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void measuresResponsesByRemoteHost() {
+        final ClientSlices slices = new MicrometerClientSlices(
+            new FakeClientSlices(
+                new SliceSimple(
+                    new RsWithBody(
+                        new RsWithStatus(RsStatus.OK), "abcd", StandardCharsets.UTF_8
+                    )
+                )
+            ),
+            this.registry
+        );
+        MicrometerClientSlicesTest.send(slices.https("repo.maven.apache.org"));
+        MicrometerClientSlicesTest.send(slices.http("localhost", 8080));
+        MatcherAssert.assertThat(
+            this.registry.getMetersAsString(),
+            Matchers.allOf(
+                // @checkstyle LineLengthCheck (6 lines)
+                Matchers.containsString("artipie.upstream.bytes(COUNTER)[host='localhost:8080']; count=4.0"),
+                Matchers.containsString("artipie.upstream.bytes(COUNTER)[host='repo.maven.apache.org']; count=4.0"),
+                Matchers.containsString("artipie.upstream.duration(TIMER)[host='localhost:8080', status='OK']; count=1.0"),
+                Matchers.containsString("artipie.upstream.duration(TIMER)[host='repo.maven.apache.org', status='OK']; count=1.0"),
+                Matchers.containsString("artipie.upstream.ttfb(TIMER)[host='localhost:8080', status='OK']; count=1.0"),
+                Matchers.containsString("artipie.upstream.ttfb(TIMER)[host='repo.maven.apache.org', status='OK']; count=1.0")
+            )
+        );
+    }
+
+    @Test
+    void countsFailedRequests() {
+        final Slice slice = new MicrometerClientSlices(
+            new FakeClientSlices(
+                (line, headers, body) -> connection -> CompletableFuture.failedFuture(
+                    new IllegalStateException("Connection refused")
+                )
+            ),
+            this.registry
+        ).https("remote.com");
+        Assertions.assertThrows(
+            CompletionException.class, () -> MicrometerClientSlicesTest.send(slice)
+        );
+        MatcherAssert.assertThat(
+            "Counts error",
+            this.registry.get("artipie.upstream.errors").tag("host", "remote.com")
+                .counter().count(),
+            new IsEqual<>(1.0)
+        );
+        MatcherAssert.assertThat(
+            "No requests in progress",
+            this.registry.get("artipie.upstream.inflight").tag("host", "remote.com")
+                .longTaskTimer().activeTasks(),
+            new IsEqual<>(0)
+        );
+    }
+
+    /**
+     * Send request to slice and consume response body.
+     * @param slice Slice
+     */
+    private static void send(final Slice slice) {
+        slice.response(
+            new RequestLine(RqMethod.GET, "/any").toString(), Headers.EMPTY, Content.EMPTY
+        ).send(
+            (status, headers, body) -> CompletableFuture.runAsync(
+                () -> Flowable.fromPublisher(body).blockingSubscribe()
+            )
+        ).toCompletableFuture().join();
+    }
+
+    /**
+     * Client slices which return the same slice for any remote.
+     * @since 0.30
+     */
+    private static final class FakeClientSlices implements ClientSlices {
+
+        /**
+         * Slice.
+         */
+        private final Slice slice;
+
+        /**
+         * Ctor.
+         * @param slice Slice
+         */
+        FakeClientSlices(final Slice slice) {
+            this.slice = slice;
+        }
+
+        @Override
+        public Slice http(final String host) {
+            return this.slice;
+        }
+
+        @Override
+        public Slice http(final String host, final int port) {
+            return this.slice;
+        }
+
+        @Override
+        public Slice https(final String host) {
+            return this.slice;
+        }
+
+        @Override
+        public Slice https(final String host, final int port) {
+            return this.slice;
+        }
+    }
+}
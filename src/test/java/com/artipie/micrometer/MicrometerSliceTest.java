@@ -13,11 +13,14 @@ import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsFull;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.slice.SliceSimple;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
@@ -89,7 +92,9 @@ class MicrometerSliceTest {
             )
         );
         MatcherAssert.assertThat(
-            List.of(this.registry.getMetersAsString().split("\n")),
+            Stream.of(this.registry.getMetersAsString().split("\n"))
+                .filter(meter -> !meter.contains(".histogram("))
+                .collect(Collectors.toList()),
             Matchers.containsInAnyOrder(
                 // @checkstyle LineLengthCheck (20 lines)
                 Matchers.containsString("artipie.connection.accept(TIMER)[status='OK']; count=2.0, total_time"),
@@ -107,4 +112,27 @@ class MicrometerSliceTest {
         );
     }
 
+    @Test
+    void addsExtraTags() {
+        MatcherAssert.assertThat(
+            new MicrometerSlice(
+                new SliceSimple(new RsFull(RsStatus.OK, Headers.EMPTY, Content.EMPTY)),
+                this.registry,
+                line -> Tags.of("repo", "my-maven", "type", "maven")
+            ),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.GET, "/my-maven/any")
+            )
+        );
+        MatcherAssert.assertThat(
+            List.of(this.registry.getMetersAsString().split("\n")),
+            Matchers.hasItems(
+                // @checkstyle LineLengthCheck (2 lines)
+                Matchers.containsString("artipie.request.counter(COUNTER)[method='GET', repo='my-maven', status='OK', type='maven']; count=1.0"),
+                Matchers.containsString("artipie.slice.response(TIMER)[repo='my-maven', status='OK', type='maven']; count=1.0"),
+                Matchers.containsString("artipie.slice.response.histogram(GAUGE)[le='0.1', repo='my-maven', status='OK', type='maven']; value=1.0")
+            )
+        );
+    }
 }
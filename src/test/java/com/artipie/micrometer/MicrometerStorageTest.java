@@ -13,10 +13,13 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.reactivex.Flowable;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -79,7 +82,7 @@ class MicrometerStorageTest {
         ).join();
         MatcherAssert.assertThat(
             "Logged save",
-            Arrays.stream(this.registry.getMetersAsString().split("\n")).toList(),
+            this.operations(),
             Matchers.containsInAnyOrder(
                 // @checkstyle LineLengthCheck (2 lines)
                 Matchers.containsString("artipie.storage.save(TIMER)[id='InMemoryStorage']; count=1.0"),
@@ -89,7 +92,7 @@ class MicrometerStorageTest {
         this.asto.move(MicrometerStorageTest.KEY, new Key.From("other/location/test.txt")).join();
         MatcherAssert.assertThat(
             "Logged save and move",
-            Arrays.stream(this.registry.getMetersAsString().split("\n")).toList(),
+            this.operations(),
             Matchers.containsInAnyOrder(
                 // @checkstyle LineLengthCheck (3 lines)
                 Matchers.containsString("artipie.storage.save(TIMER)[id='InMemoryStorage']; count=1.0"),
@@ -106,7 +109,7 @@ class MicrometerStorageTest {
         ).join();
         MatcherAssert.assertThat(
             "Logged save",
-            Arrays.stream(this.registry.getMetersAsString().split("\n")).toList(),
+            this.operations(),
             Matchers.containsInAnyOrder(
                 // @checkstyle LineLengthCheck (2 lines)
                 Matchers.containsString("artipie.storage.save(TIMER)[id='InMemoryStorage']; count=1.0"),
@@ -118,7 +121,7 @@ class MicrometerStorageTest {
         ).join();
         MatcherAssert.assertThat(
             "Logged save and value",
-            Arrays.stream(this.registry.getMetersAsString().split("\n")).toList(),
+            this.operations(),
             Matchers.containsInAnyOrder(
                 // @checkstyle LineLengthCheck (4 lines)
                 Matchers.containsString("artipie.storage.save(TIMER)[id='InMemoryStorage']; count=1.0"),
@@ -137,7 +140,7 @@ class MicrometerStorageTest {
         this.asto.metadata(MicrometerStorageTest.KEY).join();
         this.asto.delete(MicrometerStorageTest.KEY).join();
         MatcherAssert.assertThat(
-            Arrays.stream(this.registry.getMetersAsString().split("\n")).toList(),
+            this.operations(),
             Matchers.containsInAnyOrder(
                 // @checkstyle LineLengthCheck (4 lines)
                 Matchers.containsString("artipie.storage.save(TIMER)[id='InMemoryStorage']; count=1.0"),
@@ -158,7 +161,7 @@ class MicrometerStorageTest {
         ).toCompletableFuture().join();
         this.asto.deleteAll(MicrometerStorageTest.KEY).join();
         MatcherAssert.assertThat(
-            Arrays.stream(this.registry.getMetersAsString().split("\n")).toList(),
+            this.operations(),
             Matchers.containsInAnyOrder(
                 // @checkstyle LineLengthCheck (4 lines)
                 Matchers.containsString("artipie.storage.save(TIMER)[id='InMemoryStorage']; count=1.0"),
@@ -187,4 +190,66 @@ class MicrometerStorageTest {
         );
     }
 
+    @Test
+    void tagsMetersWithStorageName() {
+        new MicrometerStorage(new InMemoryStorage(), this.registry, "default")
+            .exists(MicrometerStorageTest.KEY).join();
+        MatcherAssert.assertThat(
+            this.registry.getMetersAsString(),
+            Matchers.containsString("artipie.storage.exists(TIMER)[id='default']; count=1.0")
+        );
+    }
+
+    @Test
+    void measuresOperationsInProgress() {
+        final CompletableFuture<String> action = new CompletableFuture<>();
+        final CompletableFuture<String> res = this.asto.exclusively(
+            MicrometerStorageTest.KEY, storage -> action
+        ).toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Operation in progress",
+            this.registry.get("artipie.storage.inflight")
+                .tag("operation", "exclusively").longTaskTimer().activeTasks(),
+            new IsEqual<>(1)
+        );
+        action.complete("done");
+        res.join();
+        MatcherAssert.assertThat(
+            "Operation completed",
+            this.registry.get("artipie.storage.inflight")
+                .tag("operation", "exclusively").longTaskTimer().activeTasks(),
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void countsBytes() {
+        this.asto.save(
+            MicrometerStorageTest.KEY, new Content.From("12345".getBytes(StandardCharsets.UTF_8))
+        ).join();
+        this.asto.value(MicrometerStorageTest.KEY).thenAccept(
+            content -> Flowable.fromPublisher(content).blockingSubscribe()
+        ).join();
+        MatcherAssert.assertThat(
+            this.registry.getMetersAsString(),
+            Matchers.stringContainsInOrder(
+                "artipie.storage.bytes(COUNTER)[id='InMemoryStorage', operation='save']; count=5.0",
+                "artipie.storage.bytes(COUNTER)[id='InMemoryStorage', operation='value']; count=5.0"
+            )
+        );
+    }
+
+    /**
+     * Operations timers and size summaries, bytes counters, in progress
+     * operations and histogram meters are skipped.
+     * @return Meters as strings
+     */
+    private List<String> operations() {
+        return Arrays.stream(this.registry.getMetersAsString().split("\n"))
+            .filter(
+                line -> !line.contains(".histogram(") && !line.contains(".inflight(")
+                    && !line.contains(".bytes(")
+            ).collect(Collectors.toList());
+    }
+
 }
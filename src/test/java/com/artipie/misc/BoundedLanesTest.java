@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.misc;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link BoundedLanes}.
+ * @since 0.30
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class BoundedLanesTest {
+
+    @Test
+    void limitsActionsInProgress() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger max = new AtomicInteger();
+        final List<Integer> items = IntStream.range(0, 100).boxed()
+            .collect(Collectors.toList());
+        new BoundedLanes<Integer>(3).run(
+            items,
+            item -> CompletableFuture.runAsync(
+                () -> {
+                    max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    running.decrementAndGet();
+                }
+            )
+        ).join();
+        MatcherAssert.assertThat(max.get(), Matchers.lessThanOrEqualTo(3));
+    }
+
+    @Test
+    void continuesAfterFailedAction() {
+        final Queue<String> done = new ConcurrentLinkedQueue<>();
+        new BoundedLanes<String>(1).run(
+            List.of("one", "two", "three"),
+            item -> {
+                final CompletableFuture<Void> res;
+                if ("two".equals(item)) {
+                    res = CompletableFuture.failedFuture(new IllegalStateException(item));
+                } else {
+                    done.add(item);
+                    res = CompletableFuture.completedFuture(null);
+                }
+                return res;
+            }
+        ).join();
+        MatcherAssert.assertThat(done, Matchers.contains("one", "three"));
+    }
+
+    @Test
+    void rejectsNotPositiveParallelism() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new BoundedLanes<String>(0)
+        );
+    }
+}
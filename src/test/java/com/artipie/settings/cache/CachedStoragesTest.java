@@ -6,13 +6,21 @@ package com.artipie.settings.cache;
 
 import com.amihaiemil.eoyaml.Yaml;
 import com.artipie.ArtipieException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.FileContent;
 import com.artipie.settings.Settings;
 import com.artipie.settings.YamlSettings;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests for {@link CachedStorages}.
@@ -70,6 +78,29 @@ final class CachedStoragesTest {
         );
     }
 
+    @Test
+    void marksFileSystemValuesWithPath(@TempDir final Path tmp) throws Exception {
+        final Storage strg = new CachedStorages().storage(CachedStoragesTest.config(tmp.toString()));
+        final Key key = new Key.From("a", "b.txt");
+        strg.save(key, new Content.From("abc".getBytes(StandardCharsets.UTF_8))).join();
+        final Content value = strg.value(key).join();
+        MatcherAssert.assertThat(
+            "Value is not file content",
+            value,
+            new IsInstanceOf(FileContent.class)
+        );
+        MatcherAssert.assertThat(
+            "File content has wrong path",
+            ((FileContent) value).path(),
+            new IsEqual<>(tmp.resolve("a").resolve("b.txt"))
+        );
+        MatcherAssert.assertThat(
+            "File content has wrong data",
+            new PublisherAs(value).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("abc")
+        );
+    }
+
     private static Settings config(final String stpath) {
         return new YamlSettings(
             Yaml.createYamlMappingBuilder()
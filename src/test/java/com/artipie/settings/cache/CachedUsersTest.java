@@ -4,6 +4,7 @@
  */
 package com.artipie.settings.cache;
 
+import com.artipie.auth.AuthUnavailableException;
 import com.artipie.http.auth.AuthUser;
 import com.artipie.http.auth.Authentication;
 import com.google.common.cache.Cache;
@@ -26,7 +27,12 @@ final class CachedUsersTest {
     /**
      * Test cache.
      */
-    private Cache<String, Optional<AuthUser>> cache;
+    private Cache<Long, CachedUsers.Login> cache;
+
+    /**
+     * Test cache for failed attempts.
+     */
+    private Cache<Long, String> failed;
 
     /**
      * Test users.
@@ -41,8 +47,11 @@ final class CachedUsersTest {
     @BeforeEach
     void init() {
         this.cache = CacheBuilder.newBuilder().build();
+        this.failed = CacheBuilder.newBuilder().build();
         this.auth = new FakeAuth();
-        this.users = new CachedUsers(this.auth, this.cache);
+        this.users = new CachedUsers(
+            this.auth, this.cache, this.failed, CacheBuilder.newBuilder().build(), 3
+        );
     }
 
     @Test
@@ -84,7 +93,7 @@ final class CachedUsersTest {
         );
         MatcherAssert.assertThat(
             "Cache size should be 2",
-            this.cache.size(),
+            this.failed.size(),
             new IsEqual<>(2L)
         );
         MatcherAssert.assertThat(
@@ -97,7 +106,7 @@ final class CachedUsersTest {
         );
         MatcherAssert.assertThat(
             "Cache size should be 2",
-            this.cache.size(),
+            this.failed.size(),
             new IsEqual<>(2L)
         );
         MatcherAssert.assertThat(
@@ -107,8 +116,103 @@ final class CachedUsersTest {
         );
     }
 
+    @Test
+    void throttlesFailedAttempts() {
+        for (int attempt = 0; attempt < 5; attempt = attempt + 1) {
+            this.users.user("David", String.valueOf(attempt));
+        }
+        MatcherAssert.assertThat(
+            "Authenticate method should be called until limit is reached",
+            this.auth.cnt.get(),
+            new IsEqual<>(3)
+        );
+    }
+
+    @Test
+    void doesNotThrottleCachedUser() {
+        this.users.user("jane", "any");
+        for (int attempt = 0; attempt < 5; attempt = attempt + 1) {
+            this.users.user("jane", String.valueOf(attempt));
+        }
+        MatcherAssert.assertThat(
+            "Jane was authenticated with cached password",
+            this.users.user("jane", "any").isPresent()
+        );
+    }
+
+    @Test
+    void invalidatesByUsername() {
+        this.users.user("jane", "any");
+        this.users.user("David", "any");
+        this.users.invalidate("jane");
+        MatcherAssert.assertThat(
+            "Jane was not invalidated",
+            this.cache.size(),
+            new IsEqual<>(0L)
+        );
+        MatcherAssert.assertThat(
+            "David was invalidated",
+            this.failed.size(),
+            new IsEqual<>(1L)
+        );
+    }
+
+    @Test
+    void cachesUserWithOtherName() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CachedUsers github = new CachedUsers(
+            (name, pswd) -> {
+                calls.incrementAndGet();
+                return Optional.of(new AuthUser(String.format("github.com/%s", name), "github"));
+            },
+            this.cache, this.failed, CacheBuilder.newBuilder().build(), 3
+        );
+        github.user("octocat", "token");
+        MatcherAssert.assertThat(
+            "Cached user was not found",
+            github.user("octocat", "token").map(AuthUser::name),
+            new IsEqual<>(Optional.of("github.com/octocat"))
+        );
+        github.invalidate("octocat");
+        github.user("octocat", "token");
+        MatcherAssert.assertThat(
+            "Origin was not called once per invalidation",
+            calls.get(),
+            new IsEqual<>(2)
+        );
+    }
+
+    @Test
+    void doesNotCacheNorThrottleUnavailableOrigin() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CachedUsers unavailable = new CachedUsers(
+            (name, pswd) -> {
+                calls.incrementAndGet();
+                throw new AuthUnavailableException("Keycloak grant timed out");
+            },
+            this.cache, this.failed, CacheBuilder.newBuilder().build(), 3
+        );
+        for (int attempt = 0; attempt < 5; attempt = attempt + 1) {
+            MatcherAssert.assertThat(
+                "User was authenticated by unavailable origin",
+                unavailable.user("David", "any").isEmpty()
+            );
+        }
+        MatcherAssert.assertThat(
+            "Unavailable origin result was cached",
+            this.failed.size(),
+            new IsEqual<>(0L)
+        );
+        MatcherAssert.assertThat(
+            "Unavailable origin was throttled",
+            calls.get(),
+            new IsEqual<>(5)
+        );
+    }
+
     /**
-     * Fake authentication: returns "jane" when username is jane, empty otherwise.
+     * Fake authentication: returns "jane" when username is jane and password is any,
+     * empty otherwise.
      * @since 0.27
      */
     final class FakeAuth implements Authentication {
@@ -122,7 +226,7 @@ final class CachedUsersTest {
         public Optional<AuthUser> user(final String name, final String pswd) {
             this.cnt.incrementAndGet();
             final Optional<AuthUser> res;
-            if (name.equals("jane")) {
+            if (name.equals("jane") && pswd.equals("any")) {
                 res = Optional.of(new AuthUser(name, "test"));
             } else {
                 res = Optional.empty();
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache;
+
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.http.NegativeCache;
+import com.artipie.settings.cache.bus.Invalidation;
+import com.artipie.settings.cache.bus.LocalInvalidationBus;
+import com.artipie.test.TestArtipieCaches;
+import com.artipie.test.TestFiltersCache;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ClusterCaches}.
+ * @since 0.30
+ */
+final class ClusterCachesTest {
+
+    /**
+     * Local caches of the first node.
+     */
+    private TestArtipieCaches first;
+
+    /**
+     * Local caches of the second node.
+     */
+    private TestArtipieCaches second;
+
+    /**
+     * Invalidated repositories of the second node.
+     */
+    private Queue<String> repos;
+
+    /**
+     * Cluster caches of the first node.
+     */
+    private ClusterCaches cluster;
+
+    /**
+     * Invalidation bus.
+     */
+    private LocalInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        this.bus = new LocalInvalidationBus();
+        final LocalInvalidationBus bus = this.bus;
+        this.first = new TestArtipieCaches();
+        this.second = new TestArtipieCaches();
+        this.repos = new ConcurrentLinkedQueue<>();
+        this.cluster = new ClusterCaches(this.first, bus, List.of());
+        new ClusterCaches(
+            this.second, bus,
+            List.of(
+                new Cleanable<String>() {
+                    @Override
+                    public void invalidate(final String name) {
+                        ClusterCachesTest.this.repos.add(name);
+                    }
+
+                    @Override
+                    public void invalidateAll() {
+                        ClusterCachesTest.this.repos.add("*");
+                    }
+                }
+            )
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        new NegativeCache().invalidateAll();
+    }
+
+    @Test
+    void publishesNegativeLookupsInvalidation() {
+        final Queue<Invalidation> messages = new ConcurrentLinkedQueue<>();
+        this.bus.subscribe(messages::add);
+        this.cluster.negativeCache().broadcast("my-npm");
+        MatcherAssert.assertThat(
+            messages.stream().map(msg -> msg.key().orElseThrow()).collect(Collectors.toList()),
+            Matchers.contains("my-npm")
+        );
+    }
+
+    @Test
+    void doesNotPublishInvalidationOfLocalNegativeCache() {
+        final Queue<Invalidation> messages = new ConcurrentLinkedQueue<>();
+        this.bus.subscribe(messages::add);
+        new NegativeCache().broadcast("my-npm");
+        MatcherAssert.assertThat(messages, Matchers.empty());
+    }
+
+    @Test
+    void invalidatesNegativeLookupsFromOtherNode() {
+        final NegativeCache cache = new NegativeCache();
+        cache.miss("my-npm", "/pkg");
+        this.bus.publish(new Invalidation("other-node", "negative", Optional.of("my-npm")));
+        MatcherAssert.assertThat(
+            cache.missing("my-npm", "/pkg"),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void invalidatesUsersOnAllNodes() {
+        this.cluster.usersCache().invalidate("alice");
+        MatcherAssert.assertThat(
+            List.of(this.first.wereUsersInvalidated(), this.second.wereUsersInvalidated()),
+            Matchers.contains(true, true)
+        );
+    }
+
+    @Test
+    void invalidatesPolicyOnAllNodes() {
+        this.cluster.policyCache().invalidate("alice");
+        MatcherAssert.assertThat(
+            List.of(this.first.wasPolicyInvalidated(), this.second.wasPolicyInvalidated()),
+            Matchers.contains(true, true)
+        );
+    }
+
+    @Test
+    void invalidatesFiltersAndRepositoriesOnAllNodes() {
+        this.cluster.filtersCache().invalidate("my-maven");
+        MatcherAssert.assertThat(
+            "Filters were not invalidated",
+            List.of(
+                ((TestFiltersCache) this.first.filtersCache()).wasInvalidated(),
+                ((TestFiltersCache) this.second.filtersCache()).wasInvalidated()
+            ),
+            Matchers.contains(true, true)
+        );
+        MatcherAssert.assertThat(
+            "Repository was not invalidated",
+            this.repos,
+            Matchers.contains("my-maven")
+        );
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.cache.bus;
+
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Invalidation}.
+ * @since 0.30
+ */
+final class InvalidationTest {
+
+    @Test
+    void readsMessageWithKeyFromJson() {
+        final Invalidation msg = new Invalidation(
+            new Invalidation("node-1", "users", Optional.of("alice")).json()
+        );
+        MatcherAssert.assertThat(
+            String.join(";", msg.node(), msg.cache(), msg.key().orElseThrow()),
+            Matchers.equalTo("node-1;users;alice")
+        );
+    }
+
+    @Test
+    void readsMessageWithoutKeyFromJson() {
+        MatcherAssert.assertThat(
+            new Invalidation(
+                new Invalidation("node-2", "storages", Optional.empty()).json()
+            ).key().isPresent(),
+            Matchers.equalTo(false)
+        );
+    }
+}
@@ -0,0 +1,11 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+
+/**
+ * Tests for cluster-wide caches invalidation bus.
+ *
+ * @since 0.30
+ */
+package com.artipie.settings.cache.bus;
@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.repo;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.settings.Settings;
+import com.artipie.test.TestSettings;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link RepositoriesBootstrap}.
+ * @since 0.30
+ */
+final class RepositoriesBootstrapTest {
+
+    /**
+     * Artipie settings.
+     */
+    private Settings settings;
+
+    /**
+     * Repository configs storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.settings = new TestSettings();
+        this.storage = this.settings.repoConfigsStorage();
+    }
+
+    @Test
+    void loadsAllConfigsSkippingInvalid() {
+        new RepoConfigYaml("maven").saveTo(this.storage, "first");
+        new RepoConfigYaml("npm").saveTo(this.storage, "second");
+        new RepoConfigYaml("file").saveTo(this.storage, "third");
+        this.storage.save(
+            new Key.From("broken.yaml"),
+            new Content.From("repo: [ not yaml".getBytes(StandardCharsets.UTF_8))
+        ).join();
+        this.storage.save(
+            new Key.From("readme.txt"),
+            new Content.From("not a config".getBytes(StandardCharsets.UTF_8))
+        ).join();
+        final Queue<String> types = new ConcurrentLinkedQueue<>();
+        MatcherAssert.assertThat(
+            "Invalid config stopped loading",
+            new RepositoriesBootstrap(
+                this.storage, new RepositoriesFromStorage(this.settings), 2
+            ).load(cfg -> types.add(cfg.type())).toCompletableFuture().join(),
+            Matchers.equalTo(3)
+        );
+        MatcherAssert.assertThat(
+            types,
+            Matchers.containsInAnyOrder("maven", "npm", "file")
+        );
+    }
+
+    @Test
+    void continuesWhenActionFails() {
+        new RepoConfigYaml("maven").saveTo(this.storage, "one");
+        new RepoConfigYaml("npm").saveTo(this.storage, "two");
+        MatcherAssert.assertThat(
+            new RepositoriesBootstrap(
+                this.storage, new RepositoriesFromStorage(this.settings), 1
+            ).load(
+                cfg -> {
+                    if ("maven".equals(cfg.type())) {
+                        throw new IllegalStateException("Invalid repo");
+                    }
+                }
+            ).toCompletableFuture().join(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    void rejectsNotPositiveParallelism(final int parallelism) {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new RepositoriesBootstrap(
+                this.storage, new RepositoriesFromStorage(this.settings), parallelism
+            )
+        );
+    }
+}
@@ -12,6 +12,7 @@ import com.artipie.settings.Settings;
 import com.artipie.test.TestSettings;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsSame;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -50,6 +51,39 @@ final class RepositoriesFromStorageCacheTest {
         );
     }
 
+    @Test
+    void returnsSameParsedConfigForSameContent() {
+        final Key key = new Key.From("my-repo.yaml");
+        new BlockingStorage(this.settings.repoConfigsStorage())
+            .save(key, "repo:\n  type: maven".getBytes());
+        final RepoConfig first = new RepositoriesFromStorage(this.settings)
+            .config(key.string()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new RepositoriesFromStorage(this.settings)
+                .config(key.string()).toCompletableFuture().join(),
+            new IsSame<>(first)
+        );
+    }
+
+    @Test
+    void readsNewConfigAfterInvalidation() {
+        final Key key = new Key.From("other-repo.yaml");
+        final byte[] upd = "some: new data".getBytes();
+        new BlockingStorage(this.settings.repoConfigsStorage())
+            .save(key, "some: data".getBytes());
+        new RepositoriesFromStorage(this.settings).config(key.string())
+            .toCompletableFuture().join();
+        new BlockingStorage(this.settings.repoConfigsStorage()).save(key, upd);
+        new RepositoriesFromStorage(this.settings).invalidate("other-repo");
+        MatcherAssert.assertThat(
+            new RepositoriesFromStorage(this.settings)
+                .config(key.string())
+                .toCompletableFuture().join()
+                .toString(),
+            new IsEqual<>(new String(upd))
+        );
+    }
+
     @Test
     void readAliasesFromCache() {
         final Key alias = new Key.From("_storages.yaml");
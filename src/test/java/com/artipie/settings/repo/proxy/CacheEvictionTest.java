@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.repo.proxy;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.time.Duration;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link CacheEviction}.
+ * @since 0.30
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class CacheEvictionTest {
+
+    @AfterEach
+    void tearDown() {
+        new CacheEviction().clear();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedItems() throws Exception {
+        final InMemoryStorage asto = new InMemoryStorage();
+        final Storage cache = new CacheEviction().track(
+            "lru-proxy", asto, 10L, Duration.ofDays(1)
+        );
+        cache.save(new Key.From("first"), new Content.From(new byte[6])).join();
+        Thread.sleep(1_100L);
+        cache.save(new Key.From("second"), new Content.From(new byte[6])).join();
+        new CacheEviction().sweep().join();
+        MatcherAssert.assertThat(
+            asto.list(Key.ROOT).join(),
+            Matchers.contains(new Key.From("second"))
+        );
+    }
+
+    @Test
+    void evictsExpiredItemsStoredBeforeTracking() {
+        final InMemoryStorage asto = new InMemoryStorage();
+        asto.save(new Key.From("stale"), new Content.From(new byte[1])).join();
+        new CacheEviction().track("ttl-proxy", asto, Long.MAX_VALUE, Duration.ofMillis(-1L));
+        new CacheEviction().sweep().join();
+        MatcherAssert.assertThat(
+            asto.list(Key.ROOT).join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void evictsManyItemsByLanes() {
+        final InMemoryStorage asto = new InMemoryStorage();
+        for (int idx = 0; idx < 1000; idx += 1) {
+            asto.save(new Key.From(String.valueOf(idx)), new Content.From(new byte[1])).join();
+        }
+        new CacheEviction().track("many-proxy", asto, 10L, Duration.ofDays(1));
+        new CacheEviction().sweep().join();
+        MatcherAssert.assertThat(
+            asto.list(Key.ROOT).join(),
+            Matchers.hasSize(10)
+        );
+    }
+
+    @Test
+    void evictsOnlyItemsUnderCachePrefix() {
+        final InMemoryStorage asto = new InMemoryStorage();
+        asto.save(new Key.From("my-proxy", "stale"), new Content.From(new byte[1])).join();
+        asto.save(new Key.From("my-proxy-other", "item"), new Content.From(new byte[1])).join();
+        asto.save(new Key.From("my-hosted", "item"), new Content.From(new byte[1])).join();
+        final Storage cache = new CacheEviction().track(
+            "my-proxy", "https://a.example.com", asto, new Key.From("my-proxy"),
+            Long.MAX_VALUE, Duration.ofMillis(-1L)
+        );
+        cache.save(new Key.From("fresh"), new Content.From(new byte[1])).join();
+        new CacheEviction().sweep().join();
+        MatcherAssert.assertThat(
+            asto.list(Key.ROOT).join(),
+            Matchers.containsInAnyOrder(
+                new Key.From("my-proxy-other", "item"), new Key.From("my-hosted", "item")
+            )
+        );
+    }
+
+    @Test
+    void reusesTrackedStorageForSameCache() {
+        final InMemoryStorage asto = new InMemoryStorage();
+        MatcherAssert.assertThat(
+            new CacheEviction().track("same-proxy", asto, 10L, Duration.ofDays(1)),
+            Matchers.sameInstance(
+                new CacheEviction().track("same-proxy", asto, 20L, Duration.ofDays(2))
+            )
+        );
+    }
+
+    @Test
+    void stopsTrackingInvalidatedRepository() {
+        final InMemoryStorage removed = new InMemoryStorage();
+        removed.save(new Key.From("item"), new Content.From(new byte[1])).join();
+        final InMemoryStorage kept = new InMemoryStorage();
+        kept.save(new Key.From("item"), new Content.From(new byte[1])).join();
+        new CacheEviction().track(
+            "removed-proxy", "https://a.example.com", removed, Key.ROOT, Long.MAX_VALUE,
+            Duration.ofMillis(-1L)
+        );
+        new CacheEviction().track(
+            "kept-proxy", "https://a.example.com", kept, Key.ROOT, Long.MAX_VALUE,
+            Duration.ofMillis(-1L)
+        );
+        new CacheEviction().invalidate("removed-proxy");
+        new CacheEviction().sweep().join();
+        MatcherAssert.assertThat(
+            "Invalidated repository cache was swept",
+            removed.list(Key.ROOT).join(),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            "Other repository cache was not swept",
+            kept.list(Key.ROOT).join(),
+            Matchers.empty()
+        );
+    }
+}
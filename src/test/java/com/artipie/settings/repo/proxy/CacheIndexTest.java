@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.repo.proxy;
+
+import com.artipie.asto.Key;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link CacheIndex}.
+ * @since 0.30
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class CacheIndexTest {
+
+    @Test
+    void selectsExpiredItems() {
+        final CacheIndex index = new CacheIndex();
+        index.put(new Key.From("old"), 10L, 1_000L);
+        index.put(new Key.From("new"), 10L, 5_000L);
+        MatcherAssert.assertThat(
+            index.evictable(Long.MAX_VALUE, 2_000L, 6_000L),
+            Matchers.contains(new Key.From("old"))
+        );
+    }
+
+    @Test
+    void selectsLeastRecentlyUsedItemsOverMaxSize() {
+        final CacheIndex index = new CacheIndex();
+        index.put(new Key.From("a"), 100L, 1_000L);
+        index.put(new Key.From("b"), 100L, 2_000L);
+        index.put(new Key.From("c"), 100L, 3_000L);
+        index.touch(new Key.From("a"), 4_000L);
+        MatcherAssert.assertThat(
+            index.evictable(150L, Long.MAX_VALUE, 5_000L),
+            Matchers.contains(new Key.From("b"), new Key.From("c"))
+        );
+    }
+
+    @Test
+    void tracksTotalSize() {
+        final CacheIndex index = new CacheIndex();
+        index.put(new Key.From("one"), 100L, 1L);
+        index.put(new Key.From("one"), 30L, 2L);
+        index.putIfAbsent(new Key.From("one"), 500L, 3L);
+        index.put(new Key.From("two"), 20L, 4L);
+        index.remove(new Key.From("two"));
+        MatcherAssert.assertThat(index.size(), Matchers.equalTo(30L));
+    }
+}
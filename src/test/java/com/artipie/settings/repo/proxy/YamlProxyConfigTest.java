@@ -12,6 +12,7 @@ import com.artipie.http.client.jetty.JettyClientSlices;
 import com.artipie.settings.StorageByAlias;
 import com.artipie.settings.repo.RepoConfig;
 import com.artipie.test.TestStoragesCache;
+import java.time.Duration;
 import java.util.Collection;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.collection.IsEmptyCollection;
@@ -19,12 +20,15 @@ import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * Tests for {@link YamlProxyConfig}.
  *
  * @since 0.12
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
  */
 @SuppressWarnings("PMD.AvoidDuplicateLiterals")
 public final class YamlProxyConfigTest {
@@ -98,6 +102,108 @@ public final class YamlProxyConfigTest {
         );
     }
 
+    @Test
+    public void parsesCacheLimits() {
+        final ProxyConfig.CacheStorage cache = this.remotes(
+            Yaml.createYamlMappingBuilder().add(
+                "remotes",
+                Yaml.createYamlSequenceBuilder().add(
+                    Yaml.createYamlMappingBuilder()
+                        .add("url", "https://repo.maven.apache.org/maven2")
+                        .add(
+                            "cache",
+                            Yaml.createYamlMappingBuilder()
+                                .add(
+                                    "storage",
+                                    Yaml.createYamlMappingBuilder()
+                                        .add("type", "fs")
+                                        .add("path", "/var/artipie/cache")
+                                        .build()
+                                )
+                                .add("max-size", "10GB")
+                                .add("ttl", "30d")
+                                .build()
+                        )
+                        .build()
+                ).build()
+            ).build()
+        ).iterator().next().cache().get();
+        MatcherAssert.assertThat(
+            "Max size parsed",
+            cache.maxSize(),
+            new IsEqual<>(10L << 30)
+        );
+        MatcherAssert.assertThat(
+            "Time to live parsed",
+            cache.timeToLive(),
+            new IsEqual<>(Duration.ofDays(30))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"9000000T", "9223372036854775808", "8388608T"})
+    public void failsOnTooLargeCacheSize(final String size) {
+        final ProxyConfig.Remote remote = this.remotes(
+            Yaml.createYamlMappingBuilder().add(
+                "remotes",
+                Yaml.createYamlSequenceBuilder().add(
+                    Yaml.createYamlMappingBuilder()
+                        .add("url", "https://repo.maven.apache.org/maven2")
+                        .add(
+                            "cache",
+                            Yaml.createYamlMappingBuilder()
+                                .add(
+                                    "storage",
+                                    Yaml.createYamlMappingBuilder()
+                                        .add("type", "fs")
+                                        .add("path", "/var/artipie/cache")
+                                        .build()
+                                )
+                                .add("max-size", size)
+                                .build()
+                        )
+                        .build()
+                ).build()
+            ).build()
+        ).iterator().next();
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            remote::cache
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"99999999999999999999d", "9999999999999999d", "1000000000000d"})
+    public void failsOnTooLargeCacheTtl(final String ttl) {
+        final ProxyConfig.Remote remote = this.remotes(
+            Yaml.createYamlMappingBuilder().add(
+                "remotes",
+                Yaml.createYamlSequenceBuilder().add(
+                    Yaml.createYamlMappingBuilder()
+                        .add("url", "https://repo.maven.apache.org/maven2")
+                        .add(
+                            "cache",
+                            Yaml.createYamlMappingBuilder()
+                                .add(
+                                    "storage",
+                                    Yaml.createYamlMappingBuilder()
+                                        .add("type", "fs")
+                                        .add("path", "/var/artipie/cache")
+                                        .build()
+                                )
+                                .add("ttl", ttl)
+                                .build()
+                        )
+                        .build()
+                ).build()
+            ).build()
+        ).iterator().next();
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            remote::cache
+        );
+    }
+
     @Test
     public void parsesEmpty() {
         final Collection<? extends ProxyConfig.Remote> remotes = this.remotes(
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.watch;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.misc.Cleanable;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ConfigInvalidation}.
+ * @since 0.30
+ */
+final class ConfigInvalidationTest {
+
+    /**
+     * Invalidated items, `*` stands for all items.
+     */
+    private List<String> invalidated;
+
+    /**
+     * Test cache.
+     */
+    private Cleanable<String> cache;
+
+    @BeforeEach
+    void setUp() {
+        this.invalidated = new ArrayList<>(1);
+        this.cache = new Cleanable<>() {
+            @Override
+            public void invalidate(final String name) {
+                ConfigInvalidationTest.this.invalidated.add(name);
+            }
+
+            @Override
+            public void invalidateAll() {
+                ConfigInvalidationTest.this.invalidated.add("*");
+            }
+        };
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"my-repo.yaml", "my-repo.yml"})
+    void invalidatesRepository(final String key) {
+        new ConfigInvalidation(this.cache).accept(new Key.From(key));
+        MatcherAssert.assertThat(this.invalidated, Matchers.contains("my-repo"));
+    }
+
+    @Test
+    void invalidatesNestedRepository() {
+        new ConfigInvalidation(this.cache).accept(new Key.From("org", "my-repo.yaml"));
+        MatcherAssert.assertThat(this.invalidated, Matchers.contains("org/my-repo"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"_storages.yaml", "org/_storages.yml"})
+    void invalidatesAllOnAliasesChange(final String key) {
+        new ConfigInvalidation(this.cache).accept(new Key.From(key));
+        MatcherAssert.assertThat(this.invalidated, Matchers.contains("*"));
+    }
+
+    @Test
+    void invalidatesAllOnUnknownChange() {
+        new ConfigInvalidation(this.cache).accept(Key.ROOT);
+        MatcherAssert.assertThat(this.invalidated, Matchers.contains("*"));
+    }
+
+    @Test
+    void ignoresNotConfigFiles() {
+        new ConfigInvalidation(this.cache).accept(new Key.From("readme.md"));
+        MatcherAssert.assertThat(this.invalidated, Matchers.empty());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/artipie/artipie/LICENSE.txt
+ */
+package com.artipie.settings.watch;
+
+import com.artipie.asto.Key;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link FsConfigWatcher}.
+ * @since 0.30
+ */
+final class FsConfigWatcherTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifierCheck (5 lines)
+     */
+    @TempDir
+    Path tmp;
+
+    /**
+     * Changed keys.
+     */
+    private Set<Key> changed;
+
+    /**
+     * Watcher.
+     */
+    private FsConfigWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        this.changed = ConcurrentHashMap.newKeySet();
+        this.watcher = new FsConfigWatcher(this.tmp);
+        this.watcher.start(this.changed::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.watcher.close();
+    }
+
+    @Test
+    void notifiesAboutChangedConfig() throws IOException {
+        Files.write(this.tmp.resolve("my-maven.yaml"), "repo:".getBytes(StandardCharsets.UTF_8));
+        Awaitility.await().atMost(30, TimeUnit.SECONDS).until(
+            () -> this.changed.contains(new Key.From("my-maven.yaml"))
+        );
+    }
+
+    @Test
+    void notifiesAboutConfigInNewSubdirectory() throws IOException {
+        final Path dir = this.tmp.resolve("org");
+        Files.createDirectory(dir);
+        Awaitility.await().atMost(30, TimeUnit.SECONDS).until(
+            () -> this.changed.contains(Key.ROOT)
+        );
+        Files.write(dir.resolve("my-npm.yml"), "repo:".getBytes(StandardCharsets.UTF_8));
+        Awaitility.await().atMost(30, TimeUnit.SECONDS).until(
+            () -> this.changed.contains(new Key.From("org", "my-npm.yml"))
+        );
+    }
+}
@@ -9,6 +9,8 @@ import com.amihaiemil.eoyaml.YamlMapping;
 import com.artipie.api.ssl.KeyStore;
 import com.artipie.asto.Storage;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.auth.Authentication;
+import com.artipie.security.policy.Policy;
 import com.artipie.settings.ArtipieSecurity;
 import com.artipie.settings.MetricsContext;
 import com.artipie.settings.Settings;
@@ -108,7 +110,22 @@ public final class TestSettings implements Settings {
 
     @Override
     public ArtipieSecurity authz() {
-        return null;
+        return new ArtipieSecurity() {
+            @Override
+            public Authentication authentication() {
+                return Authentication.ANONYMOUS;
+            }
+
+            @Override
+            public Policy<?> policy() {
+                return Policy.FREE;
+            }
+
+            @Override
+            public Optional<Storage> policyStorage() {
+                return Optional.empty();
+            }
+        };
     }
 
     @Override